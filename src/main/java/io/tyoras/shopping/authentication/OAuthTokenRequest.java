@@ -6,6 +6,7 @@ import org.apache.oltu.oauth2.common.message.types.GrantType;
 import org.apache.oltu.oauth2.common.utils.OAuthUtils;
 
 import javax.ws.rs.FormParam;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +35,9 @@ public class OAuthTokenRequest {
     @FormParam(OAUTH_REDIRECT_URI)
     private String redirectUri;
 
+    @FormParam(OAUTH_REFRESH_TOKEN)
+    private String refreshToken;
+
 
     public String getGrantType() {
         return grantType;
@@ -91,6 +95,14 @@ public class OAuthTokenRequest {
         this.redirectUri = redirectUri;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public void ensureGrantType() throws OAuthProblemException {
         final String requestTypeValue = getGrantType();
         if (OAuthUtils.isEmpty(requestTypeValue)) {
@@ -129,6 +141,12 @@ public class OAuthTokenRequest {
         }
     }
 
+    public void validateRefreshTokenRequiredParameters() throws OAuthProblemException {
+        if (OAuthUtils.isEmpty(getRefreshToken())) {
+            throw OAuthUtils.handleMissingParameters(Collections.singleton(OAuth.OAUTH_REFRESH_TOKEN));
+        }
+    }
+
     public void validateClientAuthenticationCredentials() throws OAuthProblemException {
         Set<String> missingParameters = new HashSet<String>();
         if (OAuthUtils.isEmpty(getClientId())) {
@@ -4,30 +4,44 @@ import io.dropwizard.auth.Authenticator;
 import io.dropwizard.auth.basic.BasicCredentials;
 import io.tyoras.shopping.user.SecuredUser;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
+import io.tyoras.shopping.user.repository.VerifiedCredentialCache;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Optional;
+import java.util.UUID;
 
 @Singleton
 public class BasicUserAuthenticator implements Authenticator<BasicCredentials, BasicUserPrincipal> {
 
     private final SecuredUserRepository userRepository;
+    private final VerifiedCredentialCache credentialCache;
 
     @Inject
-    public BasicUserAuthenticator(SecuredUserRepository userRepository) {
+    public BasicUserAuthenticator(SecuredUserRepository userRepository, VerifiedCredentialCache credentialCache) {
         this.userRepository = userRepository;
+        this.credentialCache = credentialCache;
     }
 
     @Override
     public Optional<BasicUserPrincipal> authenticate(BasicCredentials credentials) {
         String userEmail = extractUserEmailFromCredentials(credentials);
+        UUID verifiedUserId = credentialCache.getVerifiedUserId(userEmail, credentials.getPassword());
+        if (verifiedUserId != null) {
+            return Optional.of(new BasicUserPrincipal(verifiedUserId));
+        }
+
+        //a password changed after this point must prevent the credentials checked against the old one from being cached
+        long credentialGeneration = credentialCache.getGeneration();
         SecuredUser foundUser = userRepository.getByEmail(userEmail);
         if (foundUser == null) {
             return Optional.empty();
         }
-        String hashedPassword = userRepository.hashPassword(credentials.getPassword(), foundUser.getSalt());
-        return Optional.ofNullable(foundUser.getPassword().equals(hashedPassword) ? new BasicUserPrincipal(foundUser) : null);
+        if (!userRepository.checkPassword(foundUser, credentials.getPassword())) {
+            return Optional.empty();
+        }
+        credentialCache.putVerified(userEmail, credentials.getPassword(), foundUser.getId(), credentialGeneration);
+        return Optional.of(new BasicUserPrincipal(foundUser));
     }
 
 
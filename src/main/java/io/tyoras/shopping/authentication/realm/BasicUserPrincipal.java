@@ -10,7 +10,11 @@ public final class BasicUserPrincipal implements Principal {
     private final UUID userId;
 
     public BasicUserPrincipal(User user) {
-        userId = user.getId();
+        this(user.getId());
+    }
+
+    public BasicUserPrincipal(UUID userId) {
+        this.userId = userId;
     }
 
     @Override
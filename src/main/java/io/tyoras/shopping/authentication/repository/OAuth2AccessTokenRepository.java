@@ -1,14 +1,15 @@
 package io.tyoras.shopping.authentication.repository;
 
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 
+import java.util.List;
 import java.util.UUID;
 
-import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepositoryErrorMessage.PROBLEM_INSERT_USER_ID_NULL;
-import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepositoryErrorMessage.PROBLEM_INVALID_ACCESS_TOKEN;
+import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepositoryErrorMessage.*;
 import static io.tyoras.shopping.infra.logging.Markers.AUTHENTICATION;
 
 /**
@@ -23,6 +24,16 @@ public abstract class OAuth2AccessTokenRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2AuthorizationCodeRepository.class);
     private static final Marker AUTH_MARKER = AUTHENTICATION.getMarker();
 
+    /**
+     * Generate a new access token value for an user
+     *
+     * @param userId
+     * @return access token
+     */
+    public String generateAccessToken(UUID userId) {
+        return SecurityHelper.generateJWT(userId);
+    }
+
     public UUID getUserIdByAccessToken(String accessToken) {
         if (StringUtils.isBlank(accessToken)) {
             LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_ACCESS_TOKEN.getDevReadableMessage(accessToken, "searching user ID"));
@@ -31,7 +42,13 @@ public abstract class OAuth2AccessTokenRepository {
         return processGetUserIdByAccessToken(accessToken);
     }
 
-    ;
+    public OAuth2AccessToken getByAccessToken(String accessToken) {
+        if (StringUtils.isBlank(accessToken)) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_ACCESS_TOKEN.getDevReadableMessage(accessToken, "searching access token"));
+            return null;
+        }
+        return processGetByAccessToken(accessToken);
+    }
 
     public void create(String accessToken, UUID userId) {
         if (StringUtils.isBlank(accessToken)) {
@@ -47,6 +64,19 @@ public abstract class OAuth2AccessTokenRepository {
         processCreate(accessToken, userId);
     }
 
+    /**
+     * Store several already built access tokens at once
+     *
+     * @param accessTokens
+     */
+    public void createAll(List<OAuth2AccessToken> accessTokens) {
+        if (accessTokens == null || accessTokens.isEmpty()) {
+            return;
+        }
+
+        processCreateAll(accessTokens);
+    }
+
     public void deleteByAccessToken(String accessToken) {
         if (StringUtils.isBlank(accessToken)) {
             LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_ACCESS_TOKEN.getDevReadableMessage(accessToken, "deleting access token"));
@@ -56,9 +86,29 @@ public abstract class OAuth2AccessTokenRepository {
         processDeleteByAccessToken(accessToken);
     }
 
+    /**
+     * Delete all the access tokens of an user
+     *
+     * @param userId
+     */
+    public void deleteByUserId(UUID userId) {
+        if (userId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_DELETE_USER_ID_NULL.getDevReadableMessage());
+            return;
+        }
+
+        processDeleteByUserId(userId);
+    }
+
     protected abstract UUID processGetUserIdByAccessToken(String accessToken);
 
+    protected abstract OAuth2AccessToken processGetByAccessToken(String accessToken);
+
     protected abstract void processCreate(String accessToken, UUID userId);
 
+    protected abstract void processCreateAll(List<OAuth2AccessToken> accessTokens);
+
     protected abstract void processDeleteByAccessToken(String accessToken);
+
+    protected abstract void processDeleteByUserId(UUID userId);
 }
@@ -19,6 +19,10 @@ public enum OAuth2AccessTokenRepositoryErrorMessage implements ErrorMessage {
      * Unable to insert access token : %s because user ID is null
      */
     PROBLEM_INSERT_USER_ID_NULL("Unable to insert access token : %s because user ID is null"),
+    /**
+     * Unable to delete access tokens because user ID is null
+     */
+    PROBLEM_DELETE_USER_ID_NULL("Unable to delete access tokens because user ID is null"),
     /**
      * Error while reading access token : %s
      */
@@ -27,10 +31,18 @@ public enum OAuth2AccessTokenRepositoryErrorMessage implements ErrorMessage {
      * Error while creating access token : %s
      */
     PROBLEM_CREATION_ACCESS_TOKEN("Error while creating access token : %s"),
+    /**
+     * Error while creating access tokens : %s
+     */
+    PROBLEM_CREATION_ACCESS_TOKENS("Error while creating access tokens : %s"),
     /**
      * Error while deleting access token : %s
      */
-    PROBLEM_DELETE_ACCESS_TOKEN("Error while deleting access token : %s");
+    PROBLEM_DELETE_ACCESS_TOKEN("Error while deleting access token : %s"),
+    /**
+     * Error while deleting user access tokens : %s
+     */
+    PROBLEM_DELETE_USER_ACCESS_TOKENS("Error while deleting user access tokens : %s");
 
     private String message;
 
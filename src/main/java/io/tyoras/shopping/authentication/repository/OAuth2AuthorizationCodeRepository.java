@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepositoryErrorMessage.PROBLEM_INSERT_USER_ID_NULL;
@@ -47,6 +48,26 @@ public abstract class OAuth2AuthorizationCodeRepository {
         processCreate(authzCode, userId);
     }
 
+    /**
+     * Get an authorization code and delete it, so that it can only be used once
+     *
+     * @param authzCode
+     * @return the consumed authorization code or null if unknown or expired
+     */
+    public OAuth2AuthorizationCode consume(String authzCode) {
+        if (StringUtils.isBlank(authzCode)) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_AUTH_CODE.getDevReadableMessage(authzCode, "consuming auth code"));
+            return null;
+        }
+        OAuth2AuthorizationCode consumedAuthCode = processConsume(authzCode);
+        //the TTL purge is not immediate
+        return consumedAuthCode == null || isExpired(consumedAuthCode) ? null : consumedAuthCode;
+    }
+
+    private boolean isExpired(OAuth2AuthorizationCode authzCode) {
+        return authzCode.getCreationDate().plusMinutes(AUTH_CODE_TTL_IN_MINUTES).isBefore(LocalDateTime.now());
+    }
+
     public void deleteByCode(String authzCode) {
         if (StringUtils.isBlank(authzCode)) {
             LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_AUTH_CODE.getDevReadableMessage(authzCode, "deleting auth code"));
@@ -60,5 +81,7 @@ public abstract class OAuth2AuthorizationCodeRepository {
 
     protected abstract void processCreate(String authzCode, UUID userId);
 
+    protected abstract OAuth2AuthorizationCode processConsume(String authzCode);
+
     protected abstract void processDeleteByCode(String authzCode);
 }
@@ -27,6 +27,10 @@ public enum OAuth2AuthorizationCodeRepositoryErrorMessage implements ErrorMessag
      * Error while creating authorization code : %s
      */
     PROBLEM_CREATION_AUTH_CODE("Error while creating authorization code : %s"),
+    /**
+     * Error while consuming authorization code : %s
+     */
+    PROBLEM_CONSUME_AUTH_CODE("Error while consuming authorization code : %s"),
     /**
      * Error while deleting authorization code : %s
      */
@@ -0,0 +1,216 @@
+package io.tyoras.shopping.authentication.repository;
+
+import com.google.common.base.MoreObjects;
+import io.tyoras.shopping.client.app.ClientApp;
+import io.tyoras.shopping.infra.db.WithId;
+import io.tyoras.shopping.infra.util.GenericBuilder;
+import io.tyoras.shopping.user.User;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWrapper;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Oauth2 refresh token value object
+ *
+ * @author yoan
+ */
+public class OAuth2RefreshToken implements Bson, WithId {
+    /**
+     * Default refresh token ID
+     */
+    public static final UUID DEFAULT_ID = UUID.fromString("5b0e3ad3-4a0b-4f3c-9be5-2a7bd0b3c4f1");
+    public static final String DEFAULT_TOKEN = "default refresh token";
+    public static final OAuth2RefreshToken DEFAULT = Builder.createDefault().build();
+
+    /**
+     * Refresh token unique ID
+     */
+    private final UUID id;
+    /**
+     * Refresh token value
+     */
+    private final String token;
+    /**
+     * Refresh token creation date
+     */
+    private final LocalDateTime creationDate;
+    /**
+     * Associated user ID
+     */
+    private final UUID userId;
+    /**
+     * ID of the client app the token was issued to
+     */
+    private final UUID clientId;
+
+    protected OAuth2RefreshToken(UUID id, String token, LocalDateTime creationDate, UUID userId, UUID clientId) {
+        this.id = requireNonNull(id, "Refresh token Id is mandatory");
+        checkArgument(StringUtils.isNotBlank(token), "Invalid refresh token");
+        this.token = token;
+        this.creationDate = requireNonNull(creationDate, "Creation date is mandatory");
+        this.userId = requireNonNull(userId, "User ID is mandatory");
+        this.clientId = requireNonNull(clientId, "Client ID is mandatory");
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, token, creationDate, userId, clientId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        OAuth2RefreshToken that = (OAuth2RefreshToken) obj;
+        return Objects.equals(this.id, that.id)
+                && Objects.equals(this.token, that.token)
+                && Objects.equals(this.creationDate, that.creationDate)
+                && Objects.equals(this.userId, that.userId)
+                && Objects.equals(this.clientId, that.clientId);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id).add("token", token)
+                .add("created", creationDate)
+                .add("userId", userId)
+                .add("clientId", clientId)
+                .toString();
+    }
+
+    @Override
+    public <TDocument> BsonDocument toBsonDocument(Class<TDocument> documentClass, CodecRegistry codecRegistry) {
+        return new BsonDocumentWrapper<OAuth2RefreshToken>(this, codecRegistry.get(OAuth2RefreshToken.class));
+    }
+
+    public static class Builder implements GenericBuilder<OAuth2RefreshToken> {
+        private UUID id = DEFAULT_ID;
+        private String token = DEFAULT_TOKEN;
+        private LocalDateTime creationDate = LocalDateTime.now();
+        private UUID userId = User.DEFAULT_ID;
+        private UUID clientId = ClientApp.DEFAULT_ID;
+
+        private Builder() {
+        }
+
+        /**
+         * The default refresh token is DEFAULT
+         *
+         * @return DEFAULT refresh token
+         */
+        public static Builder createDefault() {
+            return new Builder();
+        }
+
+        /**
+         * Duplicate an existing builder
+         *
+         * @param otherBuilder
+         * @return builder
+         */
+        public static Builder createFrom(final Builder otherBuilder) {
+            Builder builder = new Builder();
+
+            builder.id = otherBuilder.id;
+            builder.token = otherBuilder.token;
+            builder.creationDate = otherBuilder.creationDate;
+            builder.userId = otherBuilder.userId;
+            builder.clientId = otherBuilder.clientId;
+
+            return builder;
+        }
+
+        /**
+         * Get a builder based on an existing OAuth2RefreshToken instance
+         *
+         * @param refreshToken
+         * @return builder
+         */
+        public static Builder createFrom(final OAuth2RefreshToken refreshToken) {
+            Builder builder = new Builder();
+
+            builder.id = refreshToken.id;
+            builder.token = refreshToken.token;
+            builder.creationDate = refreshToken.creationDate;
+            builder.userId = refreshToken.userId;
+            builder.clientId = refreshToken.clientId;
+
+            return builder;
+        }
+
+        @Override
+        public OAuth2RefreshToken build() {
+            return new OAuth2RefreshToken(id, token, creationDate, userId, clientId);
+        }
+
+        public Builder withId(UUID id) {
+            this.id = requireNonNull(id);
+            return this;
+        }
+
+        /**
+         * Set a random ID
+         *
+         * @return builder
+         */
+        public Builder withRandomId() {
+            this.id = UUID.randomUUID();
+            return this;
+        }
+
+        public Builder withToken(String token) {
+            this.token = token;
+            return this;
+        }
+
+        public Builder withCreationDate(LocalDateTime creationDate) {
+            this.creationDate = creationDate;
+            return this;
+        }
+
+        public Builder withUserId(UUID userId) {
+            this.userId = requireNonNull(userId);
+            return this;
+        }
+
+        public Builder withClientId(UUID clientId) {
+            this.clientId = requireNonNull(clientId);
+            return this;
+        }
+    }
+}
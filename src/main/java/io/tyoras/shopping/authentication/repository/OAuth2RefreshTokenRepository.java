@@ -0,0 +1,90 @@
+package io.tyoras.shopping.authentication.repository;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepositoryErrorMessage.*;
+import static io.tyoras.shopping.infra.logging.Markers.AUTHENTICATION;
+
+/**
+ * OAuth2 refresh token repository
+ *
+ * @author yoan
+ */
+public abstract class OAuth2RefreshTokenRepository {
+
+    public static final long REFRESH_TOKEN_TTL_IN_DAYS = 30;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2RefreshTokenRepository.class);
+    private static final Marker AUTH_MARKER = AUTHENTICATION.getMarker();
+
+    public void create(String refreshToken, UUID userId, UUID clientId) {
+        if (StringUtils.isBlank(refreshToken)) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_REFRESH_TOKEN.getDevReadableMessage(refreshToken, "inserting token for user : " + userId));
+            return;
+        }
+
+        if (userId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INSERT_USER_ID_NULL.getDevReadableMessage(refreshToken));
+            return;
+        }
+
+        if (clientId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INSERT_CLIENT_ID_NULL.getDevReadableMessage(refreshToken));
+            return;
+        }
+
+        processCreate(refreshToken, userId, clientId);
+    }
+
+    /**
+     * Get a refresh token of a client and delete it, so that it can only be used once.
+     * The token of another client is left untouched, so that presenting it cannot revoke it.
+     *
+     * @param refreshToken
+     * @param clientId     client the token was issued to
+     * @return the consumed refresh token or null if unknown, issued to another client or expired
+     */
+    public OAuth2RefreshToken consume(String refreshToken, UUID clientId) {
+        if (StringUtils.isBlank(refreshToken)) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_INVALID_REFRESH_TOKEN.getDevReadableMessage(refreshToken, "consuming refresh token"));
+            return null;
+        }
+        if (clientId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_CONSUME_CLIENT_ID_NULL.getDevReadableMessage(refreshToken));
+            return null;
+        }
+        OAuth2RefreshToken consumedToken = processConsume(refreshToken, clientId);
+        //the TTL index purge is not immediate
+        return consumedToken == null || isExpired(consumedToken) ? null : consumedToken;
+    }
+
+    private boolean isExpired(OAuth2RefreshToken refreshToken) {
+        return refreshToken.getCreationDate().plusDays(REFRESH_TOKEN_TTL_IN_DAYS).isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * Delete all the refresh tokens of an user
+     *
+     * @param userId
+     */
+    public void deleteByUserId(UUID userId) {
+        if (userId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_DELETE_USER_ID_NULL.getDevReadableMessage());
+            return;
+        }
+
+        processDeleteByUserId(userId);
+    }
+
+    protected abstract void processCreate(String refreshToken, UUID userId, UUID clientId);
+
+    protected abstract OAuth2RefreshToken processConsume(String refreshToken, UUID clientId);
+
+    protected abstract void processDeleteByUserId(UUID userId);
+}
@@ -0,0 +1,63 @@
+package io.tyoras.shopping.authentication.repository;
+
+import io.tyoras.shopping.infra.util.error.ErrorMessage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Error messages specific to the OAuth2 refresh token repository
+ *
+ * @author yoan
+ */
+public enum OAuth2RefreshTokenRepositoryErrorMessage implements ErrorMessage {
+    /**
+     * Invalid refresh token : %s while %s
+     */
+    PROBLEM_INVALID_REFRESH_TOKEN("Invalid refresh token : %s while %s"),
+    /**
+     * Unable to insert refresh token : %s because user ID is null
+     */
+    PROBLEM_INSERT_USER_ID_NULL("Unable to insert refresh token : %s because user ID is null"),
+    /**
+     * Unable to insert refresh token : %s because client ID is null
+     */
+    PROBLEM_INSERT_CLIENT_ID_NULL("Unable to insert refresh token : %s because client ID is null"),
+    /**
+     * Unable to consume refresh token : %s because client ID is null
+     */
+    PROBLEM_CONSUME_CLIENT_ID_NULL("Unable to consume refresh token : %s because client ID is null"),
+    /**
+     * Unable to delete refresh tokens because user ID is null
+     */
+    PROBLEM_DELETE_USER_ID_NULL("Unable to delete refresh tokens because user ID is null"),
+    /**
+     * Error while consuming refresh token : %s
+     */
+    PROBLEM_CONSUME_REFRESH_TOKEN("Error while consuming refresh token : %s"),
+    /**
+     * Error while creating refresh token : %s
+     */
+    PROBLEM_CREATION_REFRESH_TOKEN("Error while creating refresh token : %s"),
+    /**
+     * Error while deleting user refresh tokens : %s
+     */
+    PROBLEM_DELETE_USER_REFRESH_TOKENS("Error while deleting user refresh tokens : %s");
+
+    private String message;
+
+    private OAuth2RefreshTokenRepositoryErrorMessage(String message) {
+        checkArgument(isNotBlank(message), "An error message should not be empty");
+        this.message = message;
+    }
+
+    @Override
+    public String getDevReadableMessage() {
+        return message;
+    }
+
+    @Override
+    public String getDevReadableMessage(Object... params) {
+        return String.format(message, params);
+    }
+}
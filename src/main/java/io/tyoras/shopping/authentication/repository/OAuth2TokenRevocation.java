@@ -0,0 +1,158 @@
+package io.tyoras.shopping.authentication.repository;
+
+import com.google.common.base.MoreObjects;
+import io.tyoras.shopping.infra.db.WithId;
+import io.tyoras.shopping.infra.util.GenericBuilder;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWrapper;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Revocation of an access token or of all the access tokens of an user
+ *
+ * @author yoan
+ */
+public class OAuth2TokenRevocation implements Bson, WithId {
+    /**
+     * Default revoked ID
+     */
+    public static final UUID DEFAULT_ID = UUID.fromString("2d7b1a2e-5c3f-4a8e-9b61-0f4e6c8d2a17");
+    public static final OAuth2TokenRevocation DEFAULT = Builder.createDefault().build();
+
+    /**
+     * Revoked token ID or user ID depending on the scope
+     */
+    private final UUID id;
+    /**
+     * What the ID refers to
+     */
+    private final Scope scope;
+    /**
+     * Revocation date, tokens issued before are rejected when scope is USER
+     */
+    private final LocalDateTime revocationDate;
+
+    protected OAuth2TokenRevocation(UUID id, Scope scope, LocalDateTime revocationDate) {
+        this.id = requireNonNull(id, "Revoked Id is mandatory");
+        this.scope = requireNonNull(scope, "Revocation scope is mandatory");
+        this.revocationDate = requireNonNull(revocationDate, "Revocation date is mandatory");
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public LocalDateTime getRevocationDate() {
+        return revocationDate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, scope, revocationDate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        OAuth2TokenRevocation that = (OAuth2TokenRevocation) obj;
+        return Objects.equals(this.id, that.id)
+                && Objects.equals(this.scope, that.scope)
+                && Objects.equals(this.revocationDate, that.revocationDate);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id)
+                .add("scope", scope)
+                .add("revoked", revocationDate)
+                .toString();
+    }
+
+    @Override
+    public <TDocument> BsonDocument toBsonDocument(Class<TDocument> documentClass, CodecRegistry codecRegistry) {
+        return new BsonDocumentWrapper<OAuth2TokenRevocation>(this, codecRegistry.get(OAuth2TokenRevocation.class));
+    }
+
+    public enum Scope {
+        /**
+         * A single access token, identified by its token ID
+         */
+        TOKEN,
+        /**
+         * All the access tokens of an user, identified by the user ID
+         */
+        USER
+    }
+
+    public static class Builder implements GenericBuilder<OAuth2TokenRevocation> {
+        private UUID id = DEFAULT_ID;
+        private Scope scope = Scope.TOKEN;
+        private LocalDateTime revocationDate = LocalDateTime.now();
+
+        private Builder() {
+        }
+
+        /**
+         * The default revocation is DEFAULT
+         *
+         * @return DEFAULT revocation
+         */
+        public static Builder createDefault() {
+            return new Builder();
+        }
+
+        /**
+         * Get a builder based on an existing OAuth2TokenRevocation instance
+         *
+         * @param revocation
+         * @return builder
+         */
+        public static Builder createFrom(final OAuth2TokenRevocation revocation) {
+            Builder builder = new Builder();
+
+            builder.id = revocation.id;
+            builder.scope = revocation.scope;
+            builder.revocationDate = revocation.revocationDate;
+
+            return builder;
+        }
+
+        @Override
+        public OAuth2TokenRevocation build() {
+            return new OAuth2TokenRevocation(id, scope, revocationDate);
+        }
+
+        public Builder withId(UUID id) {
+            this.id = requireNonNull(id);
+            return this;
+        }
+
+        public Builder withScope(Scope scope) {
+            this.scope = requireNonNull(scope);
+            return this;
+        }
+
+        public Builder withRevocationDate(LocalDateTime revocationDate) {
+            this.revocationDate = revocationDate;
+            return this;
+        }
+    }
+}
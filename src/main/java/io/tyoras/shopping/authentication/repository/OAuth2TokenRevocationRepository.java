@@ -0,0 +1,77 @@
+package io.tyoras.shopping.authentication.repository;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepositoryErrorMessage.PROBLEM_REVOCATION_ID_NULL;
+import static io.tyoras.shopping.infra.logging.Markers.AUTHENTICATION;
+
+/**
+ * OAuth2 access token revocation repository
+ * Revocations only need to be kept as long as the revoked tokens would have been valid
+ *
+ * @author yoan
+ */
+public abstract class OAuth2TokenRevocationRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2TokenRevocationRepository.class);
+    private static final Marker AUTH_MARKER = AUTHENTICATION.getMarker();
+
+    /**
+     * Revoke a single access token
+     *
+     * @param tokenId
+     */
+    public void revokeToken(UUID tokenId) {
+        if (tokenId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_REVOCATION_ID_NULL.getDevReadableMessage("token ID"));
+            return;
+        }
+        processRevoke(buildRevocation(tokenId, Scope.TOKEN));
+    }
+
+    /**
+     * Revoke all the access tokens issued to an user until now
+     *
+     * @param userId
+     */
+    public void revokeUserTokens(UUID userId) {
+        if (userId == null) {
+            LOGGER.error(AUTH_MARKER, PROBLEM_REVOCATION_ID_NULL.getDevReadableMessage("user ID"));
+            return;
+        }
+        processRevoke(buildRevocation(userId, Scope.USER));
+    }
+
+    private OAuth2TokenRevocation buildRevocation(UUID id, Scope scope) {
+        return OAuth2TokenRevocation.Builder.createDefault()
+                .withId(id)
+                .withScope(scope)
+                .withRevocationDate(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Get all the revocations still in effect
+     *
+     * @return revocations
+     */
+    public ImmutableList<OAuth2TokenRevocation> getAll() {
+        return processGetAll();
+    }
+
+    /**
+     * Save a revocation, replacing an existing one with the same ID
+     *
+     * @param revocation
+     */
+    protected abstract void processRevoke(OAuth2TokenRevocation revocation);
+
+    protected abstract ImmutableList<OAuth2TokenRevocation> processGetAll();
+}
@@ -0,0 +1,43 @@
+package io.tyoras.shopping.authentication.repository;
+
+import io.tyoras.shopping.infra.util.error.ErrorMessage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Error messages specific to the OAuth2 token revocation repository
+ *
+ * @author yoan
+ */
+public enum OAuth2TokenRevocationRepositoryErrorMessage implements ErrorMessage {
+    /**
+     * Unable to revoke tokens because %s is null
+     */
+    PROBLEM_REVOCATION_ID_NULL("Unable to revoke tokens because %s is null"),
+    /**
+     * Error while reading token revocations : %s
+     */
+    PROBLEM_READ_TOKEN_REVOCATIONS("Error while reading token revocations : %s"),
+    /**
+     * Error while revoking tokens : %s
+     */
+    PROBLEM_CREATION_TOKEN_REVOCATION("Error while revoking tokens : %s");
+
+    private String message;
+
+    private OAuth2TokenRevocationRepositoryErrorMessage(String message) {
+        checkArgument(isNotBlank(message), "An error message should not be empty");
+        this.message = message;
+    }
+
+    @Override
+    public String getDevReadableMessage() {
+        return message;
+    }
+
+    @Override
+    public String getDevReadableMessage(Object... params) {
+        return String.format(message, params);
+    }
+}
@@ -0,0 +1,106 @@
+package io.tyoras.shopping.authentication.repository.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * OAuth2 access token repository keeping the recently used tokens in memory
+ * in front of another implementation.
+ * A token revoked on another node keeps being accepted by this node until its cached entry expires,
+ * the cache expiration has to stay short to bound this revocation lag.
+ *
+ * @author yoan
+ */
+public class OAuth2AccessTokenCacheRepository extends OAuth2AccessTokenRepository {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(OAuth2AccessTokenCacheRepository.class, "cache");
+
+    private final OAuth2AccessTokenRepository delegate;
+    private final Cache<String, OAuth2AccessToken> accessTokenCache;
+
+    /**
+     * @param delegate
+     * @param maximumSize
+     * @param expireAfterSeconds maximum time a token revoked on another node is still accepted by this node
+     * @param metrics
+     */
+    public OAuth2AccessTokenCacheRepository(OAuth2AccessTokenRepository delegate, long maximumSize, long expireAfterSeconds, MetricRegistry metrics) {
+        this.delegate = requireNonNull(delegate);
+        accessTokenCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterSeconds, SECONDS)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CACHE_METRICS_NAME, accessTokenCache);
+    }
+
+    @Override
+    public String generateAccessToken(UUID userId) {
+        return delegate.generateAccessToken(userId);
+    }
+
+    @Override
+    protected UUID processGetUserIdByAccessToken(String accessToken) {
+        OAuth2AccessToken foundAccessToken = processGetByAccessToken(accessToken);
+        return foundAccessToken == null ? null : foundAccessToken.getuserId();
+    }
+
+    @Override
+    protected OAuth2AccessToken processGetByAccessToken(String accessToken) {
+        OAuth2AccessToken cachedAccessToken = accessTokenCache.getIfPresent(accessToken);
+        if (cachedAccessToken != null) {
+            if (isAlive(cachedAccessToken)) {
+                return cachedAccessToken;
+            }
+            accessTokenCache.invalidate(accessToken);
+        }
+
+        OAuth2AccessToken foundAccessToken = delegate.getByAccessToken(accessToken);
+        if (foundAccessToken == null || !isAlive(foundAccessToken)) {
+            return null;
+        }
+        accessTokenCache.put(accessToken, foundAccessToken);
+        return foundAccessToken;
+    }
+
+    /**
+     * The cache expiration is based on the insertion in the cache,
+     * the token itself may have been created long before
+     */
+    private boolean isAlive(OAuth2AccessToken accessToken) {
+        LocalDateTime expiration = accessToken.getCreationDate().plusMinutes(ACCESS_TOKEN_TTL_IN_MINUTES);
+        return expiration.isAfter(LocalDateTime.now());
+    }
+
+    @Override
+    protected void processCreate(String accessToken, UUID userId) {
+        delegate.create(accessToken, userId);
+    }
+
+    @Override
+    protected void processCreateAll(List<OAuth2AccessToken> accessTokens) {
+        delegate.createAll(accessTokens);
+    }
+
+    @Override
+    protected void processDeleteByAccessToken(String accessToken) {
+        delegate.deleteByAccessToken(accessToken);
+        accessTokenCache.invalidate(accessToken);
+    }
+
+    @Override
+    protected void processDeleteByUserId(UUID userId) {
+        delegate.deleteByUserId(userId);
+        accessTokenCache.asMap().values().removeIf(accessToken -> userId.equals(accessToken.getuserId()));
+    }
+}
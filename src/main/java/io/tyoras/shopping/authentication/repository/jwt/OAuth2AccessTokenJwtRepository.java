@@ -0,0 +1,159 @@
+package io.tyoras.shopping.authentication.repository.jwt;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepository;
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.security.Key;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope.TOKEN;
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope.USER;
+import static io.tyoras.shopping.infra.logging.Markers.AUTHENTICATION;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stateless implementation of the OAuth2 access token repository
+ * Access tokens are signed JWT checked locally, only their revocations are stored.
+ * The revocations are kept in memory and have to be refreshed periodically with refreshDenyList().
+ *
+ * @author yoan
+ */
+public class OAuth2AccessTokenJwtRepository extends OAuth2AccessTokenRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2AccessTokenJwtRepository.class);
+    private static final Marker AUTH_MARKER = AUTHENTICATION.getMarker();
+
+    private final OAuth2TokenRevocationRepository revocationRepository;
+    private final Key signingKey;
+
+    private volatile ImmutableSet<UUID> revokedTokenIds = ImmutableSet.of();
+    private volatile ImmutableMap<UUID, LocalDateTime> userRevocationDates = ImmutableMap.of();
+
+    public OAuth2AccessTokenJwtRepository(OAuth2TokenRevocationRepository revocationRepository, Key signingKey) {
+        this.revocationRepository = requireNonNull(revocationRepository);
+        this.signingKey = requireNonNull(signingKey);
+    }
+
+    /**
+     * Reload the deny-list of revoked tokens from the revocation repository
+     */
+    public void refreshDenyList() {
+        ImmutableList<OAuth2TokenRevocation> revocations;
+        try {
+            revocations = revocationRepository.getAll();
+        } catch (ApplicationException ae) {
+            LOGGER.warn(AUTH_MARKER, "Unable to refresh the revoked access tokens, keeping the previous ones", ae);
+            return;
+        }
+
+        ImmutableSet.Builder<UUID> tokenIds = ImmutableSet.builder();
+        ImmutableMap.Builder<UUID, LocalDateTime> userDates = ImmutableMap.builder();
+        for (OAuth2TokenRevocation revocation : revocations) {
+            if (revocation.getScope() == TOKEN) {
+                tokenIds.add(revocation.getId());
+            } else if (revocation.getScope() == USER) {
+                userDates.put(revocation.getId(), revocation.getRevocationDate());
+            }
+        }
+        revokedTokenIds = tokenIds.build();
+        userRevocationDates = userDates.build();
+    }
+
+    @Override
+    public String generateAccessToken(UUID userId) {
+        return SecurityHelper.generateSignedJWT(userId, UUID.randomUUID(), signingKey);
+    }
+
+    @Override
+    protected UUID processGetUserIdByAccessToken(String accessToken) {
+        OAuth2AccessToken foundAccessToken = processGetByAccessToken(accessToken);
+        return foundAccessToken == null ? null : foundAccessToken.getuserId();
+    }
+
+    @Override
+    protected OAuth2AccessToken processGetByAccessToken(String accessToken) {
+        OAuth2AccessToken validAccessToken = parseAccessToken(accessToken);
+        if (validAccessToken == null || isRevoked(validAccessToken)) {
+            return null;
+        }
+        return validAccessToken;
+    }
+
+    private OAuth2AccessToken parseAccessToken(String accessToken) {
+        try {
+            Claims claims = SecurityHelper.parseSignedJWT(accessToken, signingKey);
+            if (claims.getId() == null || claims.getSubject() == null || claims.getIssuedAt() == null) {
+                LOGGER.debug(AUTH_MARKER, "Rejected access token without ID, subject or issue date");
+                return null;
+            }
+            return OAuth2AccessToken.Builder.createDefault()
+                    .withId(UUID.fromString(claims.getId()))
+                    .withToken(accessToken)
+                    .withCreationDate(DateHelper.toLocalDateTime(claims.getIssuedAt()))
+                    .withUserId(UUID.fromString(claims.getSubject()))
+                    .build();
+        } catch (JwtException | IllegalArgumentException e) {
+            LOGGER.debug(AUTH_MARKER, "Rejected access token : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * JWT issue date is truncated to the second,
+     * so tokens issued during the same second as the user revocation are rejected too
+     */
+    private boolean isRevoked(OAuth2AccessToken accessToken) {
+        if (revokedTokenIds.contains(accessToken.getId())) {
+            return true;
+        }
+        LocalDateTime userRevocationDate = userRevocationDates.get(accessToken.getuserId());
+        return userRevocationDate != null && !accessToken.getCreationDate().isAfter(userRevocationDate.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Override
+    protected void processCreate(String accessToken, UUID userId) {
+        //signed tokens are self-contained, nothing to store
+    }
+
+    @Override
+    protected void processCreateAll(List<OAuth2AccessToken> accessTokens) {
+        //signed tokens are self-contained, nothing to store
+    }
+
+    @Override
+    protected void processDeleteByAccessToken(String accessToken) {
+        OAuth2AccessToken validAccessToken = parseAccessToken(accessToken);
+        if (validAccessToken == null) {
+            return;
+        }
+        UUID tokenId = validAccessToken.getId();
+        revocationRepository.revokeToken(tokenId);
+        revokedTokenIds = ImmutableSet.<UUID>builder().addAll(revokedTokenIds).add(tokenId).build();
+    }
+
+    @Override
+    protected void processDeleteByUserId(UUID userId) {
+        revocationRepository.revokeUserTokens(userId);
+        Map<UUID, LocalDateTime> userDates = new HashMap<>(userRevocationDates);
+        userDates.put(userId, LocalDateTime.now());
+        userRevocationDates = ImmutableMap.copyOf(userDates);
+    }
+}
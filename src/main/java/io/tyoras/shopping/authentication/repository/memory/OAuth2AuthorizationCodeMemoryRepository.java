@@ -0,0 +1,66 @@
+package io.tyoras.shopping.authentication.repository.memory;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
+import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * In memory implementation of the OAuth2 authorization code repository.
+ * The codes are only known by the node which issued them,
+ * it fits single node deployments or sticky sessions between the authorization and the token requests.
+ *
+ * @author yoan
+ */
+public class OAuth2AuthorizationCodeMemoryRepository extends OAuth2AuthorizationCodeRepository {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(OAuth2AuthorizationCodeMemoryRepository.class, "store");
+
+    private final Cache<String, OAuth2AuthorizationCode> authCodeStore;
+
+    /**
+     * @param maximumSize maximum number of pending codes, the oldest ones are dropped beyond
+     * @param metrics
+     */
+    public OAuth2AuthorizationCodeMemoryRepository(long maximumSize, MetricRegistry metrics) {
+        authCodeStore = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(AUTH_CODE_TTL_IN_MINUTES, MINUTES)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CACHE_METRICS_NAME, authCodeStore);
+    }
+
+    @Override
+    protected UUID processGetUserIdByAuthorizationCode(String authzCode) {
+        OAuth2AuthorizationCode foundAuthCode = authCodeStore.getIfPresent(authzCode);
+        return foundAuthCode == null ? null : foundAuthCode.getuserId();
+    }
+
+    @Override
+    protected void processCreate(String authzCode, UUID userId) {
+        OAuth2AuthorizationCode authCodeToCreate = OAuth2AuthorizationCode.Builder.createDefault()
+                .withRandomId()
+                .withCode(authzCode)
+                .withUserId(userId)
+                .build();
+        authCodeStore.put(authzCode, authCodeToCreate);
+    }
+
+    @Override
+    protected OAuth2AuthorizationCode processConsume(String authzCode) {
+        //atomic removal, a code can only be consumed by one of concurrent requests
+        return authCodeStore.asMap().remove(authzCode);
+    }
+
+    @Override
+    protected void processDeleteByCode(String authzCode) {
+        authCodeStore.invalidate(authzCode);
+    }
+}
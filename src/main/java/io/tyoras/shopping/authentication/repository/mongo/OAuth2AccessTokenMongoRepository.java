@@ -4,25 +4,23 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
-import io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.UUID;
 
 import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepositoryErrorMessage.*;
-import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoConverter.FIELD_CREATED;
-import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoConverter.FIELD_TOKEN;
-import static io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer.SortOrder.ASCENDING;
-import static io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer.SortOrder.DESCENDING;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoConverter.FIELD_USER_ID;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
  * Mongo implementation of the OAuth2 access token repository
@@ -41,21 +39,16 @@ public class OAuth2AccessTokenMongoRepository extends OAuth2AccessTokenRepositor
         requireNonNull(mongoConnectionFactory);
         accessTokenCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, ACCESS_TOKEN_COLLECTION, OAuth2AccessToken.class);
         accessTokenConverter = new OAuth2AccessTokenMongoConverter();
-        ensureIndexes();
     }
 
-    private void ensureIndexes() {
-        MongoIndexEnsurer indexEnsurer = new MongoIndexEnsurer(accessTokenCollection);
-        indexEnsurer.logStartEnsuringIndexes();
-
-        indexEnsurer.ensureUniqueIndex(FIELD_TOKEN, ASCENDING);
-        indexEnsurer.ensureTTLIndex(FIELD_CREATED, DESCENDING, ACCESS_TOKEN_TTL_IN_MINUTES, MINUTES);
-
-        indexEnsurer.logEndEnsuringIndexes();
+    @Override
+    protected UUID processGetUserIdByAccessToken(String accessToken) {
+        OAuth2AccessToken foundAccessToken = processGetByAccessToken(accessToken);
+        return foundAccessToken == null ? null : foundAccessToken.getuserId();
     }
 
     @Override
-    protected UUID processGetUserIdByAccessToken(String accessToken) {
+    protected OAuth2AccessToken processGetByAccessToken(String accessToken) {
         Bson filter = accessTokenConverter.filterByToken(accessToken);
         OAuth2AccessToken foundAccessToken = null;
         try {
@@ -63,7 +56,7 @@ public class OAuth2AccessTokenMongoRepository extends OAuth2AccessTokenRepositor
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_ACCESS_TOKEN);
         }
-        return foundAccessToken == null ? null : foundAccessToken.getuserId();
+        return foundAccessToken;
     }
 
     @Override
@@ -80,6 +73,15 @@ public class OAuth2AccessTokenMongoRepository extends OAuth2AccessTokenRepositor
         }
     }
 
+    @Override
+    protected void processCreateAll(List<OAuth2AccessToken> accessTokens) {
+        try {
+            accessTokenCollection.insertMany(accessTokens, new InsertManyOptions().ordered(false));
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CREATION_ACCESS_TOKENS);
+        }
+    }
+
     @Override
     protected void processDeleteByAccessToken(String accessToken) {
         Bson filter = accessTokenConverter.filterByToken(accessToken);
@@ -89,4 +91,14 @@ public class OAuth2AccessTokenMongoRepository extends OAuth2AccessTokenRepositor
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_DELETE_ACCESS_TOKEN);
         }
     }
+
+    @Override
+    protected void processDeleteByUserId(UUID userId) {
+        Bson filter = Filters.eq(FIELD_USER_ID, userId);
+        try {
+            accessTokenCollection.deleteMany(filter);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_DELETE_USER_ACCESS_TOKENS);
+        }
+    }
 }
@@ -8,7 +8,6 @@ import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
 import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
-import io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
@@ -17,12 +16,7 @@ import org.slf4j.LoggerFactory;
 import java.util.UUID;
 
 import static io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepositoryErrorMessage.*;
-import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoConverter.FIELD_CODE;
-import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoConverter.FIELD_CREATED;
-import static io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer.SortOrder.ASCENDING;
-import static io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer.SortOrder.DESCENDING;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
  * Mongo implementation of the OAuth2 authorization code repository
@@ -42,17 +36,6 @@ public class OAuth2AuthorizationCodeMongoRepository extends OAuth2AuthorizationC
         requireNonNull(mongoConnectionFactory);
         authCodeCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, AUTHZ_CODE_COLLECTION, OAuth2AuthorizationCode.class);
         authCodeConverter = new OAuth2AuthorizationCodeMongoConverter();
-        ensureIndexes();
-    }
-
-    private void ensureIndexes() {
-        MongoIndexEnsurer indexEnsurer = new MongoIndexEnsurer(authCodeCollection);
-        indexEnsurer.logStartEnsuringIndexes();
-
-        indexEnsurer.ensureUniqueIndex(FIELD_CODE, ASCENDING);
-        indexEnsurer.ensureTTLIndex(FIELD_CREATED, DESCENDING, AUTH_CODE_TTL_IN_MINUTES, MINUTES);
-
-        indexEnsurer.logEndEnsuringIndexes();
     }
 
     @Override
@@ -81,6 +64,18 @@ public class OAuth2AuthorizationCodeMongoRepository extends OAuth2AuthorizationC
         }
     }
 
+    @Override
+    protected OAuth2AuthorizationCode processConsume(String authzCode) {
+        Bson filter = authCodeConverter.filterByCode(authzCode);
+        OAuth2AuthorizationCode consumedAuthCode = null;
+        try {
+            consumedAuthCode = authCodeCollection.findOneAndDelete(filter);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CONSUME_AUTH_CODE);
+        }
+        return consumedAuthCode;
+    }
+
     @Override
     protected void processDeleteByCode(String authzCode) {
         Bson filter = authCodeConverter.filterByCode(authzCode);
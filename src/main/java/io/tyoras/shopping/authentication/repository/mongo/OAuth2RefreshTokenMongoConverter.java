@@ -0,0 +1,90 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import com.mongodb.client.model.Filters;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * MongoDb codec to convert OAuth2 refresh token to BSON
+ *
+ * @author yoan
+ */
+public class OAuth2RefreshTokenMongoConverter extends MongoDocumentConverter<OAuth2RefreshToken> {
+    public static final String FIELD_TOKEN = "token";
+    public static final String FIELD_CREATED = "created";
+    public static final String FIELD_USER_ID = "userId";
+    public static final String FIELD_CLIENT_ID = "clientId";
+
+    public OAuth2RefreshTokenMongoConverter() {
+        super();
+    }
+
+    public OAuth2RefreshTokenMongoConverter(Codec<Document> codec) {
+        super(codec);
+    }
+
+    @Override
+    public OAuth2RefreshToken fromDocument(Document doc) {
+        if (doc == null) {
+            return null;
+        }
+
+        UUID id = doc.get(FIELD_ID, UUID.class);
+        String token = doc.getString(FIELD_TOKEN);
+        UUID userId = doc.get(FIELD_USER_ID, UUID.class);
+        UUID clientId = doc.get(FIELD_CLIENT_ID, UUID.class);
+        Date created = doc.getDate(FIELD_CREATED);
+        LocalDateTime creationDate = DateHelper.toLocalDateTime(created);
+
+        return OAuth2RefreshToken.Builder.createDefault()
+                .withId(id)
+                .withCreationDate(creationDate)
+                .withToken(token)
+                .withUserId(userId)
+                .withClientId(clientId)
+                .build();
+    }
+
+    @Override
+    public Document toDocument(OAuth2RefreshToken refreshToken) {
+        if (refreshToken == null) {
+            return new Document();
+        }
+
+        return new Document(FIELD_ID, refreshToken.getId())
+                .append(FIELD_TOKEN, refreshToken.getToken())
+                .append(FIELD_CREATED, DateHelper.toDate(refreshToken.getCreationDate()))
+                .append(FIELD_USER_ID, refreshToken.getUserId())
+                .append(FIELD_CLIENT_ID, refreshToken.getClientId());
+    }
+
+    @Override
+    public Class<OAuth2RefreshToken> getEncoderClass() {
+        return OAuth2RefreshToken.class;
+    }
+
+    @Override
+    public OAuth2RefreshToken generateIdIfAbsentFromDocument(OAuth2RefreshToken refreshToken) {
+        return documentHasId(refreshToken) ? refreshToken : OAuth2RefreshToken.Builder.createFrom(refreshToken).withRandomId().build();
+    }
+
+    public Bson filterByToken(String refreshToken) {
+        return Filters.eq(FIELD_TOKEN, refreshToken);
+    }
+
+    public Bson filterByTokenAndClientId(String refreshToken, UUID clientId) {
+        return Filters.and(filterByToken(refreshToken), Filters.eq(FIELD_CLIENT_ID, clientId));
+    }
+
+    public Bson filterByUserId(UUID userId) {
+        return Filters.eq(FIELD_USER_ID, userId);
+    }
+}
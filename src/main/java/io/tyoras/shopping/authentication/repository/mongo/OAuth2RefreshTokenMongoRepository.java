@@ -0,0 +1,78 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
+import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepositoryErrorMessage.*;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoConverter.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Mongo implementation of the OAuth2 refresh token repository
+ *
+ * @author yoan
+ */
+@Singleton
+public class OAuth2RefreshTokenMongoRepository extends OAuth2RefreshTokenRepository {
+
+    public static final String REFRESH_TOKEN_COLLECTION = "refreshToken";
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2RefreshTokenMongoRepository.class);
+    private final MongoCollection<OAuth2RefreshToken> refreshTokenCollection;
+    private final OAuth2RefreshTokenMongoConverter refreshTokenConverter;
+
+    @Inject
+    public OAuth2RefreshTokenMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
+        requireNonNull(mongoConnectionFactory);
+        refreshTokenCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, REFRESH_TOKEN_COLLECTION, OAuth2RefreshToken.class);
+        refreshTokenConverter = new OAuth2RefreshTokenMongoConverter();
+    }
+
+    @Override
+    protected void processCreate(String refreshToken, UUID userId, UUID clientId) {
+        OAuth2RefreshToken refreshTokenToCreate = OAuth2RefreshToken.Builder.createDefault()
+                .withRandomId()
+                .withToken(refreshToken)
+                .withUserId(userId)
+                .withClientId(clientId)
+                .build();
+        try {
+            refreshTokenCollection.insertOne(refreshTokenToCreate);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CREATION_REFRESH_TOKEN);
+        }
+    }
+
+    @Override
+    protected OAuth2RefreshToken processConsume(String refreshToken, UUID clientId) {
+        Bson filter = refreshTokenConverter.filterByTokenAndClientId(refreshToken, clientId);
+        OAuth2RefreshToken consumedToken = null;
+        try {
+            consumedToken = refreshTokenCollection.findOneAndDelete(filter);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CONSUME_REFRESH_TOKEN);
+        }
+        return consumedToken;
+    }
+
+    @Override
+    protected void processDeleteByUserId(UUID userId) {
+        Bson filter = refreshTokenConverter.filterByUserId(userId);
+        try {
+            refreshTokenCollection.deleteMany(filter);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_DELETE_USER_REFRESH_TOKENS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope;
+import io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * MongoDb codec to convert OAuth2 token revocation to BSON
+ *
+ * @author yoan
+ */
+public class OAuth2TokenRevocationMongoConverter extends MongoDocumentConverter<OAuth2TokenRevocation> {
+    public static final String FIELD_SCOPE = "scope";
+    public static final String FIELD_REVOKED = "revoked";
+
+    public OAuth2TokenRevocationMongoConverter() {
+        super();
+    }
+
+    public OAuth2TokenRevocationMongoConverter(Codec<Document> codec) {
+        super(codec);
+    }
+
+    @Override
+    public OAuth2TokenRevocation fromDocument(Document doc) {
+        if (doc == null) {
+            return null;
+        }
+
+        UUID id = doc.get(FIELD_ID, UUID.class);
+        Scope scope = Scope.valueOf(doc.getString(FIELD_SCOPE));
+        Date revoked = doc.getDate(FIELD_REVOKED);
+        LocalDateTime revocationDate = DateHelper.toLocalDateTime(revoked);
+
+        return OAuth2TokenRevocation.Builder.createDefault()
+                .withId(id)
+                .withScope(scope)
+                .withRevocationDate(revocationDate)
+                .build();
+    }
+
+    @Override
+    public Document toDocument(OAuth2TokenRevocation revocation) {
+        if (revocation == null) {
+            return new Document();
+        }
+
+        return new Document(FIELD_ID, revocation.getId())
+                .append(FIELD_SCOPE, revocation.getScope().name())
+                .append(FIELD_REVOKED, DateHelper.toDate(revocation.getRevocationDate()));
+    }
+
+    @Override
+    public Class<OAuth2TokenRevocation> getEncoderClass() {
+        return OAuth2TokenRevocation.class;
+    }
+
+    @Override
+    public OAuth2TokenRevocation generateIdIfAbsentFromDocument(OAuth2TokenRevocation revocation) {
+        return revocation;
+    }
+}
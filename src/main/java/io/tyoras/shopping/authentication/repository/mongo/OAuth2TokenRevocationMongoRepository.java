@@ -0,0 +1,64 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepository;
+import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepositoryErrorMessage.PROBLEM_CREATION_TOKEN_REVOCATION;
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepositoryErrorMessage.PROBLEM_READ_TOKEN_REVOCATIONS;
+import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Mongo implementation of the OAuth2 token revocation repository
+ *
+ * @author yoan
+ */
+@Singleton
+public class OAuth2TokenRevocationMongoRepository extends OAuth2TokenRevocationRepository {
+    public static final String TOKEN_REVOCATION_COLLECTION = "tokenRevocation";
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2TokenRevocationMongoRepository.class);
+    private final MongoCollection<OAuth2TokenRevocation> revocationCollection;
+
+    @Inject
+    public OAuth2TokenRevocationMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
+        requireNonNull(mongoConnectionFactory);
+        revocationCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, TOKEN_REVOCATION_COLLECTION, OAuth2TokenRevocation.class);
+    }
+
+    @Override
+    protected void processRevoke(OAuth2TokenRevocation revocation) {
+        Bson filter = Filters.eq(FIELD_ID, revocation.getId());
+        try {
+            revocationCollection.replaceOne(filter, revocation, new UpdateOptions().upsert(true));
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CREATION_TOKEN_REVOCATION);
+        }
+    }
+
+    @Override
+    protected ImmutableList<OAuth2TokenRevocation> processGetAll() {
+        List<OAuth2TokenRevocation> foundRevocations = Lists.newArrayList();
+        try {
+            foundRevocations = revocationCollection.find().into(foundRevocations);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_TOKEN_REVOCATIONS);
+        }
+        return ImmutableList.copyOf(foundRevocations);
+    }
+}
@@ -0,0 +1,150 @@
+package io.tyoras.shopping.authentication.repository.writebehind;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.tyoras.shopping.infra.logging.Markers.AUTHENTICATION;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * OAuth2 access token repository queuing the issued tokens and storing them by batches in another implementation.
+ * The queued tokens are readable right away on this node, flush() has to be called periodically and on shutdown.
+ *
+ * @author yoan
+ */
+public class OAuth2AccessTokenWriteBehindRepository extends OAuth2AccessTokenRepository {
+    public static final String METRICS_NAME = MetricRegistry.name(OAuth2AccessTokenWriteBehindRepository.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2AccessTokenWriteBehindRepository.class);
+    private static final Marker AUTH_MARKER = AUTHENTICATION.getMarker();
+
+    private final OAuth2AccessTokenRepository delegate;
+    private final int maxBatchSize;
+    private final BlockingQueue<OAuth2AccessToken> writeQueue;
+    private final Map<String, OAuth2AccessToken> pendingTokens = new ConcurrentHashMap<>();
+    private final Histogram batchSizes;
+    private final Timer flushLatency;
+    private final Meter overflows;
+
+    /**
+     * @param delegate      repository storing the tokens
+     * @param queueCapacity maximum number of tokens waiting to be stored, tokens beyond are stored synchronously
+     * @param maxBatchSize  maximum number of tokens stored at once
+     * @param metrics
+     */
+    public OAuth2AccessTokenWriteBehindRepository(OAuth2AccessTokenRepository delegate, int queueCapacity, int maxBatchSize, MetricRegistry metrics) {
+        checkArgument(maxBatchSize > 0, "The maximum batch size should be positive");
+        this.delegate = requireNonNull(delegate);
+        this.maxBatchSize = maxBatchSize;
+        writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        requireNonNull(metrics);
+        metrics.register(MetricRegistry.name(METRICS_NAME, "queue-depth"), (Gauge<Integer>) writeQueue::size);
+        batchSizes = metrics.histogram(MetricRegistry.name(METRICS_NAME, "batch-size"));
+        flushLatency = metrics.timer(MetricRegistry.name(METRICS_NAME, "flush-latency"));
+        overflows = metrics.meter(MetricRegistry.name(METRICS_NAME, "overflows"));
+    }
+
+    /**
+     * Store the queued tokens in the underlying repository by batches
+     */
+    public synchronized void flush() {
+        List<OAuth2AccessToken> batch = new ArrayList<>(maxBatchSize);
+        while (writeQueue.drainTo(batch, maxBatchSize) > 0) {
+            batchSizes.update(batch.size());
+            try (Timer.Context ignored = flushLatency.time()) {
+                delegate.createAll(batch);
+            } catch (RuntimeException e) {
+                LOGGER.error(AUTH_MARKER, "Unable to store a batch of " + batch.size() + " access tokens, retrying on next flush", e);
+                requeue(batch);
+                return;
+            }
+            batch.forEach(accessToken -> pendingTokens.remove(accessToken.getToken()));
+            batch = new ArrayList<>(maxBatchSize);
+        }
+    }
+
+    private void requeue(List<OAuth2AccessToken> batch) {
+        for (OAuth2AccessToken accessToken : batch) {
+            if (!writeQueue.offer(accessToken)) {
+                pendingTokens.remove(accessToken.getToken());
+                LOGGER.error(AUTH_MARKER, "Access token " + accessToken.getId() + " dropped, the write queue is full");
+            }
+        }
+    }
+
+    @Override
+    public String generateAccessToken(UUID userId) {
+        return delegate.generateAccessToken(userId);
+    }
+
+    @Override
+    protected UUID processGetUserIdByAccessToken(String accessToken) {
+        OAuth2AccessToken foundAccessToken = processGetByAccessToken(accessToken);
+        return foundAccessToken == null ? null : foundAccessToken.getuserId();
+    }
+
+    @Override
+    protected OAuth2AccessToken processGetByAccessToken(String accessToken) {
+        OAuth2AccessToken pendingAccessToken = pendingTokens.get(accessToken);
+        if (pendingAccessToken != null) {
+            return pendingAccessToken;
+        }
+        return delegate.getByAccessToken(accessToken);
+    }
+
+    @Override
+    protected void processCreate(String accessToken, UUID userId) {
+        OAuth2AccessToken accessTokenToCreate = OAuth2AccessToken.Builder.createDefault()
+                .withRandomId()
+                .withToken(accessToken)
+                .withUserId(userId)
+                .build();
+        pendingTokens.put(accessToken, accessTokenToCreate);
+        if (!writeQueue.offer(accessTokenToCreate)) {
+            overflows.mark();
+            try {
+                delegate.createAll(Collections.singletonList(accessTokenToCreate));
+            } finally {
+                pendingTokens.remove(accessToken);
+            }
+        }
+    }
+
+    @Override
+    protected void processCreateAll(List<OAuth2AccessToken> accessTokens) {
+        delegate.createAll(accessTokens);
+    }
+
+    @Override
+    protected synchronized void processDeleteByAccessToken(String accessToken) {
+        OAuth2AccessToken pendingAccessToken = pendingTokens.remove(accessToken);
+        if (pendingAccessToken != null) {
+            writeQueue.remove(pendingAccessToken);
+        }
+        delegate.deleteByAccessToken(accessToken);
+    }
+
+    @Override
+    protected synchronized void processDeleteByUserId(UUID userId) {
+        writeQueue.removeIf(accessToken -> userId.equals(accessToken.getuserId()));
+        pendingTokens.values().removeIf(accessToken -> userId.equals(accessToken.getuserId()));
+        delegate.deleteByUserId(userId);
+    }
+}
@@ -10,7 +10,6 @@ import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.ResourceUtil;
-import io.tyoras.shopping.infra.util.helper.SecurityHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.oltu.oauth2.as.issuer.MD5Generator;
 import org.apache.oltu.oauth2.as.issuer.OAuthIssuer;
@@ -129,7 +128,7 @@ public class AuthorizationResource {
     }
 
     protected String generateAccessToken(BasicUserPrincipal authenticatedUser) {
-        String accessToken = SecurityHelper.generateJWT(authenticatedUser.getUserId());
+        String accessToken = accessTokenRepository.generateAccessToken(authenticatedUser.getUserId());
         accessTokenRepository.create(accessToken, authenticatedUser.getUserId());
         return accessToken;
     }
@@ -23,6 +23,10 @@ public enum OAuthResourceErrorMessage implements ErrorMessage {
      * Invalid secret for client with id : %s
      */
     INVALID_CLIENT_SECRET("Invalid secret for client with id : %s"),
+    /**
+     * Invalid or expired refresh token
+     */
+    INVALID_REFRESH_TOKEN("Invalid or expired refresh token"),
     /**
      * Invalid OAuth callback URL provided by client : %s
      */
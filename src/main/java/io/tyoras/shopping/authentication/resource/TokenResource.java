@@ -4,15 +4,20 @@ import com.codahale.metrics.annotation.Timed;
 import io.swagger.annotations.*;
 import io.tyoras.shopping.authentication.OAuthTokenRequest;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
 import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
 import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.ResourceUtil;
-import io.tyoras.shopping.infra.util.helper.SecurityHelper;
 import io.tyoras.shopping.user.SecuredUser;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.oltu.oauth2.as.issuer.MD5Generator;
+import org.apache.oltu.oauth2.as.issuer.OAuthIssuer;
+import org.apache.oltu.oauth2.as.issuer.OAuthIssuerImpl;
 import org.apache.oltu.oauth2.as.response.OAuthASResponse;
 import org.apache.oltu.oauth2.common.OAuth;
 import org.apache.oltu.oauth2.common.error.OAuthError;
@@ -46,13 +51,15 @@ public class TokenResource {
     private final OAuth2AccessTokenRepository accessTokenRepository;
     private final ClientAppRepository clientAppRepository;
     private final SecuredUserRepository userRepository;
+    private final OAuth2RefreshTokenRepository refreshTokenRepository;
 
     @Inject
-    public TokenResource(OAuth2AuthorizationCodeRepository authzCodeRepository, OAuth2AccessTokenRepository accessTokenRepository, ClientAppRepository clientAppRepository, SecuredUserRepository userRepository) {
+    public TokenResource(OAuth2AuthorizationCodeRepository authzCodeRepository, OAuth2AccessTokenRepository accessTokenRepository, ClientAppRepository clientAppRepository, SecuredUserRepository userRepository, OAuth2RefreshTokenRepository refreshTokenRepository) {
         this.authzCodeRepository = requireNonNull(authzCodeRepository);
         this.accessTokenRepository = requireNonNull(accessTokenRepository);
         this.clientAppRepository = requireNonNull(clientAppRepository);
         this.userRepository = requireNonNull(userRepository);
+        this.refreshTokenRepository = requireNonNull(refreshTokenRepository);
     }
 
     @POST
@@ -68,6 +75,7 @@ public class TokenResource {
             @ApiImplicitParam(name = "code", value = "Authorization code", required = false, dataType = "string", paramType = "form"),
             @ApiImplicitParam(name = "username", value = "User email adress", required = false, dataType = "string", paramType = "form"),
             @ApiImplicitParam(name = "password", value = "User password", required = false, dataType = "string", paramType = "form"),
+            @ApiImplicitParam(name = "refresh_token", value = "Refresh token", required = false, dataType = "string", paramType = "form"),
     })
     @ApiResponses(value = {@ApiResponse(code = 200, message = "Response with access token in payload"), @ApiResponse(code = 401, message = "Not authenticated")})
     public Response authorize(@ApiParam(hidden = true) @BeanParam OAuthTokenRequest oauthRequest) throws OAuthSystemException {
@@ -98,7 +106,9 @@ public class TokenResource {
                 userId = authorizeWithPassword(oauthRequest);
                 break;
             case REFRESH_TOKEN:
-                //TODO implement OAuth2 refresh token grant
+                oauthRequest.validateRefreshTokenRequiredParameters();
+                userId = authorizeWithRefreshToken(oauthRequest, clientApp);
+                break;
             case CLIENT_CREDENTIALS:
                 //TODO implement OAuth2 client credentials grant
             default:
@@ -106,9 +116,14 @@ public class TokenResource {
         }
 
         String accessToken = generateAccessToken(userId);
+        String refreshToken = generateRefreshToken(userId, clientApp);
 
         String expiresInSeconds = Long.toString(ACCESS_TOKEN_TTL_IN_MINUTES * 60);
-        OAuthResponse response = OAuthASResponse.tokenResponse(HttpServletResponse.SC_OK).setAccessToken(accessToken).setExpiresIn(expiresInSeconds).buildJSONMessage();
+        OAuthResponse response = OAuthASResponse.tokenResponse(HttpServletResponse.SC_OK)
+                .setAccessToken(accessToken)
+                .setExpiresIn(expiresInSeconds)
+                .setRefreshToken(refreshToken)
+                .buildJSONMessage();
         return response;
     }
 
@@ -130,19 +145,17 @@ public class TokenResource {
         if (StringUtils.isBlank(secret)) {
             throw new WebApiException(BAD_REQUEST, INFO, API_RESPONSE, MISSING_CLIENT_SECRET);
         }
-        String hashedSecret = clientAppRepository.hashSecret(secret, clientApp.getSalt());
-        return clientApp.getSecret().equals(hashedSecret);
+        return clientAppRepository.checkSecret(clientApp, secret);
     }
 
     private UUID authorizeWithCode(OAuthTokenRequest oauthRequest, ClientApp clientApp) throws OAuthSystemException {
         ensureTrustedClient(oauthRequest, clientApp);
         String authzCode = oauthRequest.getCode();
-        UUID userId = findUserIdByAuthCode(authzCode);
-        if (userId == null) {
+        OAuth2AuthorizationCode consumedAuthCode = authzCodeRepository.consume(authzCode);
+        if (consumedAuthCode == null) {
             throw new OAuthException(buildBadAuthCodeResponse(authzCode));
         }
-        authzCodeRepository.deleteByCode(authzCode);
-        return userId;
+        return consumedAuthCode.getuserId();
     }
 
     private void ensureTrustedClient(OAuthTokenRequest oauthRequest, ClientApp clientApp) throws OAuthSystemException {
@@ -152,31 +165,39 @@ public class TokenResource {
         }
     }
 
-    private UUID findUserIdByAuthCode(String authCode) {
-        return authzCodeRepository.getUserIdByAuthorizationCode(authCode);
-    }
-
     private UUID authorizeWithPassword(OAuthTokenRequest oauthRequest) throws OAuthSystemException {
         String userEmail = oauthRequest.getUserName();
         String password = oauthRequest.getPassword();
         SecuredUser foundUser = userRepository.getByEmail(userEmail);
-        if (foundUser == null || !checkUserPassword(foundUser, password)) {
+        if (foundUser == null || !userRepository.checkPassword(foundUser, password)) {
             throw new OAuthException(buildInvalidUserPassResponse());
         }
         return foundUser.getId();
     }
 
-    private boolean checkUserPassword(SecuredUser foundUser, String password) {
-        String hashedPassword = userRepository.hashPassword(password, foundUser.getSalt());
-        return foundUser.getPassword().equals(hashedPassword);
+    private UUID authorizeWithRefreshToken(OAuthTokenRequest oauthRequest, ClientApp clientApp) throws OAuthSystemException {
+        ensureTrustedClient(oauthRequest, clientApp);
+        //the refresh token is single use : it is consumed here and a new one is issued with the access token
+        OAuth2RefreshToken refreshToken = refreshTokenRepository.consume(oauthRequest.getRefreshToken(), clientApp.getId());
+        if (refreshToken == null) {
+            throw new OAuthException(buildInvalidRefreshTokenResponse());
+        }
+        return refreshToken.getUserId();
     }
 
     protected String generateAccessToken(UUID userId) {
-        String accessToken = SecurityHelper.generateJWT(userId);
+        String accessToken = accessTokenRepository.generateAccessToken(userId);
         accessTokenRepository.create(accessToken, userId);
         return accessToken;
     }
 
+    protected String generateRefreshToken(UUID userId, ClientApp clientApp) throws OAuthSystemException {
+        OAuthIssuer oauthIssuer = new OAuthIssuerImpl(new MD5Generator());
+        String refreshToken = oauthIssuer.refreshToken();
+        refreshTokenRepository.create(refreshToken, userId, clientApp.getId());
+        return refreshToken;
+    }
+
     private Response handleOAuthProblem(OAuthProblemException problem) throws OAuthSystemException {
         OAuthResponse response = OAuthASResponse.errorResponse(HttpServletResponse.SC_BAD_REQUEST).error(problem).buildJSONMessage();
         return handleOAuthProblemResponse(response);
@@ -192,6 +213,12 @@ public class TokenResource {
                 .buildJSONMessage();
     }
 
+    private OAuthResponse buildInvalidRefreshTokenResponse() throws OAuthSystemException {
+        return OAuthASResponse.errorResponse(HttpServletResponse.SC_BAD_REQUEST)
+                .setError(OAuthError.TokenResponse.INVALID_GRANT).setErrorDescription(INVALID_REFRESH_TOKEN.getDevReadableMessage())
+                .buildJSONMessage();
+    }
+
     private OAuthResponse buildInvalidUserPassResponse() throws OAuthSystemException {
         return OAuthASResponse.errorResponse(HttpServletResponse.SC_BAD_REQUEST)
                 .setError(OAuthError.TokenResponse.INVALID_GRANT).setErrorDescription("invalid username or password")
@@ -0,0 +1,120 @@
+package io.tyoras.shopping.client.app.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.client.app.ClientApp;
+import io.tyoras.shopping.infra.db.PageCursor;
+import io.tyoras.shopping.infra.security.SecretDigester;
+import io.tyoras.shopping.infra.util.GuardedCache;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Client app repository caching the client apps by Id and the verified secrets in front of another implementation
+ * Verified secrets are only kept as a HMAC digest, with a random key generated at startup
+ *
+ * @author yoan
+ */
+public class ClientAppCacheRepository extends ClientAppRepository {
+    public static final String CLIENT_APP_CACHE_METRICS_NAME = MetricRegistry.name(ClientAppCacheRepository.class, "cache");
+    public static final String VERIFIED_SECRET_CACHE_METRICS_NAME = MetricRegistry.name(ClientAppCacheRepository.class, "verified-secret-cache");
+
+    private final ClientAppRepository delegate;
+    private final GuardedCache<UUID, ClientApp> clientAppCache;
+    private final Cache<String, UUID> verifiedSecretCache;
+    private final SecretDigester secretDigester = new SecretDigester();
+
+    public ClientAppCacheRepository(ClientAppRepository delegate, long maximumSize, long expireAfterMinutes, MetricRegistry metrics) {
+        this.delegate = requireNonNull(delegate);
+        Cache<UUID, ClientApp> appCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterMinutes, MINUTES)
+                .recordStats()
+                .build();
+        verifiedSecretCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterMinutes, MINUTES)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CLIENT_APP_CACHE_METRICS_NAME, appCache);
+        CacheMetricsHelper.registerCacheMetrics(metrics, VERIFIED_SECRET_CACHE_METRICS_NAME, verifiedSecretCache);
+        clientAppCache = new GuardedCache<>(appCache);
+    }
+
+    @Override
+    public String hashSecret(String secret, Object salt) {
+        return delegate.hashSecret(secret, salt);
+    }
+
+    @Override
+    public boolean checkSecret(ClientApp clientApp, String secret) {
+        if (clientApp == null || secret == null) {
+            return false;
+        }
+        String digest = digest(clientApp, secret);
+        if (verifiedSecretCache.getIfPresent(digest) != null) {
+            return true;
+        }
+
+        boolean validSecret = super.checkSecret(clientApp, secret);
+        if (validSecret) {
+            verifiedSecretCache.put(digest, clientApp.getId());
+        }
+        return validSecret;
+    }
+
+    private String digest(ClientApp clientApp, String secret) {
+        //the stored hash is part of the digest so that a changed secret never matches a previous verification
+        return secretDigester.digest(clientApp.getId().toString(), clientApp.getSecret(), secret);
+    }
+
+    @Override
+    protected void processCreate(ClientApp appToCreate) {
+        delegate.processCreate(appToCreate);
+    }
+
+    @Override
+    protected ClientApp processGetById(UUID clientId) {
+        return clientAppCache.get(clientId, delegate::processGetById);
+    }
+
+    @Override
+    protected ImmutableList<ClientApp> processGetByOwner(UUID ownerId) {
+        return delegate.processGetByOwner(ownerId);
+    }
+
+    @Override
+    protected Stream<ClientApp> processStreamByOwner(UUID ownerId, PageCursor after, int limit) {
+        return delegate.processStreamByOwner(ownerId, after, limit);
+    }
+
+    @Override
+    protected void processChangeSecret(ClientApp clientAppToUpdate) {
+        delegate.processChangeSecret(clientAppToUpdate);
+        invalidate(clientAppToUpdate.getId());
+    }
+
+    @Override
+    protected void processUpdate(ClientApp clientAppToUpdate) {
+        delegate.processUpdate(clientAppToUpdate);
+        invalidate(clientAppToUpdate.getId());
+    }
+
+    @Override
+    protected void processDeleteById(UUID clientId) {
+        delegate.processDeleteById(clientId);
+        invalidate(clientId);
+    }
+
+    private void invalidate(UUID clientId) {
+        clientAppCache.invalidate(clientId);
+        verifiedSecretCache.asMap().values().removeIf(clientId::equals);
+    }
+}
@@ -2,6 +2,8 @@ package io.tyoras.shopping.client.app.repository;
 
 import com.google.common.collect.ImmutableList;
 import io.tyoras.shopping.client.app.ClientApp;
+import io.tyoras.shopping.infra.db.Page;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
 import io.tyoras.shopping.infra.util.helper.SecurityHelper;
@@ -11,7 +13,10 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.tyoras.shopping.client.app.repository.ClientAppRepositoryErrorCode.UNSECURE_SECRET;
 import static io.tyoras.shopping.client.app.repository.ClientAppRepositoryErrorMessage.PROBLEM_SECRET_VALIDITY;
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
@@ -81,6 +86,21 @@ public abstract class ClientAppRepository {
         return SecurityHelper.hash(secret, salt);
     }
 
+    /**
+     * Check a raw secret against the hash of a client app
+     *
+     * @param clientApp
+     * @param secret
+     * @return true if the secret matches
+     */
+    public boolean checkSecret(ClientApp clientApp, String secret) {
+        if (clientApp == null || secret == null) {
+            return false;
+        }
+        String hashedSecret = hashSecret(secret, clientApp.getSalt());
+        return clientApp.getSecret().equals(hashedSecret);
+    }
+
     /**
      * Get a client app by its Id
      *
@@ -120,6 +140,50 @@ public abstract class ClientAppRepository {
         return processGetByOwner(ownerId);
     }
 
+    /**
+     * Get a page of the client apps of an user, from the most recently updated
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to get the first page
+     * @param limit   maximum number of apps in the page
+     * @return found apps page
+     */
+    public final Page<ClientApp> getByOwner(UUID ownerId, PageCursor after, int limit) {
+        checkArgument(limit > 0, "The page size should be positive");
+        if (ownerId == null) {
+            return Page.empty();
+        }
+        //one more app than asked to know if there is a next page
+        try (Stream<ClientApp> apps = processStreamByOwner(ownerId, after, limit + 1)) {
+            return Page.fromFetched(apps.collect(Collectors.toList()), limit, ClientAppRepository::toPageCursor);
+        }
+    }
+
+    /**
+     * Stream the client apps of an user from the most recently updated, without loading them all in memory.
+     * The returned stream must be closed to release the underlying cursor.
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent app
+     * @param limit   maximum number of apps streamed
+     * @return found apps stream
+     */
+    public final Stream<ClientApp> streamByOwner(UUID ownerId, PageCursor after, int limit) {
+        checkArgument(limit > 0, "The stream size should be positive");
+        if (ownerId == null) {
+            return Stream.empty();
+        }
+        return processStreamByOwner(ownerId, after, limit);
+    }
+
+    /**
+     * @param app
+     * @return cursor positioned on the app
+     */
+    public static PageCursor toPageCursor(ClientApp app) {
+        return new PageCursor(app.getLastUpdate(), app.getId());
+    }
+
     private void ensureAppfound(ClientApp foundApp) {
         if (foundApp == null) {
             throw new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, NOT_FOUND.getDevReadableMessage("Client app"));
@@ -210,6 +274,16 @@ public abstract class ClientAppRepository {
      */
     protected abstract ImmutableList<ClientApp> processGetByOwner(UUID ownerId);
 
+    /**
+     * Stream the client apps of an user, sorted by last update then Id descending
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent app
+     * @param limit
+     * @return lazy apps stream to close once consumed
+     */
+    protected abstract Stream<ClientApp> processStreamByOwner(UUID ownerId, PageCursor after, int limit);
+
     /**
      * Update secret
      *
@@ -6,20 +6,27 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
 import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.db.mongo.MongoKeysetPagination;
+import io.tyoras.shopping.infra.security.PasswordHasher;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.client.app.repository.ClientAppRepositoryErrorMessage.*;
+import static io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoConverter.FIELD_LAST_UPDATE;
 import static io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoConverter.FIELD_OWNER_ID;
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
 
@@ -35,11 +42,19 @@ public class ClientAppMongoRepository extends ClientAppRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientAppMongoRepository.class);
     private final MongoCollection<ClientApp> clientAppCollection;
     private final ClientAppMongoConverter appConverter;
+    private final PasswordHasher passwordHasher;
 
     @Inject
-    public ClientAppMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
+    public ClientAppMongoRepository(MongoDbConnectionFactory mongoConnectionFactory, PasswordHasher passwordHasher) {
         clientAppCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, CLIENT_APP_COLLECTION, ClientApp.class);
         appConverter = new ClientAppMongoConverter();
+        this.passwordHasher = passwordHasher;
+    }
+
+    @Override
+    public String hashSecret(String secret, Object salt) {
+        //client secrets do not store their hash iterations, they keep the historical count
+        return passwordHasher.hash(secret, salt, SecurityHelper.NB_HASH_ITERATION);
     }
 
     @Override
@@ -75,6 +90,21 @@ public class ClientAppMongoRepository extends ClientAppRepository {
         return ImmutableList.<ClientApp>copyOf(foundApps);
     }
 
+    @Override
+    protected Stream<ClientApp> processStreamByOwner(UUID ownerId, PageCursor after, int limit) {
+        Bson filter = Filters.eq(FIELD_OWNER_ID, ownerId);
+        if (after != null) {
+            filter = Filters.and(filter, MongoKeysetPagination.filterAfter(FIELD_LAST_UPDATE, after));
+        }
+        MongoCursor<ClientApp> cursor = null;
+        try {
+            cursor = clientAppCollection.find().filter(filter).sort(MongoKeysetPagination.sort(FIELD_LAST_UPDATE)).limit(limit).iterator();
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_CLIENT_APPS);
+        }
+        return MongoRepositoryHelper.stream(cursor);
+    }
+
     @Override
     protected void processUpdate(ClientApp clientApp) {
         Bson filter = Filters.eq(FIELD_ID, clientApp.getId());
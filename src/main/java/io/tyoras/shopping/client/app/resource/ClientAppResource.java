@@ -1,7 +1,7 @@
 package io.tyoras.shopping.client.app.resource;
 
 import com.codahale.metrics.annotation.Timed;
-import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.dropwizard.auth.Auth;
@@ -10,8 +10,11 @@ import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.client.app.representation.ClientAppRepresentation;
 import io.tyoras.shopping.client.app.representation.ClientAppWriteRepresentation;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.PageRepresentation;
 import io.tyoras.shopping.infra.rest.RestAPI;
+import io.tyoras.shopping.infra.rest.StreamingPageOutput;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.ResourceUtil;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
@@ -19,18 +22,21 @@ import io.tyoras.shopping.user.User;
 
 import javax.annotation.security.PermitAll;
 import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.client.app.repository.ClientAppRepositoryErrorCode.UNSECURE_SECRET;
 import static io.tyoras.shopping.client.app.resource.ClientAppResourceErrorMessage.CLIENT_APPS_NOT_FOUND;
 import static io.tyoras.shopping.client.app.resource.ClientAppResourceErrorMessage.CLIENT_APP_NOT_FOUND;
 import static io.tyoras.shopping.infra.config.guice.SwaggerModule.SECURITY_DEFINITION_OAUTH2;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.*;
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
@@ -49,11 +55,13 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 @Produces({"application/json", "application/xml"})
 public class ClientAppResource extends RestAPI {
     private final ClientAppRepository clientAppRepo;
+    private final ObjectMapper objectMapper;
 
     @Inject
-    public ClientAppResource(ClientAppRepository clientAppRepo) {
+    public ClientAppResource(ClientAppRepository clientAppRepo, ObjectMapper objectMapper) {
         super();
         this.clientAppRepo = Objects.requireNonNull(clientAppRepo);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
     }
 
     @Override
@@ -109,16 +117,19 @@ public class ClientAppResource extends RestAPI {
 
     @GET
     @Path("/user/{ownerId}")
-    @ApiOperation(value = "Get client apps by Id", notes = "This can only be done by the logged in user.", response = ClientAppRepresentation.class)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get client apps by Id", notes = "This can only be done by the logged in user. The apps are paginated from the most recently updated, follow the next link to get the following page.", response = PageRepresentation.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Found client applications"),
-            @ApiResponse(code = 400, message = "Invalid owner Id"),
+            @ApiResponse(code = 400, message = "Invalid owner Id, page cursor or limit"),
             @ApiResponse(code = 404, message = "Owner not found")})
-    public Response getByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr) {
-        ImmutableList<ClientApp> foundApps = findClientAppsByOwnerId(ownerIdStr);
-        List<ClientAppRepresentation> appsRepresentation = new ArrayList<>();
-        foundApps.forEach(app -> appsRepresentation.add(new ClientAppRepresentation(app, getUriInfo())));
-        return Response.ok().entity(appsRepresentation).build();
+    public Response getByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr,
+                                 @QueryParam(AFTER_PARAM) @ApiParam(value = "Cursor of the page, given by the next link") String afterStr,
+                                 @QueryParam(LIMIT_PARAM) @ApiParam(value = "Maximum number of apps in the page", defaultValue = "" + DEFAULT_LIMIT) String limitStr) {
+        PageCursor after = ResourceUtil.getPageCursorFromParam(AFTER_PARAM, afterStr);
+        int limit = ResourceUtil.getLimitFromParam(LIMIT_PARAM, limitStr, DEFAULT_LIMIT, MAX_LIMIT);
+        StreamingPageOutput<ClientApp> foundApps = streamClientAppsByOwnerId(ownerIdStr, after, limit);
+        return Response.ok(foundApps, MediaType.APPLICATION_JSON_TYPE).build();
     }
 
     @PUT
@@ -180,15 +191,21 @@ public class ClientAppResource extends RestAPI {
         return Response.noContent().build();
     }
 
-    private ImmutableList<ClientApp> findClientAppsByOwnerId(String ownerIdStr) {
+    private StreamingPageOutput<ClientApp> streamClientAppsByOwnerId(String ownerIdStr, PageCursor after, int limit) {
         UUID ownerId = ResourceUtil.getIdfromParam("ownerId", ownerIdStr);
-        ImmutableList<ClientApp> foundApps = clientAppRepo.getByOwner(ownerId);
-
-        if (foundApps.isEmpty()) {
+        UriInfo uriInfo = getUriInfo();
+        //one more app than asked to know if there is a next page
+        Stream<ClientApp> foundApps = clientAppRepo.streamByOwner(ownerId, after, limit + 1);
+        StreamingPageOutput<ClientApp> output = new StreamingPageOutput<>(objectMapper, foundApps, limit,
+                app -> new ClientAppRepresentation(app, uriInfo), ClientAppRepository::toPageCursor, uriInfo);
+
+        //only the first page is empty when the owner has no app
+        if (output.isEmpty() && after == null) {
+            output.close();
             throw new WebApiException(NOT_FOUND, INFO, API_RESPONSE, CLIENT_APPS_NOT_FOUND.getDevReadableMessage(ownerIdStr));
         }
 
-        return foundApps;
+        return output;
     }
 
     private void ensureFoundApp(ClientApp foundApp) {
@@ -12,6 +12,7 @@ import io.swagger.jaxrs.listing.ApiListingResource;
 import io.tyoras.shopping.infra.config.ShoppingApiConfiguration;
 import io.tyoras.shopping.infra.config.SwaggerConfiguration;
 import io.tyoras.shopping.infra.config.guice.ShoppingModule;
+import io.tyoras.shopping.infra.rest.RequestScopeFilter;
 import io.tyoras.shopping.infra.rest.error.GlobalExceptionMapper;
 import io.tyoras.shopping.root.BuildInfo;
 import io.tyoras.shopping.root.repository.properties.BuildInfoPropertiesRepository;
@@ -52,6 +53,7 @@ public class ShoppingApiApplication extends Application<ShoppingApiConfiguration
         configureJackson(environment);
         configureExceptionMapping(environment);
         configureCORS(environment);
+        configureRequestScope(environment);
         configureSwagger(configuration, environment);
     }
 
@@ -70,6 +72,11 @@ public class ShoppingApiApplication extends Application<ShoppingApiConfiguration
         cors.setInitParameter(CHAIN_PREFLIGHT_PARAM, Boolean.FALSE.toString());
     }
 
+    private void configureRequestScope(Environment environment) {
+        final FilterRegistration.Dynamic requestScope = environment.servlets().addFilter("RequestScope", new RequestScopeFilter());
+        requestScope.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "/*");
+    }
+
     private void configureExceptionMapping(Environment environment) {
         environment.jersey().register(new GlobalExceptionMapper());
     }
@@ -0,0 +1,21 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+public class AuthorizationCodeConfiguration {
+
+    /**
+     * Keep the authorization codes in memory instead of the database, for single node or sticky session deployments
+     */
+    @JsonProperty("in_memory")
+    public boolean inMemory = false;
+
+    /**
+     * Maximum number of pending authorization codes kept in memory
+     */
+    @Min(1)
+    @JsonProperty("max_size")
+    public long maxSize = 10_000;
+}
@@ -0,0 +1,88 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class CacheConfiguration {
+
+    /**
+     * Maximum number of access tokens kept in the local cache (0 disables the cache)
+     */
+    @Min(0)
+    @JsonProperty("access_token_max_size")
+    public long accessTokenMaxSize = 10_000;
+
+    /**
+     * Time after which a cached access token is checked again against the token store,
+     * bounds the time a token revoked on another node is still accepted by this node
+     */
+    @Min(1)
+    @Max(300)
+    @JsonProperty("access_token_expire_after_seconds")
+    public long accessTokenExpireAfterSeconds = 30;
+
+    /**
+     * Maximum number of users kept in the local cache (0 disables the cache)
+     */
+    @Min(0)
+    @JsonProperty("user_max_size")
+    public long userMaxSize = 10_000;
+
+    /**
+     * Time after which a cached user is reloaded, bounds the staleness of users updated by other nodes
+     */
+    @Min(1)
+    @JsonProperty("user_expire_after_minutes")
+    public long userExpireAfterMinutes = 5;
+
+    /**
+     * Maximum number of verified Basic auth credentials kept in the local cache (0 disables the cache)
+     */
+    @Min(0)
+    @JsonProperty("credential_max_size")
+    public long credentialMaxSize = 1_000;
+
+    /**
+     * Time after which verified credentials have to be checked again against the user store
+     */
+    @Min(1)
+    @JsonProperty("credential_expire_after_minutes")
+    public long credentialExpireAfterMinutes = 2;
+
+    /**
+     * Maximum number of client apps and of verified client secrets kept in the local caches (0 disables the caches)
+     */
+    @Min(0)
+    @JsonProperty("client_app_max_size")
+    public long clientAppMaxSize = 1_000;
+
+    /**
+     * Time after which a cached client app is reloaded, bounds the staleness of client apps updated by other nodes
+     */
+    @Min(1)
+    @JsonProperty("client_app_expire_after_minutes")
+    public long clientAppExpireAfterMinutes = 10;
+
+    /**
+     * Keep the cached shopping lists across requests, by default a list is only cached for the request reading it.
+     * A shared list written by another node is served outdated until it expires.
+     */
+    @JsonProperty("list_shared")
+    public boolean listShared = false;
+
+    /**
+     * Maximum weight of the shopping lists kept in the shared local cache, a list weighs one plus its item count (0 disables the cache)
+     */
+    @Min(0)
+    @JsonProperty("list_max_weight")
+    public long listMaxWeight = 100_000;
+
+    /**
+     * Time after which a shared cached shopping list is reloaded, bounds the staleness of lists updated by other nodes
+     */
+    @Min(1)
+    @JsonProperty("list_expire_after_minutes")
+    public long listExpireAfterMinutes = 1;
+}
@@ -0,0 +1,29 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+
+import javax.validation.constraints.Min;
+
+public class HashingConfiguration {
+
+    /**
+     * Number of threads dedicated to password and client secret hashing
+     */
+    @Min(1)
+    @JsonProperty("pool_size")
+    public int poolSize = 4;
+
+    /**
+     * Maximum number of hash requests waiting for a thread before rejecting new ones
+     */
+    @Min(1)
+    @JsonProperty("queue_capacity")
+    public int queueCapacity = 64;
+
+    /**
+     * Number of hash iterations applied to new user passwords
+     */
+    @Min(1)
+    public int iterations = SecurityHelper.NB_HASH_ITERATION;
+}
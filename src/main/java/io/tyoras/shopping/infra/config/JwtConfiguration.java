@@ -0,0 +1,28 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+
+public class JwtConfiguration {
+
+    /**
+     * Sign the access tokens and check them locally instead of looking them up in the token store
+     */
+    public boolean signed = false;
+
+    /**
+     * Base 64 encoded HMAC-SHA256 key, mandatory when signed is enabled
+     */
+    @Nullable
+    @JsonProperty("signing_key")
+    public String signingKey;
+
+    /**
+     * Delay between two reloads of the revoked tokens deny-list
+     */
+    @Min(1)
+    @JsonProperty("deny_list_refresh_seconds")
+    public long denyListRefreshSeconds = 30;
+}
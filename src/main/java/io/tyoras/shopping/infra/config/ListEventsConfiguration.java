@@ -0,0 +1,42 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+public class ListEventsConfiguration {
+
+    /**
+     * Maximum number of followed lists whose recent events are kept in memory
+     */
+    @Min(1)
+    @JsonProperty("max_followed_lists")
+    public long maxFollowedLists = 10_000;
+
+    /**
+     * Number of recent events kept by followed list, a client further behind has to reload the list
+     */
+    @Min(1)
+    @JsonProperty("history_size")
+    public int historySize = 100;
+
+    /**
+     * Time after which the events of a list nobody follows anymore are dropped
+     */
+    @Min(1)
+    @JsonProperty("expire_after_minutes")
+    public long expireAfterMinutes = 10;
+
+    /**
+     * Relay the events through a capped mongo collection, needed as soon as several nodes serve the API
+     */
+    @JsonProperty("mongo_relay")
+    public boolean mongoRelay = false;
+
+    /**
+     * Size of the capped collection relaying the events between the nodes
+     */
+    @Min(4096)
+    @JsonProperty("relay_size_in_bytes")
+    public long relaySizeInBytes = 16 * 1024 * 1024;
+}
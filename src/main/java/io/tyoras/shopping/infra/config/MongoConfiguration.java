@@ -1,5 +1,6 @@
 package io.tyoras.shopping.infra.config;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.validator.constraints.NotEmpty;
 
 import javax.annotation.Nullable;
@@ -19,4 +20,17 @@ public class MongoConfiguration {
     public String user;
     @Nullable
     public String password;
+
+    /**
+     * Refuse to start if a hot query declared in the index registry would not be served by an index
+     */
+    @JsonProperty("fail_on_uncovered_query")
+    public boolean failOnUncoveredQuery = false;
+
+    /**
+     * Number of items above which the items of a list are moved out of the list document, into their own collection
+     */
+    @Min(1)
+    @JsonProperty("max_embedded_items")
+    public int maxEmbeddedItems = 500;
 }
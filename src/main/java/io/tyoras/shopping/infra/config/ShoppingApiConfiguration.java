@@ -1,6 +1,6 @@
 package io.tyoras.shopping.infra.config;
 
-
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.Configuration;
 
 import javax.validation.Valid;
@@ -16,4 +16,30 @@ public class ShoppingApiConfiguration extends Configuration {
     @NotNull
     public SwaggerConfiguration swagger = new SwaggerConfiguration();
 
+    @Valid
+    @NotNull
+    public CacheConfiguration cache = new CacheConfiguration();
+
+    @Valid
+    @NotNull
+    public JwtConfiguration jwt = new JwtConfiguration();
+
+    @Valid
+    @NotNull
+    public HashingConfiguration hashing = new HashingConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty("token_write_behind")
+    public TokenWriteBehindConfiguration tokenWriteBehind = new TokenWriteBehindConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty("authorization_code")
+    public AuthorizationCodeConfiguration authorizationCode = new AuthorizationCodeConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty("list_events")
+    public ListEventsConfiguration listEvents = new ListEventsConfiguration();
 }
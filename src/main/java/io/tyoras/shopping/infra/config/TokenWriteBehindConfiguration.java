@@ -0,0 +1,34 @@
+package io.tyoras.shopping.infra.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+public class TokenWriteBehindConfiguration {
+
+    /**
+     * Queue the issued access tokens and store them by batches instead of one insert per token
+     */
+    public boolean enabled = false;
+
+    /**
+     * Maximum number of access tokens waiting to be stored, tokens beyond are stored synchronously
+     */
+    @Min(1)
+    @JsonProperty("queue_capacity")
+    public int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of access tokens stored at once
+     */
+    @Min(1)
+    @JsonProperty("max_batch_size")
+    public int maxBatchSize = 500;
+
+    /**
+     * Delay between two flushes of the queued access tokens
+     */
+    @Min(1)
+    @JsonProperty("flush_interval_millis")
+    public long flushIntervalMillis = 200;
+}
@@ -1,26 +1,70 @@
 package io.tyoras.shopping.infra.config.guice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
+import com.google.inject.Singleton;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
 import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepository;
+import io.tyoras.shopping.authentication.repository.cache.OAuth2AccessTokenCacheRepository;
+import io.tyoras.shopping.authentication.repository.jwt.OAuth2AccessTokenJwtRepository;
+import io.tyoras.shopping.authentication.repository.memory.OAuth2AuthorizationCodeMemoryRepository;
 import io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoRepository;
 import io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoRepository;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoRepository;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2TokenRevocationMongoRepository;
+import io.tyoras.shopping.authentication.repository.writebehind.OAuth2AccessTokenWriteBehindRepository;
+import io.tyoras.shopping.client.app.repository.ClientAppCacheRepository;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoRepository;
+import io.tyoras.shopping.infra.config.AuthorizationCodeConfiguration;
+import io.tyoras.shopping.infra.config.CacheConfiguration;
+import io.tyoras.shopping.infra.config.HashingConfiguration;
+import io.tyoras.shopping.infra.config.JwtConfiguration;
+import io.tyoras.shopping.infra.config.ListEventsConfiguration;
 import io.tyoras.shopping.infra.config.ShoppingApiConfiguration;
+import io.tyoras.shopping.infra.config.TokenWriteBehindConfiguration;
+import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.security.PasswordHasher;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import io.tyoras.shopping.list.event.mongo.ShoppingListEventMongoBus;
+import io.tyoras.shopping.list.repository.ShoppingItemCacheRepository;
+import io.tyoras.shopping.list.repository.ShoppingItemPublishingRepository;
 import io.tyoras.shopping.list.repository.ShoppingItemRepository;
+import io.tyoras.shopping.list.repository.ShoppingListCache;
+import io.tyoras.shopping.list.repository.ShoppingListCacheRepository;
+import io.tyoras.shopping.list.repository.ShoppingListPublishingRepository;
 import io.tyoras.shopping.list.repository.ShoppingListRepository;
 import io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoRepository;
 import io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository;
 import io.tyoras.shopping.root.repository.BuildInfoRepository;
 import io.tyoras.shopping.root.repository.properties.BuildInfoPropertiesRepository;
+import io.tyoras.shopping.user.repository.SecuredUserCacheRepository;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
+import io.tyoras.shopping.user.repository.UserCache;
+import io.tyoras.shopping.user.repository.UserCacheRepository;
 import io.tyoras.shopping.user.repository.UserRepository;
+import io.tyoras.shopping.user.repository.VerifiedCredentialCache;
 import io.tyoras.shopping.user.repository.mongo.SecuredUserMongoRepository;
 import io.tyoras.shopping.user.repository.mongo.UserMongoRepository;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
 import ru.vyarus.dropwizard.guice.module.support.DropwizardAwareModule;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.google.common.base.Preconditions.checkState;
 import static io.tyoras.shopping.root.repository.properties.BuildInfoPropertiesRepository.BUILD_INFO_DEFAULT_PROPERTIES_FILE_NAME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Guice Module to configure bindings
@@ -33,14 +77,168 @@ public class ShoppingModule extends DropwizardAwareModule<ShoppingApiConfigurati
     protected void configure() {
 
         //bindings
-        bind(UserRepository.class).to(UserMongoRepository.class);
-        bind(SecuredUserRepository.class).to(SecuredUserMongoRepository.class);
-        bind(ShoppingListRepository.class).to(ShoppingListMongoRepository.class);
-        bind(ShoppingItemRepository.class).to(ShoppingItemMongoRepository.class);
-        bind(ClientAppRepository.class).to(ClientAppMongoRepository.class);
-
-        bind(OAuth2AuthorizationCodeRepository.class).to(OAuth2AuthorizationCodeMongoRepository.class);
-        bind(OAuth2AccessTokenRepository.class).to(OAuth2AccessTokenMongoRepository.class);
+        bind(OAuth2TokenRevocationRepository.class).to(OAuth2TokenRevocationMongoRepository.class);
+        bind(OAuth2RefreshTokenRepository.class).to(OAuth2RefreshTokenMongoRepository.class);
+    }
+
+    @Provides
+    @Singleton
+    ShoppingListEventBus provideShoppingListEventBus(MongoDbConnectionFactory mongoConnectionFactory) {
+        ListEventsConfiguration eventsConfig = configuration().listEvents;
+        if (!eventsConfig.mongoRelay) {
+            return new ShoppingListEventBus(eventsConfig.maxFollowedLists, eventsConfig.historySize, eventsConfig.expireAfterMinutes, environment().metrics());
+        }
+
+        ShoppingListEventMongoBus mongoBus = new ShoppingListEventMongoBus(mongoConnectionFactory, eventsConfig.maxFollowedLists, eventsConfig.historySize,
+                eventsConfig.expireAfterMinutes, eventsConfig.relaySizeInBytes, environment().metrics());
+        mongoBus.start();
+        ExecutorService eventsTailer = environment().lifecycle().executorService("shopping-list-events-tailer").minThreads(1).maxThreads(1).build();
+        eventsTailer.submit(mongoBus::tail);
+        environment().lifecycle().addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
+            @Override
+            public void lifeCycleStopping(LifeCycle event) {
+                mongoBus.stop();
+            }
+        });
+        return mongoBus;
+    }
+
+    @Provides
+    @Singleton
+    ShoppingListCache provideShoppingListCache() {
+        CacheConfiguration cacheConfig = configuration().cache;
+        return new ShoppingListCache(cacheConfig.listMaxWeight, cacheConfig.listExpireAfterMinutes, cacheConfig.listShared, environment().metrics());
+    }
+
+    @Provides
+    @Singleton
+    ShoppingListRepository provideShoppingListRepository(ShoppingListMongoRepository mongoRepository, Provider<ShoppingListCache> listCacheProvider, ShoppingListEventBus eventBus) {
+        ShoppingListRepository storeRepository = mongoRepository;
+        if (configuration().cache.listMaxWeight > 0) {
+            storeRepository = new ShoppingListCacheRepository(mongoRepository, listCacheProvider.get());
+        }
+        return new ShoppingListPublishingRepository(storeRepository, eventBus);
+    }
+
+    @Provides
+    @Singleton
+    ShoppingItemRepository provideShoppingItemRepository(ShoppingItemMongoRepository mongoRepository, Provider<ShoppingListCache> listCacheProvider, ShoppingListEventBus eventBus) {
+        ShoppingItemRepository storeRepository = mongoRepository;
+        if (configuration().cache.listMaxWeight > 0) {
+            storeRepository = new ShoppingItemCacheRepository(mongoRepository, listCacheProvider.get());
+        }
+        return new ShoppingItemPublishingRepository(storeRepository, eventBus);
+    }
+
+    @Provides
+    @Singleton
+    OAuth2AuthorizationCodeRepository provideOAuth2AuthorizationCodeRepository(Provider<OAuth2AuthorizationCodeMongoRepository> mongoRepositoryProvider) {
+        AuthorizationCodeConfiguration authzCodeConfig = configuration().authorizationCode;
+        if (authzCodeConfig.inMemory) {
+            return new OAuth2AuthorizationCodeMemoryRepository(authzCodeConfig.maxSize, environment().metrics());
+        }
+        return mongoRepositoryProvider.get();
+    }
+
+    @Provides
+    @Singleton
+    OAuth2AccessTokenRepository provideOAuth2AccessTokenRepository(OAuth2AccessTokenMongoRepository mongoRepository, OAuth2TokenRevocationRepository revocationRepository) {
+        JwtConfiguration jwtConfig = configuration().jwt;
+        if (jwtConfig.signed) {
+            return createJwtRepository(jwtConfig, revocationRepository);
+        }
+
+        OAuth2AccessTokenRepository storeRepository = mongoRepository;
+        TokenWriteBehindConfiguration writeBehindConfig = configuration().tokenWriteBehind;
+        if (writeBehindConfig.enabled) {
+            storeRepository = createWriteBehindRepository(writeBehindConfig, mongoRepository);
+        }
+
+        CacheConfiguration cacheConfig = configuration().cache;
+        if (cacheConfig.accessTokenMaxSize == 0) {
+            return storeRepository;
+        }
+        return new OAuth2AccessTokenCacheRepository(storeRepository, cacheConfig.accessTokenMaxSize, cacheConfig.accessTokenExpireAfterSeconds, environment().metrics());
+    }
+
+    private OAuth2AccessTokenWriteBehindRepository createWriteBehindRepository(TokenWriteBehindConfiguration writeBehindConfig, OAuth2AccessTokenRepository storeRepository) {
+        OAuth2AccessTokenWriteBehindRepository writeBehindRepository = new OAuth2AccessTokenWriteBehindRepository(storeRepository,
+                writeBehindConfig.queueCapacity, writeBehindConfig.maxBatchSize, environment().metrics());
+
+        ScheduledExecutorService tokenFlusher = environment().lifecycle().scheduledExecutorService("access-token-write-behind").build();
+        tokenFlusher.scheduleWithFixedDelay(writeBehindRepository::flush, writeBehindConfig.flushIntervalMillis, writeBehindConfig.flushIntervalMillis, MILLISECONDS);
+        //last flush once the server does not issue tokens anymore
+        environment().lifecycle().addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
+            @Override
+            public void lifeCycleStopped(LifeCycle event) {
+                writeBehindRepository.flush();
+            }
+        });
+        return writeBehindRepository;
+    }
+
+    private OAuth2AccessTokenJwtRepository createJwtRepository(JwtConfiguration jwtConfig, OAuth2TokenRevocationRepository revocationRepository) {
+        checkState(StringUtils.isNotBlank(jwtConfig.signingKey), "jwt.signing_key is mandatory with signed access tokens");
+        OAuth2AccessTokenJwtRepository jwtRepository = new OAuth2AccessTokenJwtRepository(revocationRepository, SecurityHelper.toSigningKey(jwtConfig.signingKey));
+
+        ScheduledExecutorService denyListRefresher = environment().lifecycle().scheduledExecutorService("jwt-deny-list-refresh").build();
+        denyListRefresher.scheduleWithFixedDelay(jwtRepository::refreshDenyList, 0, jwtConfig.denyListRefreshSeconds, SECONDS);
+        return jwtRepository;
+    }
+
+    @Provides
+    @Singleton
+    ClientAppRepository provideClientAppRepository(ClientAppMongoRepository mongoRepository) {
+        CacheConfiguration cacheConfig = configuration().cache;
+        if (cacheConfig.clientAppMaxSize == 0) {
+            return mongoRepository;
+        }
+        return new ClientAppCacheRepository(mongoRepository, cacheConfig.clientAppMaxSize, cacheConfig.clientAppExpireAfterMinutes, environment().metrics());
+    }
+
+    @Provides
+    @Singleton
+    PasswordHasher providePasswordHasher() {
+        HashingConfiguration hashingConfig = configuration().hashing;
+        BlockingQueue<Runnable> workQueue = new ArrayBlockingQueue<>(hashingConfig.queueCapacity);
+        ExecutorService hashingPool = environment().lifecycle().executorService("password-hashing-%d")
+                .minThreads(hashingConfig.poolSize)
+                .maxThreads(hashingConfig.poolSize)
+                .workQueue(workQueue)
+                .rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        return new PasswordHasher(hashingPool, workQueue, hashingConfig.iterations, environment().metrics());
+    }
+
+    @Provides
+    @Singleton
+    UserCache provideUserCache() {
+        CacheConfiguration cacheConfig = configuration().cache;
+        return new UserCache(cacheConfig.userMaxSize, cacheConfig.userExpireAfterMinutes, environment().metrics());
+    }
+
+    @Provides
+    @Singleton
+    VerifiedCredentialCache provideVerifiedCredentialCache() {
+        CacheConfiguration cacheConfig = configuration().cache;
+        return new VerifiedCredentialCache(cacheConfig.credentialMaxSize, cacheConfig.credentialExpireAfterMinutes, environment().metrics());
+    }
+
+    @Provides
+    @Singleton
+    UserRepository provideUserRepository(UserMongoRepository mongoRepository, UserCache userCache, VerifiedCredentialCache credentialCache) {
+        return new UserCacheRepository(mongoRepository, userCache, credentialCache);
+    }
+
+    @Provides
+    @Singleton
+    SecuredUserRepository provideSecuredUserRepository(SecuredUserMongoRepository mongoRepository, UserCache userCache, VerifiedCredentialCache credentialCache) {
+        return new SecuredUserCacheRepository(mongoRepository, userCache, credentialCache);
+    }
+
+    @Provides
+    ObjectMapper provideObjectMapper() {
+        return environment().getObjectMapper();
     }
 
     @Provides
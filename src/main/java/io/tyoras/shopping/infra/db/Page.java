@@ -0,0 +1,72 @@
+package io.tyoras.shopping.infra.db;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Page of a collection read with keyset pagination
+ *
+ * @param <T> Type of the elements
+ * @author yoan
+ */
+public final class Page<T> {
+    private final ImmutableList<T> elements;
+    /**
+     * Cursor of the following page, null if this page is the last one
+     */
+    private final PageCursor next;
+
+    public Page(ImmutableList<T> elements, PageCursor next) {
+        this.elements = requireNonNull(elements);
+        this.next = next;
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(ImmutableList.of(), null);
+    }
+
+    /**
+     * Build a page from the elements read with one more element than the page size,
+     * to know if there is a following page without counting
+     *
+     * @param fetched  elements read, at most limit + 1
+     * @param limit    page size
+     * @param toCursor cursor of an element
+     * @return page
+     */
+    public static <T> Page<T> fromFetched(List<T> fetched, int limit, Function<T, PageCursor> toCursor) {
+        checkArgument(limit > 0, "The page size should be positive");
+        if (fetched.size() <= limit) {
+            return new Page<>(ImmutableList.copyOf(fetched), null);
+        }
+        ImmutableList<T> elements = ImmutableList.copyOf(fetched.subList(0, limit));
+        return new Page<>(elements, toCursor.apply(elements.get(limit - 1)));
+    }
+
+    public ImmutableList<T> getElements() {
+        return elements;
+    }
+
+    public Optional<PageCursor> getNext() {
+        return Optional.ofNullable(next);
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", elements.size())
+                .add("next", next)
+                .toString();
+    }
+}
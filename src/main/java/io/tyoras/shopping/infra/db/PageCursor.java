@@ -0,0 +1,93 @@
+package io.tyoras.shopping.infra.db;
+
+import com.google.common.base.MoreObjects;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Position in a collection sorted by last update then Id, from the most recent to the oldest.
+ * It is exposed to the clients as an opaque token.
+ *
+ * @author yoan
+ */
+public final class PageCursor {
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Last update of the last element of the previous page
+     */
+    private final LocalDateTime lastUpdate;
+    /**
+     * Id of the last element of the previous page
+     */
+    private final UUID id;
+
+    public PageCursor(LocalDateTime lastUpdate, UUID id) {
+        this.lastUpdate = requireNonNull(lastUpdate, "Last update is mandatory");
+        this.id = requireNonNull(id, "Id is mandatory");
+    }
+
+    public LocalDateTime getLastUpdate() {
+        return lastUpdate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * @return opaque token usable in an URL
+     */
+    public String encode() {
+        String cursor = DateHelper.toDate(lastUpdate).getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token opaque token produced by encode()
+     * @return decoded cursor
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static PageCursor decode(String token) {
+        String cursor = new String(Base64.getUrlDecoder().decode(requireNonNull(token)), StandardCharsets.UTF_8);
+        String[] parts = cursor.split(SEPARATOR);
+        checkArgument(parts.length == 2, "Invalid page cursor");
+        LocalDateTime lastUpdate = DateHelper.toLocalDateTime(new Date(Long.parseLong(parts[0])));
+        return new PageCursor(lastUpdate, UUID.fromString(parts[1]));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lastUpdate, id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        PageCursor that = (PageCursor) obj;
+        return Objects.equals(this.lastUpdate, that.lastUpdate)
+                && Objects.equals(this.id, that.id);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("lastUpdate", lastUpdate)
+                .add("id", id)
+                .toString();
+    }
+}
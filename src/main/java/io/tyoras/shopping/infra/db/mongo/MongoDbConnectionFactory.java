@@ -11,7 +11,10 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoConverter;
 import io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoConverter;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoConverter;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2TokenRevocationMongoConverter;
 import io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoConverter;
+import io.tyoras.shopping.infra.config.MongoConfiguration;
 import io.tyoras.shopping.infra.config.ShoppingApiConfiguration;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter;
@@ -44,6 +47,13 @@ public class MongoDbConnectionFactory {
         mongoClient = new MongoClient(getServerAdress(), getCredentials(), getOptions());
     }
 
+    /**
+     * @return settings of the mongo storage
+     */
+    public MongoConfiguration getMongoConfig() {
+        return config.mongo;
+    }
+
     public MongoDatabase getDB(Dbs db) {
         return mongoClient.getDatabase(db.getDbName());
     }
@@ -100,7 +110,9 @@ public class MongoDbConnectionFactory {
         ClientAppMongoConverter clientAppCodec = new ClientAppMongoConverter(defaultDocumentCodec);
         OAuth2AuthorizationCodeMongoConverter authCodeCodec = new OAuth2AuthorizationCodeMongoConverter(defaultDocumentCodec);
         OAuth2AccessTokenMongoConverter accessTokenCodec = new OAuth2AccessTokenMongoConverter(defaultDocumentCodec);
+        OAuth2TokenRevocationMongoConverter tokenRevocationCodec = new OAuth2TokenRevocationMongoConverter(defaultDocumentCodec);
+        OAuth2RefreshTokenMongoConverter refreshTokenCodec = new OAuth2RefreshTokenMongoConverter(defaultDocumentCodec);
 
-        return CodecRegistries.fromCodecs(userCodec, securedUserCodec, listCodec, itemCodec, clientAppCodec, authCodeCodec, accessTokenCodec);
+        return CodecRegistries.fromCodecs(userCodec, securedUserCodec, listCodec, itemCodec, clientAppCodec, authCodeCodec, accessTokenCodec, tokenRevocationCodec, refreshTokenCodec);
     }
 }
\ No newline at end of file
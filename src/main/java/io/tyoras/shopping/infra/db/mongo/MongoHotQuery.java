@@ -0,0 +1,60 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.conversions.Bson;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Frequent query which should always be served by an index
+ *
+ * @author yoan
+ */
+public final class MongoHotQuery {
+    private final String name;
+    private final String collectionName;
+    private final Bson filter;
+    /**
+     * Sort of the query, null if unsorted
+     */
+    private final Bson sort;
+
+    public MongoHotQuery(String name, String collectionName, Bson filter, Bson sort) {
+        checkArgument(StringUtils.isNotBlank(name), "Invalid query name");
+        this.name = name;
+        checkArgument(StringUtils.isNotBlank(collectionName), "Invalid collection name");
+        this.collectionName = collectionName;
+        this.filter = requireNonNull(filter, "Query filter is mandatory");
+        this.sort = sort;
+    }
+
+    public MongoHotQuery(String name, String collectionName, Bson filter) {
+        this(name, collectionName, filter, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public Bson getFilter() {
+        return filter;
+    }
+
+    public Bson getSort() {
+        return sort;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("collection", collectionName)
+                .toString();
+    }
+}
@@ -0,0 +1,191 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.google.common.base.MoreObjects;
+import com.mongodb.MongoClient;
+import com.mongodb.client.model.IndexOptions;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Declaration of a mongo index on a collection
+ *
+ * @author yoan
+ */
+public final class MongoIndex {
+    private final String collectionName;
+    private final Document keys;
+    private final boolean unique;
+    /**
+     * TTL of the documents in seconds, null if the documents never expire
+     */
+    private final Long expireAfterSeconds;
+    /**
+     * Filter of the indexed documents, null if all the documents are indexed
+     */
+    private final BsonDocument partialFilter;
+
+    private MongoIndex(String collectionName, Document keys, boolean unique, Long expireAfterSeconds, BsonDocument partialFilter) {
+        checkArgument(StringUtils.isNotBlank(collectionName), "Invalid collection name");
+        this.collectionName = collectionName;
+        checkArgument(!keys.isEmpty(), "An index needs at least one key");
+        this.keys = keys;
+        this.unique = unique;
+        this.expireAfterSeconds = expireAfterSeconds;
+        this.partialFilter = partialFilter;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public Document getKeys() {
+        return new Document(keys);
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public Long getExpireAfterSeconds() {
+        return expireAfterSeconds;
+    }
+
+    public BsonDocument getPartialFilter() {
+        return partialFilter;
+    }
+
+    /**
+     * Options to create the index without blocking the other operations on the collection
+     *
+     * @return creation options
+     */
+    public IndexOptions toIndexOptions() {
+        IndexOptions options = new IndexOptions().background(true);
+        if (unique) {
+            options.unique(true);
+        }
+        if (expireAfterSeconds != null) {
+            options.expireAfter(expireAfterSeconds, TimeUnit.SECONDS);
+        }
+        if (partialFilter != null) {
+            options.partialFilterExpression(partialFilter);
+        }
+        return options;
+    }
+
+    /**
+     * Check if an index description returned by listIndexes() is this index
+     *
+     * @param indexInfo index description
+     * @return true if the keys are the same
+     */
+    public boolean matches(Document indexInfo) {
+        Document existingKeys = indexInfo.get("key", Document.class);
+        if (existingKeys == null || existingKeys.size() != keys.size()) {
+            return false;
+        }
+        //key order matters for compound indexes
+        return new ArrayList<>(existingKeys.keySet()).equals(new ArrayList<>(keys.keySet()))
+                && keys.entrySet().stream().allMatch(key -> sameDirection(key.getValue(), existingKeys.get(key.getKey())));
+    }
+
+    private static boolean sameDirection(Object declared, Object existing) {
+        if (declared instanceof Number && existing instanceof Number) {
+            return ((Number) declared).intValue() == ((Number) existing).intValue();
+        }
+        return Objects.equals(declared, existing);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("collection", collectionName)
+                .add("keys", keys.toJson())
+                .add("unique", unique)
+                .add("expireAfterSeconds", expireAfterSeconds)
+                .add("partialFilter", partialFilter)
+                .omitNullValues()
+                .toString();
+    }
+
+    public enum SortOrder {
+        ASCENDING(1),
+        DESCENDING(-1);
+
+        private int order;
+
+        private SortOrder(int order) {
+            this.order = order;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    public static class Builder {
+        private final String collectionName;
+        private final Document keys = new Document();
+        private boolean unique = false;
+        private Long expireAfterSeconds = null;
+        private BsonDocument partialFilter = null;
+
+        private Builder(String collectionName) {
+            this.collectionName = collectionName;
+        }
+
+        /**
+         * @param collectionName name of the indexed collection
+         * @return builder
+         */
+        public static Builder on(String collectionName) {
+            return new Builder(collectionName);
+        }
+
+        /**
+         * Add a key to the index, the order of the calls is the order of the compound index keys
+         *
+         * @param fieldName
+         * @param sortOrder
+         * @return builder
+         */
+        public Builder withKey(String fieldName, SortOrder sortOrder) {
+            keys.append(requireNonNull(fieldName), sortOrder.getOrder());
+            return this;
+        }
+
+        public Builder unique() {
+            this.unique = true;
+            return this;
+        }
+
+        public Builder expireAfter(long ttl, TimeUnit timeUnit) {
+            this.expireAfterSeconds = timeUnit.toSeconds(ttl);
+            return this;
+        }
+
+        /**
+         * Only index the documents matching the filter
+         *
+         * @param filter
+         * @return builder
+         */
+        public Builder partial(Bson filter) {
+            this.partialFilter = filter.toBsonDocument(Document.class, MongoClient.getDefaultCodecRegistry());
+            return this;
+        }
+
+        public MongoIndex build() {
+            return new MongoIndex(collectionName, keys, unique, expireAfterSeconds, partialFilter);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoConverter;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoConverter;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoConverter;
+import io.tyoras.shopping.authentication.repository.mongo.OAuth2TokenRevocationMongoConverter;
+import io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoConverter;
+import io.tyoras.shopping.infra.db.mongo.MongoIndex.Builder;
+import io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter;
+import io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter;
+import io.tyoras.shopping.list.repository.mongo.ShoppingListTombstoneMongoConverter;
+import io.tyoras.shopping.user.ProfileVisibility;
+import io.tyoras.shopping.user.repository.mongo.UserMongoConverter;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository.ACCESS_TOKEN_TTL_IN_MINUTES;
+import static io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository.AUTH_CODE_TTL_IN_MINUTES;
+import static io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository.REFRESH_TOKEN_TTL_IN_DAYS;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AccessTokenMongoRepository.ACCESS_TOKEN_COLLECTION;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2AuthorizationCodeMongoRepository.AUTHZ_CODE_COLLECTION;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoRepository.REFRESH_TOKEN_COLLECTION;
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2TokenRevocationMongoRepository.TOKEN_REVOCATION_COLLECTION;
+import static io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoRepository.CLIENT_APP_COLLECTION;
+import static io.tyoras.shopping.infra.db.mongo.MongoIndex.SortOrder.ASCENDING;
+import static io.tyoras.shopping.infra.db.mongo.MongoIndex.SortOrder.DESCENDING;
+import static io.tyoras.shopping.list.repository.ShoppingListRepository.TOMBSTONE_TTL_IN_DAYS;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_COLLECTION;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_ITEM_COLLECTION;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.TOMBSTONE_COLLECTION;
+import static io.tyoras.shopping.user.repository.mongo.UserMongoRepository.USER_COLLECTION;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Declaration of all the mongo indexes of the application and of the queries they have to serve
+ *
+ * @author yoan
+ */
+@Singleton
+public class MongoIndexRegistry {
+    private final ImmutableList<MongoIndex> indexes;
+    private final ImmutableList<MongoHotQuery> hotQueries;
+
+    @Inject
+    public MongoIndexRegistry() {
+        this(declareIndexes(), declareHotQueries());
+    }
+
+    public MongoIndexRegistry(ImmutableList<MongoIndex> indexes, ImmutableList<MongoHotQuery> hotQueries) {
+        this.indexes = requireNonNull(indexes);
+        this.hotQueries = requireNonNull(hotQueries);
+    }
+
+    public ImmutableList<MongoIndex> getIndexes() {
+        return indexes;
+    }
+
+    public ImmutableList<MongoHotQuery> getHotQueries() {
+        return hotQueries;
+    }
+
+    public ImmutableSet<String> getCollectionNames() {
+        return indexes.stream().map(MongoIndex::getCollectionName).collect(ImmutableSet.toImmutableSet());
+    }
+
+    public ImmutableList<MongoIndex> getIndexes(String collectionName) {
+        return indexes.stream().filter(index -> index.getCollectionName().equals(collectionName)).collect(ImmutableList.toImmutableList());
+    }
+
+    private static ImmutableList<MongoIndex> declareIndexes() {
+        return ImmutableList.of(
+                Builder.on(USER_COLLECTION).withKey(UserMongoConverter.FIELD_EMAIL, ASCENDING).unique().build(),
+                Builder.on(USER_COLLECTION).withKey(UserMongoConverter.FIELD_PROFILE_VISIBILITY, ASCENDING).withKey(UserMongoConverter.FIELD_NAME, ASCENDING).build(),
+
+                Builder.on(LIST_COLLECTION).withKey(ShoppingListMongoConverter.FIELD_OWNER_ID, ASCENDING)
+                        .withKey(ShoppingListMongoConverter.FIELD_LAST_UPDATE, DESCENDING).withKey(MongoDocumentConverter.FIELD_ID, DESCENDING).build(),
+
+                Builder.on(LIST_ITEM_COLLECTION).withKey(ShoppingItemMongoConverter.FIELD_LIST_ID, ASCENDING).withKey(ShoppingItemMongoConverter.FIELD_GENERATION, ASCENDING)
+                        .withKey(ShoppingItemMongoConverter.FIELD_ITEM_ID, ASCENDING).unique().build(),
+                Builder.on(LIST_ITEM_COLLECTION).withKey(ShoppingItemMongoConverter.FIELD_LIST_ID, ASCENDING).withKey(ShoppingItemMongoConverter.FIELD_GENERATION, ASCENDING)
+                        .withKey(MongoDocumentConverter.FIELD_ID, ASCENDING).build(),
+
+                Builder.on(TOMBSTONE_COLLECTION).withKey(ShoppingListTombstoneMongoConverter.FIELD_OWNER_ID, ASCENDING)
+                        .withKey(ShoppingListTombstoneMongoConverter.FIELD_DELETION_DATE, DESCENDING).build(),
+                Builder.on(TOMBSTONE_COLLECTION).withKey(ShoppingListTombstoneMongoConverter.FIELD_DELETION_DATE, DESCENDING).expireAfter(TOMBSTONE_TTL_IN_DAYS, DAYS).build(),
+
+                Builder.on(CLIENT_APP_COLLECTION).withKey(ClientAppMongoConverter.FIELD_OWNER_ID, ASCENDING)
+                        .withKey(ClientAppMongoConverter.FIELD_LAST_UPDATE, DESCENDING).withKey(MongoDocumentConverter.FIELD_ID, DESCENDING).build(),
+
+                Builder.on(AUTHZ_CODE_COLLECTION).withKey(OAuth2AuthorizationCodeMongoConverter.FIELD_CODE, ASCENDING).unique().build(),
+                Builder.on(AUTHZ_CODE_COLLECTION).withKey(OAuth2AuthorizationCodeMongoConverter.FIELD_CREATED, DESCENDING).expireAfter(AUTH_CODE_TTL_IN_MINUTES, MINUTES).build(),
+
+                Builder.on(ACCESS_TOKEN_COLLECTION).withKey(OAuth2AccessTokenMongoConverter.FIELD_TOKEN, ASCENDING).unique().build(),
+                Builder.on(ACCESS_TOKEN_COLLECTION).withKey(OAuth2AccessTokenMongoConverter.FIELD_CREATED, DESCENDING).expireAfter(ACCESS_TOKEN_TTL_IN_MINUTES, MINUTES).build(),
+                Builder.on(ACCESS_TOKEN_COLLECTION).withKey(OAuth2AccessTokenMongoConverter.FIELD_USER_ID, ASCENDING).build(),
+
+                Builder.on(REFRESH_TOKEN_COLLECTION).withKey(OAuth2RefreshTokenMongoConverter.FIELD_TOKEN, ASCENDING).unique().build(),
+                Builder.on(REFRESH_TOKEN_COLLECTION).withKey(OAuth2RefreshTokenMongoConverter.FIELD_USER_ID, ASCENDING).build(),
+                Builder.on(REFRESH_TOKEN_COLLECTION).withKey(OAuth2RefreshTokenMongoConverter.FIELD_CREATED, DESCENDING).expireAfter(REFRESH_TOKEN_TTL_IN_DAYS, DAYS).build(),
+
+                Builder.on(TOKEN_REVOCATION_COLLECTION).withKey(OAuth2TokenRevocationMongoConverter.FIELD_REVOKED, DESCENDING).expireAfter(ACCESS_TOKEN_TTL_IN_MINUTES, MINUTES).build()
+        );
+    }
+
+    private static ImmutableList<MongoHotQuery> declareHotQueries() {
+        //the values are only samples, the query plan only depends on the shape of the query
+        UUID sampleId = UUID.randomUUID();
+        Date sampleDate = new Date();
+        return ImmutableList.of(
+                new MongoHotQuery("user by email", USER_COLLECTION, Filters.eq(UserMongoConverter.FIELD_EMAIL, "sample@mail.com")),
+                new MongoHotQuery("user search by name", USER_COLLECTION, Filters.and(Filters.eq(UserMongoConverter.FIELD_PROFILE_VISIBILITY, ProfileVisibility.PUBLIC.name()), Filters.regex(UserMongoConverter.FIELD_NAME, "sample"))),
+                new MongoHotQuery("lists page by owner", LIST_COLLECTION, Filters.eq(ShoppingListMongoConverter.FIELD_OWNER_ID, sampleId),
+                        MongoKeysetPagination.sort(ShoppingListMongoConverter.FIELD_LAST_UPDATE)),
+                new MongoHotQuery("lists changed since by owner", LIST_COLLECTION, Filters.and(Filters.eq(ShoppingListMongoConverter.FIELD_OWNER_ID, sampleId),
+                        Filters.gt(ShoppingListMongoConverter.FIELD_LAST_UPDATE, sampleDate)), MongoKeysetPagination.sort(ShoppingListMongoConverter.FIELD_LAST_UPDATE)),
+                new MongoHotQuery("items of a large list", LIST_ITEM_COLLECTION, Filters.and(Filters.eq(ShoppingItemMongoConverter.FIELD_LIST_ID, sampleId),
+                        Filters.eq(ShoppingItemMongoConverter.FIELD_GENERATION, sampleId)), Sorts.ascending(MongoDocumentConverter.FIELD_ID)),
+                new MongoHotQuery("item of a large list", LIST_ITEM_COLLECTION, Filters.and(Filters.eq(ShoppingItemMongoConverter.FIELD_LIST_ID, sampleId),
+                        Filters.eq(ShoppingItemMongoConverter.FIELD_GENERATION, sampleId), Filters.eq(ShoppingItemMongoConverter.FIELD_ITEM_ID, sampleId))),
+                new MongoHotQuery("list tombstones since by owner", TOMBSTONE_COLLECTION, Filters.and(Filters.eq(ShoppingListTombstoneMongoConverter.FIELD_OWNER_ID, sampleId),
+                        Filters.gt(ShoppingListTombstoneMongoConverter.FIELD_DELETION_DATE, sampleDate))),
+                new MongoHotQuery("client apps page by owner", CLIENT_APP_COLLECTION, Filters.eq(ClientAppMongoConverter.FIELD_OWNER_ID, sampleId),
+                        MongoKeysetPagination.sort(ClientAppMongoConverter.FIELD_LAST_UPDATE)),
+                new MongoHotQuery("authorization code by code", AUTHZ_CODE_COLLECTION, Filters.eq(OAuth2AuthorizationCodeMongoConverter.FIELD_CODE, "sample")),
+                new MongoHotQuery("access token by token", ACCESS_TOKEN_COLLECTION, Filters.eq(OAuth2AccessTokenMongoConverter.FIELD_TOKEN, "sample")),
+                new MongoHotQuery("access tokens by user", ACCESS_TOKEN_COLLECTION, Filters.eq(OAuth2AccessTokenMongoConverter.FIELD_USER_ID, sampleId)),
+                new MongoHotQuery("refresh token by token", REFRESH_TOKEN_COLLECTION, Filters.eq(OAuth2RefreshTokenMongoConverter.FIELD_TOKEN, "sample")),
+                new MongoHotQuery("refresh tokens by user", REFRESH_TOKEN_COLLECTION, Filters.eq(OAuth2RefreshTokenMongoConverter.FIELD_USER_ID, sampleId))
+        );
+    }
+}
@@ -0,0 +1,177 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import io.dropwizard.lifecycle.Managed;
+import io.tyoras.shopping.infra.config.ShoppingApiConfiguration;
+import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.logging.Markers;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Create the indexes declared in the registry at startup and check that they match the database and the hot queries
+ *
+ * @author yoan
+ */
+@Singleton
+public class MongoIndexVerifier implements Managed {
+    private static final Marker CONFIG = Markers.CONFIG.getMarker();
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexVerifier.class);
+    private static final String ID_INDEX_NAME = "_id_";
+
+    private final MongoDatabase db;
+    private final MongoIndexRegistry registry;
+    private final boolean failOnUncoveredQuery;
+
+    @Inject
+    public MongoIndexVerifier(MongoDbConnectionFactory mongoConnectionFactory, MongoIndexRegistry registry, ShoppingApiConfiguration config) {
+        db = requireNonNull(mongoConnectionFactory).getDB(Dbs.SHOPPING);
+        this.registry = requireNonNull(registry);
+        failOnUncoveredQuery = requireNonNull(config).mongo.failOnUncoveredQuery;
+    }
+
+    @Override
+    public void start() {
+        ensureIndexes();
+        reportUndeclaredIndexes();
+        ImmutableList<MongoHotQuery> uncoveredQueries = findUncoveredHotQueries();
+        if (failOnUncoveredQuery && !uncoveredQueries.isEmpty()) {
+            throw new IllegalStateException("Hot queries not served by an index : " + uncoveredQueries);
+        }
+    }
+
+    @Override
+    public void stop() {
+        //nothing to release
+    }
+
+    /**
+     * Create the declared indexes missing in the database, in background to avoid locking the collections
+     *
+     * @return created indexes
+     */
+    public ImmutableList<MongoIndex> ensureIndexes() {
+        List<MongoIndex> createdIndexes = new ArrayList<>();
+        for (String collectionName : registry.getCollectionNames()) {
+            MongoCollection<Document> collection = db.getCollection(collectionName);
+            LOGGER.info(CONFIG, String.format("Ensuring indexes on %s collection", collectionName));
+            List<Document> existingIndexes = collection.listIndexes().into(new ArrayList<>());
+            for (MongoIndex index : registry.getIndexes(collectionName)) {
+                Optional<Document> existingIndex = existingIndexes.stream().filter(index::matches).findFirst();
+                if (existingIndex.isPresent()) {
+                    checkOptions(index, existingIndex.get());
+                    continue;
+                }
+                LOGGER.info(CONFIG, "Creating missing index " + index);
+                try {
+                    collection.createIndex(index.getKeys(), index.toIndexOptions());
+                    createdIndexes.add(index);
+                } catch (MongoException e) {
+                    LOGGER.error(CONFIG, "Unable to create index " + index, e);
+                }
+            }
+        }
+        return ImmutableList.copyOf(createdIndexes);
+    }
+
+    private void checkOptions(MongoIndex declaredIndex, Document existingIndex) {
+        boolean existingUnique = existingIndex.getBoolean("unique", false);
+        Number existingTTL = existingIndex.get("expireAfterSeconds", Number.class);
+        Long declaredTTL = declaredIndex.getExpireAfterSeconds();
+        boolean sameTTL = existingTTL == null ? declaredTTL == null : declaredTTL != null && existingTTL.longValue() == declaredTTL;
+        if (existingUnique != declaredIndex.isUnique() || !sameTTL) {
+            LOGGER.warn(CONFIG, "Index " + existingIndex.getString("name") + " has different options than declared " + declaredIndex);
+        }
+    }
+
+    /**
+     * Find the indexes existing in the database but missing from the registry
+     *
+     * @return undeclared index descriptions
+     */
+    public ImmutableList<Document> reportUndeclaredIndexes() {
+        List<Document> undeclaredIndexes = new ArrayList<>();
+        for (String collectionName : registry.getCollectionNames()) {
+            ImmutableList<MongoIndex> declaredIndexes = registry.getIndexes(collectionName);
+            for (Document existingIndex : db.getCollection(collectionName).listIndexes()) {
+                if (ID_INDEX_NAME.equals(existingIndex.getString("name")) || declaredIndexes.stream().anyMatch(index -> index.matches(existingIndex))) {
+                    continue;
+                }
+                LOGGER.warn(CONFIG, String.format("Index %s on %s collection is not declared in the registry", existingIndex.getString("name"), collectionName));
+                undeclaredIndexes.add(existingIndex);
+            }
+        }
+        return ImmutableList.copyOf(undeclaredIndexes);
+    }
+
+    /**
+     * Explain the hot queries and find the ones which would scan the collection or sort in memory
+     *
+     * @return hot queries not served by an index
+     */
+    public ImmutableList<MongoHotQuery> findUncoveredHotQueries() {
+        List<MongoHotQuery> uncoveredQueries = new ArrayList<>();
+        for (MongoHotQuery query : registry.getHotQueries()) {
+            Document winningPlan;
+            try {
+                winningPlan = explain(query);
+            } catch (MongoException e) {
+                LOGGER.warn(CONFIG, "Unable to explain hot query " + query.getName(), e);
+                continue;
+            }
+            if (!isServedByIndex(winningPlan)) {
+                LOGGER.warn(CONFIG, String.format("Hot query %s is not served by an index, winning plan : %s", query.getName(), winningPlan.toJson()));
+                uncoveredQueries.add(query);
+            }
+        }
+        return ImmutableList.copyOf(uncoveredQueries);
+    }
+
+    private Document explain(MongoHotQuery query) {
+        MongoCollection<Document> collection = db.getCollection(query.getCollectionName());
+        Document find = new Document("find", query.getCollectionName())
+                .append("filter", query.getFilter().toBsonDocument(Document.class, collection.getCodecRegistry()));
+        if (query.getSort() != null) {
+            find.append("sort", query.getSort().toBsonDocument(Document.class, collection.getCodecRegistry()));
+        }
+        Document explanation = db.runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document queryPlanner = explanation.get("queryPlanner", Document.class);
+        if (queryPlanner == null || queryPlanner.get("winningPlan", Document.class) == null) {
+            throw new MongoException("No winning plan in the explanation of " + query.getName());
+        }
+        return queryPlanner.get("winningPlan", Document.class);
+    }
+
+    /**
+     * A plan is served by an index when none of its stages scans the whole collection or sorts in memory
+     *
+     * @param plan query plan stage
+     * @return true if the plan is served by an index
+     */
+    @SuppressWarnings("unchecked")
+    static boolean isServedByIndex(Document plan) {
+        String stage = plan.getString("stage");
+        if ("COLLSCAN".equals(stage) || "SORT".equals(stage)) {
+            return false;
+        }
+        Document inputStage = plan.get("inputStage", Document.class);
+        if (inputStage != null && !isServedByIndex(inputStage)) {
+            return false;
+        }
+        List<Document> inputStages = (List<Document>) plan.get("inputStages");
+        return inputStages == null || inputStages.stream().allMatch(MongoIndexVerifier::isServedByIndex);
+    }
+}
@@ -0,0 +1,43 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import io.tyoras.shopping.infra.db.PageCursor;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import org.bson.conversions.Bson;
+
+import java.util.Date;
+
+import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+
+/**
+ * Filters and sort to read a collection page by page, from the most recently updated documents to the oldest.
+ * The queries should be backed by an index ending with (lastUpdate descending, _id descending).
+ *
+ * @author yoan
+ */
+public class MongoKeysetPagination {
+
+    private MongoKeysetPagination() {
+    }
+
+    /**
+     * @param lastUpdateField name of the last update field
+     * @return sort of the pages
+     */
+    public static Bson sort(String lastUpdateField) {
+        return Sorts.descending(lastUpdateField, FIELD_ID);
+    }
+
+    /**
+     * @param lastUpdateField name of the last update field
+     * @param after           cursor of the previous page
+     * @return filter of the documents following the cursor
+     */
+    public static Bson filterAfter(String lastUpdateField, PageCursor after) {
+        Date lastUpdate = DateHelper.toDate(after.getLastUpdate());
+        return Filters.or(
+                Filters.lt(lastUpdateField, lastUpdate),
+                Filters.and(Filters.eq(lastUpdateField, lastUpdate), Filters.lt(FIELD_ID, after.getId())));
+    }
+}
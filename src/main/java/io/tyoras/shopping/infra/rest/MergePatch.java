@@ -0,0 +1,110 @@
+package io.tyoras.shopping.infra.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+
+import java.util.Iterator;
+
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.infra.util.error.CommonErrorMessage.INVALID;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+
+/**
+ * JSON Merge Patch (RFC 7386) body, read field by field so that an absent field can be told apart from a removed one
+ *
+ * @author yoan
+ */
+public final class MergePatch {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    /**
+     * Patch document
+     */
+    private final JsonNode patch;
+    /**
+     * Name of the patched resource, used in the error messages
+     */
+    private final String target;
+
+    /**
+     * @param patch           patch document
+     * @param target          name of the patched resource
+     * @param patchableFields fields allowed in the patch
+     * @throws WebApiException if the patch is not an object or contains another field
+     */
+    public MergePatch(JsonNode patch, String target, String... patchableFields) {
+        this.target = requireNonNull(target);
+        if (patch == null || !patch.isObject()) {
+            throw invalidPatch("a JSON object is expected");
+        }
+        this.patch = patch;
+        ImmutableSet<String> allowedFields = ImmutableSet.copyOf(patchableFields);
+        for (Iterator<String> fields = patch.fieldNames(); fields.hasNext(); ) {
+            String field = fields.next();
+            if (!allowedFields.contains(field)) {
+                throw invalidPatch("field " + field + " can not be patched");
+            }
+        }
+    }
+
+    /**
+     * @param field
+     * @return new text value or null if the field is absent
+     * @throws WebApiException if the field is removed or is not a text
+     */
+    public String getText(String field) {
+        JsonNode value = getValue(field);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw invalidPatch("field " + field + " should be a text");
+        }
+        return value.textValue();
+    }
+
+    /**
+     * @param field
+     * @return new integer value or null if the field is absent
+     * @throws WebApiException if the field is removed or is not an integer
+     */
+    public Integer getInt(String field) {
+        JsonNode value = getValue(field);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isInt()) {
+            throw invalidPatch("field " + field + " should be an integer");
+        }
+        return value.intValue();
+    }
+
+    private JsonNode getValue(String field) {
+        JsonNode value = patch.get(field);
+        if (value != null && value.isNull()) {
+            //null removes the field in a merge patch, every patchable field is mandatory
+            throw invalidPatch("field " + field + " can not be removed");
+        }
+        return value;
+    }
+
+    /**
+     * @param reason
+     * @return error to send back for an invalid patch
+     */
+    public WebApiException invalidPatch(String reason) {
+        return new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, INVALID.getDevReadableMessage(target + " patch") + " : " + reason);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("target", target)
+                .add("patch", patch)
+                .toString();
+    }
+}
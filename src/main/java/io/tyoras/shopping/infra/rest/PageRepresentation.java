@@ -0,0 +1,89 @@
+package io.tyoras.shopping.infra.rest;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.db.PageCursor;
+
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Page of representations with a link to the next page
+ *
+ * @param <T> Type of the representations
+ * @author yoan
+ */
+@XmlRootElement(name = "page")
+@ApiModel(value = "Page")
+public class PageRepresentation<T extends RestRepresentation> extends RestRepresentation {
+    public static final String NEXT_REL = "next";
+    public static final String AFTER_PARAM = "after";
+    public static final String LIMIT_PARAM = "limit";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final String ELEMENTS_FIELD = "elements";
+    public static final String LINKS_FIELD = "links";
+
+    /**
+     * Representations in the page
+     */
+    private List<T> elements;
+
+    public PageRepresentation() {
+        super();
+    }
+
+    /**
+     * @param elements representations in the page
+     * @param next     cursor of the next page
+     * @param limit    page size, kept in the next link
+     * @param uriInfo
+     */
+    public PageRepresentation(List<T> elements, Optional<PageCursor> next, int limit, UriInfo uriInfo) {
+        super();
+        this.elements = requireNonNull(elements);
+        requireNonNull(uriInfo);
+        links.add(Link.self(uriInfo));
+        next.ifPresent(cursor -> links.add(nextLink(uriInfo.getAbsolutePathBuilder(), cursor, limit)));
+    }
+
+    /**
+     * @param pageUriBuilder builder of the page URI, without cursor nor limit
+     * @param next           cursor of the next page
+     * @param limit          page size, kept in the next link
+     * @return link to the next page
+     */
+    public static Link nextLink(UriBuilder pageUriBuilder, PageCursor next, int limit) {
+        URI nextURI = pageUriBuilder
+                .queryParam(AFTER_PARAM, next.encode())
+                .queryParam(LIMIT_PARAM, limit)
+                .build();
+        return new Link(NEXT_REL, nextURI);
+    }
+
+    @XmlElementWrapper(name = "elements")
+    @XmlAnyElement(lax = true)
+    public List<T> getElements() {
+        return elements;
+    }
+
+    public void setElements(List<T> elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("elements", elements)
+                .add("links", links)
+                .toString();
+    }
+}
@@ -0,0 +1,39 @@
+package io.tyoras.shopping.infra.rest;
+
+import io.tyoras.shopping.infra.util.RequestScope;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * Open the request scope for the processing of each request and drop it afterwards, even when the processing fails
+ *
+ * @author yoan
+ */
+public class RequestScopeFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        boolean opened = RequestScope.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (opened) {
+                RequestScope.close();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,110 @@
+package io.tyoras.shopping.infra.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Lists;
+import io.tyoras.shopping.infra.db.PageCursor;
+
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static io.tyoras.shopping.infra.rest.PageRepresentation.ELEMENTS_FIELD;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.LINKS_FIELD;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * JSON page written in the response element by element while reading the elements stream,
+ * with the same shape as the page representation.
+ * Only the element being written is held in memory, whatever the page size.
+ *
+ * @param <T> Type of the elements
+ * @author yoan
+ */
+public class StreamingPageOutput<T> implements StreamingOutput, AutoCloseable {
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final Stream<T> elements;
+    private final Iterator<T> elementIterator;
+    private final int limit;
+    private final Function<T, ? extends RestRepresentation> toRepresentation;
+    private final Function<T, PageCursor> toCursor;
+    private final Link selfLink;
+    private final UriBuilder pageUriBuilder;
+
+    /**
+     * @param objectMapper     mapper configured for the API
+     * @param elements         at most limit + 1 elements, the extra one only tells that there is a next page
+     * @param limit            page size
+     * @param toRepresentation representation of an element
+     * @param toCursor         cursor of an element
+     * @param uriInfo          info of the current request, read before the response is written
+     */
+    public StreamingPageOutput(ObjectMapper objectMapper, Stream<T> elements, int limit, Function<T, ? extends RestRepresentation> toRepresentation,
+                               Function<T, PageCursor> toCursor, UriInfo uriInfo) {
+        this.objectMapper = requireNonNull(objectMapper);
+        //flushing after each element would send a chunk per element
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.elements = requireNonNull(elements);
+        this.elementIterator = elements.iterator();
+        this.limit = limit;
+        this.toRepresentation = requireNonNull(toRepresentation);
+        this.toCursor = requireNonNull(toCursor);
+        this.selfLink = Link.self(uriInfo);
+        this.pageUriBuilder = uriInfo.getAbsolutePathBuilder();
+    }
+
+    /**
+     * Fetch the first element if needed, so the read errors happen before the response is committed
+     *
+     * @return true if there is no element to write
+     */
+    public boolean isEmpty() {
+        return !elementIterator.hasNext();
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            generator.writeArrayFieldStart(ELEMENTS_FIELD);
+            T lastWritten = null;
+            int writtenCount = 0;
+            while (writtenCount < limit && elementIterator.hasNext()) {
+                lastWritten = elementIterator.next();
+                writer.writeValue(generator, toRepresentation.apply(lastWritten));
+                writtenCount++;
+            }
+            generator.writeEndArray();
+
+            List<Link> links = Lists.newArrayList(selfLink);
+            if (lastWritten != null && elementIterator.hasNext()) {
+                links.add(PageRepresentation.nextLink(pageUriBuilder, toCursor.apply(lastWritten), limit));
+            }
+            generator.writeFieldName(LINKS_FIELD);
+            writer.writeValue(generator, links);
+
+            generator.writeEndObject();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Release the elements stream, when the response is not written
+     */
+    @Override
+    public void close() {
+        elements.close();
+    }
+}
@@ -4,9 +4,11 @@
 package io.tyoras.shopping.infra.rest.error;
 
 import com.google.common.collect.ImmutableMap;
+import io.tyoras.shopping.infra.util.ResourceUtil;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.ErrorCode;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.infra.util.error.VersionConflictException;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,8 +27,10 @@ import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_XML;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 
 /**
  * Map all exceptions from the application to an HTTP response
@@ -42,6 +46,8 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
     private static final Map<ErrorCode, Status> CUSTOM_STATUS_BY_ERROR_CODE = ImmutableMap.<ErrorCode, Response.Status>builder()
             .put(APPLICATION_ERROR, INTERNAL_SERVER_ERROR)
             .put(RepositoryErrorCode.NOT_FOUND, NOT_FOUND)
+            .put(RepositoryErrorCode.VERSION_MISMATCH, PRECONDITION_FAILED)
+            .put(RepositoryErrorCode.CONCURRENT_MODIFICATION, CONFLICT)
             .build();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionMapper.class);
@@ -117,7 +123,15 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
         LOGGER.error("ApplicationException : " + errorCode, appException);
         Status status = getStatusFromErroCode(appException.getErrorCode());
         ErrorRepresentation error = new ErrorRepresentation(appException.getLevel(), errorCode, appException.getMessage());
-        return Response.status(status).entity(error);
+        ResponseBuilder response = Response.status(status).entity(error);
+        if (appException instanceof VersionConflictException) {
+            //the current version is given in the same format as the entity tag of the resource, to retry without reading it again
+            Long currentVersion = ((VersionConflictException) appException).getCurrentVersion();
+            if (currentVersion != null) {
+                response.tag(ResourceUtil.toEntityTag(currentVersion));
+            }
+        }
+        return response;
     }
 
     /**
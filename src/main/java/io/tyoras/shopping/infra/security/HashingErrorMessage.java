@@ -0,0 +1,43 @@
+package io.tyoras.shopping.infra.security;
+
+import io.tyoras.shopping.infra.util.error.ErrorMessage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Hashing specific error messages
+ *
+ * @author yoan
+ */
+public enum HashingErrorMessage implements ErrorMessage {
+    /**
+     * Too many hash requests in progress, try again later
+     */
+    HASHING_POOL_SATURATED("Too many hash requests in progress, try again later"),
+    /**
+     * Interrupted while waiting for a hash
+     */
+    HASHING_INTERRUPTED("Interrupted while waiting for a hash"),
+    /**
+     * Error while hashing : %s
+     */
+    PROBLEM_HASHING("Error while hashing : %s");
+
+    private String message;
+
+    private HashingErrorMessage(String message) {
+        checkArgument(isNotBlank(message), "An error message should not be empty");
+        this.message = message;
+    }
+
+    @Override
+    public String getDevReadableMessage() {
+        return message;
+    }
+
+    @Override
+    public String getDevReadableMessage(Object... params) {
+        return String.format(message, params);
+    }
+}
@@ -0,0 +1,103 @@
+package io.tyoras.shopping.infra.security;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.rest.error.Level.WARNING;
+import static io.tyoras.shopping.infra.security.HashingErrorMessage.*;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+
+/**
+ * Run the salted hashes on a dedicated bounded pool instead of the request threads
+ *
+ * @author yoan
+ */
+public class PasswordHasher {
+    public static final String METRICS_NAME = MetricRegistry.name(PasswordHasher.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final ExecutorService executor;
+    private final int iterations;
+    private final Timer hashLatency;
+    private final Meter rejections;
+
+    /**
+     * @param executor   pool running the hashes, it should reject tasks when its queue is full
+     * @param workQueue  queue of the pool, exposed as a metric
+     * @param iterations number of hash iterations for new hashes
+     * @param metrics
+     */
+    public PasswordHasher(ExecutorService executor, BlockingQueue<Runnable> workQueue, int iterations, MetricRegistry metrics) {
+        checkArgument(iterations > 0, "The number of hash iterations should be positive");
+        this.executor = requireNonNull(executor);
+        this.iterations = iterations;
+        requireNonNull(workQueue);
+        metrics.register(MetricRegistry.name(METRICS_NAME, "queue-depth"), (Gauge<Integer>) workQueue::size);
+        hashLatency = metrics.timer(MetricRegistry.name(METRICS_NAME, "latency"));
+        rejections = metrics.meter(MetricRegistry.name(METRICS_NAME, "rejections"));
+    }
+
+    /**
+     * @return number of hash iterations for new hashes
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get a salted hash with the configured number of iterations
+     *
+     * @param password
+     * @param salt
+     * @return salted hash base 64 encoded
+     */
+    public String hash(String password, Object salt) {
+        return hash(password, salt, iterations);
+    }
+
+    /**
+     * Get a salted hash with a given number of iterations
+     *
+     * @param password
+     * @param salt
+     * @param nbIterations
+     * @return salted hash base 64 encoded
+     * @throws WebApiException 503 if the hashing pool is saturated
+     */
+    public String hash(String password, Object salt, int nbIterations) {
+        Timer.Context timer = hashLatency.time();
+        try {
+            return executor.submit(() -> SecurityHelper.hash(password, salt, nbIterations)).get();
+        } catch (RejectedExecutionException e) {
+            rejections.mark();
+            LOGGER.warn(HASHING_POOL_SATURATED.getDevReadableMessage());
+            throw new WebApiException(SERVICE_UNAVAILABLE, WARNING, API_RESPONSE, HASHING_POOL_SATURATED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException(ERROR, APPLICATION_ERROR, HASHING_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            String message = PROBLEM_HASHING.getDevReadableMessage(e.getCause().getMessage());
+            LOGGER.error(message, e.getCause());
+            throw new ApplicationException(ERROR, APPLICATION_ERROR, message, e.getCause());
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.tyoras.shopping.infra.security;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * HMAC-SHA256 digest of secrets with a random key generated at creation, to keep them in memory without keeping them in clear.
+ * The digests of an instance are only comparable with each other, they change with every instance.
+ *
+ * @author yoan
+ */
+public class SecretDigester {
+    private static final int DIGEST_KEY_LENGTH_IN_BYTES = 32;
+
+    private final HashFunction secretDigest;
+
+    public SecretDigester() {
+        byte[] digestKey = new byte[DIGEST_KEY_LENGTH_IN_BYTES];
+        new SecureRandom().nextBytes(digestKey);
+        secretDigest = Hashing.hmacSha256(digestKey);
+    }
+
+    /**
+     * Digest the given parts, separated so that moving characters from one part to another changes the digest
+     *
+     * @param parts
+     * @return digest hex encoded
+     */
+    public String digest(String... parts) {
+        Hasher hasher = secretDigest.newHasher();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                hasher.putByte((byte) 0);
+            }
+            hasher.putString(parts[i], StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+}
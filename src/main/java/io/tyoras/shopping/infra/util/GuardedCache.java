@@ -0,0 +1,80 @@
+package io.tyoras.shopping.infra.util;
+
+import com.google.common.cache.Cache;
+
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read through access to an in memory cache which never caches a value loaded while its key was invalidated.
+ * Such a load may have read the state before the write the invalidation is made for, caching it would serve the old state until it expires.
+ * The invalidations are counted by stripe of keys, an invalidation only prevents the caching of the loads of its own stripe.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author yoan
+ */
+public class GuardedCache<K, V> {
+    private static final int STRIPE_COUNT = 64;
+
+    private final Cache<K, V> cache;
+    private final long[] generations = new long[STRIPE_COUNT];
+    private final Object[] locks = new Object[STRIPE_COUNT];
+
+    public GuardedCache(Cache<K, V> cache) {
+        this.cache = requireNonNull(cache);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a value from the cache or load it, null values are not cached
+     *
+     * @param key
+     * @param loader
+     * @return found value or null if not found
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cachedValue = cache.getIfPresent(key);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+
+        int stripe = getStripe(key);
+        long generation;
+        synchronized (locks[stripe]) {
+            generation = generations[stripe];
+        }
+        V foundValue = loader.apply(key);
+        if (foundValue != null) {
+            synchronized (locks[stripe]) {
+                if (generations[stripe] == generation) {
+                    cache.put(key, foundValue);
+                }
+            }
+        }
+        return foundValue;
+    }
+
+    /**
+     * @param key
+     * @return cached value or null if it is not in the cache
+     */
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void invalidate(K key) {
+        int stripe = getStripe(key);
+        synchronized (locks[stripe]) {
+            generations[stripe]++;
+            cache.invalidate(key);
+        }
+    }
+
+    private static int getStripe(Object key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % STRIPE_COUNT;
+    }
+}
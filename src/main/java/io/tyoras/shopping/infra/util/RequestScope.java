@@ -0,0 +1,84 @@
+package io.tyoras.shopping.infra.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Objects bound to the request processed by the current thread, dropped once the request is processed.
+ * The scope is opened and closed around each request by the RequestScopeFilter.
+ *
+ * @author yoan
+ */
+public class RequestScope {
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private RequestScope() {
+    }
+
+    /**
+     * Open a scope for the current thread
+     *
+     * @return false if a scope was already open, it is kept as is and must only be closed by its opener
+     */
+    public static boolean open() {
+        if (SCOPE.get() != null) {
+            return false;
+        }
+        SCOPE.set(new Scope());
+        return true;
+    }
+
+    /**
+     * Run the close actions of the scope of the current thread and drop it
+     */
+    public static void close() {
+        Scope scope = SCOPE.get();
+        SCOPE.remove();
+        if (scope != null) {
+            scope.closeActions.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Get the object bound to the given key in the current scope, creating it on first access
+     *
+     * @param key
+     * @param factory
+     * @return scoped object or null if there is no open scope
+     */
+    public static <T> T get(Object key, Supplier<T> factory) {
+        return get(key, factory, null);
+    }
+
+    /**
+     * Get the object bound to the given key in the current scope, creating it on first access
+     *
+     * @param key
+     * @param factory
+     * @param closeAction action to run on the created object when the scope is closed, may be null
+     * @return scoped object or null if there is no open scope
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Object key, Supplier<T> factory, Consumer<T> closeAction) {
+        Scope scope = SCOPE.get();
+        if (scope == null) {
+            return null;
+        }
+        return (T) scope.objects.computeIfAbsent(key, k -> {
+            T scopedObject = factory.get();
+            if (closeAction != null) {
+                scope.closeActions.add(() -> closeAction.accept(scopedObject));
+            }
+            return scopedObject;
+        });
+    }
+
+    private static final class Scope {
+        private final Map<Object, Object> objects = new HashMap<>();
+        private final List<Runnable> closeActions = new ArrayList<>();
+    }
+}
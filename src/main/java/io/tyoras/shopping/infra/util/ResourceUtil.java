@@ -3,9 +3,14 @@
  */
 package io.tyoras.shopping.infra.util;
 
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.ws.rs.core.EntityTag;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -43,6 +48,131 @@ public class ResourceUtil {
         return param.toLowerCase();
     }
 
+    /**
+     * Read a version from an entity tag header like If-Match : "3", W/"3" or 3
+     *
+     * @param headerName
+     * @param header
+     * @return version or null if the header is absent
+     */
+    public static Long getVersionFromEntityTag(String headerName, String header) {
+        if (StringUtils.isBlank(header)) {
+            return null;
+        }
+        String version = StringUtils.removeStart(header.trim(), "W/");
+        version = StringUtils.strip(version, "\"");
+        try {
+            long parsedVersion = Long.parseLong(version);
+            if (parsedVersion >= 0) {
+                return parsedVersion;
+            }
+        } catch (NumberFormatException e) {
+            //handled below
+        }
+        String message = INVALID.getDevReadableMessage("Header named " + headerName + " : " + header);
+        throw new WebApiException(BAD_REQUEST, INFO, API_RESPONSE, message);
+    }
+
+    /**
+     * @param version version of the resource
+     * @return strong entity tag readable by getVersionFromEntityTag
+     */
+    public static EntityTag toEntityTag(long version) {
+        return new EntityTag(Long.toString(version));
+    }
+
+    /**
+     * @param lastUpdate last update of the resource
+     * @return strong entity tag changing with each update of the resource
+     */
+    public static EntityTag toEntityTag(LocalDateTime lastUpdate) {
+        return new EntityTag(Long.toString(DateHelper.toDate(lastUpdate).getTime()));
+    }
+
+    /**
+     * Check an If-None-Match header like "3", W/"3", "2", "3" or *
+     *
+     * @param ifNoneMatch header value, may be null
+     * @param currentTag  entity tag of the current state of the resource
+     * @return true if the client already has the current state of the resource
+     */
+    public static boolean isNotModified(String ifNoneMatch, EntityTag currentTag) {
+        if (StringUtils.isBlank(ifNoneMatch) || currentTag == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = StringUtils.removeStart(tag.trim(), "W/");
+            //weak comparison, as required for If-None-Match
+            if ("*".equals(value) || currentTag.getValue().equals(StringUtils.strip(value, "\""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read a page cursor from its opaque token
+     *
+     * @param paramName
+     * @param param
+     * @return cursor or null if the param is absent
+     */
+    public static PageCursor getPageCursorFromParam(String paramName, String param) {
+        if (StringUtils.isBlank(param)) {
+            return null;
+        }
+        try {
+            return PageCursor.decode(param);
+        } catch (IllegalArgumentException e) {
+            String message = INVALID.getDevReadableMessage(getParamNameMessage(paramName) + " : " + param);
+            throw new WebApiException(BAD_REQUEST, INFO, API_RESPONSE, message, e);
+        }
+    }
+
+    /**
+     * Read a timestamp given in milliseconds since the epoch
+     *
+     * @param paramName
+     * @param param
+     * @return date or null if the param is absent
+     */
+    public static LocalDateTime getTimestampFromParam(String paramName, String param) {
+        if (StringUtils.isBlank(param)) {
+            return null;
+        }
+        try {
+            return DateHelper.toLocalDateTime(new Date(Long.parseLong(param.trim())));
+        } catch (NumberFormatException e) {
+            String message = INVALID.getDevReadableMessage(getParamNameMessage(paramName) + " should be a timestamp in milliseconds : " + param);
+            throw new WebApiException(BAD_REQUEST, INFO, API_RESPONSE, message, e);
+        }
+    }
+
+    /**
+     * Read a page size
+     *
+     * @param paramName
+     * @param param
+     * @param defaultLimit limit used if the param is absent
+     * @param maxLimit     maximum accepted limit
+     * @return page size
+     */
+    public static int getLimitFromParam(String paramName, String param, int defaultLimit, int maxLimit) {
+        if (StringUtils.isBlank(param)) {
+            return defaultLimit;
+        }
+        try {
+            int limit = Integer.parseInt(param.trim());
+            if (limit > 0 && limit <= maxLimit) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            //handled below
+        }
+        String message = INVALID.getDevReadableMessage(getParamNameMessage(paramName) + " should be between 1 and " + maxLimit + " : " + param);
+        throw new WebApiException(BAD_REQUEST, INFO, API_RESPONSE, message);
+    }
+
     private static String getParamNameMessage(String paramName) {
         if (StringUtils.isBlank(paramName)) {
             return "Unknown param";
@@ -13,7 +13,9 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  */
 public enum RepositoryErrorCode implements ErrorCode {
     ALREADY_EXISTING("ALREADY_EXISTING"),
-    NOT_FOUND("NOT_FOUND");
+    NOT_FOUND("NOT_FOUND"),
+    VERSION_MISMATCH("VERSION_MISMATCH"),
+    CONCURRENT_MODIFICATION("CONCURRENT_MODIFICATION");
 
     private String code;
 
@@ -0,0 +1,27 @@
+package io.tyoras.shopping.infra.util.error;
+
+import io.tyoras.shopping.infra.rest.error.Level;
+
+/**
+ * Exception to throw when a write is refused because the resource is not at the version expected by the caller
+ * It carries the current version of the resource, so that the caller can retry without reading it again
+ *
+ * @author yoan
+ */
+public class VersionConflictException extends ApplicationException {
+    private static final long serialVersionUID = 3406329405587261522L;
+
+    /**
+     * Current version of the resource, null if it does not exist anymore
+     */
+    private final Long currentVersion;
+
+    public VersionConflictException(Level level, ErrorCode errorCode, String message, Long currentVersion) {
+        super(level, errorCode, message);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,33 @@
+package io.tyoras.shopping.infra.util.helper;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Utility methods to expose in-memory caches statistics as metrics
+ *
+ * @author yoan
+ */
+public class CacheMetricsHelper {
+
+    private CacheMetricsHelper() {
+    }
+
+    /**
+     * Register hit, miss, eviction and size gauges of a cache built with recordStats()
+     *
+     * @param metrics   metric registry
+     * @param cacheName metric name prefix
+     * @param cache     cache to monitor
+     */
+    public static void registerCacheMetrics(MetricRegistry metrics, String cacheName, Cache<?, ?> cache) {
+        metrics.register(name(cacheName, "hits"), (Gauge<Long>) () -> cache.stats().hitCount());
+        metrics.register(name(cacheName, "misses"), (Gauge<Long>) () -> cache.stats().missCount());
+        metrics.register(name(cacheName, "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        metrics.register(name(cacheName, "hit-ratio"), (Gauge<Double>) () -> cache.stats().hitRate());
+        metrics.register(name(cacheName, "size"), (Gauge<Long>) cache::size);
+    }
+}
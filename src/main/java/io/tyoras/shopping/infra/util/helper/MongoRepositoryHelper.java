@@ -1,10 +1,16 @@
 package io.tyoras.shopping.infra.util.helper;
 
 import com.mongodb.MongoException;
+import com.mongodb.client.MongoCursor;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.ErrorMessage;
 import org.slf4j.Logger;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
 
@@ -31,4 +37,15 @@ public class MongoRepositoryHelper {
         logger.error(message, exception);
         throw new ApplicationException(ERROR, APPLICATION_ERROR, message, exception);
     }
+
+    /**
+     * Expose a mongo cursor as a lazy stream, the documents are fetched batch by batch while consuming it
+     *
+     * @param cursor
+     * @return stream closing the cursor when it is closed
+     */
+    public static <T> Stream<T> stream(MongoCursor<T> cursor) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(cursor::close);
+    }
 }
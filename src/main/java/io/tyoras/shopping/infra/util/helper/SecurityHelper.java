@@ -1,8 +1,11 @@
 package io.tyoras.shopping.infra.util.helper;
 
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.*;
 import org.apache.shiro.crypto.hash.Sha256Hash;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -29,7 +32,19 @@ public final class SecurityHelper {
      * @return salted hash base 64 encoded
      */
     public static String hash(String password, Object salt) {
-        return new Sha256Hash(password, salt, NB_HASH_ITERATION).toBase64();
+        return hash(password, salt, NB_HASH_ITERATION);
+    }
+
+    /**
+     * Salted hash with a given number of iterations
+     *
+     * @param password
+     * @param salt
+     * @param nbIterations
+     * @return salted hash base 64 encoded
+     */
+    public static String hash(String password, Object salt, int nbIterations) {
+        return new Sha256Hash(password, salt, nbIterations).toBase64();
     }
 
     /**
@@ -39,13 +54,57 @@ public final class SecurityHelper {
      * @return JWT as String
      */
     public static String generateJWT(UUID userId) {
+        return buildJWT(userId).compact();
+    }
+
+    /**
+     * Generate a signed JSON Web Token for a given user
+     *
+     * @param userId
+     * @param tokenId    unique token ID, used to revoke it
+     * @param signingKey HMAC-SHA256 key
+     * @return signed JWT as String
+     */
+    public static String generateSignedJWT(UUID userId, UUID tokenId, Key signingKey) {
+        return buildJWT(userId)
+                .setId(tokenId.toString())
+                .signWith(SignatureAlgorithm.HS256, signingKey)
+                .compact();
+    }
+
+    private static JwtBuilder buildJWT(UUID userId) {
         Date now = new Date();
         long expiresInSeconds = ACCESS_TOKEN_TTL_IN_MINUTES * 60;
         Date expiration = new Date(now.getTime() + TimeUnit.SECONDS.toMillis(expiresInSeconds));
         return Jwts.builder()
                 .setSubject(userId.toString())
                 .setIssuedAt(now)
-                .setExpiration(expiration)
-                .compact();
+                .setExpiration(expiration);
+    }
+
+    /**
+     * Check the signature and the expiration of a signed JSON Web Token
+     *
+     * @param jwt
+     * @param signingKey HMAC-SHA256 key
+     * @return JWT claims
+     * @throws JwtException if the token is invalid, expired or not signed with this key
+     */
+    public static Claims parseSignedJWT(String jwt, Key signingKey) throws JwtException {
+        return Jwts.parser()
+                .setSigningKey(signingKey)
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    /**
+     * Build a HMAC-SHA256 signing key from its base 64 representation
+     *
+     * @param base64Key
+     * @return signing key
+     */
+    public static Key toSigningKey(String base64Key) {
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key);
+        return new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
     }
 }
@@ -0,0 +1,98 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Lamport timestamp of an operation made by an editor of a shared list.
+ * The replica id of the editor breaks the ties, so all the timestamps are totally ordered.
+ *
+ * @author yoan
+ */
+public final class LogicalTimestamp implements Comparable<LogicalTimestamp> {
+    private static final Comparator<LogicalTimestamp> ORDER = Comparator.comparingLong(LogicalTimestamp::getClock).thenComparing(LogicalTimestamp::getReplicaId);
+    private static final String ENCODING_SEPARATOR = "@";
+    /**
+     * Number of digits of the greatest clock, the encoded clocks are padded to be sorted as strings
+     */
+    private static final int CLOCK_DIGITS = String.valueOf(Long.MAX_VALUE).length();
+
+    /**
+     * Logical clock of the editor when the operation was made
+     */
+    private final long clock;
+    /**
+     * Id of the editor
+     */
+    private final String replicaId;
+
+    public LogicalTimestamp(long clock, String replicaId) {
+        checkArgument(clock >= 0, "Invalid logical clock");
+        checkArgument(StringUtils.isNotBlank(replicaId), "Invalid replica id");
+        this.clock = clock;
+        this.replicaId = replicaId;
+    }
+
+    /**
+     * @param encoded timestamp encoded by {@link #encode()}
+     * @return decoded timestamp
+     * @throws IllegalArgumentException if the timestamp is not correctly encoded
+     */
+    public static LogicalTimestamp decode(String encoded) {
+        String clockPart = StringUtils.substringBefore(encoded, ENCODING_SEPARATOR);
+        String replicaPart = StringUtils.substringAfter(encoded, ENCODING_SEPARATOR);
+        checkArgument(StringUtils.isNumeric(clockPart), "Invalid encoded logical timestamp");
+        return new LogicalTimestamp(Long.parseLong(clockPart), replicaPart);
+    }
+
+    /**
+     * @return timestamp as a string, the encoded timestamps are sorted the same way as the timestamps
+     */
+    public String encode() {
+        return StringUtils.leftPad(String.valueOf(clock), CLOCK_DIGITS, '0') + ENCODING_SEPARATOR + replicaId;
+    }
+
+    public long getClock() {
+        return clock;
+    }
+
+    public String getReplicaId() {
+        return replicaId;
+    }
+
+    @Override
+    public int compareTo(LogicalTimestamp other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clock, replicaId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        LogicalTimestamp that = (LogicalTimestamp) obj;
+        return this.clock == that.clock
+                && Objects.equals(this.replicaId, that.replicaId);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("clock", clock)
+                .add("replicaId", replicaId)
+                .toString();
+    }
+}
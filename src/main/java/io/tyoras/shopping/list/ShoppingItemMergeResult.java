@@ -0,0 +1,63 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Outcome of the merge of the item operations of an editor into a shared list
+ *
+ * @author yoan
+ */
+public final class ShoppingItemMergeResult {
+    /**
+     * Result of each operation, in the same order as the operations
+     */
+    private final ImmutableList<ShoppingItemOperationResult> results;
+    /**
+     * Highest logical clock merged in the list, the editor has to stamp its next operations after it
+     */
+    private final long clock;
+
+    public ShoppingItemMergeResult(ImmutableList<ShoppingItemOperationResult> results, long clock) {
+        this.results = requireNonNull(results);
+        this.clock = clock;
+    }
+
+    public ImmutableList<ShoppingItemOperationResult> getResults() {
+        return results;
+    }
+
+    public long getClock() {
+        return clock;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(results, clock);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemMergeResult that = (ShoppingItemMergeResult) obj;
+        return Objects.equals(this.results, that.results)
+                && this.clock == that.clock;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("results", results)
+                .add("clock", clock)
+                .toString();
+    }
+}
@@ -0,0 +1,174 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Change of one item of a shopping list, applied with the other changes of a batch
+ *
+ * @author yoan
+ */
+public final class ShoppingItemOperation {
+    /**
+     * Kind of change
+     */
+    private final Type type;
+    /**
+     * Id of the changed item
+     */
+    private final UUID itemId;
+    /**
+     * New item content, only for creation and update
+     */
+    private final ShoppingItem item;
+    /**
+     * New item name, only for renaming
+     */
+    private final String name;
+    /**
+     * New item quantity, only for quantity change
+     */
+    private final Integer quantity;
+    /**
+     * New item state, only for state change
+     */
+    private final ItemState state;
+    /**
+     * When the editor made the operation, only for the merged operations
+     */
+    private final LogicalTimestamp timestamp;
+
+    private ShoppingItemOperation(Type type, UUID itemId, ShoppingItem item, String name, Integer quantity, ItemState state, LogicalTimestamp timestamp) {
+        this.type = requireNonNull(type, "Operation type is mandatory");
+        this.itemId = requireNonNull(itemId, "Item Id is mandatory");
+        this.item = item;
+        this.name = name;
+        this.quantity = quantity;
+        this.state = state;
+        this.timestamp = timestamp;
+    }
+
+    public static ShoppingItemOperation create(ShoppingItem item) {
+        requireNonNull(item, "Item to create is mandatory");
+        return new ShoppingItemOperation(Type.CREATE, item.getId(), item, null, null, null, null);
+    }
+
+    public static ShoppingItemOperation update(ShoppingItem item) {
+        requireNonNull(item, "Item to update is mandatory");
+        return new ShoppingItemOperation(Type.UPDATE, item.getId(), item, null, null, null, null);
+    }
+
+    public static ShoppingItemOperation rename(UUID itemId, String name) {
+        checkArgument(StringUtils.isNotBlank(name), "Invalid item name");
+        return new ShoppingItemOperation(Type.RENAME, itemId, null, name, null, null, null);
+    }
+
+    public static ShoppingItemOperation changeQuantity(UUID itemId, Integer quantity) {
+        requireNonNull(quantity, "New item quantity is mandatory");
+        return new ShoppingItemOperation(Type.CHANGE_QUANTITY, itemId, null, null, quantity, null, null);
+    }
+
+    public static ShoppingItemOperation changeState(UUID itemId, ItemState state) {
+        requireNonNull(state, "New item state is mandatory");
+        return new ShoppingItemOperation(Type.CHANGE_STATE, itemId, null, null, null, state, null);
+    }
+
+    public static ShoppingItemOperation delete(UUID itemId) {
+        return new ShoppingItemOperation(Type.DELETE, itemId, null, null, null, null, null);
+    }
+
+    /**
+     * @param item new item content
+     * @return same operation with another item content
+     */
+    public ShoppingItemOperation withItem(ShoppingItem item) {
+        requireNonNull(item);
+        return new ShoppingItemOperation(type, itemId, item, name, quantity, state, timestamp);
+    }
+
+    /**
+     * @param timestamp when the editor made the operation
+     * @return same operation stamped to be merged
+     */
+    public ShoppingItemOperation withTimestamp(LogicalTimestamp timestamp) {
+        requireNonNull(timestamp, "Operation timestamp is mandatory");
+        return new ShoppingItemOperation(type, itemId, item, name, quantity, state, timestamp);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public ShoppingItem getItem() {
+        return item;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public ItemState getState() {
+        return state;
+    }
+
+    public LogicalTimestamp getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, itemId, item, name, quantity, state, timestamp);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemOperation that = (ShoppingItemOperation) obj;
+        return Objects.equals(this.type, that.type)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.item, that.item)
+                && Objects.equals(this.name, that.name)
+                && Objects.equals(this.quantity, that.quantity)
+                && Objects.equals(this.state, that.state)
+                && Objects.equals(this.timestamp, that.timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("type", type)
+                .add("itemId", itemId)
+                .add("item", item)
+                .add("name", name)
+                .add("quantity", quantity)
+                .add("state", state)
+                .add("timestamp", timestamp)
+                .toString();
+    }
+
+    /**
+     * Kinds of item change
+     */
+    public enum Type {
+        CREATE, UPDATE, RENAME, CHANGE_QUANTITY, CHANGE_STATE, DELETE
+    }
+}
@@ -0,0 +1,82 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Outcome of an item operation of a batch
+ *
+ * @author yoan
+ */
+public final class ShoppingItemOperationResult {
+    private final ShoppingItemOperation operation;
+    private final Status status;
+
+    public ShoppingItemOperationResult(ShoppingItemOperation operation, Status status) {
+        this.operation = requireNonNull(operation);
+        this.status = requireNonNull(status);
+    }
+
+    public ShoppingItemOperation getOperation() {
+        return operation;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, status);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemOperationResult that = (ShoppingItemOperationResult) obj;
+        return Objects.equals(this.operation, that.operation)
+                && Objects.equals(this.status, that.status);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("operation", operation)
+                .add("status", status)
+                .toString();
+    }
+
+    /**
+     * Outcomes of an item operation
+     */
+    public enum Status {
+        /**
+         * The operation changed the list
+         */
+        APPLIED,
+        /**
+         * The item to change is not in the list
+         */
+        NOT_FOUND,
+        /**
+         * The item to create is already in the list
+         */
+        ALREADY_EXISTS,
+        /**
+         * The item was removed from the list, a removal wins over the concurrent changes of the item
+         */
+        REMOVED
+    }
+}
@@ -0,0 +1,83 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Partial change of a shopping item, only the present fields are changed
+ *
+ * @author yoan
+ */
+public final class ShoppingItemPatch {
+    /**
+     * New item name, null to keep the current one
+     */
+    private final String name;
+    /**
+     * New quantity, null to keep the current one
+     */
+    private final Integer quantity;
+    /**
+     * New item state, null to keep the current one
+     */
+    private final ItemState state;
+
+    public ShoppingItemPatch(String name, Integer quantity, ItemState state) {
+        checkArgument(name == null || StringUtils.isNotBlank(name), "Invalid item name");
+        this.name = name;
+        this.quantity = quantity;
+        this.state = state;
+    }
+
+    public Optional<String> getName() {
+        return Optional.ofNullable(name);
+    }
+
+    public Optional<Integer> getQuantity() {
+        return Optional.ofNullable(quantity);
+    }
+
+    public Optional<ItemState> getState() {
+        return Optional.ofNullable(state);
+    }
+
+    /**
+     * @return true if the patch does not change anything
+     */
+    public boolean isEmpty() {
+        return name == null && quantity == null && state == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, quantity, state);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemPatch that = (ShoppingItemPatch) obj;
+        return Objects.equals(this.name, that.name)
+                && Objects.equals(this.quantity, that.quantity)
+                && Objects.equals(this.state, that.state);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("quantity", quantity)
+                .add("state", state)
+                .toString();
+    }
+}
@@ -62,9 +62,13 @@ public class ShoppingList implements Bson, WithId {
      * All items in the shopping list
      */
     private final ImmutableList<ShoppingItem> itemList;
+    /**
+     * Incremented on each modification of the list or of its items
+     */
+    private final long version;
 
 
-    protected ShoppingList(UUID id, String name, UUID ownerId, LocalDateTime creationDate, LocalDateTime lastUpdate, ImmutableList<ShoppingItem> itemList) {
+    protected ShoppingList(UUID id, String name, UUID ownerId, LocalDateTime creationDate, LocalDateTime lastUpdate, ImmutableList<ShoppingItem> itemList, long version) {
         this.id = requireNonNull(id, "List Id is mandatory");
         checkArgument(StringUtils.isNotBlank(name), "Invalid list name");
         this.name = name;
@@ -72,6 +76,8 @@ public class ShoppingList implements Bson, WithId {
         this.creationDate = requireNonNull(creationDate, "Creation date is mandatory");
         this.lastUpdate = requireNonNull(lastUpdate, "Last update date is mandatory");
         this.itemList = requireNonNull(itemList, "Item list is mandatory");
+        checkArgument(version >= 0, "Invalid list version");
+        this.version = version;
     }
 
     @Override
@@ -99,6 +105,10 @@ public class ShoppingList implements Bson, WithId {
         return itemList;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(id, name, ownerId);
@@ -126,6 +136,7 @@ public class ShoppingList implements Bson, WithId {
                 .add("created", creationDate)
                 .add("lastUpdate", lastUpdate)
                 .add("itemList", itemList)
+                .add("version", version)
                 .toString();
     }
 
@@ -141,6 +152,7 @@ public class ShoppingList implements Bson, WithId {
         private LocalDateTime creationDate = LocalDateTime.now();
         private LocalDateTime lastUpdate = LocalDateTime.now();
         private List<ShoppingItem> itemList = new ArrayList<>();
+        private long version = 0;
 
         private Builder() {
         }
@@ -169,6 +181,7 @@ public class ShoppingList implements Bson, WithId {
             builder.creationDate = otherBuilder.creationDate;
             builder.lastUpdate = otherBuilder.lastUpdate;
             builder.itemList = otherBuilder.itemList;
+            builder.version = otherBuilder.version;
 
             return builder;
         }
@@ -188,6 +201,7 @@ public class ShoppingList implements Bson, WithId {
             builder.creationDate = list.creationDate;
             builder.lastUpdate = list.lastUpdate;
             builder.itemList = list.itemList;
+            builder.version = list.version;
 
             return builder;
         }
@@ -195,7 +209,7 @@ public class ShoppingList implements Bson, WithId {
         @Override
         public ShoppingList build() {
             ImmutableList<ShoppingItem> finalItemList = ImmutableList.<ShoppingItem>copyOf(itemList);
-            return new ShoppingList(id, name, ownerId, creationDate, lastUpdate, finalItemList);
+            return new ShoppingList(id, name, ownerId, creationDate, lastUpdate, finalItemList, version);
         }
 
         public Builder withId(UUID id) {
@@ -238,6 +252,11 @@ public class ShoppingList implements Bson, WithId {
             return this;
         }
 
+        public Builder withVersion(long version) {
+            this.version = version;
+            return this;
+        }
+
         public Builder withItem(ShoppingItem item) {
             itemList.add(item);
             return this;
@@ -0,0 +1,87 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Changes of the shopping lists of an user since a client watermark
+ *
+ * @author yoan
+ */
+public final class ShoppingListChanges {
+    /**
+     * Lists created or updated since the watermark, with all their items
+     */
+    private final ImmutableList<ShoppingList> changedLists;
+    /**
+     * Lists and items deleted since the watermark
+     */
+    private final ImmutableList<ShoppingListTombstone> tombstones;
+    /**
+     * Watermark to send back on the next synchronization
+     */
+    private final LocalDateTime watermark;
+    /**
+     * True if the deletions since the asked watermark are not all known anymore :
+     * the changed lists are then all the lists and the client should drop the lists it does not find in them
+     */
+    private final boolean resetRequired;
+
+    public ShoppingListChanges(ImmutableList<ShoppingList> changedLists, ImmutableList<ShoppingListTombstone> tombstones, LocalDateTime watermark, boolean resetRequired) {
+        this.changedLists = requireNonNull(changedLists, "Changed lists are mandatory");
+        this.tombstones = requireNonNull(tombstones, "Tombstones are mandatory");
+        this.watermark = requireNonNull(watermark, "Watermark is mandatory");
+        this.resetRequired = resetRequired;
+    }
+
+    public ImmutableList<ShoppingList> getChangedLists() {
+        return changedLists;
+    }
+
+    public ImmutableList<ShoppingListTombstone> getTombstones() {
+        return tombstones;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(changedLists, tombstones, watermark, resetRequired);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListChanges that = (ShoppingListChanges) obj;
+        return Objects.equals(this.changedLists, that.changedLists)
+                && Objects.equals(this.tombstones, that.tombstones)
+                && Objects.equals(this.watermark, that.watermark)
+                && this.resetRequired == that.resetRequired;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("changedLists", changedLists)
+                .add("tombstones", tombstones)
+                .add("watermark", watermark)
+                .add("resetRequired", resetRequired)
+                .toString();
+    }
+}
@@ -0,0 +1,102 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Change of a shopping list or of one of its items, pushed to the clients following the list
+ *
+ * @author yoan
+ */
+public final class ShoppingListEvent {
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        LIST_UPDATED, LIST_DELETED, ITEM_CREATED, ITEM_UPDATED, ITEM_DELETED
+    }
+
+    /**
+     * Id of the changed list, or of the list of the changed item
+     */
+    private final UUID listId;
+    /**
+     * Kind of change
+     */
+    private final Type type;
+    /**
+     * Id of the changed item, null for the list changes
+     */
+    private final UUID itemId;
+    /**
+     * Date of the change
+     */
+    private final LocalDateTime date;
+
+    public ShoppingListEvent(UUID listId, Type type, UUID itemId, LocalDateTime date) {
+        this.listId = requireNonNull(listId, "List Id is mandatory");
+        this.type = requireNonNull(type, "Event type is mandatory");
+        this.itemId = itemId;
+        this.date = requireNonNull(date, "Event date is mandatory");
+    }
+
+    public static ShoppingListEvent ofList(UUID listId, Type type) {
+        return new ShoppingListEvent(listId, type, null, LocalDateTime.now());
+    }
+
+    public static ShoppingListEvent ofItem(UUID listId, UUID itemId, Type type) {
+        requireNonNull(itemId, "Item Id is mandatory");
+        return new ShoppingListEvent(listId, type, itemId, LocalDateTime.now());
+    }
+
+    public UUID getListId() {
+        return listId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(listId, type, itemId, date);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListEvent that = (ShoppingListEvent) obj;
+        return Objects.equals(this.listId, that.listId)
+                && Objects.equals(this.type, that.type)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.date, that.date);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("listId", listId)
+                .add("type", type)
+                .add("itemId", itemId)
+                .add("date", date)
+                .toString();
+    }
+}
@@ -0,0 +1,62 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Partial change of a shopping list, only the present fields are changed.
+ * The items are changed through the item operations.
+ *
+ * @author yoan
+ */
+public final class ShoppingListPatch {
+    /**
+     * New list name, null to keep the current one
+     */
+    private final String name;
+
+    public ShoppingListPatch(String name) {
+        checkArgument(name == null || StringUtils.isNotBlank(name), "Invalid list name");
+        this.name = name;
+    }
+
+    public Optional<String> getName() {
+        return Optional.ofNullable(name);
+    }
+
+    /**
+     * @return true if the patch does not change anything
+     */
+    public boolean isEmpty() {
+        return name == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListPatch that = (ShoppingListPatch) obj;
+        return Objects.equals(this.name, that.name);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .toString();
+    }
+}
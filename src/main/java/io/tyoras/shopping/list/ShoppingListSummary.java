@@ -0,0 +1,100 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping list overview, with its item counts instead of its items
+ *
+ * @author yoan
+ */
+public final class ShoppingListSummary {
+    /**
+     * List unique ID
+     */
+    private final UUID id;
+    /**
+     * List name
+     */
+    private final String name;
+    /**
+     * Number of items in the list
+     */
+    private final int itemCount;
+    /**
+     * Number of items still to buy
+     */
+    private final int toBuyCount;
+    /**
+     * Last time the list was updated
+     */
+    private final LocalDateTime lastUpdate;
+
+    public ShoppingListSummary(UUID id, String name, int itemCount, int toBuyCount, LocalDateTime lastUpdate) {
+        this.id = requireNonNull(id, "List Id is mandatory");
+        this.name = requireNonNull(name, "List name is mandatory");
+        checkArgument(itemCount >= 0, "Invalid item count");
+        checkArgument(toBuyCount >= 0 && toBuyCount <= itemCount, "Invalid to buy item count");
+        this.itemCount = itemCount;
+        this.toBuyCount = toBuyCount;
+        this.lastUpdate = requireNonNull(lastUpdate, "Last update date is mandatory");
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getToBuyCount() {
+        return toBuyCount;
+    }
+
+    public LocalDateTime getLastUpdate() {
+        return lastUpdate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, itemCount, toBuyCount, lastUpdate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListSummary that = (ShoppingListSummary) obj;
+        return Objects.equals(this.id, that.id)
+                && Objects.equals(this.name, that.name)
+                && this.itemCount == that.itemCount
+                && this.toBuyCount == that.toBuyCount
+                && Objects.equals(this.lastUpdate, that.lastUpdate);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id)
+                .add("name", name)
+                .add("itemCount", itemCount)
+                .add("toBuyCount", toBuyCount)
+                .add("lastUpdate", lastUpdate)
+                .toString();
+    }
+}
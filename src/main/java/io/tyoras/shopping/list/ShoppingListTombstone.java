@@ -0,0 +1,102 @@
+package io.tyoras.shopping.list;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Trace of a deleted shopping list or item, kept to tell the synchronizing clients what to remove
+ *
+ * @author yoan
+ */
+public final class ShoppingListTombstone {
+    /**
+     * Id of the deleted list, or of the list of the deleted item
+     */
+    private final UUID listId;
+    /**
+     * Id of the deleted item, null if the whole list was deleted
+     */
+    private final UUID itemId;
+    /**
+     * Owner of the list
+     */
+    private final UUID ownerId;
+    /**
+     * Deletion date
+     */
+    private final LocalDateTime deletionDate;
+
+    public ShoppingListTombstone(UUID listId, UUID itemId, UUID ownerId, LocalDateTime deletionDate) {
+        this.listId = requireNonNull(listId, "List Id is mandatory");
+        this.itemId = itemId;
+        this.ownerId = requireNonNull(ownerId, "List owner Id is mandatory");
+        this.deletionDate = requireNonNull(deletionDate, "Deletion date is mandatory");
+    }
+
+    public static ShoppingListTombstone ofList(UUID listId, UUID ownerId, LocalDateTime deletionDate) {
+        return new ShoppingListTombstone(listId, null, ownerId, deletionDate);
+    }
+
+    public static ShoppingListTombstone ofItem(UUID listId, UUID itemId, UUID ownerId, LocalDateTime deletionDate) {
+        requireNonNull(itemId, "Item Id is mandatory");
+        return new ShoppingListTombstone(listId, itemId, ownerId, deletionDate);
+    }
+
+    public UUID getListId() {
+        return listId;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public LocalDateTime getDeletionDate() {
+        return deletionDate;
+    }
+
+    /**
+     * @return true if the whole list was deleted
+     */
+    public boolean isListDeletion() {
+        return itemId == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(listId, itemId, ownerId, deletionDate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListTombstone that = (ShoppingListTombstone) obj;
+        return Objects.equals(this.listId, that.listId)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.ownerId, that.ownerId)
+                && Objects.equals(this.deletionDate, that.deletionDate);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("listId", listId)
+                .add("itemId", itemId)
+                .add("ownerId", ownerId)
+                .add("deletionDate", deletionDate)
+                .toString();
+    }
+}
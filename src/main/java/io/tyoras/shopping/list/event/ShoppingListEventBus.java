@@ -0,0 +1,222 @@
+package io.tyoras.shopping.list.event;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * In process fan-out of the shopping list events to the clients following the lists.
+ * Only the followed lists keep their recent events, a client waiting for the next event costs a listener and no thread.
+ *
+ * @author yoan
+ */
+public class ShoppingListEventBus {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(ShoppingListEventBus.class);
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final Runnable NOT_WAITING = () -> {
+    };
+
+    /**
+     * Prefix of the cursors, the cursors given by another node are not readable by this one
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    /**
+     * Sequence of the events dispatched by this node, whatever their list
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<UUID, FollowedList> followedLists;
+    private final int historySize;
+
+    public ShoppingListEventBus(long maxFollowedLists, int historySize, long expireAfterMinutes, MetricRegistry metrics) {
+        this.historySize = historySize;
+        followedLists = CacheBuilder.newBuilder()
+                .maximumSize(maxFollowedLists)
+                .expireAfterAccess(expireAfterMinutes, MINUTES)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CACHE_METRICS_NAME, followedLists);
+    }
+
+    /**
+     * Publish an event from a write path
+     *
+     * @param event
+     */
+    public void publish(ShoppingListEvent event) {
+        publishAll(Collections.singletonList(event));
+    }
+
+    /**
+     * Publish the events of a single write at once, in their order
+     *
+     * @param events
+     */
+    public void publishAll(List<ShoppingListEvent> events) {
+        dispatchAll(events);
+    }
+
+    /**
+     * Deliver an event to the clients following its list on this node
+     *
+     * @param event
+     */
+    protected final void dispatch(ShoppingListEvent event) {
+        dispatchAll(Collections.singletonList(event));
+    }
+
+    /**
+     * Deliver events to the clients following their lists on this node, a waiting client is notified once with all the events of its list
+     *
+     * @param events
+     */
+    protected final void dispatchAll(List<ShoppingListEvent> events) {
+        Map<UUID, List<ShoppingListEvent>> eventsByList = new LinkedHashMap<>();
+        events.forEach(event -> eventsByList.computeIfAbsent(event.getListId(), listId -> new ArrayList<>()).add(event));
+
+        List<Runnable> notifications = new ArrayList<>();
+        eventsByList.forEach((listId, listEvents) -> {
+            FollowedList followedList = followedLists.getIfPresent(listId);
+            if (followedList == null) {
+                //nobody follows the list here
+                return;
+            }
+            synchronized (followedList) {
+                listEvents.forEach(event -> followedList.add(sequence.incrementAndGet(), event, historySize));
+                for (Waiter waiter : followedList.waiters) {
+                    ShoppingListEvents newEvents = new ShoppingListEvents(followedList.getEventsAfter(waiter.after), currentCursor(), false);
+                    notifications.add(() -> waiter.listener.accept(newEvents));
+                }
+                followedList.waiters.clear();
+            }
+        });
+        notifications.forEach(Runnable::run);
+    }
+
+    /**
+     * Give the events of a list after a cursor to a listener, as soon as there is one.
+     * The listener is called right away if events are already available or if the client has to reload the list,
+     * otherwise it is called once, on the next event of the list.
+     *
+     * @param listId
+     * @param after    cursor given by the previous events, null to start following the list
+     * @param listener called once with the events
+     * @return action to stop waiting, when the client gives up
+     */
+    public Runnable follow(UUID listId, String after, Consumer<ShoppingListEvents> listener) {
+        requireNonNull(listId);
+        requireNonNull(listener);
+        FollowedList followedList = followedLists.asMap().computeIfAbsent(listId, id -> new FollowedList(sequence.get()));
+
+        ShoppingListEvents availableEvents;
+        synchronized (followedList) {
+            long afterSequence = readCursor(after);
+            if (afterSequence < followedList.knownSince || afterSequence > sequence.get()) {
+                //unknown cursor, or events dropped since then
+                availableEvents = new ShoppingListEvents(ImmutableList.of(), currentCursor(), true);
+            } else {
+                ImmutableList<ShoppingListEvent> events = followedList.getEventsAfter(afterSequence);
+                if (events.isEmpty()) {
+                    Waiter waiter = new Waiter(afterSequence, listener);
+                    followedList.waiters.add(waiter);
+                    return () -> {
+                        synchronized (followedList) {
+                            followedList.waiters.remove(waiter);
+                        }
+                    };
+                }
+                availableEvents = new ShoppingListEvents(events, currentCursor(), false);
+            }
+        }
+        listener.accept(availableEvents);
+        return NOT_WAITING;
+    }
+
+    private String currentCursor() {
+        return nodeId + CURSOR_SEPARATOR + sequence.get();
+    }
+
+    /**
+     * @param cursor
+     * @return sequence of the cursor, -1 if it was not given by this node
+     */
+    private long readCursor(String cursor) {
+        String sequencePart = StringUtils.removeStart(cursor, nodeId + CURSOR_SEPARATOR);
+        if (cursor == null || cursor.equals(sequencePart)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(sequencePart);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Recent events of a followed list and clients waiting for the next one, guarded by its own monitor
+     */
+    private static final class FollowedList {
+        private final Deque<SequencedEvent> history = new ArrayDeque<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+        /**
+         * All the events of the list after this sequence are in the history
+         */
+        private long knownSince;
+
+        private FollowedList(long knownSince) {
+            this.knownSince = knownSince;
+        }
+
+        private void add(long sequence, ShoppingListEvent event, int historySize) {
+            history.addLast(new SequencedEvent(sequence, event));
+            if (history.size() > historySize) {
+                knownSince = history.removeFirst().sequence;
+            }
+        }
+
+        private ImmutableList<ShoppingListEvent> getEventsAfter(long afterSequence) {
+            ImmutableList.Builder<ShoppingListEvent> events = ImmutableList.builder();
+            history.stream()
+                    .filter(sequencedEvent -> sequencedEvent.sequence > afterSequence)
+                    .forEach(sequencedEvent -> events.add(sequencedEvent.event));
+            return events.build();
+        }
+    }
+
+    private static final class SequencedEvent {
+        private final long sequence;
+        private final ShoppingListEvent event;
+
+        private SequencedEvent(long sequence, ShoppingListEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private static final class Waiter {
+        private final long after;
+        private final Consumer<ShoppingListEvents> listener;
+
+        private Waiter(long after, Consumer<ShoppingListEvents> listener) {
+            this.after = after;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.tyoras.shopping.list.event;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.list.ShoppingListEvent;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Events of a followed list after a client cursor
+ *
+ * @author yoan
+ */
+public final class ShoppingListEvents {
+    /**
+     * Events after the cursor, from the oldest
+     */
+    private final ImmutableList<ShoppingListEvent> events;
+    /**
+     * Cursor to follow the list from, after these events
+     */
+    private final String cursor;
+    /**
+     * True if the events after the asked cursor are not all known : the client has to reload the whole list
+     */
+    private final boolean resetRequired;
+
+    public ShoppingListEvents(ImmutableList<ShoppingListEvent> events, String cursor, boolean resetRequired) {
+        this.events = requireNonNull(events, "Events are mandatory");
+        this.cursor = requireNonNull(cursor, "Cursor is mandatory");
+        this.resetRequired = resetRequired;
+    }
+
+    /**
+     * @param cursor cursor the client is already at
+     * @return no event, the client keeps following from the same cursor
+     */
+    public static ShoppingListEvents none(String cursor) {
+        return new ShoppingListEvents(ImmutableList.of(), cursor, false);
+    }
+
+    public ImmutableList<ShoppingListEvent> getEvents() {
+        return events;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(events, cursor, resetRequired);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListEvents that = (ShoppingListEvents) obj;
+        return Objects.equals(this.events, that.events)
+                && Objects.equals(this.cursor, that.cursor)
+                && this.resetRequired == that.resetRequired;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("events", events)
+                .add("cursor", cursor)
+                .add("resetRequired", resetRequired)
+                .toString();
+    }
+}
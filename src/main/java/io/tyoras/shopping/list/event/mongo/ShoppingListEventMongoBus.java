@@ -0,0 +1,162 @@
+package io.tyoras.shopping.list.event.mongo;
+
+import com.codahale.metrics.MetricRegistry;
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Projections;
+import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping list event bus shared by all the nodes through a capped collection :
+ * the events are written to the collection and each node tails it to deliver them to its own followers
+ *
+ * @author yoan
+ */
+public class ShoppingListEventMongoBus extends ShoppingListEventBus {
+    public static final String EVENT_COLLECTION = "listEvent";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShoppingListEventMongoBus.class);
+    private static final Document NATURAL_ORDER_DESC = new Document("$natural", -1);
+    private static final long RETRY_DELAY_IN_MILLIS = 1_000;
+
+    private final MongoDatabase db;
+    private final MongoCollection<Document> eventCollection;
+    private final ShoppingListEventMongoConverter converter;
+    private final long relaySizeInBytes;
+    private volatile boolean running;
+    /**
+     * Id of the last event delivered, only used by the tailing thread once started
+     */
+    private ObjectId lastRelayedId;
+    /**
+     * Id of the event the opened cursor has to reach before delivering the next ones
+     */
+    private ObjectId skipUntilId;
+
+    public ShoppingListEventMongoBus(MongoDbConnectionFactory mongoConnectionFactory, long maxFollowedLists, int historySize, long expireAfterMinutes,
+                                     long relaySizeInBytes, MetricRegistry metrics) {
+        super(maxFollowedLists, historySize, expireAfterMinutes, metrics);
+        db = requireNonNull(mongoConnectionFactory).getDB(Dbs.SHOPPING);
+        eventCollection = db.getCollection(EVENT_COLLECTION);
+        converter = new ShoppingListEventMongoConverter();
+        this.relaySizeInBytes = relaySizeInBytes;
+    }
+
+    /**
+     * Create the capped collection if needed and skip the events published before the start
+     */
+    public void start() {
+        if (!db.listCollectionNames().into(new ArrayList<>()).contains(EVENT_COLLECTION)) {
+            db.createCollection(EVENT_COLLECTION, new CreateCollectionOptions().capped(true).sizeInBytes(relaySizeInBytes));
+        }
+        Document lastEvent = eventCollection.find().sort(NATURAL_ORDER_DESC).projection(Projections.include(FIELD_ID)).first();
+        lastRelayedId = lastEvent == null ? null : lastEvent.getObjectId(FIELD_ID);
+        running = true;
+    }
+
+    /**
+     * Make the tailing loop end, at the latest after the await time of the cursor
+     */
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void publishAll(List<ShoppingListEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            //a single round trip for all the events of a write, inserted in their order
+            eventCollection.insertMany(events.stream().map(converter::toDocument).collect(Collectors.toList()));
+        } catch (MongoException e) {
+            //the change itself is written, only the followers will miss it
+            LOGGER.warn("Unable to publish shopping list events " + events, e);
+        }
+    }
+
+    /**
+     * Deliver the events of all the nodes until the bus is stopped
+     */
+    public void tail() {
+        while (running) {
+            try (MongoCursor<Document> cursor = openCursor()) {
+                do {
+                    relayAvailableEvents(cursor);
+                } while (running && cursor.getServerCursor() != null);
+            } catch (MongoException e) {
+                LOGGER.warn("Shopping list events tailing interrupted", e);
+            }
+            //the cursor is dead when the collection is empty or when the server dropped it
+            pauseBeforeRetry();
+        }
+    }
+
+    /**
+     * The cursor follows the insertion order of the capped collection,
+     * the ids are not used to filter because the ids generated by different nodes are not ordered
+     *
+     * @return tailable cursor on all the events, the ones up to the last relayed event will be skipped
+     */
+    MongoCursor<Document> openCursor() {
+        skipUntilId = lastRelayedId;
+        return eventCollection.find().cursorType(CursorType.TailableAwait).iterator();
+    }
+
+    /**
+     * Deliver the events the cursor gives without waiting
+     *
+     * @param cursor
+     */
+    void relayAvailableEvents(MongoCursor<Document> cursor) {
+        ObjectId lastSkippedId = null;
+        Document eventDoc;
+        while ((eventDoc = cursor.tryNext()) != null) {
+            ObjectId eventId = eventDoc.getObjectId(FIELD_ID);
+            if (skipUntilId != null) {
+                lastSkippedId = eventId;
+                if (skipUntilId.equals(eventId)) {
+                    skipUntilId = null;
+                }
+                continue;
+            }
+            lastRelayedId = eventId;
+            dispatch(converter.fromDocument(eventDoc));
+        }
+        if (skipUntilId != null) {
+            //the collection went round since the last relayed event
+            LOGGER.warn("Last relayed shopping list event not found anymore, some events were missed");
+            skipUntilId = null;
+            lastRelayedId = lastSkippedId;
+        }
+    }
+
+    private void pauseBeforeRetry() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(RETRY_DELAY_IN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
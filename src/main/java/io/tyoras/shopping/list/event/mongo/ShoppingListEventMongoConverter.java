@@ -0,0 +1,47 @@
+package io.tyoras.shopping.list.event.mongo;
+
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import org.bson.Document;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Conversion of the shopping list events to BSON, they are only written and read as documents
+ *
+ * @author yoan
+ */
+public class ShoppingListEventMongoConverter {
+    public static final String FIELD_LIST_ID = "listId";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_ITEM_ID = "itemId";
+    public static final String FIELD_DATE = "date";
+
+    public ShoppingListEvent fromDocument(Document doc) {
+        if (doc == null) {
+            return null;
+        }
+
+        UUID listId = doc.get(FIELD_LIST_ID, UUID.class);
+        ShoppingListEvent.Type type = ShoppingListEvent.Type.valueOf(doc.getString(FIELD_TYPE));
+        UUID itemId = doc.get(FIELD_ITEM_ID, UUID.class);
+        LocalDateTime date = DateHelper.toLocalDateTime(doc.getDate(FIELD_DATE));
+
+        return new ShoppingListEvent(listId, type, itemId, date);
+    }
+
+    public Document toDocument(ShoppingListEvent event) {
+        if (event == null) {
+            return new Document();
+        }
+
+        Document doc = new Document(FIELD_LIST_ID, event.getListId())
+                .append(FIELD_TYPE, event.getType().name())
+                .append(FIELD_DATE, DateHelper.toDate(event.getDate()));
+        if (event.getItemId() != null) {
+            doc.append(FIELD_ITEM_ID, event.getItemId());
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,106 @@
+package io.tyoras.shopping.list.repository;
+
+import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemPatch;
+import io.tyoras.shopping.list.ShoppingList;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping item repository invalidating the cached list on every write of its items by another implementation,
+ * and reading the items of the cached lists without loading them from the other implementation
+ *
+ * @author yoan
+ */
+public class ShoppingItemCacheRepository extends ShoppingItemRepository {
+
+    private final ShoppingItemRepository delegate;
+    private final ShoppingListCache listCache;
+
+    public ShoppingItemCacheRepository(ShoppingItemRepository delegate, ShoppingListCache listCache) {
+        this.delegate = requireNonNull(delegate);
+        this.listCache = requireNonNull(listCache);
+    }
+
+    @Override
+    protected void processCreate(UUID listId, ShoppingItem itemToCreate) {
+        try {
+            delegate.processCreate(listId, itemToCreate);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected ShoppingItem processGetById(UUID listId, UUID itemId) {
+        ShoppingList cachedList = listCache.getIfPresent(listId);
+        if (cachedList == null) {
+            //a single item is not worth loading the whole list
+            return delegate.processGetById(listId, itemId);
+        }
+        return cachedList.getItemList().stream().filter(item -> item.getId().equals(itemId)).findFirst().orElse(null);
+    }
+
+    @Override
+    protected void processUpdate(UUID listId, ShoppingItem itemToUpdate) {
+        try {
+            delegate.processUpdate(listId, itemToUpdate);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected void processPatch(UUID listId, UUID itemId, ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        try {
+            delegate.processPatch(listId, itemId, patch, lastUpdate);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected void processDeleteById(UUID listId, UUID itemId) {
+        try {
+            delegate.processDeleteById(listId, itemId);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected Set<UUID> processGetItemIds(UUID listId) {
+        //the batches check their operations against the stored items, not against a possibly outdated copy
+        return delegate.processGetItemIds(listId);
+    }
+
+    @Override
+    protected void processApplyAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        try {
+            delegate.processApplyAll(listId, operations, lastUpdate);
+        } finally {
+            //a batch failing on a concurrent change may have applied some of its operations
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected Set<UUID> processGetRemovedItemIds(UUID listId, Set<UUID> itemIds) {
+        return delegate.processGetRemovedItemIds(listId, itemIds);
+    }
+
+    @Override
+    protected long processMergeAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        try {
+            return delegate.processMergeAll(listId, operations, lastUpdate);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.tyoras.shopping.list.repository;
+
+import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemPatch;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_CREATED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_DELETED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_UPDATED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping item repository publishing an event for the followers of a list once a change of its items is written by another implementation
+ *
+ * @author yoan
+ */
+public class ShoppingItemPublishingRepository extends ShoppingItemRepository {
+
+    private final ShoppingItemRepository delegate;
+    private final ShoppingListEventBus eventBus;
+
+    public ShoppingItemPublishingRepository(ShoppingItemRepository delegate, ShoppingListEventBus eventBus) {
+        this.delegate = requireNonNull(delegate);
+        this.eventBus = requireNonNull(eventBus);
+    }
+
+    @Override
+    protected void processCreate(UUID listId, ShoppingItem itemToCreate) {
+        delegate.processCreate(listId, itemToCreate);
+        eventBus.publish(ShoppingListEvent.ofItem(listId, itemToCreate.getId(), ITEM_CREATED));
+    }
+
+    @Override
+    protected ShoppingItem processGetById(UUID listId, UUID itemId) {
+        return delegate.processGetById(listId, itemId);
+    }
+
+    @Override
+    protected void processUpdate(UUID listId, ShoppingItem itemToUpdate) {
+        delegate.processUpdate(listId, itemToUpdate);
+        eventBus.publish(ShoppingListEvent.ofItem(listId, itemToUpdate.getId(), ITEM_UPDATED));
+    }
+
+    @Override
+    protected void processPatch(UUID listId, UUID itemId, ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        delegate.processPatch(listId, itemId, patch, lastUpdate);
+        eventBus.publish(ShoppingListEvent.ofItem(listId, itemId, ITEM_UPDATED));
+    }
+
+    @Override
+    protected void processDeleteById(UUID listId, UUID itemId) {
+        delegate.processDeleteById(listId, itemId);
+        eventBus.publish(ShoppingListEvent.ofItem(listId, itemId, ITEM_DELETED));
+    }
+
+    @Override
+    protected Set<UUID> processGetItemIds(UUID listId) {
+        return delegate.processGetItemIds(listId);
+    }
+
+    @Override
+    protected void processApplyAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        delegate.processApplyAll(listId, operations, lastUpdate);
+        publishAll(listId, operations);
+    }
+
+    @Override
+    protected Set<UUID> processGetRemovedItemIds(UUID listId, Set<UUID> itemIds) {
+        return delegate.processGetRemovedItemIds(listId, itemIds);
+    }
+
+    @Override
+    protected long processMergeAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        long clock = delegate.processMergeAll(listId, operations, lastUpdate);
+        //an operation superseded by a more recent one only costs the followers a useless reload of the item
+        publishAll(listId, operations);
+        return clock;
+    }
+
+    private void publishAll(UUID listId, List<ShoppingItemOperation> operations) {
+        List<ShoppingListEvent> events = operations.stream()
+                .map(operation -> ShoppingListEvent.ofItem(listId, operation.getItemId(), toEventType(operation.getType())))
+                .collect(Collectors.toList());
+        eventBus.publishAll(events);
+    }
+
+    private ShoppingListEvent.Type toEventType(ShoppingItemOperation.Type operationType) {
+        switch (operationType) {
+            case CREATE:
+                return ITEM_CREATED;
+            case DELETE:
+                return ITEM_DELETED;
+            default:
+                return ITEM_UPDATED;
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package io.tyoras.shopping.list.repository;
 
+import com.google.common.collect.ImmutableList;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
 import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+import io.tyoras.shopping.list.ShoppingItemOperationResult.Status;
+import io.tyoras.shopping.list.ShoppingItemPatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 
 /**
@@ -83,21 +95,45 @@ public abstract class ShoppingItemRepository {
             LOGGER.warn("Shopping item update asked with null item");
             return;
         }
-        ShoppingItem existingShoppingItem = findItem(listId, askedListToUpdate.getId());
-
-        ShoppingItem itemToUpdate = mergeUpdatesInExistingShoppingItem(existingShoppingItem, askedListToUpdate);
+        ShoppingItem itemToUpdate = forceLastUpdate(askedListToUpdate);
         processUpdate(listId, itemToUpdate);
     }
 
-    ShoppingItem mergeUpdatesInExistingShoppingItem(ShoppingItem existingShoppingItem, ShoppingItem askedShoppingItemToUpdate) {
-        return ShoppingItem.Builder.createFrom(existingShoppingItem)
+    private ShoppingItem forceLastUpdate(ShoppingItem item) {
+        return ShoppingItem.Builder.createFrom(item)
                 .withLastUpdate(LocalDateTime.now())
-                .withQuantity(askedShoppingItemToUpdate.getQuantity())
-                .withName(askedShoppingItemToUpdate.getName())
-                .withState(askedShoppingItemToUpdate.getState())
                 .build();
     }
 
+    /**
+     * Change only the patched fields of a shopping item, with a single targeted write
+     *
+     * @param listId : id of the list which the item is belonging
+     * @param itemId
+     * @param patch
+     * @throws ApplicationException if the item was not found in the list
+     */
+    public final void patch(UUID listId, UUID itemId, ShoppingItemPatch patch) {
+        if (listId == null) {
+            LOGGER.warn("Shopping item patch asked with null list ID");
+            return;
+        }
+        if (itemId == null) {
+            LOGGER.warn("Shopping item patch asked with null Id");
+            return;
+        }
+        if (patch == null) {
+            LOGGER.warn("Shopping item patch asked with null patch");
+            return;
+        }
+        if (patch.isEmpty()) {
+            //nothing to write, the item must still exist
+            findItem(listId, itemId);
+            return;
+        }
+        processPatch(listId, itemId, patch, LocalDateTime.now());
+    }
+
     /**
      * Get a item by its Id and fail if it does not exist
      *
@@ -135,6 +171,145 @@ public abstract class ShoppingItemRepository {
         processDeleteById(listId, itemId);
     }
 
+    /**
+     * Apply a batch of item operations to a list with a single write.
+     * The operations are checked in order against the items of the list, so an operation can rely on the previous ones.
+     * Only the applicable operations are written, the others are reported with the reason they were skipped.
+     *
+     * @param listId     : id of the list which the items are belonging
+     * @param operations
+     * @return result of each operation, in the same order as the operations
+     * @throws ApplicationException NOT_FOUND if the list does not exist,
+     *                              CONCURRENT_MODIFICATION if the list changed between the check and the write
+     */
+    public final ImmutableList<ShoppingItemOperationResult> applyAll(UUID listId, List<ShoppingItemOperation> operations) {
+        if (listId == null) {
+            LOGGER.warn("Shopping item batch asked with null list ID");
+            return ImmutableList.of();
+        }
+        if (operations == null || operations.isEmpty()) {
+            LOGGER.warn("Shopping item batch asked without operation");
+            return ImmutableList.of();
+        }
+
+        Set<UUID> itemIds = new HashSet<>(processGetItemIds(listId));
+        LocalDateTime now = LocalDateTime.now();
+        ImmutableList.Builder<ShoppingItemOperationResult> results = ImmutableList.builder();
+        List<ShoppingItemOperation> operationsToApply = new ArrayList<>();
+        for (ShoppingItemOperation operation : operations) {
+            ShoppingItemOperation datedOperation = forceOperationDates(operation, now);
+            Status status = checkOperation(datedOperation, itemIds);
+            if (status == Status.APPLIED) {
+                operationsToApply.add(datedOperation);
+            }
+            results.add(new ShoppingItemOperationResult(datedOperation, status));
+        }
+
+        if (!operationsToApply.isEmpty()) {
+            processApplyAll(listId, operationsToApply, now);
+        }
+        return results.build();
+    }
+
+    /**
+     * Merge the operations of an editor of a shared list, whatever the operations of the other editors merged before or after.
+     * Each field of an item keeps the value of the operation with the latest logical timestamp,
+     * and a removal wins over all the changes of the item, so the editors converge by sending only their own operations.
+     * Resending an operation already merged changes nothing.
+     *
+     * @param listId     : id of the list which the items are belonging
+     * @param operations stamped operations, the creations carry the id chosen by the editor
+     * @return result of each operation, in the same order as the operations, and the highest logical clock merged in the list
+     * @throws ApplicationException     NOT_FOUND if the list does not exist
+     * @throws IllegalArgumentException if an operation has no logical timestamp
+     */
+    public final ShoppingItemMergeResult mergeAll(UUID listId, List<ShoppingItemOperation> operations) {
+        if (listId == null) {
+            LOGGER.warn("Shopping item merge asked with null list ID");
+            return new ShoppingItemMergeResult(ImmutableList.of(), 0);
+        }
+        if (operations == null || operations.isEmpty()) {
+            LOGGER.warn("Shopping item merge asked without operation");
+            return new ShoppingItemMergeResult(ImmutableList.of(), 0);
+        }
+        operations.forEach(operation -> checkArgument(operation.getTimestamp() != null, "Operation to merge without timestamp : %s", operation));
+
+        Set<UUID> itemIds = new HashSet<>(processGetItemIds(listId));
+        Set<UUID> unknownItemIds = operations.stream()
+                .map(ShoppingItemOperation::getItemId)
+                .filter(itemId -> !itemIds.contains(itemId))
+                .collect(Collectors.toSet());
+        Set<UUID> removedItemIds = unknownItemIds.isEmpty() ? new HashSet<>() : new HashSet<>(processGetRemovedItemIds(listId, unknownItemIds));
+        LocalDateTime now = LocalDateTime.now();
+        ImmutableList.Builder<ShoppingItemOperationResult> results = ImmutableList.builder();
+        List<ShoppingItemOperation> operationsToMerge = new ArrayList<>();
+        for (ShoppingItemOperation operation : operations) {
+            ShoppingItemOperation datedOperation = forceOperationDates(operation, now);
+            Status status = checkOperationToMerge(datedOperation, itemIds, removedItemIds);
+            if (status == Status.APPLIED) {
+                operationsToMerge.add(datedOperation);
+            }
+            results.add(new ShoppingItemOperationResult(datedOperation, status));
+        }
+
+        long clock = processMergeAll(listId, operationsToMerge, now);
+        return new ShoppingItemMergeResult(results.build(), clock);
+    }
+
+    private ShoppingItemOperation forceOperationDates(ShoppingItemOperation operation, LocalDateTime now) {
+        if (operation.getItem() == null) {
+            return operation;
+        }
+        ShoppingItem.Builder itemBuilder = ShoppingItem.Builder.createFrom(operation.getItem()).withLastUpdate(now);
+        if (operation.getType() == ShoppingItemOperation.Type.CREATE) {
+            itemBuilder.withCreationDate(now);
+        }
+        return operation.withItem(itemBuilder.build());
+    }
+
+    /**
+     * @param operation
+     * @param itemIds   ids of the items in the list, updated with the operation if it is applicable
+     * @return status of the operation
+     */
+    private Status checkOperation(ShoppingItemOperation operation, Set<UUID> itemIds) {
+        switch (operation.getType()) {
+            case CREATE:
+                return itemIds.add(operation.getItemId()) ? Status.APPLIED : Status.ALREADY_EXISTS;
+            case DELETE:
+                return itemIds.remove(operation.getItemId()) ? Status.APPLIED : Status.NOT_FOUND;
+            default:
+                return itemIds.contains(operation.getItemId()) ? Status.APPLIED : Status.NOT_FOUND;
+        }
+    }
+
+    /**
+     * @param operation
+     * @param itemIds        ids of the items in the list, updated with the operation if it is applicable
+     * @param removedItemIds ids of the items removed from the list, updated with the operation if it is applicable
+     * @return status of the operation
+     */
+    private Status checkOperationToMerge(ShoppingItemOperation operation, Set<UUID> itemIds, Set<UUID> removedItemIds) {
+        UUID itemId = operation.getItemId();
+        if (removedItemIds.contains(itemId)) {
+            return Status.REMOVED;
+        }
+        switch (operation.getType()) {
+            case CREATE:
+                //an item created concurrently with the same id is merged field by field
+                itemIds.add(itemId);
+                return Status.APPLIED;
+            case DELETE:
+                if (itemIds.remove(itemId)) {
+                    removedItemIds.add(itemId);
+                    return Status.APPLIED;
+                }
+                return Status.NOT_FOUND;
+            default:
+                return itemIds.contains(itemId) ? Status.APPLIED : Status.NOT_FOUND;
+        }
+    }
+
     /**
      * Create a new item
      *
@@ -153,18 +328,72 @@ public abstract class ShoppingItemRepository {
     protected abstract ShoppingItem processGetById(UUID listId, UUID itemId);
 
     /**
-     * Update a item
+     * Update the name, quantity, state and last update of an item
      *
      * @param listId       : id of the list which the item is belonging
      * @param itemToUpdate
+     * @throws ApplicationException if the item was not found in the list
      */
     protected abstract void processUpdate(UUID listId, ShoppingItem itemToUpdate);
 
     /**
-     * Delete a item by its Id
+     * Change only the patched fields of an item
+     *
+     * @param listId     : id of the list which the item is belonging
+     * @param itemId
+     * @param patch      not empty patch
+     * @param lastUpdate date of the patch
+     * @throws ApplicationException if the item was not found in the list
+     */
+    protected abstract void processPatch(UUID listId, UUID itemId, ShoppingItemPatch patch, LocalDateTime lastUpdate);
+
+    /**
+     * Delete a item by its Id and leave a tombstone for the synchronizing clients
      *
      * @param listId : id of the list which the item is belonging
      * @param userId
      */
     protected abstract void processDeleteById(UUID listId, UUID itemId);
+
+    /**
+     * Get the ids of the items of a list
+     *
+     * @param listId
+     * @return ids of the items
+     * @throws ApplicationException if the list was not found
+     */
+    protected abstract Set<UUID> processGetItemIds(UUID listId);
+
+    /**
+     * Write all the operations of a batch at once, each one is still applied only if the item is in the expected state.
+     * The deleted items leave a tombstone for the synchronizing clients.
+     *
+     * @param listId     : id of the list which the items are belonging
+     * @param operations applicable operations
+     * @param lastUpdate date of the batch
+     * @throws ApplicationException if some operations could not be applied because the list was modified concurrently
+     */
+    protected abstract void processApplyAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate);
+
+    /**
+     * Get the ids of the items removed from a list, among some ids
+     *
+     * @param listId
+     * @param itemIds ids of items not in the list
+     * @return ids of the removed items, the removals older than the tombstones retention are forgotten
+     */
+    protected abstract Set<UUID> processGetRemovedItemIds(UUID listId, Set<UUID> itemIds);
+
+    /**
+     * Merge the stamped operations of a batch at once.
+     * Each field is written only if the operation is more recent than the one which gave the current value of the field,
+     * the removed items leave a tombstone for the synchronizing clients and for the operations still to merge.
+     *
+     * @param listId     : id of the list which the items are belonging
+     * @param operations applicable stamped operations, possibly none
+     * @param lastUpdate date of the merge
+     * @return highest logical clock merged in the list
+     * @throws ApplicationException if the list was not found
+     */
+    protected abstract long processMergeAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate);
 }
@@ -21,6 +21,10 @@ public enum ShoppingItemRepositoryErrorMessage implements ErrorMessage {
      * Error while creating item : %s already exists
      */
     PROBLEM_CREATION_ITEM_ALREADY_EXISTS("Error while creating item : %s already exists"),
+    /**
+     * Error while creating item : %s could not be added because the list was modified concurrently
+     */
+    PROBLEM_CREATION_ITEM_CONCURRENT_MODIFICATION("Error while creating item : %s could not be added because the list was modified concurrently"),
     /**
      * Error while updating item : %s
      */
@@ -28,7 +32,19 @@ public enum ShoppingItemRepositoryErrorMessage implements ErrorMessage {
     /**
      * Error while deleting item : %s
      */
-    PROBLEM_DELETE_ITEM("Error while deleting item : %s");
+    PROBLEM_DELETE_ITEM("Error while deleting item : %s"),
+    /**
+     * Error while applying item batch : %s
+     */
+    PROBLEM_BATCH_ITEMS("Error while applying item batch : %s"),
+    /**
+     * Error while applying item batch : only %s of the %s operations were applied because the list was modified concurrently
+     */
+    PROBLEM_BATCH_ITEMS_CONCURRENT_MODIFICATION("Error while applying item batch : only %s of the %s operations were applied because the list was modified concurrently"),
+    /**
+     * Error while merging item operations : %s
+     */
+    PROBLEM_MERGE_ITEMS("Error while merging item operations : %s");
 
 
     private String message;
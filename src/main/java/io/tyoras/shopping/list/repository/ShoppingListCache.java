@@ -0,0 +1,159 @@
+package io.tyoras.shopping.list.repository;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.tyoras.shopping.infra.util.GuardedCache;
+import io.tyoras.shopping.infra.util.RequestScope;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+import io.tyoras.shopping.list.ShoppingList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * In memory cache of decoded shopping lists by Id, shared by the list and item repositories to invalidate it on every list or item write.
+ * By default the lists are only cached for the request reading them, no request can see a list cached by another one.
+ * The shared mode keeps them across requests until they expire, a list written by another node may then be served outdated until it expires.
+ * The shared cache is bounded by the number of items it holds rather than by the number of lists, a list weighs one plus its item count.
+ *
+ * @author yoan
+ */
+public class ShoppingListCache {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(ShoppingListCache.class);
+
+    private final Cache<UUID, ShoppingList> sharedLists;
+    private final GuardedCache<UUID, ShoppingList> sharedCache;
+    private final Counter requestHits;
+    private final Counter requestMisses;
+    private final Histogram requestWeights;
+
+    public ShoppingListCache(long maximumWeight, long expireAfterMinutes, boolean shared, MetricRegistry metrics) {
+        requireNonNull(metrics);
+        if (shared) {
+            sharedLists = CacheBuilder.newBuilder()
+                    .maximumWeight(maximumWeight)
+                    .weigher((UUID listId, ShoppingList list) -> weigh(list))
+                    .expireAfterWrite(expireAfterMinutes, MINUTES)
+                    .recordStats()
+                    .build();
+            sharedCache = new GuardedCache<>(sharedLists);
+            requestHits = null;
+            requestMisses = null;
+            requestWeights = null;
+            CacheMetricsHelper.registerCacheMetrics(metrics, CACHE_METRICS_NAME, sharedLists);
+            metrics.register(MetricRegistry.name(CACHE_METRICS_NAME, "weight"), (Gauge<Long>) this::getWeight);
+        } else {
+            sharedLists = null;
+            sharedCache = null;
+            requestHits = metrics.counter(MetricRegistry.name(CACHE_METRICS_NAME, "hits"));
+            requestMisses = metrics.counter(MetricRegistry.name(CACHE_METRICS_NAME, "misses"));
+            metrics.register(MetricRegistry.name(CACHE_METRICS_NAME, "hit-ratio"), new RatioGauge() {
+                @Override
+                protected Ratio getRatio() {
+                    return Ratio.of(requestHits.getCount(), requestHits.getCount() + requestMisses.getCount());
+                }
+            });
+            //the footprint of the request cache is the highest weight of the lists kept by each request
+            requestWeights = metrics.histogram(MetricRegistry.name(CACHE_METRICS_NAME, "request-weight"));
+        }
+    }
+
+    private static int weigh(ShoppingList list) {
+        return 1 + list.getItemList().size();
+    }
+
+    /**
+     * Get a list from the cache or load it, unknown lists are not cached.
+     * Outside of a request scope the request cache loads the list without caching it.
+     *
+     * @param listId
+     * @param loader
+     * @return found list or null if not found
+     */
+    public ShoppingList get(UUID listId, Function<UUID, ShoppingList> loader) {
+        if (sharedCache != null) {
+            //a list loaded while it was invalidated by a concurrent write is not cached
+            return sharedCache.get(listId, loader);
+        }
+
+        RequestLists requestLists = getRequestLists();
+        ShoppingList cachedList = requestLists == null ? null : requestLists.lists.get(listId);
+        if (cachedList != null) {
+            requestHits.inc();
+            return cachedList;
+        }
+
+        requestMisses.inc();
+        ShoppingList foundList = loader.apply(listId);
+        if (foundList != null && requestLists != null) {
+            requestLists.put(listId, foundList);
+        }
+        return foundList;
+    }
+
+    /**
+     * @param listId
+     * @return cached list or null if it is not in the cache
+     */
+    public ShoppingList getIfPresent(UUID listId) {
+        if (sharedCache != null) {
+            return sharedCache.getIfPresent(listId);
+        }
+        RequestLists requestLists = getRequestLists();
+        return requestLists == null ? null : requestLists.lists.get(listId);
+    }
+
+    public void invalidate(UUID listId) {
+        if (sharedCache != null) {
+            sharedCache.invalidate(listId);
+            return;
+        }
+        RequestLists requestLists = getRequestLists();
+        if (requestLists != null) {
+            requestLists.lists.remove(listId);
+        }
+    }
+
+    /**
+     * @return memory footprint of the cache, as the number of lists and items it holds (only those of the current request for the request cache)
+     */
+    public long getWeight() {
+        if (sharedLists != null) {
+            return weigh(sharedLists.asMap());
+        }
+        RequestLists requestLists = getRequestLists();
+        return requestLists == null ? 0 : weigh(requestLists.lists);
+    }
+
+    private static long weigh(Map<UUID, ShoppingList> lists) {
+        return lists.values().stream().mapToLong(ShoppingListCache::weigh).sum();
+    }
+
+    private RequestLists getRequestLists() {
+        //the footprint of a request is recorded once it is processed
+        return RequestScope.get(this, RequestLists::new, requestLists -> requestWeights.update(requestLists.peakWeight));
+    }
+
+    /**
+     * Lists cached for a single request, with the highest weight they reached
+     */
+    private static final class RequestLists {
+        private final Map<UUID, ShoppingList> lists = new HashMap<>();
+        private long peakWeight;
+
+        private void put(UUID listId, ShoppingList list) {
+            lists.put(listId, list);
+            peakWeight = Math.max(peakWeight, weigh(lists));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.tyoras.shopping.list.repository;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.infra.db.PageCursor;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.ShoppingListTombstone;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping list repository reading lists by Id through the list cache in front of another implementation.
+ * The cached list is invalidated even when a write fails, the failure may come after a part of the write.
+ *
+ * @author yoan
+ */
+public class ShoppingListCacheRepository extends ShoppingListRepository {
+
+    private final ShoppingListRepository delegate;
+    private final ShoppingListCache listCache;
+
+    public ShoppingListCacheRepository(ShoppingListRepository delegate, ShoppingListCache listCache) {
+        this.delegate = requireNonNull(delegate);
+        this.listCache = requireNonNull(listCache);
+    }
+
+    @Override
+    protected void processCreate(ShoppingList listToCreate) {
+        try {
+            delegate.processCreate(listToCreate);
+        } finally {
+            if (listToCreate.getId() != null) {
+                listCache.invalidate(listToCreate.getId());
+            }
+        }
+    }
+
+    @Override
+    protected ShoppingList processGetById(UUID listId) {
+        return listCache.get(listId, delegate::processGetById);
+    }
+
+    @Override
+    protected Long processGetVersion(UUID listId) {
+        return delegate.processGetVersion(listId);
+    }
+
+    @Override
+    protected void processUpdate(ShoppingList listToUpdate, long expectedVersion) {
+        try {
+            delegate.processUpdate(listToUpdate, expectedVersion);
+        } finally {
+            listCache.invalidate(listToUpdate.getId());
+        }
+    }
+
+    @Override
+    protected void processPatch(UUID listId, ShoppingListPatch patch, Long expectedVersion, LocalDateTime lastUpdate) {
+        try {
+            delegate.processPatch(listId, patch, expectedVersion, lastUpdate);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected void processDeleteById(UUID listId) {
+        try {
+            delegate.processDeleteById(listId);
+        } finally {
+            listCache.invalidate(listId);
+        }
+    }
+
+    @Override
+    protected ImmutableList<ShoppingList> processGetByOwner(UUID ownerId) {
+        return delegate.processGetByOwner(ownerId);
+    }
+
+    @Override
+    protected ImmutableList<ShoppingList> processGetChangedByOwner(UUID ownerId, LocalDateTime since) {
+        return delegate.processGetChangedByOwner(ownerId, since);
+    }
+
+    @Override
+    protected ImmutableList<ShoppingListTombstone> processGetTombstonesByOwner(UUID ownerId, LocalDateTime since) {
+        return delegate.processGetTombstonesByOwner(ownerId, since);
+    }
+
+    @Override
+    protected Stream<ShoppingList> processStreamByOwner(UUID ownerId, PageCursor after, int limit) {
+        return delegate.processStreamByOwner(ownerId, after, limit);
+    }
+
+    @Override
+    protected Stream<ShoppingListSummary> processStreamSummariesByOwner(UUID ownerId, PageCursor after, int limit) {
+        return delegate.processStreamSummariesByOwner(ownerId, after, limit);
+    }
+}
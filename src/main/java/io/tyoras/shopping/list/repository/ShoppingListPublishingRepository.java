@@ -0,0 +1,93 @@
+package io.tyoras.shopping.list.repository;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.infra.db.PageCursor;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.ShoppingListTombstone;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_DELETED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_UPDATED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping list repository publishing an event for the followers of a list once a change of the list is written by another implementation
+ *
+ * @author yoan
+ */
+public class ShoppingListPublishingRepository extends ShoppingListRepository {
+
+    private final ShoppingListRepository delegate;
+    private final ShoppingListEventBus eventBus;
+
+    public ShoppingListPublishingRepository(ShoppingListRepository delegate, ShoppingListEventBus eventBus) {
+        this.delegate = requireNonNull(delegate);
+        this.eventBus = requireNonNull(eventBus);
+    }
+
+    @Override
+    protected void processCreate(ShoppingList listToCreate) {
+        //nobody can follow a list before its creation
+        delegate.processCreate(listToCreate);
+    }
+
+    @Override
+    protected ShoppingList processGetById(UUID listId) {
+        return delegate.processGetById(listId);
+    }
+
+    @Override
+    protected Long processGetVersion(UUID listId) {
+        return delegate.processGetVersion(listId);
+    }
+
+    @Override
+    protected void processUpdate(ShoppingList listToUpdate, long expectedVersion) {
+        delegate.processUpdate(listToUpdate, expectedVersion);
+        eventBus.publish(ShoppingListEvent.ofList(listToUpdate.getId(), LIST_UPDATED));
+    }
+
+    @Override
+    protected void processPatch(UUID listId, ShoppingListPatch patch, Long expectedVersion, LocalDateTime lastUpdate) {
+        delegate.processPatch(listId, patch, expectedVersion, lastUpdate);
+        eventBus.publish(ShoppingListEvent.ofList(listId, LIST_UPDATED));
+    }
+
+    @Override
+    protected void processDeleteById(UUID listId) {
+        delegate.processDeleteById(listId);
+        eventBus.publish(ShoppingListEvent.ofList(listId, LIST_DELETED));
+    }
+
+    @Override
+    protected ImmutableList<ShoppingList> processGetByOwner(UUID ownerId) {
+        return delegate.processGetByOwner(ownerId);
+    }
+
+    @Override
+    protected ImmutableList<ShoppingList> processGetChangedByOwner(UUID ownerId, LocalDateTime since) {
+        return delegate.processGetChangedByOwner(ownerId, since);
+    }
+
+    @Override
+    protected ImmutableList<ShoppingListTombstone> processGetTombstonesByOwner(UUID ownerId, LocalDateTime since) {
+        return delegate.processGetTombstonesByOwner(ownerId, since);
+    }
+
+    @Override
+    protected Stream<ShoppingList> processStreamByOwner(UUID ownerId, PageCursor after, int limit) {
+        return delegate.processStreamByOwner(ownerId, after, limit);
+    }
+
+    @Override
+    protected Stream<ShoppingListSummary> processStreamSummariesByOwner(UUID ownerId, PageCursor after, int limit) {
+        return delegate.processStreamSummariesByOwner(ownerId, after, limit);
+    }
+}
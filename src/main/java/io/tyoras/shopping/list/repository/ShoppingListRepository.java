@@ -4,17 +4,28 @@
 package io.tyoras.shopping.list.repository;
 
 import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.infra.db.Page;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.infra.util.error.VersionConflictException;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListChanges;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.ShoppingListTombstone;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.PROBLEM_UPDATE_LIST_VERSION_MISMATCH;
 
 /**
  * Repository focused on shopping lists
@@ -24,6 +35,15 @@ import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 public abstract class ShoppingListRepository {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(ShoppingListRepository.class);
+    /**
+     * Deletions older than that are forgotten, the clients synchronized before have to start over
+     */
+    public static final int TOMBSTONE_TTL_IN_DAYS = 30;
+    /**
+     * The watermark is moved back by this margin, so that a change dated just before a synchronization
+     * but stored just after it is sent again by the next one instead of being missed
+     */
+    public static final int SYNC_OVERLAP_IN_SECONDS = 30;
 
     /**
      * Create a new shopping list
@@ -45,6 +65,7 @@ public abstract class ShoppingListRepository {
         return ShoppingList.Builder.createFrom(list)
                 .withCreationDate(creationDate)
                 .withLastUpdate(creationDate)
+                .withVersion(0)
                 .build();
     }
 
@@ -62,6 +83,41 @@ public abstract class ShoppingListRepository {
         return processGetById(listId);
     }
 
+    /**
+     * Get the changes of the shopping lists of an user since a client watermark
+     *
+     * @param ownerId
+     * @param since   watermark given by the previous synchronization, null for the first one
+     * @return lists changed and deleted since the watermark, or all the lists if the deletions since the watermark are not known anymore
+     */
+    public final ShoppingListChanges getChangesSince(UUID ownerId, LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime watermark = now.minusSeconds(SYNC_OVERLAP_IN_SECONDS);
+        if (ownerId == null) {
+            LOGGER.warn("User's shopping list changes asked with null id");
+            return new ShoppingListChanges(ImmutableList.of(), ImmutableList.of(), watermark, false);
+        }
+        if (since == null || since.isBefore(now.minusDays(TOMBSTONE_TTL_IN_DAYS))) {
+            return new ShoppingListChanges(processGetByOwner(ownerId), ImmutableList.of(), watermark, true);
+        }
+        ImmutableList<ShoppingList> changedLists = processGetChangedByOwner(ownerId, since);
+        ImmutableList<ShoppingListTombstone> tombstones = processGetTombstonesByOwner(ownerId, since);
+        return new ShoppingListChanges(changedLists, tombstones, watermark, false);
+    }
+
+    /**
+     * Get only the version of a shopping list, without reading its items
+     *
+     * @param listId
+     * @return current version or null if not found
+     */
+    public final Long getVersion(UUID listId) {
+        if (listId == null) {
+            return null;
+        }
+        return processGetVersion(listId);
+    }
+
     /**
      * Get all shopping list from an user
      *
@@ -76,20 +132,99 @@ public abstract class ShoppingListRepository {
         return processGetByOwner(ownerId);
     }
 
+    /**
+     * Get a page of the shopping lists of an user, from the most recently updated
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to get the first page
+     * @param limit   maximum number of lists in the page
+     * @return found lists page
+     */
+    public final Page<ShoppingList> getByOwner(UUID ownerId, PageCursor after, int limit) {
+        checkArgument(limit > 0, "The page size should be positive");
+        if (ownerId == null) {
+            LOGGER.warn("User's shopping lists page asked with null id");
+            return Page.empty();
+        }
+        //one more list than asked to know if there is a next page
+        try (Stream<ShoppingList> lists = processStreamByOwner(ownerId, after, limit + 1)) {
+            return Page.fromFetched(lists.collect(Collectors.toList()), limit, ShoppingListRepository::toPageCursor);
+        }
+    }
+
+    /**
+     * Stream the shopping lists of an user from the most recently updated, without loading them all in memory.
+     * The returned stream must be closed to release the underlying cursor.
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent list
+     * @param limit   maximum number of lists streamed
+     * @return found lists stream
+     */
+    public final Stream<ShoppingList> streamByOwner(UUID ownerId, PageCursor after, int limit) {
+        checkArgument(limit > 0, "The stream size should be positive");
+        if (ownerId == null) {
+            LOGGER.warn("User's shopping lists stream asked with null id");
+            return Stream.empty();
+        }
+        return processStreamByOwner(ownerId, after, limit);
+    }
+
+    /**
+     * Stream the summaries of the shopping lists of an user from the most recently updated,
+     * the items are counted by the database and never read.
+     * The returned stream must be closed to release the underlying cursor.
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent list
+     * @param limit   maximum number of summaries streamed
+     * @return found summaries stream
+     */
+    public final Stream<ShoppingListSummary> streamSummariesByOwner(UUID ownerId, PageCursor after, int limit) {
+        checkArgument(limit > 0, "The stream size should be positive");
+        if (ownerId == null) {
+            LOGGER.warn("User's shopping list summaries asked with null id");
+            return Stream.empty();
+        }
+        return processStreamSummariesByOwner(ownerId, after, limit);
+    }
+
+    /**
+     * @param list
+     * @return cursor positioned on the list
+     */
+    public static PageCursor toPageCursor(ShoppingList list) {
+        return new PageCursor(list.getLastUpdate(), list.getId());
+    }
+
     /**
      * Update a shopping list
      *
      * @param askedListToUpdate
      */
     public final void update(ShoppingList askedListToUpdate) {
+        update(askedListToUpdate, null);
+    }
+
+    /**
+     * Update a shopping list only if it is still at the version known by the caller
+     *
+     * @param askedListToUpdate
+     * @param expectedVersion   version known by the caller, null to skip the check
+     * @throws ApplicationException VERSION_MISMATCH if the list is not at the expected version,
+     *                              CONCURRENT_MODIFICATION if the list changed while being updated
+     */
+    public final void update(ShoppingList askedListToUpdate, Long expectedVersion) {
         if (askedListToUpdate == null) {
             LOGGER.warn("Shopping list update asked with null list");
             return;
         }
         ShoppingList existingShoppingList = findList(askedListToUpdate.getId());
+        long currentVersion = existingShoppingList.getVersion();
+        checkVersion(askedListToUpdate.getId(), currentVersion, expectedVersion);
 
         ShoppingList ListToUpdate = mergeUpdatesInExistingShoppingList(existingShoppingList, askedListToUpdate);
-        processUpdate(ListToUpdate);
+        processUpdate(ListToUpdate, currentVersion);
     }
 
     private ShoppingList mergeUpdatesInExistingShoppingList(ShoppingList existingShoppingList, ShoppingList askedShoppingListToUpdate) {
@@ -97,9 +232,50 @@ public abstract class ShoppingListRepository {
                 .withLastUpdate(LocalDateTime.now())
                 .withItemList(askedShoppingListToUpdate.getItemList())
                 .withName(askedShoppingListToUpdate.getName())
+                .withVersion(existingShoppingList.getVersion() + 1)
                 .build();
     }
 
+    /**
+     * Change only the patched fields of a shopping list, with a single targeted write
+     *
+     * @param listId
+     * @param patch
+     * @param expectedVersion version known by the caller, null to skip the check
+     * @throws ApplicationException NOT_FOUND if the list does not exist,
+     *                              VERSION_MISMATCH if the list is not at the expected version
+     */
+    public final void patch(UUID listId, ShoppingListPatch patch, Long expectedVersion) {
+        if (listId == null) {
+            LOGGER.warn("Shopping list patch asked with null list ID");
+            return;
+        }
+        if (patch == null) {
+            LOGGER.warn("Shopping list patch asked with null patch");
+            return;
+        }
+        if (patch.isEmpty()) {
+            //nothing to write, the list must still exist at the expected version
+            ShoppingList existingList = findList(listId);
+            checkVersion(listId, existingList.getVersion(), expectedVersion);
+            return;
+        }
+        processPatch(listId, patch, expectedVersion, LocalDateTime.now());
+    }
+
+    /**
+     * @param listId
+     * @param currentVersion
+     * @param expectedVersion version known by the caller, null to skip the check
+     * @throws ApplicationException VERSION_MISMATCH if the versions are different
+     */
+    protected final void checkVersion(UUID listId, long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new VersionConflictException(INFO, RepositoryErrorCode.VERSION_MISMATCH,
+                    PROBLEM_UPDATE_LIST_VERSION_MISMATCH.getDevReadableMessage(listId, currentVersion, expectedVersion), currentVersion);
+        }
+    }
+
     /**
      * Get a list by its Id and fail if it does not exist
      *
@@ -147,14 +323,36 @@ public abstract class ShoppingListRepository {
     protected abstract ShoppingList processGetById(UUID listId);
 
     /**
-     * Update a list
+     * Get the version of a list
      *
-     * @param listToUpdate
+     * @param listId
+     * @return current version or null if not found
      */
-    protected abstract void processUpdate(ShoppingList listToUpdate);
+    protected abstract Long processGetVersion(UUID listId);
 
     /**
-     * Delete a list by its Id
+     * Update a list if it is still at the expected version
+     *
+     * @param listToUpdate    list with its new version
+     * @param expectedVersion version of the list the update is based on
+     * @throws ApplicationException CONCURRENT_MODIFICATION if the list is not at the expected version anymore
+     */
+    protected abstract void processUpdate(ShoppingList listToUpdate, long expectedVersion);
+
+    /**
+     * Change only the patched fields of a list and increment its version
+     *
+     * @param listId
+     * @param patch           not empty patch
+     * @param expectedVersion version known by the caller, null to skip the check
+     * @param lastUpdate      date of the patch
+     * @throws ApplicationException NOT_FOUND if the list does not exist,
+     *                              VERSION_MISMATCH if the list is not at the expected version
+     */
+    protected abstract void processPatch(UUID listId, ShoppingListPatch patch, Long expectedVersion, LocalDateTime lastUpdate);
+
+    /**
+     * Delete a list by its Id and leave a tombstone for the synchronizing clients
      *
      * @param userId
      */
@@ -167,4 +365,42 @@ public abstract class ShoppingListRepository {
      * @return found lists
      */
     protected abstract ImmutableList<ShoppingList> processGetByOwner(UUID ownerId);
+
+    /**
+     * Get the shopping lists of an user updated after a date
+     *
+     * @param ownerId
+     * @param since
+     * @return lists updated after the date, from the most recently updated
+     */
+    protected abstract ImmutableList<ShoppingList> processGetChangedByOwner(UUID ownerId, LocalDateTime since);
+
+    /**
+     * Get the tombstones of the lists and items of an user deleted after a date
+     *
+     * @param ownerId
+     * @param since
+     * @return tombstones of the deletions after the date
+     */
+    protected abstract ImmutableList<ShoppingListTombstone> processGetTombstonesByOwner(UUID ownerId, LocalDateTime since);
+
+    /**
+     * Stream the shopping lists of an user, sorted by last update then Id descending
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent list
+     * @param limit
+     * @return lazy lists stream to close once consumed
+     */
+    protected abstract Stream<ShoppingList> processStreamByOwner(UUID ownerId, PageCursor after, int limit);
+
+    /**
+     * Stream the summaries of the shopping lists of an user, sorted by last update then Id descending
+     *
+     * @param ownerId
+     * @param after   cursor of the previous page, null to start from the most recent list
+     * @param limit
+     * @return lazy summaries stream to close once consumed
+     */
+    protected abstract Stream<ShoppingListSummary> processStreamSummariesByOwner(UUID ownerId, PageCursor after, int limit);
 }
\ No newline at end of file
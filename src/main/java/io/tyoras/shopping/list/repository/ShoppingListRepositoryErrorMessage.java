@@ -20,6 +20,10 @@ public enum ShoppingListRepositoryErrorMessage implements ErrorMessage {
      * Error while reading this user lists : %s
      */
     PROBLEM_READ_USER_LISTS("Error while reading this user lists : %s"),
+    /**
+     * Error while reading the changes of this user lists : %s
+     */
+    PROBLEM_READ_USER_LISTS_CHANGES("Error while reading the changes of this user lists : %s"),
     /**
      * Error while creating list : %s
      */
@@ -28,6 +32,14 @@ public enum ShoppingListRepositoryErrorMessage implements ErrorMessage {
      * Error while updating list : %s
      */
     PROBLEM_UPDATE_LIST("Error while updating list : %s"),
+    /**
+     * List %s is at version %s instead of the expected version %s
+     */
+    PROBLEM_UPDATE_LIST_VERSION_MISMATCH("List %s is at version %s instead of the expected version %s"),
+    /**
+     * List %s was modified concurrently, current version is %s
+     */
+    PROBLEM_UPDATE_LIST_CONCURRENT_MODIFICATION("List %s was modified concurrently, current version is %s"),
     /**
      * Error while deleting list : %s
      */
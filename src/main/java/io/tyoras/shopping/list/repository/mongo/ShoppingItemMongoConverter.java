@@ -22,6 +22,20 @@ public class ShoppingItemMongoConverter extends MongoDocumentConverter<ShoppingI
     public static final String FIELD_STATE = "state";
     public static final String FIELD_CREATED = "created";
     public static final String FIELD_LAST_UPDATE = "lastUpdate";
+    /**
+     * Fields of the items stored out of their list, in the item collection
+     */
+    public static final String FIELD_LIST_ID = "listId";
+    public static final String FIELD_ITEM_ID = "itemId";
+    /**
+     * Encoded logical timestamps of the merged operations which gave their current value to the item fields, by field name
+     */
+    public static final String FIELD_STAMPS = "stamps";
+    /**
+     * Generation of the items of its list the item belongs to, only the items of the current generation of the list are its items.
+     * A new generation is written beside the current one, before the list switches to it.
+     */
+    public static final String FIELD_GENERATION = "generation";
 
     public ShoppingItemMongoConverter() {
         super();
@@ -33,11 +47,25 @@ public class ShoppingItemMongoConverter extends MongoDocumentConverter<ShoppingI
 
     @Override
     public ShoppingItem fromDocument(Document doc) {
+        return fromDocument(doc, FIELD_ID);
+    }
+
+    /**
+     * Convert an item stored out of its list, in the item collection
+     *
+     * @param doc
+     * @return item
+     */
+    public ShoppingItem fromItemCollectionDocument(Document doc) {
+        return fromDocument(doc, FIELD_ITEM_ID);
+    }
+
+    private ShoppingItem fromDocument(Document doc, String idField) {
         if (doc == null) {
             return null;
         }
 
-        UUID id = doc.get(FIELD_ID, UUID.class);
+        UUID id = doc.get(idField, UUID.class);
         String name = doc.getString(FIELD_NAME);
         int quantity = doc.getInteger(FIELD_QUANTITY);
         String stateCode = doc.getString(FIELD_STATE);
@@ -71,6 +99,26 @@ public class ShoppingItemMongoConverter extends MongoDocumentConverter<ShoppingI
                 .append(FIELD_LAST_UPDATE, DateHelper.toDate(item.getLastUpdate()));
     }
 
+    /**
+     * Convert an item to store out of its list, in the item collection.
+     * The id of the document is left to generate, so that the ids follow the order the items were added.
+     *
+     * @param listId     list of the item
+     * @param generation generation of the items of the list the item belongs to
+     * @param item
+     * @return document
+     */
+    public Document toItemCollectionDocument(UUID listId, UUID generation, ShoppingItem item) {
+        return new Document(FIELD_LIST_ID, listId)
+                .append(FIELD_GENERATION, generation)
+                .append(FIELD_ITEM_ID, item.getId())
+                .append(FIELD_NAME, item.getName())
+                .append(FIELD_QUANTITY, item.getQuantity())
+                .append(FIELD_STATE, item.getState().name())
+                .append(FIELD_CREATED, DateHelper.toDate(item.getCreationDate()))
+                .append(FIELD_LAST_UPDATE, DateHelper.toDate(item.getLastUpdate()));
+    }
+
     @Override
     public Class<ShoppingItem> getEncoderClass() {
         return ShoppingItem.class;
@@ -1,38 +1,70 @@
 package io.tyoras.shopping.list.repository.mongo;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.mongodb.Block;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
 import io.tyoras.shopping.infra.util.helper.DateHelper;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
+import io.tyoras.shopping.list.ItemState;
+import io.tyoras.shopping.list.LogicalTimestamp;
 import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemPatch;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListTombstone;
 import io.tyoras.shopping.list.repository.ShoppingItemRepository;
-import io.tyoras.shopping.list.repository.ShoppingListRepository;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.list.repository.ShoppingItemRepositoryErrorMessage.*;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter.FIELD_NAME;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter.FIELD_QUANTITY;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter.FIELD_STATE;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_CLOCK;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_EXTERNAL_ITEMS;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_ITEM_GENERATION;
 import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_ITEM_LIST;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_ITEM_STAMPS;
 import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_LAST_UPDATE;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_OWNER_ID;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_VERSION;
 import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_COLLECTION;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.TOMBSTONE_COLLECTION;
 import static java.util.Objects.requireNonNull;
 
 /**
- * Mongo implementation of the shopping item repository
+ * Mongo implementation of the shopping item repository.
+ * The items are embedded in their list document until the list reaches the maximum of embedded items,
+ * its items are then moved to the item collection where the next item writes go.
  *
  * @author yoan
  */
@@ -41,74 +73,546 @@ public class ShoppingItemMongoRepository extends ShoppingItemRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ShoppingItemMongoRepository.class);
     private static final String FIELD_ITEM_ID_IN_LIST = FIELD_ITEM_LIST + '.' + FIELD_ID;
+    private static final String MATCHED_ITEM_PREFIX = FIELD_ITEM_LIST + ".$.";
+    /**
+     * Any item modification is a new version of the list
+     */
+    private static final Document VERSION_INCREMENT = new Document(FIELD_VERSION, 1L);
     private final MongoCollection<ShoppingList> listCollection;
+    private final ShoppingListMongoConverter listConverter;
     private final ShoppingItemMongoConverter itemConverter;
-    private final ShoppingListRepository listRepository;
+    private final ShoppingItemMongoStore itemStore;
+    private final MongoCollection<Document> tombstoneCollection;
+    private final ShoppingListTombstoneMongoConverter tombstoneConverter;
+    private final int maxEmbeddedItems;
 
     @Inject
-    public ShoppingItemMongoRepository(MongoDbConnectionFactory mongoConnectionFactory, ShoppingListRepository listRepository) {
+    public ShoppingItemMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
         requireNonNull(mongoConnectionFactory);
         listCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, LIST_COLLECTION, ShoppingList.class);
-        this.listRepository = requireNonNull(listRepository);
+        listConverter = new ShoppingListMongoConverter();
         itemConverter = new ShoppingItemMongoConverter();
+        itemStore = new ShoppingItemMongoStore(mongoConnectionFactory);
+        maxEmbeddedItems = mongoConnectionFactory.getMongoConfig().maxEmbeddedItems;
+        tombstoneCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, TOMBSTONE_COLLECTION);
+        tombstoneConverter = new ShoppingListTombstoneMongoConverter();
     }
 
     @Override
     protected void processCreate(UUID listId, ShoppingItem itemToCreate) {
-        //ensure list exists before updating it
-        listRepository.findList(listId);
-        ensureItemNotExists(listId, itemToCreate);
-
-        Bson filter = Filters.eq(FIELD_ID, listId);
-        Document addItem = new Document("$addToSet", new Document(FIELD_ITEM_LIST, itemConverter.toDocument(itemToCreate)));
-        addItem.append("$set", new Document(FIELD_LAST_UPDATE, DateHelper.toDate(itemToCreate.getCreationDate())));
+        //a single conditional update : the list must exist, must have room for the item and must not already contain it
+        Bson filter = Filters.and(filterWithoutItem(listId, itemToCreate.getId()), filterWithRoom());
+        Bson addItem = getItemCreation(itemToCreate);
         try {
-            listCollection.updateOne(filter, addItem);
+            if (listCollection.updateOne(filter, addItem).getMatchedCount() == 0) {
+                handleItemNotCreated(listId, itemToCreate, true);
+            }
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CREATION_ITEM);
         }
     }
 
-    private void ensureItemNotExists(UUID listId, ShoppingItem itemToCreate) {
-        ShoppingItem item = getById(listId, itemToCreate.getId());
-        if (item != null) {
-            throw new ApplicationException(INFO, RepositoryErrorCode.ALREADY_EXISTING, PROBLEM_CREATION_ITEM_ALREADY_EXISTS.getDevReadableMessage(itemToCreate.getId()));
+    /**
+     * Find out why the conditional update did not match, only on the failure path.
+     * The creation goes on in the item collection if the list has no room left in its document.
+     */
+    private void handleItemNotCreated(UUID listId, ShoppingItem itemToCreate, boolean moveAllowed) {
+        Document foundList = findListWithItem(listId, itemToCreate.getId());
+        if (foundList == null) {
+            throw listNotFound();
+        }
+        UUID itemGeneration = listConverter.getItemGeneration(foundList);
+        if (!listConverter.hasExternalItems(foundList)) {
+            if (containsItem(foundList)) {
+                throw itemAlreadyExists(itemToCreate.getId());
+            }
+            if (!moveAllowed) {
+                throw new ApplicationException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION, PROBLEM_CREATION_ITEM_CONCURRENT_MODIFICATION.getDevReadableMessage(itemToCreate.getId()));
+            }
+            itemGeneration = moveItemsOut(listId);
+            if (itemGeneration == null) {
+                //the list keeps its items a little over the limit until the next move
+                if (listCollection.updateOne(filterWithoutItem(listId, itemToCreate.getId()), getItemCreation(itemToCreate)).getMatchedCount() == 0) {
+                    handleItemNotCreated(listId, itemToCreate, false);
+                }
+                return;
+            }
+        }
+        if (!itemStore.insert(listId, itemGeneration, itemToCreate)) {
+            throw itemAlreadyExists(itemToCreate.getId());
         }
+        touchList(listId, itemToCreate.getCreationDate(), null);
+    }
+
+    private Document findListWithItem(UUID listId, UUID itemId) {
+        //only the matching array element is sent back and decoded
+        Bson projection = Projections.fields(Projections.include(FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION), Projections.elemMatch(FIELD_ITEM_LIST, Filters.eq(FIELD_ID, itemId)));
+        return listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId)).projection(projection).first();
+    }
+
+    private boolean containsItem(Document foundList) {
+        List<?> matchingItems = (List<?>) foundList.get(FIELD_ITEM_LIST);
+        return matchingItems != null && !matchingItems.isEmpty();
     }
 
     @Override
     protected ShoppingItem processGetById(UUID listId, UUID itemId) {
-        ShoppingList list = listRepository.findList(listId);
-        for (ShoppingItem item : list.getItemList()) {
-            if (item.getId().equals(itemId)) {
-                return item;
+        Document foundList = null;
+        try {
+            foundList = findListWithItem(listId, itemId);
+            if (foundList != null && listConverter.hasExternalItems(foundList)) {
+                return itemStore.findById(listId, listConverter.getItemGeneration(foundList), itemId);
             }
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_ITEM);
         }
-        return null;
+        if (foundList == null) {
+            throw listNotFound();
+        }
+        @SuppressWarnings("unchecked")
+        List<Document> matchingItems = (List<Document>) foundList.get(FIELD_ITEM_LIST);
+        if (matchingItems == null || matchingItems.isEmpty()) {
+            return null;
+        }
+        return itemConverter.fromDocument(matchingItems.get(0));
     }
 
     @Override
     protected void processUpdate(UUID listId, ShoppingItem itemToUpdate) {
-        Bson filter = Filters.and(Filters.eq(FIELD_ITEM_ID_IN_LIST, itemToUpdate.getId()), Filters.eq(FIELD_ITEM_ID_IN_LIST, itemToUpdate.getId()));
-        Bson updatedItem = itemConverter.toDocument(itemToUpdate);
-        Document set = new Document(FIELD_ITEM_LIST + ".$", updatedItem).append(ShoppingListMongoConverter.FIELD_LAST_UPDATE, DateHelper.toDate(itemToUpdate.getLastUpdate()));
-        Document update = new Document("$set", set);
+        Bson filter = filterWithItem(listId, itemToUpdate.getId());
+        Bson update = getItemUpdate(itemToUpdate);
+        boolean updated = false;
         try {
-            listCollection.updateOne(filter, update);
+            updated = listCollection.updateOne(filter, update).getMatchedCount() > 0
+                    || writeExternalItem(listId, itemToUpdate.getLastUpdate(), itemGeneration -> itemStore.update(listId, itemGeneration, itemToUpdate));
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_UPDATE_ITEM);
         }
+        if (!updated) {
+            throw new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, CommonErrorMessage.NOT_FOUND.getDevReadableMessage("Item"));
+        }
+    }
+
+    @Override
+    protected void processPatch(UUID listId, UUID itemId, ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        Bson filter = filterWithItem(listId, itemId);
+        Bson update = getItemPatch(patch, lastUpdate);
+        boolean patched = false;
+        try {
+            patched = listCollection.updateOne(filter, update).getMatchedCount() > 0
+                    || writeExternalItem(listId, lastUpdate, itemGeneration -> itemStore.patch(listId, itemGeneration, itemId, patch, lastUpdate));
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_UPDATE_ITEM);
+        }
+        if (!patched) {
+            throw new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, CommonErrorMessage.NOT_FOUND.getDevReadableMessage("Item"));
+        }
     }
 
     @Override
     protected void processDeleteById(UUID listId, UUID itemId) {
-        Bson filter = Filters.eq(FIELD_ID, listId);
-        Document pullItem = new Document("$pull", new Document(FIELD_ITEM_LIST, new Document(FIELD_ID, itemId)));
-        pullItem.append("$set", new Document(ShoppingListMongoConverter.FIELD_LAST_UPDATE, DateHelper.toDate(LocalDateTime.now())));
+        Bson filter = filterWithItem(listId, itemId);
+        LocalDateTime deletionDate = LocalDateTime.now();
+        Bson pullItem = getItemDeletion(itemId, deletionDate);
+        //the owner of the list is needed by the tombstone of the item
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().projection(Projections.include(FIELD_OWNER_ID));
         try {
-            listCollection.updateOne(filter, pullItem);
+            Document updatedList = listCollection.withDocumentClass(Document.class).findOneAndUpdate(filter, pullItem, options);
+            if (updatedList == null) {
+                UUID itemGeneration = findItemGeneration(listId);
+                if (itemGeneration != null && itemStore.delete(listId, itemGeneration, itemId)) {
+                    updatedList = touchList(listId, deletionDate, null);
+                }
+            }
+            if (updatedList != null) {
+                UUID ownerId = updatedList.get(FIELD_OWNER_ID, UUID.class);
+                tombstoneCollection.insertOne(tombstoneConverter.toDocument(ShoppingListTombstone.ofItem(listId, itemId, ownerId, deletionDate)));
+            }
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_DELETE_ITEM);
         }
     }
+
+    @Override
+    protected ImmutableSet<UUID> processGetItemIds(UUID listId) {
+        Bson filter = Filters.eq(FIELD_ID, listId);
+        Document foundList = null;
+        try {
+            foundList = listCollection.withDocumentClass(Document.class).find(filter)
+                    .projection(Projections.include(FIELD_ITEM_ID_IN_LIST, FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION)).first();
+            if (foundList != null && listConverter.hasExternalItems(foundList)) {
+                return itemStore.findIds(listId, listConverter.getItemGeneration(foundList));
+            }
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_ITEM);
+        }
+        if (foundList == null) {
+            throw listNotFound();
+        }
+        @SuppressWarnings("unchecked")
+        List<Document> itemIds = (List<Document>) foundList.get(FIELD_ITEM_LIST);
+        if (itemIds == null) {
+            return ImmutableSet.of();
+        }
+        return itemIds.stream().map(item -> item.get(FIELD_ID, UUID.class)).collect(ImmutableSet.toImmutableSet());
+    }
+
+    @Override
+    protected void processApplyAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        int appliedCount = operations.size();
+        try {
+            UUID itemGeneration = prepareItemStorage(listId, operations);
+            if (itemGeneration != null) {
+                appliedCount = itemStore.applyAll(listId, itemGeneration, operations, lastUpdate);
+                touchList(listId, lastUpdate, null);
+            } else {
+                List<WriteModel<ShoppingList>> writes = new ArrayList<>(operations.size());
+                operations.forEach(operation -> writes.add(toWrite(listId, operation, lastUpdate)));
+                //an operation may rely on a previous one of the batch, like the update of an item created before
+                appliedCount = listCollection.bulkWrite(writes, new BulkWriteOptions().ordered(true)).getMatchedCount();
+            }
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_BATCH_ITEMS);
+        }
+        //each write is conditioned by the item state checked before, a missing match means a concurrent change
+        if (appliedCount < operations.size()) {
+            String message = PROBLEM_BATCH_ITEMS_CONCURRENT_MODIFICATION.getDevReadableMessage(appliedCount, operations.size());
+            throw new ApplicationException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION, message);
+        }
+        List<UUID> deletedItemIds = operations.stream()
+                .filter(operation -> operation.getType() == ShoppingItemOperation.Type.DELETE)
+                .map(ShoppingItemOperation::getItemId)
+                .collect(Collectors.toList());
+        if (!deletedItemIds.isEmpty()) {
+            writeItemTombstones(listId, deletedItemIds, lastUpdate);
+        }
+    }
+
+    private void writeItemTombstones(UUID listId, List<UUID> deletedItemIds, LocalDateTime deletionDate) {
+        try {
+            Document listOwner = listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId)).projection(Projections.include(FIELD_OWNER_ID)).first();
+            if (listOwner == null) {
+                //deleted in the meantime, its own tombstone covers the items
+                return;
+            }
+            UUID ownerId = listOwner.get(FIELD_OWNER_ID, UUID.class);
+            List<Document> tombstones = deletedItemIds.stream()
+                    .map(itemId -> tombstoneConverter.toDocument(ShoppingListTombstone.ofItem(listId, itemId, ownerId, deletionDate)))
+                    .collect(Collectors.toList());
+            tombstoneCollection.insertMany(tombstones);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_BATCH_ITEMS);
+        }
+    }
+
+    private WriteModel<ShoppingList> toWrite(UUID listId, ShoppingItemOperation operation, LocalDateTime lastUpdate) {
+        UUID itemId = operation.getItemId();
+        switch (operation.getType()) {
+            case CREATE:
+                return new UpdateOneModel<>(filterWithoutItem(listId, itemId), getItemCreation(operation.getItem()));
+            case UPDATE:
+                return new UpdateOneModel<>(filterWithItem(listId, itemId), getItemUpdate(operation.getItem()));
+            case RENAME:
+                return new UpdateOneModel<>(filterWithItem(listId, itemId), getItemPatch(new ShoppingItemPatch(operation.getName(), null, null), lastUpdate));
+            case CHANGE_QUANTITY:
+                return new UpdateOneModel<>(filterWithItem(listId, itemId), getItemPatch(new ShoppingItemPatch(null, operation.getQuantity(), null), lastUpdate));
+            case CHANGE_STATE:
+                return new UpdateOneModel<>(filterWithItem(listId, itemId), getItemStateChange(operation.getState(), lastUpdate));
+            case DELETE:
+                return new UpdateOneModel<>(filterWithItem(listId, itemId), getItemDeletion(itemId, lastUpdate));
+            default:
+                throw new IllegalArgumentException("Unknown item operation type : " + operation.getType());
+        }
+    }
+
+    @Override
+    protected Set<UUID> processGetRemovedItemIds(UUID listId, Set<UUID> itemIds) {
+        Bson filter = Filters.and(Filters.eq(ShoppingListTombstoneMongoConverter.FIELD_LIST_ID, listId), Filters.in(ShoppingListTombstoneMongoConverter.FIELD_ITEM_ID, itemIds));
+        Set<UUID> removedItemIds = new HashSet<>();
+        try {
+            tombstoneCollection.find(filter).projection(Projections.include(ShoppingListTombstoneMongoConverter.FIELD_ITEM_ID))
+                    .forEach((Block<Document>) tombstone -> removedItemIds.add(tombstone.get(ShoppingListTombstoneMongoConverter.FIELD_ITEM_ID, UUID.class)));
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_MERGE_ITEMS);
+        }
+        return removedItemIds;
+    }
+
+    @Override
+    protected long processMergeAll(UUID listId, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        if (!operations.isEmpty()) {
+            try {
+                //a write not matching only means a more recent operation already gave the field its value
+                UUID itemGeneration = prepareItemStorage(listId, operations);
+                if (itemGeneration != null) {
+                    itemStore.mergeAll(listId, itemGeneration, operations, lastUpdate);
+                    long maxClock = operations.stream().mapToLong(operation -> operation.getTimestamp().getClock()).max().getAsLong();
+                    touchList(listId, lastUpdate, maxClock);
+                } else {
+                    List<WriteModel<ShoppingList>> writes = new ArrayList<>();
+                    operations.forEach(operation -> writes.addAll(toMergeWrites(listId, operation, lastUpdate)));
+                    //the field merges of an operation rely on the item being pushed by a previous creation of the batch
+                    listCollection.bulkWrite(writes, new BulkWriteOptions().ordered(true));
+                }
+            } catch (MongoException e) {
+                MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_MERGE_ITEMS);
+            }
+            List<UUID> removedItemIds = operations.stream()
+                    .filter(operation -> operation.getType() == ShoppingItemOperation.Type.DELETE)
+                    .map(ShoppingItemOperation::getItemId)
+                    .collect(Collectors.toList());
+            if (!removedItemIds.isEmpty()) {
+                writeItemTombstones(listId, removedItemIds, lastUpdate);
+            }
+        }
+        return getClock(listId);
+    }
+
+    /**
+     * Move the items of the list out of its document first if the created items would exceed the maximum of embedded items
+     *
+     * @return generation of the items of the list out of its document, null if they are in its document
+     */
+    private UUID prepareItemStorage(UUID listId, List<ShoppingItemOperation> operations) {
+        Document foundList = listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId))
+                .projection(Projections.include(FIELD_ITEM_ID_IN_LIST, FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION)).first();
+        if (foundList == null) {
+            throw listNotFound();
+        }
+        if (listConverter.hasExternalItems(foundList)) {
+            return listConverter.getItemGeneration(foundList);
+        }
+        long creationCount = operations.stream().filter(operation -> operation.getType() == ShoppingItemOperation.Type.CREATE).count();
+        int itemCount = ((List<?>) foundList.get(FIELD_ITEM_LIST)).size();
+        return creationCount > 0 && itemCount + creationCount > maxEmbeddedItems ? moveItemsOut(listId) : null;
+    }
+
+    /**
+     * Move the items of the list out of its document, into the item collection.
+     * The items are copied as a new generation first, then the list document switches to it only if it was not modified in the meantime,
+     * otherwise the copies are removed and the items stay in the list document.
+     *
+     * @return generation of the items of the list out of its document, null if they stay in its document
+     */
+    private UUID moveItemsOut(UUID listId) {
+        Document foundList = listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId))
+                .projection(Projections.include(FIELD_ITEM_LIST, FIELD_ITEM_STAMPS, FIELD_VERSION, FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION)).first();
+        if (foundList == null) {
+            throw listNotFound();
+        }
+        if (listConverter.hasExternalItems(foundList)) {
+            return listConverter.getItemGeneration(foundList);
+        }
+        @SuppressWarnings("unchecked")
+        List<Document> items = (List<Document>) foundList.get(FIELD_ITEM_LIST);
+        Number version = foundList.get(FIELD_VERSION, Number.class);
+        UUID itemGeneration = UUID.randomUUID();
+        try {
+            itemStore.insertMoved(listId, itemGeneration, items, foundList.get(FIELD_ITEM_STAMPS, Document.class));
+            Bson filter = Filters.and(listConverter.filterByIdAndVersion(listId, version == null ? 0 : version.longValue()), Filters.ne(FIELD_EXTERNAL_ITEMS, true));
+            Document moveOut = new Document("$set", new Document(FIELD_ITEM_LIST, new ArrayList<>()).append(FIELD_EXTERNAL_ITEMS, true).append(FIELD_ITEM_GENERATION, itemGeneration))
+                    .append("$unset", new Document(FIELD_ITEM_STAMPS, ""));
+            if (listCollection.updateOne(filter, moveOut).getMatchedCount() > 0) {
+                LOGGER.info("Items of the list " + listId + " moved out of its document");
+                return itemGeneration;
+            }
+        } catch (MongoException e) {
+            LOGGER.warn("Unable to move the items of the list " + listId + " out of its document", e);
+        }
+        itemStore.deleteGeneration(listId, itemGeneration);
+        return null;
+    }
+
+    /**
+     * @return generation of the items of the list out of its document, null if the list does not exist or if its items are in its document
+     */
+    private UUID findItemGeneration(UUID listId) {
+        Document foundList = listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId))
+                .projection(Projections.include(FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION)).first();
+        return foundList == null ? null : listConverter.getItemGeneration(foundList);
+    }
+
+    /**
+     * Write an item stored out of its list, the list document is then given its new version
+     *
+     * @param itemWrite write of the item in the current generation of the list items
+     * @return true if the item was written
+     */
+    private boolean writeExternalItem(UUID listId, LocalDateTime lastUpdate, Predicate<UUID> itemWrite) {
+        UUID itemGeneration = findItemGeneration(listId);
+        if (itemGeneration == null || !itemWrite.test(itemGeneration)) {
+            return false;
+        }
+        touchList(listId, lastUpdate, null);
+        return true;
+    }
+
+    /**
+     * Give a new version to a list after a write of its items stored out of its document
+     *
+     * @param listId
+     * @param lastUpdate
+     * @param clock      highest logical clock of the merged operations, null without merge
+     * @return owner of the list, null if the list does not exist anymore
+     */
+    private Document touchList(UUID listId, LocalDateTime lastUpdate, Long clock) {
+        Document touch = new Document("$set", new Document(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate))).append("$inc", VERSION_INCREMENT);
+        if (clock != null) {
+            touch.append("$max", new Document(FIELD_CLOCK, clock));
+        }
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().projection(Projections.include(FIELD_OWNER_ID));
+        return listCollection.withDocumentClass(Document.class).findOneAndUpdate(Filters.eq(FIELD_ID, listId), touch, options);
+    }
+
+    private long getClock(UUID listId) {
+        Document foundClock = null;
+        try {
+            foundClock = listCollection.withDocumentClass(Document.class).find(Filters.eq(FIELD_ID, listId)).projection(Projections.include(FIELD_CLOCK)).first();
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_MERGE_ITEMS);
+        }
+        if (foundClock == null) {
+            throw listNotFound();
+        }
+        Long clock = foundClock.getLong(FIELD_CLOCK);
+        return clock == null ? 0 : clock;
+    }
+
+    /**
+     * Each field is merged by its own conditional write, the order of the writes does not matter
+     */
+    private List<WriteModel<ShoppingList>> toMergeWrites(UUID listId, ShoppingItemOperation operation, LocalDateTime lastUpdate) {
+        UUID itemId = operation.getItemId();
+        LogicalTimestamp timestamp = operation.getTimestamp();
+        ShoppingItem item = operation.getItem();
+        switch (operation.getType()) {
+            case CREATE:
+                Document creation = new Document("$push", new Document(FIELD_ITEM_LIST, itemConverter.toDocument(item)))
+                        .append("$set", new Document(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate))
+                                .append(getStampField(itemId, FIELD_NAME), timestamp.encode())
+                                .append(getStampField(itemId, FIELD_QUANTITY), timestamp.encode())
+                                .append(getStampField(itemId, FIELD_STATE), timestamp.encode()))
+                        .append("$inc", VERSION_INCREMENT)
+                        .append("$max", new Document(FIELD_CLOCK, timestamp.getClock()));
+                //the creation does not match if the item already exists, its fields are then merged with the existing ones
+                return ImmutableList.of(new UpdateOneModel<>(filterWithoutItem(listId, itemId), creation),
+                        getFieldMerge(listId, itemId, FIELD_NAME, item.getName(), timestamp, lastUpdate),
+                        getFieldMerge(listId, itemId, FIELD_QUANTITY, item.getQuantity(), timestamp, lastUpdate),
+                        getFieldMerge(listId, itemId, FIELD_STATE, item.getState().name(), timestamp, lastUpdate));
+            case UPDATE:
+                return ImmutableList.of(getFieldMerge(listId, itemId, FIELD_NAME, item.getName(), timestamp, lastUpdate),
+                        getFieldMerge(listId, itemId, FIELD_QUANTITY, item.getQuantity(), timestamp, lastUpdate),
+                        getFieldMerge(listId, itemId, FIELD_STATE, item.getState().name(), timestamp, lastUpdate));
+            case RENAME:
+                return ImmutableList.of(getFieldMerge(listId, itemId, FIELD_NAME, operation.getName(), timestamp, lastUpdate));
+            case CHANGE_QUANTITY:
+                return ImmutableList.of(getFieldMerge(listId, itemId, FIELD_QUANTITY, operation.getQuantity(), timestamp, lastUpdate));
+            case CHANGE_STATE:
+                return ImmutableList.of(getFieldMerge(listId, itemId, FIELD_STATE, operation.getState().name(), timestamp, lastUpdate));
+            case DELETE:
+                Document deletion = getItemDeletion(itemId, lastUpdate).append("$max", new Document(FIELD_CLOCK, timestamp.getClock()));
+                return ImmutableList.of(new UpdateOneModel<>(filterWithItem(listId, itemId), deletion));
+            default:
+                throw new IllegalArgumentException("Unknown item operation type : " + operation.getType());
+        }
+    }
+
+    /**
+     * Write a field of an item only if it was not given its value by a more recent operation,
+     * the fields never merged before have no stamp and accept any operation
+     */
+    private WriteModel<ShoppingList> getFieldMerge(UUID listId, UUID itemId, String field, Object value, LogicalTimestamp timestamp, LocalDateTime lastUpdate) {
+        String stampField = getStampField(itemId, field);
+        String encodedTimestamp = timestamp.encode();
+        Bson filter = Filters.and(filterWithItem(listId, itemId), Filters.not(Filters.gte(stampField, encodedTimestamp)));
+        Date lastUpdateDate = DateHelper.toDate(lastUpdate);
+        Document set = new Document(MATCHED_ITEM_PREFIX + field, value)
+                .append(stampField, encodedTimestamp)
+                .append(MATCHED_ITEM_PREFIX + ShoppingItemMongoConverter.FIELD_LAST_UPDATE, lastUpdateDate)
+                .append(FIELD_LAST_UPDATE, lastUpdateDate);
+        Document merge = new Document("$set", set)
+                .append("$inc", VERSION_INCREMENT)
+                .append("$max", new Document(FIELD_CLOCK, timestamp.getClock()));
+        return new UpdateOneModel<>(filter, merge);
+    }
+
+    private String getStampField(UUID itemId, String field) {
+        return FIELD_ITEM_STAMPS + '.' + itemId + '.' + field;
+    }
+
+    private Bson filterWithItem(UUID listId, UUID itemId) {
+        return Filters.and(Filters.eq(FIELD_ID, listId), Filters.eq(FIELD_ITEM_ID_IN_LIST, itemId));
+    }
+
+    /**
+     * The lists whose items are out of their document do not accept embedded items anymore
+     */
+    private Bson filterWithoutItem(UUID listId, UUID itemId) {
+        return Filters.and(Filters.eq(FIELD_ID, listId), Filters.ne(FIELD_ITEM_ID_IN_LIST, itemId), Filters.ne(FIELD_EXTERNAL_ITEMS, true));
+    }
+
+    /**
+     * The list document has room for one more item
+     */
+    private Bson filterWithRoom() {
+        return Filters.exists(FIELD_ITEM_LIST + '.' + (maxEmbeddedItems - 1), false);
+    }
+
+    private Bson getItemCreation(ShoppingItem itemToCreate) {
+        return new Document("$push", new Document(FIELD_ITEM_LIST, itemConverter.toDocument(itemToCreate)))
+                .append("$set", new Document(FIELD_LAST_UPDATE, DateHelper.toDate(itemToCreate.getCreationDate())))
+                .append("$inc", VERSION_INCREMENT);
+    }
+
+    /**
+     * Update of the item matched by the filter
+     */
+    private Bson getItemUpdate(ShoppingItem itemToUpdate) {
+        Date lastUpdate = DateHelper.toDate(itemToUpdate.getLastUpdate());
+        Document set = new Document(MATCHED_ITEM_PREFIX + FIELD_NAME, itemToUpdate.getName())
+                .append(MATCHED_ITEM_PREFIX + FIELD_QUANTITY, itemToUpdate.getQuantity())
+                .append(MATCHED_ITEM_PREFIX + FIELD_STATE, itemToUpdate.getState().name())
+                .append(MATCHED_ITEM_PREFIX + ShoppingItemMongoConverter.FIELD_LAST_UPDATE, lastUpdate)
+                .append(FIELD_LAST_UPDATE, lastUpdate);
+        return new Document("$set", set).append("$inc", VERSION_INCREMENT);
+    }
+
+    /**
+     * State change of the item matched by the filter
+     */
+    private Bson getItemStateChange(ItemState state, LocalDateTime lastUpdate) {
+        Date lastUpdateDate = DateHelper.toDate(lastUpdate);
+        Document set = new Document(MATCHED_ITEM_PREFIX + FIELD_STATE, state.name())
+                .append(MATCHED_ITEM_PREFIX + ShoppingItemMongoConverter.FIELD_LAST_UPDATE, lastUpdateDate)
+                .append(FIELD_LAST_UPDATE, lastUpdateDate);
+        return new Document("$set", set).append("$inc", VERSION_INCREMENT);
+    }
+
+    /**
+     * Change of the patched fields only of the item matched by the filter
+     */
+    private Bson getItemPatch(ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        Date lastUpdateDate = DateHelper.toDate(lastUpdate);
+        Document set = new Document(MATCHED_ITEM_PREFIX + ShoppingItemMongoConverter.FIELD_LAST_UPDATE, lastUpdateDate)
+                .append(FIELD_LAST_UPDATE, lastUpdateDate);
+        patch.getName().ifPresent(name -> set.append(MATCHED_ITEM_PREFIX + FIELD_NAME, name));
+        patch.getQuantity().ifPresent(quantity -> set.append(MATCHED_ITEM_PREFIX + FIELD_QUANTITY, quantity));
+        patch.getState().ifPresent(state -> set.append(MATCHED_ITEM_PREFIX + FIELD_STATE, state.name()));
+        return new Document("$set", set).append("$inc", VERSION_INCREMENT);
+    }
+
+    private Document getItemDeletion(UUID itemId, LocalDateTime lastUpdate) {
+        return new Document("$pull", new Document(FIELD_ITEM_LIST, new Document(FIELD_ID, itemId)))
+                .append("$set", new Document(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate)))
+                .append("$unset", new Document(FIELD_ITEM_STAMPS + '.' + itemId, ""))
+                .append("$inc", VERSION_INCREMENT);
+    }
+
+    private ApplicationException itemAlreadyExists(UUID itemId) {
+        return new ApplicationException(INFO, RepositoryErrorCode.ALREADY_EXISTING, PROBLEM_CREATION_ITEM_ALREADY_EXISTS.getDevReadableMessage(itemId));
+    }
+
+    private ApplicationException listNotFound() {
+        return new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, CommonErrorMessage.NOT_FOUND.getDevReadableMessage("List"));
+    }
 }
@@ -0,0 +1,269 @@
+package io.tyoras.shopping.list.repository.mongo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ItemState;
+import io.tyoras.shopping.list.LogicalTimestamp;
+import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemPatch;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingItemMongoConverter.*;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_ITEM_COLLECTION;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Storage of the items of the lists which outgrew their document, each item in its own document of the item collection.
+ * The generated ids keep the items in the order they were added to their list.
+ * The items of a list are replaced by writing a new generation of items beside the current one, the list document then switches
+ * to the new generation and only then are the items of the other generations deleted : the items of a list are never missing.
+ * The mongo errors are left to the repositories, which know the operation that failed.
+ *
+ * @author yoan
+ */
+class ShoppingItemMongoStore {
+    private final MongoCollection<Document> itemCollection;
+    private final ShoppingItemMongoConverter itemConverter;
+
+    ShoppingItemMongoStore(MongoDbConnectionFactory mongoConnectionFactory) {
+        itemCollection = requireNonNull(mongoConnectionFactory).getCollection(Dbs.SHOPPING, LIST_ITEM_COLLECTION);
+        itemConverter = new ShoppingItemMongoConverter();
+    }
+
+    void insertAll(UUID listId, UUID generation, List<ShoppingItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        itemCollection.insertMany(items.stream().map(item -> itemConverter.toItemCollectionDocument(listId, generation, item)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Copy the items of a list moving out of its document
+     *
+     * @param listId
+     * @param generation generation of the copies, the list switches to it when its document is emptied
+     * @param items      items of the list document
+     * @param itemStamps stamps of the merged fields by item id, as kept in the list document
+     */
+    void insertMoved(UUID listId, UUID generation, List<Document> items, Document itemStamps) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Document> itemDocs = new ArrayList<>(items.size());
+        for (Document item : items) {
+            Document itemDoc = itemConverter.toItemCollectionDocument(listId, generation, itemConverter.fromDocument(item));
+            Document stamps = itemStamps == null ? null : itemStamps.get(item.get(FIELD_ID, UUID.class).toString(), Document.class);
+            if (stamps != null) {
+                itemDoc.append(FIELD_STAMPS, stamps);
+            }
+            itemDocs.add(itemDoc);
+        }
+        itemCollection.insertMany(itemDocs);
+    }
+
+    /**
+     * Remove the items of a generation the list did not switch to
+     */
+    void deleteGeneration(UUID listId, UUID generation) {
+        itemCollection.deleteMany(filterItems(listId, generation));
+    }
+
+    void deleteAll(UUID listId) {
+        itemCollection.deleteMany(Filters.eq(FIELD_LIST_ID, listId));
+    }
+
+    ImmutableList<ShoppingItem> findAll(UUID listId, UUID generation) {
+        List<ShoppingItem> items = itemCollection.find(filterItems(listId, generation)).sort(Sorts.ascending(FIELD_ID))
+                .map(itemConverter::fromItemCollectionDocument).into(new ArrayList<>());
+        return ImmutableList.copyOf(items);
+    }
+
+    ShoppingItem findById(UUID listId, UUID generation, UUID itemId) {
+        return itemConverter.fromItemCollectionDocument(itemCollection.find(filterItem(listId, generation, itemId)).first());
+    }
+
+    ImmutableSet<UUID> findIds(UUID listId, UUID generation) {
+        List<UUID> itemIds = itemCollection.find(filterItems(listId, generation)).projection(Projections.include(FIELD_ITEM_ID))
+                .map(item -> item.get(FIELD_ITEM_ID, UUID.class)).into(new ArrayList<>());
+        return ImmutableSet.copyOf(itemIds);
+    }
+
+    long count(UUID listId, UUID generation) {
+        return itemCollection.count(filterItems(listId, generation));
+    }
+
+    long countToBuy(UUID listId, UUID generation) {
+        return itemCollection.count(Filters.and(filterItems(listId, generation), Filters.eq(FIELD_STATE, ItemState.TO_BUY.name())));
+    }
+
+    /**
+     * @return false if the list already contains the item
+     */
+    boolean insert(UUID listId, UUID generation, ShoppingItem item) {
+        return itemCollection.updateOne(filterItem(listId, generation, item.getId()), getItemCreation(listId, generation, item), new UpdateOptions().upsert(true))
+                .getUpsertedId() != null;
+    }
+
+    /**
+     * @return false if the list does not contain the item
+     */
+    boolean update(UUID listId, UUID generation, ShoppingItem item) {
+        return itemCollection.updateOne(filterItem(listId, generation, item.getId()), getItemUpdate(item)).getMatchedCount() > 0;
+    }
+
+    /**
+     * @return false if the list does not contain the item
+     */
+    boolean patch(UUID listId, UUID generation, UUID itemId, ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        return itemCollection.updateOne(filterItem(listId, generation, itemId), getItemPatch(patch, lastUpdate)).getMatchedCount() > 0;
+    }
+
+    /**
+     * @return false if the list does not contain the item
+     */
+    boolean delete(UUID listId, UUID generation, UUID itemId) {
+        return itemCollection.deleteOne(filterItem(listId, generation, itemId)).getDeletedCount() > 0;
+    }
+
+    /**
+     * Apply the operations, each one conditioned by the item state checked before.
+     * The writes are applied in order, an operation may rely on a previous one of the batch like the update of an item created before.
+     *
+     * @return number of operations which found the expected item state
+     */
+    int applyAll(UUID listId, UUID generation, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        List<WriteModel<Document>> writes = operations.stream().map(operation -> toWrite(listId, generation, operation, lastUpdate)).collect(Collectors.toList());
+        BulkWriteResult result = itemCollection.bulkWrite(writes, new BulkWriteOptions().ordered(true));
+        //a creation matching an existing item is the only write which matches without being applied
+        long creationCount = operations.stream().filter(operation -> operation.getType() == ShoppingItemOperation.Type.CREATE).count();
+        int insertedCount = result.getUpserts().size();
+        return (int) (result.getMatchedCount() - (creationCount - insertedCount) + insertedCount + result.getDeletedCount());
+    }
+
+    private WriteModel<Document> toWrite(UUID listId, UUID generation, ShoppingItemOperation operation, LocalDateTime lastUpdate) {
+        UUID itemId = operation.getItemId();
+        Bson filter = filterItem(listId, generation, itemId);
+        switch (operation.getType()) {
+            case CREATE:
+                return new UpdateOneModel<>(filter, getItemCreation(listId, generation, operation.getItem()), new UpdateOptions().upsert(true));
+            case UPDATE:
+                return new UpdateOneModel<>(filter, getItemUpdate(operation.getItem()));
+            case RENAME:
+                return new UpdateOneModel<>(filter, getItemPatch(new ShoppingItemPatch(operation.getName(), null, null), lastUpdate));
+            case CHANGE_QUANTITY:
+                return new UpdateOneModel<>(filter, getItemPatch(new ShoppingItemPatch(null, operation.getQuantity(), null), lastUpdate));
+            case CHANGE_STATE:
+                return new UpdateOneModel<>(filter, getItemPatch(new ShoppingItemPatch(null, null, operation.getState()), lastUpdate));
+            case DELETE:
+                return new DeleteOneModel<>(filter);
+            default:
+                throw new IllegalArgumentException("Unknown item operation type : " + operation.getType());
+        }
+    }
+
+    /**
+     * Merge the stamped operations, a field is only written if it was not given its value by a more recent operation.
+     * The writes are applied in order, the field merges of an operation rely on the item being inserted by a previous creation of the batch.
+     */
+    void mergeAll(UUID listId, UUID generation, List<ShoppingItemOperation> operations, LocalDateTime lastUpdate) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        operations.forEach(operation -> writes.addAll(toMergeWrites(listId, generation, operation, lastUpdate)));
+        itemCollection.bulkWrite(writes, new BulkWriteOptions().ordered(true));
+    }
+
+    private List<WriteModel<Document>> toMergeWrites(UUID listId, UUID generation, ShoppingItemOperation operation, LocalDateTime lastUpdate) {
+        UUID itemId = operation.getItemId();
+        LogicalTimestamp timestamp = operation.getTimestamp();
+        ShoppingItem item = operation.getItem();
+        switch (operation.getType()) {
+            case CREATE:
+                Document creation = getItemCreation(listId, generation, item);
+                creation.get("$setOnInsert", Document.class).append(FIELD_STAMPS, new Document(FIELD_NAME, timestamp.encode())
+                        .append(FIELD_QUANTITY, timestamp.encode())
+                        .append(FIELD_STATE, timestamp.encode()));
+                //the field merges only match if the item already existed
+                return ImmutableList.of(new UpdateOneModel<>(filterItem(listId, generation, itemId), creation, new UpdateOptions().upsert(true)),
+                        getFieldMerge(listId, generation, itemId, FIELD_NAME, item.getName(), timestamp, lastUpdate),
+                        getFieldMerge(listId, generation, itemId, FIELD_QUANTITY, item.getQuantity(), timestamp, lastUpdate),
+                        getFieldMerge(listId, generation, itemId, FIELD_STATE, item.getState().name(), timestamp, lastUpdate));
+            case UPDATE:
+                return ImmutableList.of(getFieldMerge(listId, generation, itemId, FIELD_NAME, item.getName(), timestamp, lastUpdate),
+                        getFieldMerge(listId, generation, itemId, FIELD_QUANTITY, item.getQuantity(), timestamp, lastUpdate),
+                        getFieldMerge(listId, generation, itemId, FIELD_STATE, item.getState().name(), timestamp, lastUpdate));
+            case RENAME:
+                return ImmutableList.of(getFieldMerge(listId, generation, itemId, FIELD_NAME, operation.getName(), timestamp, lastUpdate));
+            case CHANGE_QUANTITY:
+                return ImmutableList.of(getFieldMerge(listId, generation, itemId, FIELD_QUANTITY, operation.getQuantity(), timestamp, lastUpdate));
+            case CHANGE_STATE:
+                return ImmutableList.of(getFieldMerge(listId, generation, itemId, FIELD_STATE, operation.getState().name(), timestamp, lastUpdate));
+            case DELETE:
+                return ImmutableList.of(new DeleteOneModel<>(filterItem(listId, generation, itemId)));
+            default:
+                throw new IllegalArgumentException("Unknown item operation type : " + operation.getType());
+        }
+    }
+
+    private WriteModel<Document> getFieldMerge(UUID listId, UUID generation, UUID itemId, String field, Object value, LogicalTimestamp timestamp, LocalDateTime lastUpdate) {
+        String stampField = FIELD_STAMPS + '.' + field;
+        String encodedTimestamp = timestamp.encode();
+        Bson filter = Filters.and(filterItem(listId, generation, itemId), Filters.not(Filters.gte(stampField, encodedTimestamp)));
+        Document set = new Document(field, value)
+                .append(stampField, encodedTimestamp)
+                .append(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate));
+        return new UpdateOneModel<>(filter, new Document("$set", set));
+    }
+
+    private Bson filterItems(UUID listId, UUID generation) {
+        return Filters.and(Filters.eq(FIELD_LIST_ID, listId), Filters.eq(FIELD_GENERATION, generation));
+    }
+
+    private Bson filterItem(UUID listId, UUID generation, UUID itemId) {
+        return Filters.and(filterItems(listId, generation), Filters.eq(FIELD_ITEM_ID, itemId));
+    }
+
+    /**
+     * Creation matching the item if it already exists, without changing it
+     */
+    private Document getItemCreation(UUID listId, UUID generation, ShoppingItem item) {
+        Document itemDoc = itemConverter.toItemCollectionDocument(listId, generation, item);
+        //the filter already gives its list, its generation and its id to the inserted item
+        itemDoc.remove(FIELD_LIST_ID);
+        itemDoc.remove(FIELD_GENERATION);
+        itemDoc.remove(FIELD_ITEM_ID);
+        return new Document("$setOnInsert", itemDoc);
+    }
+
+    private Document getItemUpdate(ShoppingItem item) {
+        return getItemPatch(new ShoppingItemPatch(item.getName(), item.getQuantity(), item.getState()), item.getLastUpdate());
+    }
+
+    private Document getItemPatch(ShoppingItemPatch patch, LocalDateTime lastUpdate) {
+        Document set = new Document(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate));
+        patch.getName().ifPresent(name -> set.append(FIELD_NAME, name));
+        patch.getQuantity().ifPresent(quantity -> set.append(FIELD_QUANTITY, quantity));
+        patch.getState().ifPresent(state -> set.append(FIELD_STATE, state.name()));
+        return new Document("$set", set);
+    }
+}
@@ -4,15 +4,23 @@
 package io.tyoras.shopping.list.repository.mongo;
 
 import com.google.common.collect.ImmutableList;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter;
 import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ItemState;
 import io.tyoras.shopping.list.ShoppingItem;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
 import org.bson.Document;
 import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +36,26 @@ public class ShoppingListMongoConverter extends MongoDocumentConverter<ShoppingL
     public static final String FIELD_CREATED = "created";
     public static final String FIELD_LAST_UPDATE = "lastUpdate";
     public static final String FIELD_ITEM_LIST = "itemList";
+    public static final String FIELD_VERSION = "version";
+    public static final String FIELD_ITEM_COUNT = "itemCount";
+    public static final String FIELD_TO_BUY_COUNT = "toBuyCount";
+    /**
+     * Highest logical clock of the item operations merged in the list, absent until the first merge
+     */
+    public static final String FIELD_CLOCK = "clock";
+    /**
+     * Encoded logical timestamps of the merged operations which gave their current value to the item fields, by item id then by field name.
+     * They are kept beside the items so that a conditional write on a stamp still targets the item by its id only.
+     */
+    public static final String FIELD_ITEM_STAMPS = "itemStamps";
+    /**
+     * Set on the lists which outgrew their document, their items are then stored in the item collection and their item list stays empty
+     */
+    public static final String FIELD_EXTERNAL_ITEMS = "externalItems";
+    /**
+     * Current generation of the items of the lists which outgrew their document, see {@link ShoppingItemMongoConverter#FIELD_GENERATION}
+     */
+    public static final String FIELD_ITEM_GENERATION = "itemGeneration";
 
     private ShoppingItemMongoConverter itemConverter;
 
@@ -55,6 +83,7 @@ public class ShoppingListMongoConverter extends MongoDocumentConverter<ShoppingL
         Date lastUpdated = doc.getDate(FIELD_LAST_UPDATE);
         LocalDateTime lastUpdate = DateHelper.toLocalDateTime(lastUpdated);
         List<ShoppingItem> itemList = extractItemList(doc);
+        Number version = doc.get(FIELD_VERSION, Number.class);
 
         return ShoppingList.Builder.createDefault()
                 .withId(id)
@@ -63,6 +92,8 @@ public class ShoppingListMongoConverter extends MongoDocumentConverter<ShoppingL
                 .withName(name)
                 .withOwnerId(ownerId)
                 .withItemList(itemList)
+                //lists stored before versioning start at version 0
+                .withVersion(version == null ? 0 : version.longValue())
                 .build();
     }
 
@@ -87,7 +118,38 @@ public class ShoppingListMongoConverter extends MongoDocumentConverter<ShoppingL
                 .append(FIELD_OWNER_ID, list.getOwnerId())
                 .append(FIELD_ITEM_LIST, itemArray)
                 .append(FIELD_CREATED, DateHelper.toDate(list.getCreationDate()))
-                .append(FIELD_LAST_UPDATE, DateHelper.toDate(list.getLastUpdate()));
+                .append(FIELD_LAST_UPDATE, DateHelper.toDate(list.getLastUpdate()))
+                .append(FIELD_VERSION, list.getVersion());
+    }
+
+    /**
+     * Convert a list whose items are stored in the item collection
+     *
+     * @param list
+     * @param itemGeneration generation of the items of the list in the item collection
+     * @return document without the items
+     */
+    public Document toDocumentWithExternalItems(ShoppingList list, UUID itemGeneration) {
+        return toDocument(list)
+                .append(FIELD_ITEM_LIST, new ArrayList<>())
+                .append(FIELD_EXTERNAL_ITEMS, true)
+                .append(FIELD_ITEM_GENERATION, itemGeneration);
+    }
+
+    /**
+     * @param doc list document, the flag has to be part of its projection
+     * @return true if the items of the list are stored in the item collection
+     */
+    public boolean hasExternalItems(Document doc) {
+        return Boolean.TRUE.equals(doc.getBoolean(FIELD_EXTERNAL_ITEMS));
+    }
+
+    /**
+     * @param doc list document, the generation has to be part of its projection
+     * @return current generation of the items of the list in the item collection, null if its items are in its document
+     */
+    public UUID getItemGeneration(Document doc) {
+        return hasExternalItems(doc) ? doc.get(FIELD_ITEM_GENERATION, UUID.class) : null;
     }
 
     protected List<Document> getItemArray(ImmutableList<ShoppingItem> itemList) {
@@ -106,12 +168,84 @@ public class ShoppingListMongoConverter extends MongoDocumentConverter<ShoppingL
         return documentHasId(list) ? list : ShoppingList.Builder.createFrom(list).withRandomId().build();
     }
 
-    public Document getListUpdate(ShoppingList listToUpdate) {
-        List<Document> itemArray = getItemArray(listToUpdate.getItemList());
+    /**
+     * @param listToUpdate
+     * @param itemGeneration generation of the items already written to the item collection, null to write the items to the list document
+     * @return update document
+     */
+    public Document getListUpdate(ShoppingList listToUpdate, UUID itemGeneration) {
+        boolean externalItems = itemGeneration != null;
+        List<Document> itemArray = externalItems ? new ArrayList<>() : getItemArray(listToUpdate.getItemList());
         Document updateDoc = new Document(FIELD_LAST_UPDATE, DateHelper.toDate(listToUpdate.getLastUpdate()))
                 .append(FIELD_OWNER_ID, listToUpdate.getOwnerId())
                 .append(FIELD_NAME, listToUpdate.getName())
-                .append(FIELD_ITEM_LIST, itemArray);
-        return new Document("$set", updateDoc);
+                .append(FIELD_ITEM_LIST, itemArray)
+                .append(FIELD_EXTERNAL_ITEMS, externalItems)
+                .append(FIELD_VERSION, listToUpdate.getVersion());
+        //the items are replaced as a whole, the next merged operations start over
+        Document unsetDoc = new Document(FIELD_ITEM_STAMPS, "");
+        if (externalItems) {
+            updateDoc.append(FIELD_ITEM_GENERATION, itemGeneration);
+        } else {
+            unsetDoc.append(FIELD_ITEM_GENERATION, "");
+        }
+        return new Document("$set", updateDoc).append("$unset", unsetDoc);
+    }
+
+    /**
+     * Update of the patched fields only, as a new version of the list
+     *
+     * @param patch
+     * @param lastUpdate date of the patch
+     * @return update document
+     */
+    public Document getListPatch(ShoppingListPatch patch, LocalDateTime lastUpdate) {
+        Document setDoc = new Document(FIELD_LAST_UPDATE, DateHelper.toDate(lastUpdate));
+        patch.getName().ifPresent(name -> setDoc.append(FIELD_NAME, name));
+        return new Document("$set", setDoc).append("$inc", new Document(FIELD_VERSION, 1L));
+    }
+
+    public Bson filterByIdAndVersion(UUID listId, long version) {
+        Bson versionFilter = Filters.eq(FIELD_VERSION, version);
+        if (version == 0) {
+            //lists stored before versioning have no version field
+            versionFilter = Filters.or(versionFilter, Filters.exists(FIELD_VERSION, false));
+        }
+        return Filters.and(Filters.eq(FIELD_ID, listId), versionFilter);
+    }
+
+    /**
+     * Projection computing the item counts of a list on the server side, without returning its items
+     *
+     * @return aggregation stage
+     */
+    public Bson getSummaryProjection() {
+        String itemList = "$" + FIELD_ITEM_LIST;
+        Document toBuyItems = new Document("$filter", new Document("input", itemList)
+                .append("as", "item")
+                .append("cond", new Document("$eq", Arrays.asList("$$item." + ShoppingItemMongoConverter.FIELD_STATE, ItemState.TO_BUY.name()))));
+        return Aggregates.project(Projections.fields(
+                Projections.include(FIELD_NAME, FIELD_LAST_UPDATE, FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION),
+                Projections.computed(FIELD_ITEM_COUNT, new Document("$size", itemList)),
+                Projections.computed(FIELD_TO_BUY_COUNT, new Document("$size", toBuyItems))));
+    }
+
+    /**
+     * Convert a document produced by the summary projection
+     *
+     * @param doc
+     * @return list summary
+     */
+    public ShoppingListSummary summaryFromDocument(Document doc) {
+        if (doc == null) {
+            return null;
+        }
+
+        UUID id = doc.get(FIELD_ID, UUID.class);
+        String name = doc.getString(FIELD_NAME);
+        int itemCount = doc.get(FIELD_ITEM_COUNT, Number.class).intValue();
+        int toBuyCount = doc.get(FIELD_TO_BUY_COUNT, Number.class).intValue();
+        LocalDateTime lastUpdate = DateHelper.toLocalDateTime(doc.getDate(FIELD_LAST_UPDATE));
+        return new ShoppingListSummary(id, name, itemCount, toBuyCount, lastUpdate);
     }
-}
\ No newline at end of file
+}
@@ -9,45 +9,98 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.UpdateResult;
 import io.tyoras.shopping.infra.db.Dbs;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.db.mongo.MongoKeysetPagination;
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
+import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.infra.util.error.VersionConflictException;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.ShoppingListTombstone;
 import io.tyoras.shopping.list.repository.ShoppingListRepository;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.*;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_EXTERNAL_ITEMS;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_ITEM_GENERATION;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_LAST_UPDATE;
 import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_OWNER_ID;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_VERSION;
 
 /**
- * Mongo implementation of the shopping list repository
+ * Mongo implementation of the shopping list repository.
+ * The items of the lists above the maximum of embedded items are stored in the item collection instead of the list document,
+ * the list document gives the generation of its items there.
  *
  * @author yoan
  */
 @Singleton
 public class ShoppingListMongoRepository extends ShoppingListRepository {
     public static final String LIST_COLLECTION = "list";
+    public static final String TOMBSTONE_COLLECTION = "listTombstone";
+    /**
+     * Items of the lists which outgrew their document
+     */
+    public static final String LIST_ITEM_COLLECTION = "listItem";
     private static final Logger LOGGER = LoggerFactory.getLogger(ShoppingListMongoRepository.class);
     private final MongoCollection<ShoppingList> listCollection;
     private final ShoppingListMongoConverter listConverter;
+    private final ShoppingItemMongoStore itemStore;
+    private final MongoCollection<Document> tombstoneCollection;
+    private final ShoppingListTombstoneMongoConverter tombstoneConverter;
+    private final int maxEmbeddedItems;
 
     @Inject
     public ShoppingListMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
         listCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, LIST_COLLECTION, ShoppingList.class);
         listConverter = new ShoppingListMongoConverter();
+        itemStore = new ShoppingItemMongoStore(mongoConnectionFactory);
+        tombstoneCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, TOMBSTONE_COLLECTION);
+        tombstoneConverter = new ShoppingListTombstoneMongoConverter();
+        maxEmbeddedItems = mongoConnectionFactory.getMongoConfig().maxEmbeddedItems;
     }
 
     @Override
     protected void processCreate(ShoppingList listToCreate) {
         try {
-            listCollection.insertOne(listToCreate);
+            if (listToCreate.getItemList().size() > maxEmbeddedItems) {
+                ShoppingList list = listConverter.generateIdIfAbsentFromDocument(listToCreate);
+                //the list only appears once all its items are written
+                UUID itemGeneration = UUID.randomUUID();
+                itemStore.insertAll(list.getId(), itemGeneration, list.getItemList());
+                try {
+                    listCollection.withDocumentClass(Document.class).insertOne(listConverter.toDocumentWithExternalItems(list, itemGeneration));
+                } catch (MongoException e) {
+                    itemStore.deleteGeneration(list.getId(), itemGeneration);
+                    throw e;
+                }
+            } else {
+                listCollection.insertOne(listToCreate);
+            }
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_CREATION_LIST);
         }
@@ -58,7 +111,7 @@ public class ShoppingListMongoRepository extends ShoppingListRepository {
         Bson filter = Filters.eq(FIELD_ID, listId);
         ShoppingList foundList = null;
         try {
-            foundList = listCollection.find().filter(filter).first();
+            foundList = toShoppingList(listCollection.withDocumentClass(Document.class).find().filter(filter).first());
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_LIST);
         }
@@ -66,36 +119,191 @@ public class ShoppingListMongoRepository extends ShoppingListRepository {
     }
 
     @Override
-    protected void processUpdate(ShoppingList listToUpdate) {
-        Bson filter = Filters.eq(FIELD_ID, listToUpdate.getId());
-        Bson update = listConverter.getListUpdate(listToUpdate);
+    protected void processUpdate(ShoppingList listToUpdate, long expectedVersion) {
+        UUID listId = listToUpdate.getId();
+        Bson filter = listConverter.filterByIdAndVersion(listId, expectedVersion);
+        //the new items are written beside the current ones, the versioned update of the list then switches to them
+        UUID itemGeneration = listToUpdate.getItemList().size() > maxEmbeddedItems ? UUID.randomUUID() : null;
+        Bson update = listConverter.getListUpdate(listToUpdate, itemGeneration);
+        //the previous generation of the items is only deleted once it is not the current one anymore
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().projection(Projections.include(FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION));
+        Document previousList = null;
         try {
-            listCollection.updateOne(filter, update);
+            if (itemGeneration != null) {
+                itemStore.insertAll(listId, itemGeneration, listToUpdate.getItemList());
+            }
+            previousList = listCollection.withDocumentClass(Document.class).findOneAndUpdate(filter, update, options);
+            if (previousList == null && itemGeneration != null) {
+                itemStore.deleteGeneration(listId, itemGeneration);
+            } else if (previousList != null && listConverter.hasExternalItems(previousList)) {
+                itemStore.deleteGeneration(listId, listConverter.getItemGeneration(previousList));
+            }
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_UPDATE_LIST);
         }
+        if (previousList == null) {
+            //only on the failure path, to give the caller the version to retry with
+            Long currentVersion = processGetVersion(listId);
+            String readableVersion = currentVersion == null ? "none, it was deleted" : Long.toString(currentVersion);
+            throw new VersionConflictException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION,
+                    PROBLEM_UPDATE_LIST_CONCURRENT_MODIFICATION.getDevReadableMessage(listId, readableVersion), currentVersion);
+        }
+    }
+
+    @Override
+    protected Long processGetVersion(UUID listId) {
+        Bson filter = Filters.eq(FIELD_ID, listId);
+        Document foundVersion = null;
+        try {
+            foundVersion = listCollection.withDocumentClass(Document.class).find(filter).projection(Projections.include(FIELD_VERSION)).first();
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_LIST);
+        }
+        if (foundVersion == null) {
+            return null;
+        }
+        Number version = foundVersion.get(FIELD_VERSION, Number.class);
+        //lists stored before versioning have no version field
+        return version == null ? 0L : version.longValue();
+    }
+
+    @Override
+    protected void processPatch(UUID listId, ShoppingListPatch patch, Long expectedVersion, LocalDateTime lastUpdate) {
+        Bson filter = expectedVersion == null ? Filters.eq(FIELD_ID, listId) : listConverter.filterByIdAndVersion(listId, expectedVersion);
+        Bson update = listConverter.getListPatch(patch, lastUpdate);
+        UpdateResult result = null;
+        try {
+            result = listCollection.updateOne(filter, update);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_UPDATE_LIST);
+        }
+        if (result != null && result.getMatchedCount() == 0) {
+            //only on the failure path, to tell a missing list from an outdated version
+            ShoppingList existingList = processGetById(listId);
+            if (existingList == null) {
+                throw new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, CommonErrorMessage.NOT_FOUND.getDevReadableMessage("List"));
+            }
+            checkVersion(listId, existingList.getVersion(), expectedVersion);
+        }
     }
 
     @Override
     protected void processDeleteById(UUID listId) {
         Bson filter = Filters.eq(FIELD_ID, listId);
+        //the owner of the deleted list is needed by its tombstone
+        FindOneAndDeleteOptions options = new FindOneAndDeleteOptions().projection(Projections.include(FIELD_OWNER_ID, FIELD_EXTERNAL_ITEMS));
         try {
-            listCollection.deleteOne(filter);
+            Document deletedList = listCollection.withDocumentClass(Document.class).findOneAndDelete(filter, options);
+            if (deletedList != null && listConverter.hasExternalItems(deletedList)) {
+                itemStore.deleteAll(listId);
+            }
+            if (deletedList != null) {
+                ShoppingListTombstone tombstone = ShoppingListTombstone.ofList(listId, deletedList.get(FIELD_OWNER_ID, UUID.class), LocalDateTime.now());
+                tombstoneCollection.insertOne(tombstoneConverter.toDocument(tombstone));
+            }
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_DELETE_LIST);
         }
     }
 
+    @Override
+    protected ImmutableList<ShoppingList> processGetChangedByOwner(UUID ownerId, LocalDateTime since) {
+        Bson filter = Filters.and(Filters.eq(FIELD_OWNER_ID, ownerId), Filters.gt(FIELD_LAST_UPDATE, DateHelper.toDate(since)));
+        List<ShoppingList> lists = Lists.newArrayList();
+        try {
+            lists = listCollection.withDocumentClass(Document.class).find(filter).sort(MongoKeysetPagination.sort(FIELD_LAST_UPDATE)).map(this::toShoppingList).into(lists);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_LISTS_CHANGES);
+        }
+        return ImmutableList.copyOf(lists);
+    }
+
+    @Override
+    protected ImmutableList<ShoppingListTombstone> processGetTombstonesByOwner(UUID ownerId, LocalDateTime since) {
+        Bson filter = Filters.and(Filters.eq(ShoppingListTombstoneMongoConverter.FIELD_OWNER_ID, ownerId),
+                Filters.gt(ShoppingListTombstoneMongoConverter.FIELD_DELETION_DATE, DateHelper.toDate(since)));
+        List<ShoppingListTombstone> tombstones = Lists.newArrayList();
+        try {
+            tombstones = tombstoneCollection.find(filter).map(tombstoneConverter::fromDocument).into(tombstones);
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_LISTS_CHANGES);
+        }
+        return ImmutableList.copyOf(tombstones);
+    }
+
     @Override
     protected ImmutableList<ShoppingList> processGetByOwner(UUID ownerId) {
         Bson filter = Filters.eq(FIELD_OWNER_ID, ownerId);
         List<ShoppingList> lists = Lists.newArrayList();
         try {
-            lists = listCollection.find().filter(filter).into(lists);
+            lists = listCollection.withDocumentClass(Document.class).find().filter(filter).map(this::toShoppingList).into(lists);
         } catch (MongoException e) {
             MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_LISTS);
         }
         return ImmutableList.<ShoppingList>copyOf(lists);
     }
 
+    @Override
+    protected Stream<ShoppingList> processStreamByOwner(UUID ownerId, PageCursor after, int limit) {
+        Bson filter = filterByOwnerAfter(ownerId, after);
+        MongoCursor<ShoppingList> cursor = null;
+        try {
+            cursor = listCollection.withDocumentClass(Document.class).find().filter(filter).sort(MongoKeysetPagination.sort(FIELD_LAST_UPDATE)).limit(limit)
+                    .map(this::toShoppingList).iterator();
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_LISTS);
+        }
+        return MongoRepositoryHelper.stream(cursor);
+    }
+
+    @Override
+    protected Stream<ShoppingListSummary> processStreamSummariesByOwner(UUID ownerId, PageCursor after, int limit) {
+        List<Bson> pipeline = Arrays.asList(
+                Aggregates.match(filterByOwnerAfter(ownerId, after)),
+                Aggregates.sort(MongoKeysetPagination.sort(FIELD_LAST_UPDATE)),
+                Aggregates.limit(limit),
+                listConverter.getSummaryProjection());
+        MongoCursor<ShoppingListSummary> cursor = null;
+        try {
+            cursor = listCollection.aggregate(pipeline, Document.class).map(this::toSummary).iterator();
+        } catch (MongoException e) {
+            MongoRepositoryHelper.handleMongoError(LOGGER, e, PROBLEM_READ_USER_LISTS);
+        }
+        return MongoRepositoryHelper.stream(cursor);
+    }
+
+    /**
+     * @param doc list document
+     * @return list with its items, read from the item collection if they are not in its document
+     */
+    private ShoppingList toShoppingList(Document doc) {
+        ShoppingList list = listConverter.fromDocument(doc);
+        if (list == null || !listConverter.hasExternalItems(doc)) {
+            return list;
+        }
+        return ShoppingList.Builder.createFrom(list).withItemList(itemStore.findAll(list.getId(), listConverter.getItemGeneration(doc))).build();
+    }
+
+    /**
+     * @param doc document produced by the summary projection
+     * @return summary, counted in the item collection if the items are not in the list document
+     */
+    private ShoppingListSummary toSummary(Document doc) {
+        ShoppingListSummary summary = listConverter.summaryFromDocument(doc);
+        if (!listConverter.hasExternalItems(doc)) {
+            return summary;
+        }
+        UUID listId = summary.getId();
+        UUID itemGeneration = listConverter.getItemGeneration(doc);
+        return new ShoppingListSummary(listId, summary.getName(), (int) itemStore.count(listId, itemGeneration), (int) itemStore.countToBuy(listId, itemGeneration),
+                summary.getLastUpdate());
+    }
+
+    private Bson filterByOwnerAfter(UUID ownerId, PageCursor after) {
+        Bson filter = Filters.eq(FIELD_OWNER_ID, ownerId);
+        if (after != null) {
+            filter = Filters.and(filter, MongoKeysetPagination.filterAfter(FIELD_LAST_UPDATE, after));
+        }
+        return filter;
+    }
 }
@@ -0,0 +1,47 @@
+package io.tyoras.shopping.list.repository.mongo;
+
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ShoppingListTombstone;
+import org.bson.Document;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Conversion of the shopping list tombstones to BSON, they are only written and read as documents
+ *
+ * @author yoan
+ */
+public class ShoppingListTombstoneMongoConverter {
+    public static final String FIELD_LIST_ID = "listId";
+    public static final String FIELD_ITEM_ID = "itemId";
+    public static final String FIELD_OWNER_ID = "ownerId";
+    public static final String FIELD_DELETION_DATE = "deletionDate";
+
+    public ShoppingListTombstone fromDocument(Document doc) {
+        if (doc == null) {
+            return null;
+        }
+
+        UUID listId = doc.get(FIELD_LIST_ID, UUID.class);
+        UUID itemId = doc.get(FIELD_ITEM_ID, UUID.class);
+        UUID ownerId = doc.get(FIELD_OWNER_ID, UUID.class);
+        LocalDateTime deletionDate = DateHelper.toLocalDateTime(doc.getDate(FIELD_DELETION_DATE));
+
+        return new ShoppingListTombstone(listId, itemId, ownerId, deletionDate);
+    }
+
+    public Document toDocument(ShoppingListTombstone tombstone) {
+        if (tombstone == null) {
+            return new Document();
+        }
+
+        Document doc = new Document(FIELD_LIST_ID, tombstone.getListId())
+                .append(FIELD_OWNER_ID, tombstone.getOwnerId())
+                .append(FIELD_DELETION_DATE, DateHelper.toDate(tombstone.getDeletionDate()));
+        if (!tombstone.isListDeletion()) {
+            doc.append(FIELD_ITEM_ID, tombstone.getItemId());
+        }
+        return doc;
+    }
+}
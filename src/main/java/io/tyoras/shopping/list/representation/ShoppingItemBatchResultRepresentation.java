@@ -0,0 +1,65 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.RestRepresentation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+import io.tyoras.shopping.list.resource.ShoppingListResource;
+
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Results of a shopping item batch Rest Representation, the self link leads to the updated list
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "batchResult")
+@ApiModel(value = "Shopping item batch result")
+public class ShoppingItemBatchResultRepresentation extends RestRepresentation {
+    /**
+     * Result of each operation, in the order of the batch
+     */
+    private List<ShoppingItemOperationResultRepresentation> results;
+
+    public ShoppingItemBatchResultRepresentation() {
+        super();
+    }
+
+    public ShoppingItemBatchResultRepresentation(UUID listId, List<ShoppingItemOperationResult> results, UriInfo uriInfo) {
+        requireNonNull(listId);
+        requireNonNull(results);
+        requireNonNull(uriInfo);
+        URI listURI = uriInfo.getBaseUriBuilder().path(ShoppingListResource.class).path(ShoppingListResource.class, "getById").build(listId.toString());
+        this.links.add(Link.self(listURI));
+        this.results = new ArrayList<>();
+        results.forEach(result -> this.results.add(new ShoppingItemOperationResultRepresentation(result)));
+    }
+
+    @XmlElementWrapper(name = "results")
+    @XmlElement(name = "result")
+    public List<ShoppingItemOperationResultRepresentation> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ShoppingItemOperationResultRepresentation> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("results", results)
+                .add("links", links)
+                .toString();
+    }
+}
@@ -0,0 +1,53 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Results of a shopping item merge Rest Representation, the self link leads to the merged list
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "mergeResult")
+@ApiModel(value = "Shopping item merge result")
+public class ShoppingItemMergeResultRepresentation extends ShoppingItemBatchResultRepresentation {
+    /**
+     * Highest logical clock merged in the list, the editor has to stamp its next operations after it
+     */
+    private long clock;
+
+    public ShoppingItemMergeResultRepresentation() {
+        super();
+    }
+
+    public ShoppingItemMergeResultRepresentation(UUID listId, ShoppingItemMergeResult mergeResult, UriInfo uriInfo) {
+        super(listId, requireNonNull(mergeResult).getResults(), uriInfo);
+        this.clock = mergeResult.getClock();
+    }
+
+    @XmlElement(name = "clock")
+    public long getClock() {
+        return clock;
+    }
+
+    public void setClock(long clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("results", getResults())
+                .add("clock", clock)
+                .add("links", links)
+                .toString();
+    }
+}
@@ -0,0 +1,119 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Result of a shopping item operation Rest Representation
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "operationResult")
+@ApiModel(value = "Shopping item operation result")
+public class ShoppingItemOperationResultRepresentation {
+    /**
+     * Kind of operation
+     */
+    private String type;
+    /**
+     * Id of the changed item, generated for the created items
+     */
+    private UUID itemId;
+    /**
+     * Outcome of the operation : APPLIED, NOT_FOUND, ALREADY_EXISTS or REMOVED
+     */
+    private String status;
+    /**
+     * Item written by an applied creation or update
+     */
+    private ShoppingItemRepresentation item;
+
+    public ShoppingItemOperationResultRepresentation() {
+        super();
+    }
+
+    public ShoppingItemOperationResultRepresentation(ShoppingItemOperationResult result) {
+        requireNonNull(result);
+        ShoppingItemOperation operation = result.getOperation();
+        this.type = operation.getType().name();
+        this.itemId = operation.getItemId();
+        this.status = result.getStatus().name();
+        if (result.isApplied() && operation.getItem() != null) {
+            this.item = new ShoppingItemRepresentation(operation.getItem());
+        }
+    }
+
+    @XmlElement(name = "type")
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @XmlElement(name = "itemId")
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @XmlElement(name = "status")
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @XmlElement(name = "item")
+    public ShoppingItemRepresentation getItem() {
+        return item;
+    }
+
+    public void setItem(ShoppingItemRepresentation item) {
+        this.item = item;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, itemId, status);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemOperationResultRepresentation that = (ShoppingItemOperationResultRepresentation) obj;
+        return Objects.equals(this.type, that.type)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.status, that.status);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("type", type)
+                .add("itemId", itemId)
+                .add("status", status)
+                .add("item", item)
+                .toString();
+    }
+}
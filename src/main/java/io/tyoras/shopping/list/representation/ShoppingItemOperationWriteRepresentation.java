@@ -0,0 +1,237 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.list.ItemState;
+import io.tyoras.shopping.list.LogicalTimestamp;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Objects;
+import java.util.UUID;
+
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.infra.util.error.CommonErrorMessage.INVALID;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+
+/**
+ * Shopping item operation Rest Representation
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "operation")
+@ApiModel(value = "Shopping item operation write")
+public class ShoppingItemOperationWriteRepresentation {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShoppingItemOperationWriteRepresentation.class);
+    /**
+     * Kind of operation : CREATE, UPDATE, RENAME, CHANGE_QUANTITY, CHANGE_STATE or DELETE
+     */
+    private String type;
+    /**
+     * Id of the changed item, only chosen by the editor for a merged creation
+     */
+    private UUID itemId;
+    /**
+     * New item content, for creation and update
+     */
+    private ShoppingItemWriteRepresentation item;
+    /**
+     * New item name, for renaming
+     */
+    private String name;
+    /**
+     * New item quantity, for quantity change
+     */
+    private Integer quantity;
+    /**
+     * New item state, for state change
+     */
+    private String state;
+    /**
+     * Logical clock of the editor when the operation was made, only for the merged operations
+     */
+    private Long clock;
+    /**
+     * Id of the editor, only for the merged operations
+     */
+    private String replicaId;
+
+    public ShoppingItemOperationWriteRepresentation() {
+        super();
+    }
+
+    /**
+     * Test Purpose only
+     */
+    @Deprecated
+    public ShoppingItemOperationWriteRepresentation(String type, UUID itemId, ShoppingItemWriteRepresentation item, String state) {
+        this.type = type;
+        this.itemId = itemId;
+        this.item = item;
+        this.state = state;
+    }
+
+    public static ShoppingItemOperation toShoppingItemOperation(ShoppingItemOperationWriteRepresentation representation) {
+        requireNonNull(representation, "Unable to create ShoppingItemOperation from null ShoppingItemOperationWriteRepresentation");
+
+        try {
+            return toOperation(representation, UUID.randomUUID());
+        } catch (NullPointerException | IllegalArgumentException e) {
+            throw invalidOperation(e);
+        }
+    }
+
+    public static ShoppingItemOperation toStampedShoppingItemOperation(ShoppingItemOperationWriteRepresentation representation) {
+        requireNonNull(representation, "Unable to create ShoppingItemOperation from null ShoppingItemOperationWriteRepresentation");
+
+        try {
+            LogicalTimestamp timestamp = new LogicalTimestamp(requireNonNull(representation.clock, "Logical clock is mandatory"), representation.replicaId);
+            //the editor chooses the id of the created item, so that it can resend the creation
+            UUID newItemId = requireNonNull(representation.itemId, "Item Id is mandatory");
+            return toOperation(representation, newItemId).withTimestamp(timestamp);
+        } catch (NullPointerException | IllegalArgumentException e) {
+            throw invalidOperation(e);
+        }
+    }
+
+    private static ShoppingItemOperation toOperation(ShoppingItemOperationWriteRepresentation representation, UUID newItemId) {
+        ShoppingItemOperation.Type operationType = ShoppingItemOperation.Type.valueOf(requireNonNull(representation.type, "Operation type is mandatory"));
+        switch (operationType) {
+            case CREATE:
+                return ShoppingItemOperation.create(ShoppingItemWriteRepresentation.toShoppingItem(requireNonNull(representation.item, "Item is mandatory"), newItemId));
+            case UPDATE:
+                UUID updatedItemId = requireNonNull(representation.itemId, "Item Id is mandatory");
+                return ShoppingItemOperation.update(ShoppingItemWriteRepresentation.toShoppingItem(requireNonNull(representation.item, "Item is mandatory"), updatedItemId));
+            case RENAME:
+                return ShoppingItemOperation.rename(representation.itemId, representation.name);
+            case CHANGE_QUANTITY:
+                return ShoppingItemOperation.changeQuantity(representation.itemId, representation.quantity);
+            case CHANGE_STATE:
+                return ShoppingItemOperation.changeState(representation.itemId, ItemState.valueOfOrNull(representation.state));
+            default:
+                return ShoppingItemOperation.delete(representation.itemId);
+        }
+    }
+
+    private static WebApiException invalidOperation(RuntimeException e) {
+        String message = INVALID.getDevReadableMessage("item operation") + " : " + e.getMessage();
+        LOGGER.error(message, e);
+        return new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, message, e);
+    }
+
+    @XmlElement(name = "type")
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @XmlElement(name = "itemId")
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @XmlElement(name = "item")
+    public ShoppingItemWriteRepresentation getItem() {
+        return item;
+    }
+
+    public void setItem(ShoppingItemWriteRepresentation item) {
+        this.item = item;
+    }
+
+    @XmlElement(name = "name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @XmlElement(name = "quantity")
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @XmlElement(name = "state")
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    @XmlElement(name = "clock")
+    public Long getClock() {
+        return clock;
+    }
+
+    public void setClock(Long clock) {
+        this.clock = clock;
+    }
+
+    @XmlElement(name = "replicaId")
+    public String getReplicaId() {
+        return replicaId;
+    }
+
+    public void setReplicaId(String replicaId) {
+        this.replicaId = replicaId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, itemId, item, name, quantity, state, clock, replicaId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingItemOperationWriteRepresentation that = (ShoppingItemOperationWriteRepresentation) obj;
+        return Objects.equals(this.type, that.type)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.item, that.item)
+                && Objects.equals(this.name, that.name)
+                && Objects.equals(this.quantity, that.quantity)
+                && Objects.equals(this.state, that.state)
+                && Objects.equals(this.clock, that.clock)
+                && Objects.equals(this.replicaId, that.replicaId);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("type", type)
+                .add("itemId", itemId)
+                .add("item", item)
+                .add("name", name)
+                .add("quantity", quantity)
+                .add("state", state)
+                .add("clock", clock)
+                .add("replicaId", replicaId)
+                .toString();
+    }
+}
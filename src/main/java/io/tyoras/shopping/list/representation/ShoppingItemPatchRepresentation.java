@@ -0,0 +1,42 @@
+package io.tyoras.shopping.list.representation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.tyoras.shopping.infra.rest.MergePatch;
+import io.tyoras.shopping.list.ItemState;
+import io.tyoras.shopping.list.ShoppingItemPatch;
+
+/**
+ * Shopping item merge patch Rest Representation
+ *
+ * @author yoan
+ */
+public final class ShoppingItemPatchRepresentation {
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_QUANTITY = "quantity";
+    public static final String FIELD_STATE = "state";
+
+    private ShoppingItemPatchRepresentation() {
+    }
+
+    /**
+     * @param patchDocument merge patch with the changed fields of the item
+     * @return item patch
+     * @throws io.tyoras.shopping.infra.rest.error.WebApiException if the patch is invalid
+     */
+    public static ShoppingItemPatch toShoppingItemPatch(JsonNode patchDocument) {
+        MergePatch patch = new MergePatch(patchDocument, "item", FIELD_NAME, FIELD_QUANTITY, FIELD_STATE);
+        String stateStr = patch.getText(FIELD_STATE);
+        ItemState state = null;
+        if (stateStr != null) {
+            state = ItemState.valueOfOrNull(stateStr);
+            if (state == null) {
+                throw patch.invalidPatch("unknown state " + stateStr);
+            }
+        }
+        try {
+            return new ShoppingItemPatch(patch.getText(FIELD_NAME), patch.getInt(FIELD_QUANTITY), state);
+        } catch (IllegalArgumentException e) {
+            throw patch.invalidPatch(e.getMessage());
+        }
+    }
+}
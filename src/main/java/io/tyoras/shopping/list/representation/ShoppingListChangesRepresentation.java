@@ -0,0 +1,114 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.RestRepresentation;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ShoppingListChanges;
+
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Changes of the shopping lists of an user Rest Representation, the next link leads to the following synchronization
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "listChanges")
+@ApiModel(value = "Shopping list changes")
+public class ShoppingListChangesRepresentation extends RestRepresentation {
+    public static final String SINCE_PARAM = "since";
+    public static final String NEXT_REL = "next";
+
+    /**
+     * Lists created or updated since the asked watermark, with all their items
+     */
+    private List<ShoppingListRepresentation> changedLists;
+    /**
+     * Lists and items deleted since the asked watermark
+     */
+    private List<ShoppingListTombstoneRepresentation> tombstones;
+    /**
+     * Watermark to send back on the next synchronization, in milliseconds since the epoch
+     */
+    private long watermark;
+    /**
+     * True if the changed lists are all the lists of the user : the lists missing from them have to be dropped
+     */
+    private boolean resetRequired;
+
+    public ShoppingListChangesRepresentation() {
+        super();
+    }
+
+    public ShoppingListChangesRepresentation(ShoppingListChanges changes, UriInfo uriInfo) {
+        requireNonNull(changes);
+        requireNonNull(uriInfo);
+        this.watermark = DateHelper.toDate(changes.getWatermark()).getTime();
+        this.resetRequired = changes.isResetRequired();
+        this.changedLists = new ArrayList<>();
+        changes.getChangedLists().forEach(list -> this.changedLists.add(new ShoppingListRepresentation(list, uriInfo)));
+        this.tombstones = new ArrayList<>();
+        changes.getTombstones().forEach(tombstone -> this.tombstones.add(new ShoppingListTombstoneRepresentation(tombstone)));
+        this.links.add(Link.self(uriInfo));
+        URI nextURI = uriInfo.getAbsolutePathBuilder().queryParam(SINCE_PARAM, watermark).build();
+        this.links.add(new Link(NEXT_REL, nextURI));
+    }
+
+    @XmlElementWrapper(name = "changedLists")
+    @XmlElement(name = "list")
+    public List<ShoppingListRepresentation> getChangedLists() {
+        return changedLists;
+    }
+
+    public void setChangedLists(List<ShoppingListRepresentation> changedLists) {
+        this.changedLists = changedLists;
+    }
+
+    @XmlElementWrapper(name = "tombstones")
+    @XmlElement(name = "tombstone")
+    public List<ShoppingListTombstoneRepresentation> getTombstones() {
+        return tombstones;
+    }
+
+    public void setTombstones(List<ShoppingListTombstoneRepresentation> tombstones) {
+        this.tombstones = tombstones;
+    }
+
+    @XmlElement(name = "watermark")
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    @XmlElement(name = "resetRequired")
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("changedLists", changedLists)
+                .add("tombstones", tombstones)
+                .add("watermark", watermark)
+                .add("resetRequired", resetRequired)
+                .add("links", links)
+                .toString();
+    }
+}
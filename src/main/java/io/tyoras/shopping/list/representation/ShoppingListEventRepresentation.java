@@ -0,0 +1,117 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.list.ShoppingListEvent;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Change of a shopping list or of one of its items Rest Representation
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "event")
+@ApiModel(value = "Shopping list event")
+public class ShoppingListEventRepresentation {
+    /**
+     * Kind of change : LIST_UPDATED, LIST_DELETED, ITEM_CREATED, ITEM_UPDATED or ITEM_DELETED
+     */
+    private String type;
+    /**
+     * Id of the changed list
+     */
+    private UUID listId;
+    /**
+     * Id of the changed item, absent for the list changes
+     */
+    private UUID itemId;
+    /**
+     * Date of the change
+     */
+    private LocalDateTime date;
+
+    public ShoppingListEventRepresentation() {
+        super();
+    }
+
+    public ShoppingListEventRepresentation(ShoppingListEvent event) {
+        requireNonNull(event);
+        this.type = event.getType().name();
+        this.listId = event.getListId();
+        this.itemId = event.getItemId();
+        this.date = event.getDate();
+    }
+
+    @XmlElement(name = "type")
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @XmlElement(name = "listId")
+    public UUID getListId() {
+        return listId;
+    }
+
+    public void setListId(UUID listId) {
+        this.listId = listId;
+    }
+
+    @XmlElement(name = "itemId")
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @XmlElement(name = "date")
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, listId, itemId, date);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListEventRepresentation that = (ShoppingListEventRepresentation) obj;
+        return Objects.equals(this.type, that.type)
+                && Objects.equals(this.listId, that.listId)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.date, that.date);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("type", type)
+                .add("listId", listId)
+                .add("itemId", itemId)
+                .add("date", date)
+                .toString();
+    }
+}
@@ -0,0 +1,89 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.RestRepresentation;
+import io.tyoras.shopping.list.event.ShoppingListEvents;
+
+import javax.ws.rs.core.UriBuilder;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.tyoras.shopping.infra.rest.PageRepresentation.AFTER_PARAM;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.NEXT_REL;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Events of a followed shopping list Rest Representation, the self link leads to the list
+ * and the next link waits for the following events
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "listEvents")
+@ApiModel(value = "Shopping list events")
+public class ShoppingListEventsRepresentation extends RestRepresentation {
+    /**
+     * Changes of the list, from the oldest
+     */
+    private List<ShoppingListEventRepresentation> events;
+    /**
+     * True if some changes are not known : the whole list has to be reloaded
+     */
+    private boolean resetRequired;
+
+    public ShoppingListEventsRepresentation() {
+        super();
+    }
+
+    /**
+     * The URIs are built beforehand because the events may come once the request scope is gone
+     *
+     * @param events
+     * @param listURI          URI of the followed list
+     * @param eventsURIBuilder builder of the URI of the list events, without cursor
+     */
+    public ShoppingListEventsRepresentation(ShoppingListEvents events, URI listURI, UriBuilder eventsURIBuilder) {
+        requireNonNull(events);
+        requireNonNull(listURI);
+        requireNonNull(eventsURIBuilder);
+        this.links.add(Link.self(listURI));
+        URI nextURI = eventsURIBuilder.clone().queryParam(AFTER_PARAM, events.getCursor()).build();
+        this.links.add(new Link(NEXT_REL, nextURI));
+        this.events = new ArrayList<>();
+        events.getEvents().forEach(event -> this.events.add(new ShoppingListEventRepresentation(event)));
+        this.resetRequired = events.isResetRequired();
+    }
+
+    @XmlElementWrapper(name = "events")
+    @XmlElement(name = "event")
+    public List<ShoppingListEventRepresentation> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ShoppingListEventRepresentation> events) {
+        this.events = events;
+    }
+
+    @XmlElement(name = "resetRequired")
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("events", events)
+                .add("resetRequired", resetRequired)
+                .add("links", links)
+                .toString();
+    }
+}
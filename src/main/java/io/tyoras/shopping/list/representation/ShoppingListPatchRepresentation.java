@@ -0,0 +1,31 @@
+package io.tyoras.shopping.list.representation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.tyoras.shopping.infra.rest.MergePatch;
+import io.tyoras.shopping.list.ShoppingListPatch;
+
+/**
+ * Shopping list merge patch Rest Representation
+ *
+ * @author yoan
+ */
+public final class ShoppingListPatchRepresentation {
+    public static final String FIELD_NAME = "name";
+
+    private ShoppingListPatchRepresentation() {
+    }
+
+    /**
+     * @param patchDocument merge patch with the changed fields of the list
+     * @return list patch
+     * @throws io.tyoras.shopping.infra.rest.error.WebApiException if the patch is invalid
+     */
+    public static ShoppingListPatch toShoppingListPatch(JsonNode patchDocument) {
+        MergePatch patch = new MergePatch(patchDocument, "list", FIELD_NAME);
+        try {
+            return new ShoppingListPatch(patch.getText(FIELD_NAME));
+        } catch (IllegalArgumentException e) {
+            throw patch.invalidPatch(e.getMessage());
+        }
+    }
+}
@@ -59,6 +59,10 @@ public class ShoppingListRepresentation extends RestRepresentation {
      * All items in the shopping list
      */
     private List<ShoppingItemRepresentation> itemList;
+    /**
+     * Current version of the list
+     */
+    private long version;
 
     public ShoppingListRepresentation() {
         super();
@@ -89,6 +93,7 @@ public class ShoppingListRepresentation extends RestRepresentation {
         this.creationDate = list.getCreationDate();
         this.lastUpdate = list.getLastUpdate();
         this.itemList = ShoppingItemRepresentation.extractItemListRepresentations(list.getItemList());
+        this.version = list.getVersion();
     }
 
     public static ShoppingList toShoppingList(ShoppingListRepresentation representation) {
@@ -169,6 +174,15 @@ public class ShoppingListRepresentation extends RestRepresentation {
         this.itemList = itemList;
     }
 
+    @XmlElement(name = "version")
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(id, name, ownerId);
@@ -196,6 +210,7 @@ public class ShoppingListRepresentation extends RestRepresentation {
                 .add("created", creationDate)
                 .add("lastUpdate", lastUpdate)
                 .add("itemList", itemList)
+                .add("version", version)
                 .toString();
     }
 }
@@ -0,0 +1,140 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.RestRepresentation;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.resource.ShoppingListResource;
+
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shopping list summary Rest Representation, the self link leads to the full list
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "listSummary")
+@ApiModel(value = "Shopping list summary")
+public class ShoppingListSummaryRepresentation extends RestRepresentation {
+    /**
+     * List unique ID
+     */
+    private UUID id;
+    /**
+     * List name
+     */
+    private String name;
+    /**
+     * Number of items in the list
+     */
+    private int itemCount;
+    /**
+     * Number of items still to buy
+     */
+    private int toBuyCount;
+    /**
+     * Last time the list was updated
+     */
+    private LocalDateTime lastUpdate;
+
+    public ShoppingListSummaryRepresentation() {
+        super();
+    }
+
+    public ShoppingListSummaryRepresentation(ShoppingListSummary summary, UriInfo uriInfo) {
+        requireNonNull(summary);
+        requireNonNull(uriInfo);
+        URI selfURI = uriInfo.getBaseUriBuilder().path(ShoppingListResource.class).path(ShoppingListResource.class, "getById").build(summary.getId().toString());
+        this.links.add(Link.self(selfURI));
+        this.id = summary.getId();
+        this.name = summary.getName();
+        this.itemCount = summary.getItemCount();
+        this.toBuyCount = summary.getToBuyCount();
+        this.lastUpdate = summary.getLastUpdate();
+    }
+
+    @XmlElement(name = "id")
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    @XmlElement(name = "name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @XmlElement(name = "itemCount")
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    @XmlElement(name = "toBuyCount")
+    public int getToBuyCount() {
+        return toBuyCount;
+    }
+
+    public void setToBuyCount(int toBuyCount) {
+        this.toBuyCount = toBuyCount;
+    }
+
+    @XmlElement(name = "lastUpdate")
+    public LocalDateTime getLastUpdate() {
+        return lastUpdate;
+    }
+
+    public void setLastUpdate(LocalDateTime lastUpdate) {
+        this.lastUpdate = lastUpdate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, itemCount, toBuyCount);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListSummaryRepresentation that = (ShoppingListSummaryRepresentation) obj;
+        return Objects.equals(this.id, that.id)
+                && Objects.equals(this.name, that.name)
+                && this.itemCount == that.itemCount
+                && this.toBuyCount == that.toBuyCount;
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id)
+                .add("name", name)
+                .add("itemCount", itemCount)
+                .add("toBuyCount", toBuyCount)
+                .add("lastUpdate", lastUpdate)
+                .toString();
+    }
+}
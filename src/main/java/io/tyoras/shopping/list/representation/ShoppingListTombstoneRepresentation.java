@@ -0,0 +1,101 @@
+package io.tyoras.shopping.list.representation;
+
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModel;
+import io.tyoras.shopping.list.ShoppingListTombstone;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Deleted shopping list or item Rest Representation
+ *
+ * @author yoan
+ */
+@XmlRootElement(name = "tombstone")
+@ApiModel(value = "Shopping list tombstone")
+public class ShoppingListTombstoneRepresentation {
+    /**
+     * Id of the deleted list, or of the list of the deleted item
+     */
+    private UUID listId;
+    /**
+     * Id of the deleted item, absent if the whole list was deleted
+     */
+    private UUID itemId;
+    /**
+     * Deletion date
+     */
+    private LocalDateTime deletionDate;
+
+    public ShoppingListTombstoneRepresentation() {
+        super();
+    }
+
+    public ShoppingListTombstoneRepresentation(ShoppingListTombstone tombstone) {
+        requireNonNull(tombstone);
+        this.listId = tombstone.getListId();
+        this.itemId = tombstone.getItemId();
+        this.deletionDate = tombstone.getDeletionDate();
+    }
+
+    @XmlElement(name = "listId")
+    public UUID getListId() {
+        return listId;
+    }
+
+    public void setListId(UUID listId) {
+        this.listId = listId;
+    }
+
+    @XmlElement(name = "itemId")
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @XmlElement(name = "deletionDate")
+    public LocalDateTime getDeletionDate() {
+        return deletionDate;
+    }
+
+    public void setDeletionDate(LocalDateTime deletionDate) {
+        this.deletionDate = deletionDate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(listId, itemId, deletionDate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ShoppingListTombstoneRepresentation that = (ShoppingListTombstoneRepresentation) obj;
+        return Objects.equals(this.listId, that.listId)
+                && Objects.equals(this.itemId, that.itemId)
+                && Objects.equals(this.deletionDate, that.deletionDate);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("listId", listId)
+                .add("itemId", itemId)
+                .add("deletionDate", deletionDate)
+                .toString();
+    }
+}
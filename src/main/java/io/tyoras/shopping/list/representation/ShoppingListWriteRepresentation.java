@@ -41,6 +41,10 @@ public class ShoppingListWriteRepresentation {
      * All items in the shopping list
      */
     private List<ShoppingItemWriteRepresentation> itemList;
+    /**
+     * Version of the list the update is based on, optional
+     */
+    private Long version;
 
     public ShoppingListWriteRepresentation() {
         super();
@@ -110,6 +114,15 @@ public class ShoppingListWriteRepresentation {
         this.itemList = itemList;
     }
 
+    @XmlElement(name = "version")
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(name, ownerId);
@@ -133,6 +146,7 @@ public class ShoppingListWriteRepresentation {
         return MoreObjects.toStringHelper(this)
                 .add("ownerId", ownerId)
                 .add("itemList", itemList)
+                .add("version", version)
                 .toString();
     }
 }
@@ -1,32 +1,51 @@
 package io.tyoras.shopping.list.resource;
 
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.dropwizard.auth.Auth;
+import io.dropwizard.jersey.PATCH;
 import io.swagger.annotations.*;
 import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.MergePatch;
 import io.tyoras.shopping.infra.rest.RestAPI;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.ResourceUtil;
 import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+import io.tyoras.shopping.list.ShoppingItemPatch;
 import io.tyoras.shopping.list.repository.ShoppingItemRepository;
+import io.tyoras.shopping.list.representation.ShoppingItemBatchResultRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemMergeResultRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemOperationWriteRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemPatchRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingItemRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingItemWriteRepresentation;
 import io.tyoras.shopping.user.User;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static io.tyoras.shopping.infra.config.guice.SwaggerModule.SECURITY_DEFINITION_OAUTH2;
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.BATCH_TOO_LARGE;
+import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.EMPTY_BATCH;
 import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.ITEM_NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 
 /**
@@ -38,6 +57,8 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 @Api(value = "Shopping Item", authorizations = {@Authorization(value = SECURITY_DEFINITION_OAUTH2, scopes = {})})
 @Produces({"application/json", "application/xml"})
 public class ShoppingItemResource extends RestAPI {
+    public static final int MAX_BATCH_SIZE = 200;
+
     private final ShoppingItemRepository itemRepo;
 
     @Inject
@@ -56,8 +77,14 @@ public class ShoppingItemResource extends RestAPI {
         links.add(new Link("getById", getByIdURI));
         URI updateURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingItemResource.class, "update").build("{itemId}");
         links.add(new Link("update", updateURI));
+        URI patchURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingItemResource.class, "patch").build("{itemId}");
+        links.add(new Link("patch", patchURI));
         URI deleteByIdURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingItemResource.class, "deleteById").build("{itemId}");
         links.add(new Link("deleteById", deleteByIdURI));
+        URI applyBatchURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingItemResource.class, "applyBatch").build();
+        links.add(new Link("applyBatch", applyBatchURI));
+        URI mergeOperationsURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingItemResource.class, "mergeOperations").build();
+        links.add(new Link("mergeOperations", mergeOperationsURI));
 
         return links;
     }
@@ -88,14 +115,21 @@ public class ShoppingItemResource extends RestAPI {
     @ApiOperation(value = "Get shopping item by Id", notes = "This can only be done by the logged in user.", response = ShoppingItemRepresentation.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Found item"),
+            @ApiResponse(code = 304, message = "Item not modified"),
             @ApiResponse(code = 400, message = "Invalid item Id"),
             @ApiResponse(code = 404, message = "Item not found")})
     public Response getById(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
-                            @PathParam("itemId") @ApiParam(value = "Shopping item identifier", required = true) String itemIdStr) {
+                            @PathParam("itemId") @ApiParam(value = "Shopping item identifier", required = true) String itemIdStr,
+                            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @ApiParam(value = "Known item entity tag") String ifNoneMatch) {
         UUID listId = extractListId(listIdStr);
+        //the item is read alone from its list, only the serialization is skipped when unchanged
         ShoppingItem foundItem = findShoppingItemById(listId, itemIdStr);
+        EntityTag currentTag = ResourceUtil.toEntityTag(foundItem.getLastUpdate());
+        if (ResourceUtil.isNotModified(ifNoneMatch, currentTag)) {
+            return Response.notModified(currentTag).build();
+        }
         ShoppingItemRepresentation foundShoppingItemRepresentation = new ShoppingItemRepresentation(foundItem);
-        return Response.ok().entity(foundShoppingItemRepresentation).build();
+        return Response.ok().entity(foundShoppingItemRepresentation).tag(currentTag).build();
     }
 
     @PUT
@@ -119,6 +153,27 @@ public class ShoppingItemResource extends RestAPI {
         return Response.noContent().location(location).build();
     }
 
+    @PATCH
+    @Timed
+    @Path("/{itemId}")
+    @Consumes({MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Patch", notes = "This can only be done by the logged in user. Only the fields present in the merge patch are changed.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Shopping item patched"),
+            @ApiResponse(code = 400, message = "Invalid item Id or patch"),
+            @ApiResponse(code = 404, message = "Item not found")})
+    public Response patch(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                          @PathParam("itemId") @ApiParam(value = "Shopping item identifier", required = true) String itemIdStr,
+                          @ApiParam(value = "Merge patch of the item", required = true) JsonNode patchDocument) {
+        UUID listId = extractListId(listIdStr);
+        UUID itemId = ResourceUtil.getIdfromParam("itemId", itemIdStr);
+        ShoppingItemPatch patch = ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        itemRepo.patch(listId, itemId, patch);
+
+        URI location = getUriInfo().getAbsolutePathBuilder().path(itemId.toString()).build();
+        return Response.noContent().location(location).build();
+    }
+
     @DELETE
     @Timed
     @Path("/{itemId}")
@@ -135,6 +190,58 @@ public class ShoppingItemResource extends RestAPI {
         return Response.noContent().build();
     }
 
+    @POST
+    @Timed
+    @Path("/batch")
+    @ApiOperation(value = "Apply a batch of item operations", notes = "This can only be done by the logged in user. The operations are applied in order with a single write.", response = ShoppingItemBatchResultRepresentation.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Result of each operation"),
+            @ApiResponse(code = 400, message = "Invalid batch"),
+            @ApiResponse(code = 404, message = "List not found"),
+            @ApiResponse(code = 409, message = "List modified during the batch")})
+    public Response applyBatch(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                               @ApiParam(value = "Operations to apply", required = true) List<ShoppingItemOperationWriteRepresentation> operations) {
+        UUID listId = extractListId(listIdStr);
+        if (operations == null || operations.isEmpty()) {
+            throw new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, EMPTY_BATCH);
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, BATCH_TOO_LARGE.getDevReadableMessage(MAX_BATCH_SIZE));
+        }
+        List<ShoppingItemOperation> operationsToApply = operations.stream()
+                .map(ShoppingItemOperationWriteRepresentation::toShoppingItemOperation)
+                .collect(Collectors.toList());
+
+        List<ShoppingItemOperationResult> results = itemRepo.applyAll(listId, operationsToApply);
+        return Response.ok().entity(new ShoppingItemBatchResultRepresentation(listId, results, getUriInfo())).build();
+    }
+
+    @POST
+    @Timed
+    @Path("/merge")
+    @ApiOperation(value = "Merge item operations of a list editor", notes = "This can only be done by the logged in user. Each operation is stamped with the logical clock and the id of the editor. "
+            + "Each item field keeps the value of the latest operation and a removal wins, whatever the order the editors send their operations in.", response = ShoppingItemMergeResultRepresentation.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Result of each operation and clock of the list"),
+            @ApiResponse(code = 400, message = "Invalid operations"),
+            @ApiResponse(code = 404, message = "List not found")})
+    public Response mergeOperations(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                                    @ApiParam(value = "Stamped operations to merge", required = true) List<ShoppingItemOperationWriteRepresentation> operations) {
+        UUID listId = extractListId(listIdStr);
+        if (operations == null || operations.isEmpty()) {
+            throw new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, EMPTY_BATCH);
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new WebApiException(BAD_REQUEST, ERROR, API_RESPONSE, BATCH_TOO_LARGE.getDevReadableMessage(MAX_BATCH_SIZE));
+        }
+        List<ShoppingItemOperation> operationsToMerge = operations.stream()
+                .map(ShoppingItemOperationWriteRepresentation::toStampedShoppingItemOperation)
+                .collect(Collectors.toList());
+
+        ShoppingItemMergeResult mergeResult = itemRepo.mergeAll(listId, operationsToMerge);
+        return Response.ok().entity(new ShoppingItemMergeResultRepresentation(listId, mergeResult, getUriInfo())).build();
+    }
+
     private ShoppingItem findShoppingItemById(UUID listId, String itemIdStr) {
         UUID itemId = ResourceUtil.getIdfromParam("itemId", itemIdStr);
         ShoppingItem foundShoppingItem = itemRepo.getById(listId, itemId);
@@ -12,7 +12,15 @@ public enum ShoppingItemResourceErrorMessage implements ErrorMessage {
     /**
      * Item not found
      */
-    ITEM_NOT_FOUND("Item not found");
+    ITEM_NOT_FOUND("Item not found"),
+    /**
+     * Item batch without operation
+     */
+    EMPTY_BATCH("Item batch should contain at least one operation"),
+    /**
+     * Item batch with too many operations
+     */
+    BATCH_TOO_LARGE("Item batch should not contain more than %s operations");
 
     private String message;
 
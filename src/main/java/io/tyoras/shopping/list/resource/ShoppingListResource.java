@@ -1,33 +1,61 @@
 package io.tyoras.shopping.list.resource;
 
 import com.codahale.metrics.annotation.Timed;
-import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.dropwizard.auth.Auth;
+import io.dropwizard.jersey.PATCH;
 import io.swagger.annotations.*;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.rest.Link;
+import io.tyoras.shopping.infra.rest.MergePatch;
+import io.tyoras.shopping.infra.rest.PageRepresentation;
 import io.tyoras.shopping.infra.rest.RestAPI;
+import io.tyoras.shopping.infra.rest.StreamingPageOutput;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.ResourceUtil;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListChanges;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import io.tyoras.shopping.list.event.ShoppingListEvents;
 import io.tyoras.shopping.list.repository.ShoppingListRepository;
+import io.tyoras.shopping.list.representation.ShoppingListChangesRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListEventsRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListPatchRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingListRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListSummaryRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingListWriteRepresentation;
 import io.tyoras.shopping.user.User;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
 import java.net.URI;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.infra.config.guice.SwaggerModule.SECURITY_DEFINITION_OAUTH2;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.*;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.list.representation.ShoppingListChangesRepresentation.SINCE_PARAM;
 import static io.tyoras.shopping.list.resource.ShoppingListResourceErrorMessage.LISTS_NOT_FOUND;
 import static io.tyoras.shopping.list.resource.ShoppingListResourceErrorMessage.LIST_NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
@@ -41,12 +69,21 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 @Api(value = "Shopping List", authorizations = {@Authorization(value = SECURITY_DEFINITION_OAUTH2, scopes = {})})
 @Produces({"application/json", "application/xml"})
 public class ShoppingListResource extends RestAPI {
+    /**
+     * Time a follower waits for the next event before being answered without event, below the usual proxy timeouts
+     */
+    public static final long EVENTS_WAIT_TIMEOUT_IN_SECONDS = 25;
+
     private final ShoppingListRepository listRepo;
+    private final ShoppingListEventBus eventBus;
+    private final ObjectMapper objectMapper;
 
     @Inject
-    public ShoppingListResource(ShoppingListRepository listRepo) {
+    public ShoppingListResource(ShoppingListRepository listRepo, ShoppingListEventBus eventBus, ObjectMapper objectMapper) {
         super();
         this.listRepo = Objects.requireNonNull(listRepo);
+        this.eventBus = Objects.requireNonNull(eventBus);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
     }
 
     @Override
@@ -59,8 +96,16 @@ public class ShoppingListResource extends RestAPI {
         links.add(new Link("getById", getByIdURI));
         URI getByOwnerIdURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "getByOwnerId").build("{ownerId}");
         links.add(new Link("getByOwnerId", getByOwnerIdURI));
+        URI getSummariesByOwnerIdURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "getSummariesByOwnerId").build("{ownerId}");
+        links.add(new Link("getSummariesByOwnerId", getSummariesByOwnerIdURI));
+        URI getChangesByOwnerIdURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "getChangesByOwnerId").build("{ownerId}");
+        links.add(new Link("getChangesByOwnerId", getChangesByOwnerIdURI));
+        URI followEventsURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "followEvents").build("{listId}");
+        links.add(new Link("followEvents", followEventsURI));
         URI updateURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "update").build("{listId}");
         links.add(new Link("update", updateURI));
+        URI patchURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "patch").build("{listId}");
+        links.add(new Link("patch", patchURI));
         URI deleteByIdURI = getUriInfo().getAbsolutePathBuilder().path(ShoppingListResource.class, "deleteById").build("{listId}");
         links.add(new Link("deleteById", deleteByIdURI));
 
@@ -90,27 +135,110 @@ public class ShoppingListResource extends RestAPI {
     @ApiOperation(value = "Get shopping list by Id", notes = "This can only be done by the logged in user.", response = ShoppingListRepresentation.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Found list"),
+            @ApiResponse(code = 304, message = "List not modified"),
             @ApiResponse(code = 400, message = "Invalid list Id"),
             @ApiResponse(code = 404, message = "List not found")})
-    public Response getById(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr) {
+    public Response getById(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @ApiParam(value = "Known list version") String ifNoneMatch) {
+        if (StringUtils.isNotBlank(ifNoneMatch)) {
+            //only the version is read, an unchanged list is neither decoded nor serialized
+            UUID listId = ResourceUtil.getIdfromParam("listId", listIdStr);
+            Long currentVersion = listRepo.getVersion(listId);
+            if (currentVersion == null) {
+                throw new WebApiException(NOT_FOUND, INFO, API_RESPONSE, LIST_NOT_FOUND);
+            }
+            EntityTag currentTag = ResourceUtil.toEntityTag(currentVersion);
+            if (ResourceUtil.isNotModified(ifNoneMatch, currentTag)) {
+                return Response.notModified(currentTag).build();
+            }
+        }
         ShoppingList foundList = findShoppingListById(listIdStr);
         ShoppingListRepresentation foundShoppingListRepresentation = new ShoppingListRepresentation(foundList, getUriInfo());
-        return Response.ok().entity(foundShoppingListRepresentation).build();
+        return Response.ok().entity(foundShoppingListRepresentation).tag(ResourceUtil.toEntityTag(foundList.getVersion())).build();
+    }
+
+    @GET
+    @Path("/{listId}/events")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Timed
+    @ApiOperation(value = "Follow shopping list events", notes = "This can only be done by the logged in user. The request is answered as soon as the list changes, or without event after "
+            + EVENTS_WAIT_TIMEOUT_IN_SECONDS + " seconds. Follow the next link to wait for the following events and reload the list when a reset is required.", response = ShoppingListEventsRepresentation.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Events of the list"),
+            @ApiResponse(code = 400, message = "Invalid list Id"),
+            @ApiResponse(code = 404, message = "List not found")})
+    public void followEvents(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                             @QueryParam(AFTER_PARAM) @ApiParam(value = "Cursor given by the next link, absent to start following the list") String after,
+                             @Suspended AsyncResponse asyncResponse) {
+        UUID listId = ResourceUtil.getIdfromParam("listId", listIdStr);
+        if (listRepo.getVersion(listId) == null) {
+            throw new WebApiException(NOT_FOUND, INFO, API_RESPONSE, LIST_NOT_FOUND);
+        }
+        //the request scope is gone when the events come
+        URI listURI = getUriInfo().getBaseUriBuilder().path(ShoppingListResource.class).path(ShoppingListResource.class, "getById").build(listId.toString());
+        UriBuilder eventsURIBuilder = getUriInfo().getAbsolutePathBuilder();
+
+        //a waiting follower only holds its connection, no thread
+        AtomicReference<Runnable> stopFollowing = new AtomicReference<>(() -> {
+        });
+        asyncResponse.setTimeoutHandler(timedOut -> {
+            stopFollowing.get().run();
+            timedOut.resume(new ShoppingListEventsRepresentation(ShoppingListEvents.none(after), listURI, eventsURIBuilder));
+        });
+        asyncResponse.setTimeout(EVENTS_WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        asyncResponse.register((CompletionCallback) failure -> stopFollowing.get().run());
+        stopFollowing.set(eventBus.follow(listId, after, events -> asyncResponse.resume(new ShoppingListEventsRepresentation(events, listURI, eventsURIBuilder))));
     }
 
     @GET
     @Path("/user/{ownerId}")
+    @Produces(MediaType.APPLICATION_JSON)
     @Timed
-    @ApiOperation(value = "Get shopping list by owner Id", notes = "This can only be done by the logged in user.", response = ShoppingListRepresentation.class)
+    @ApiOperation(value = "Get shopping list by owner Id", notes = "This can only be done by the logged in user. The lists are paginated from the most recently updated, follow the next link to get the following page.", response = PageRepresentation.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Found lists"),
-            @ApiResponse(code = 400, message = "Invalid owner Id"),
+            @ApiResponse(code = 400, message = "Invalid owner Id, page cursor or limit"),
+            @ApiResponse(code = 404, message = "Owner not found")})
+    public Response getByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr,
+                                 @QueryParam(AFTER_PARAM) @ApiParam(value = "Cursor of the page, given by the next link") String afterStr,
+                                 @QueryParam(LIMIT_PARAM) @ApiParam(value = "Maximum number of lists in the page", defaultValue = "" + DEFAULT_LIMIT) String limitStr) {
+        PageCursor after = ResourceUtil.getPageCursorFromParam(AFTER_PARAM, afterStr);
+        int limit = ResourceUtil.getLimitFromParam(LIMIT_PARAM, limitStr, DEFAULT_LIMIT, MAX_LIMIT);
+        StreamingPageOutput<ShoppingList> foundLists = streamShoppingListByOwnerId(ownerIdStr, after, limit);
+        return Response.ok(foundLists, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    @GET
+    @Path("/user/{ownerId}/summary")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Timed
+    @ApiOperation(value = "Get shopping list summaries by owner Id", notes = "This can only be done by the logged in user. The summaries only contain the item counts of the lists and are paginated like the lists.", response = PageRepresentation.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Found list summaries"),
+            @ApiResponse(code = 400, message = "Invalid owner Id, page cursor or limit"),
             @ApiResponse(code = 404, message = "Owner not found")})
-    public Response getByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr) {
-        ImmutableList<ShoppingList> foundLists = findShoppingListByOwnerId(ownerIdStr);
-        List<ShoppingListRepresentation> listsRepresentation = new ArrayList<>();
-        foundLists.forEach(list -> listsRepresentation.add(new ShoppingListRepresentation(list, getUriInfo())));
-        return Response.ok().entity(listsRepresentation).build();
+    public Response getSummariesByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr,
+                                          @QueryParam(AFTER_PARAM) @ApiParam(value = "Cursor of the page, given by the next link") String afterStr,
+                                          @QueryParam(LIMIT_PARAM) @ApiParam(value = "Maximum number of summaries in the page", defaultValue = "" + DEFAULT_LIMIT) String limitStr) {
+        PageCursor after = ResourceUtil.getPageCursorFromParam(AFTER_PARAM, afterStr);
+        int limit = ResourceUtil.getLimitFromParam(LIMIT_PARAM, limitStr, DEFAULT_LIMIT, MAX_LIMIT);
+        StreamingPageOutput<ShoppingListSummary> foundSummaries = streamSummariesByOwnerId(ownerIdStr, after, limit);
+        return Response.ok(foundSummaries, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    @GET
+    @Path("/user/{ownerId}/sync")
+    @Timed
+    @ApiOperation(value = "Get shopping list changes by owner Id", notes = "This can only be done by the logged in user. Only the lists changed and the lists or items deleted since the watermark are returned, follow the next link to synchronize again.", response = ShoppingListChangesRepresentation.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Changes since the watermark"),
+            @ApiResponse(code = 400, message = "Invalid owner Id or watermark")})
+    public Response getChangesByOwnerId(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("ownerId") @ApiParam(value = "Owner identifier", required = true) String ownerIdStr,
+                                        @QueryParam(SINCE_PARAM) @ApiParam(value = "Watermark given by the previous synchronization, in milliseconds since the epoch") String sinceStr) {
+        UUID ownerId = ResourceUtil.getIdfromParam("ownerId", ownerIdStr);
+        LocalDateTime since = ResourceUtil.getTimestampFromParam(SINCE_PARAM, sinceStr);
+        ShoppingListChanges changes = listRepo.getChangesSince(ownerId, since);
+        return Response.ok().entity(new ShoppingListChangesRepresentation(changes, getUriInfo())).build();
     }
 
     @PUT
@@ -120,18 +248,47 @@ public class ShoppingListResource extends RestAPI {
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Shopping list updated"),
             @ApiResponse(code = 400, message = "Invalid list Id"),
-            @ApiResponse(code = 404, message = "List not found")})
+            @ApiResponse(code = 404, message = "List not found"),
+            @ApiResponse(code = 409, message = "List modified concurrently"),
+            @ApiResponse(code = 412, message = "List not at the expected version")})
     public Response update(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                           @HeaderParam(HttpHeaders.IF_MATCH) @ApiParam(value = "Expected list version") String ifMatch,
                            @ApiParam(value = "List to update", required = true) ShoppingListWriteRepresentation listToUpdate) {
         UUID listId = ResourceUtil.getIdfromParam("listId", listIdStr);
         ShoppingList updatedList = ShoppingListWriteRepresentation.toShoppingList(listToUpdate, listId);
-        listRepo.update(updatedList);
+        Long expectedVersion = ResourceUtil.getVersionFromEntityTag(HttpHeaders.IF_MATCH, ifMatch);
+        if (expectedVersion == null) {
+            expectedVersion = listToUpdate.getVersion();
+        }
+        listRepo.update(updatedList, expectedVersion);
 
         UriBuilder ub = getUriInfo().getAbsolutePathBuilder();
         URI location = ub.path(updatedList.getId().toString()).build();
         return Response.noContent().location(location).build();
     }
 
+    @PATCH
+    @Path("/{listId}")
+    @Timed
+    @Consumes({MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Patch", notes = "This can only be done by the logged in user. Only the fields present in the merge patch are changed.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Shopping list patched"),
+            @ApiResponse(code = 400, message = "Invalid list Id or patch"),
+            @ApiResponse(code = 404, message = "List not found"),
+            @ApiResponse(code = 412, message = "List not at the expected version")})
+    public Response patch(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("listId") @ApiParam(value = "Shopping list identifier", required = true) String listIdStr,
+                          @HeaderParam(HttpHeaders.IF_MATCH) @ApiParam(value = "Expected list version") String ifMatch,
+                          @ApiParam(value = "Merge patch of the list", required = true) JsonNode patchDocument) {
+        UUID listId = ResourceUtil.getIdfromParam("listId", listIdStr);
+        ShoppingListPatch patch = ShoppingListPatchRepresentation.toShoppingListPatch(patchDocument);
+        Long expectedVersion = ResourceUtil.getVersionFromEntityTag(HttpHeaders.IF_MATCH, ifMatch);
+        listRepo.patch(listId, patch, expectedVersion);
+
+        URI location = getUriInfo().getAbsolutePathBuilder().path(listId.toString()).build();
+        return Response.noContent().location(location).build();
+    }
+
     @DELETE
     @Path("/{listId}")
     @Timed
@@ -157,14 +314,35 @@ public class ShoppingListResource extends RestAPI {
         return foundShoppingList;
     }
 
-    private ImmutableList<ShoppingList> findShoppingListByOwnerId(String ownerIdStr) {
+    private StreamingPageOutput<ShoppingList> streamShoppingListByOwnerId(String ownerIdStr, PageCursor after, int limit) {
+        UUID ownerId = ResourceUtil.getIdfromParam("ownerId", ownerIdStr);
+        UriInfo uriInfo = getUriInfo();
+        //one more list than asked to know if there is a next page
+        Stream<ShoppingList> foundLists = listRepo.streamByOwner(ownerId, after, limit + 1);
+        StreamingPageOutput<ShoppingList> output = new StreamingPageOutput<>(objectMapper, foundLists, limit,
+                list -> new ShoppingListRepresentation(list, uriInfo), ShoppingListRepository::toPageCursor, uriInfo);
+
+        ensureFirstPageNotEmpty(output, after, ownerIdStr);
+        return output;
+    }
+
+    private StreamingPageOutput<ShoppingListSummary> streamSummariesByOwnerId(String ownerIdStr, PageCursor after, int limit) {
         UUID ownerId = ResourceUtil.getIdfromParam("ownerId", ownerIdStr);
-        ImmutableList<ShoppingList> foundLists = listRepo.getByOwner(ownerId);
+        UriInfo uriInfo = getUriInfo();
+        //one more summary than asked to know if there is a next page
+        Stream<ShoppingListSummary> foundSummaries = listRepo.streamSummariesByOwner(ownerId, after, limit + 1);
+        StreamingPageOutput<ShoppingListSummary> output = new StreamingPageOutput<>(objectMapper, foundSummaries, limit,
+                summary -> new ShoppingListSummaryRepresentation(summary, uriInfo), summary -> new PageCursor(summary.getLastUpdate(), summary.getId()), uriInfo);
 
-        if (foundLists.isEmpty()) {
+        ensureFirstPageNotEmpty(output, after, ownerIdStr);
+        return output;
+    }
+
+    private void ensureFirstPageNotEmpty(StreamingPageOutput<?> output, PageCursor after, String ownerIdStr) {
+        //only the first page is empty when the owner has no list
+        if (output.isEmpty() && after == null) {
+            output.close();
             throw new WebApiException(NOT_FOUND, INFO, API_RESPONSE, LISTS_NOT_FOUND.getDevReadableMessage(ownerIdStr));
         }
-
-        return foundLists;
     }
 }
\ No newline at end of file
@@ -49,18 +49,29 @@ public class SecuredUser extends User {
      * User password hash salt
      */
     private final Object salt;
+    /**
+     * Number of iterations used to hash the password
+     */
+    private final int hashIterations;
 
     public SecuredUser() {
         super();
         password = null;
         salt = null;
+        hashIterations = SecurityHelper.NB_HASH_ITERATION;
     }
 
     protected SecuredUser(UUID id, String name, String email, ProfileVisibility profileVisibility, LocalDateTime creationDate, LocalDateTime lastUpdate, String password, Object salt) {
+        this(id, name, email, profileVisibility, creationDate, lastUpdate, password, salt, SecurityHelper.NB_HASH_ITERATION);
+    }
+
+    protected SecuredUser(UUID id, String name, String email, ProfileVisibility profileVisibility, LocalDateTime creationDate, LocalDateTime lastUpdate, String password, Object salt, int hashIterations) {
         super(id, name, email, profileVisibility, creationDate, lastUpdate);
         checkArgument(StringUtils.isNotBlank(password), "Invalid user password");
+        checkArgument(hashIterations > 0, "Invalid password hash iterations");
         this.password = password;
         this.salt = requireNonNull(salt, "The password hash salt is mandatory");
+        this.hashIterations = hashIterations;
     }
 
     public String getPassword() {
@@ -71,9 +82,13 @@ public class SecuredUser extends User {
         return salt;
     }
 
+    public int getHashIterations() {
+        return hashIterations;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), password, salt);
+        return Objects.hash(super.hashCode(), password, salt, hashIterations);
     }
 
     @Override
@@ -87,12 +102,13 @@ public class SecuredUser extends User {
         SecuredUser that = (SecuredUser) obj;
         return super.equals(obj)
                 && Objects.equals(this.password, that.password)
-                && Objects.equals(this.salt, that.salt);
+                && Objects.equals(this.salt, that.salt)
+                && this.hashIterations == that.hashIterations;
     }
 
     @Override
     protected ToStringHelper toStringHelper() {
-        return super.toStringHelper().add("password", password).add("salt", salt);
+        return super.toStringHelper().add("password", password).add("salt", salt).add("hashIterations", hashIterations);
     }
 
     @Override
@@ -103,6 +119,7 @@ public class SecuredUser extends User {
     public static class Builder implements GenericBuilder<SecuredUser> {
         private String password = DEFAULT_HASED_PASSWORD;
         private Object salt = DEFAULT_SALT;
+        private int hashIterations = SecurityHelper.NB_HASH_ITERATION;
         private User user = User.DEFAULT;
 
         private Builder() {
@@ -128,6 +145,7 @@ public class SecuredUser extends User {
 
             builder.password = otherBuilder.password;
             builder.salt = otherBuilder.salt;
+            builder.hashIterations = otherBuilder.hashIterations;
             builder.user = otherBuilder.user;
 
             return builder;
@@ -147,7 +165,7 @@ public class SecuredUser extends User {
 
         @Override
         public SecuredUser build() {
-            return new SecuredUser(user.getId(), user.getName(), user.getEmail(), user.getProfileVisibility(), user.getCreationDate(), user.getLastUpdate(), password, salt);
+            return new SecuredUser(user.getId(), user.getName(), user.getEmail(), user.getProfileVisibility(), user.getCreationDate(), user.getLastUpdate(), password, salt, hashIterations);
         }
 
         public Builder withSalt(Object salt) {
@@ -160,8 +178,13 @@ public class SecuredUser extends User {
             return this;
         }
 
+        public Builder withHashIterations(int hashIterations) {
+            this.hashIterations = hashIterations;
+            return this;
+        }
+
         public Builder withRawPassword(String rawPassword) {
-            this.password = SecurityHelper.hash(rawPassword, salt);
+            this.password = SecurityHelper.hash(rawPassword, salt, hashIterations);
             return this;
         }
     }
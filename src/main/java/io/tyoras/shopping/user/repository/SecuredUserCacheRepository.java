@@ -0,0 +1,62 @@
+package io.tyoras.shopping.user.repository;
+
+import io.tyoras.shopping.user.SecuredUser;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Secured user repository keeping the user caches consistent with the writes of another implementation
+ *
+ * @author yoan
+ */
+public class SecuredUserCacheRepository extends SecuredUserRepository {
+
+    private final SecuredUserRepository delegate;
+    private final UserCache userCache;
+    private final VerifiedCredentialCache credentialCache;
+
+    public SecuredUserCacheRepository(SecuredUserRepository delegate, UserCache userCache, VerifiedCredentialCache credentialCache) {
+        this.delegate = requireNonNull(delegate);
+        this.userCache = requireNonNull(userCache);
+        this.credentialCache = requireNonNull(credentialCache);
+    }
+
+    @Override
+    public String hashPassword(String password, Object salt) {
+        return delegate.hashPassword(password, salt);
+    }
+
+    @Override
+    public String hashPassword(String password, Object salt, int hashIterations) {
+        return delegate.hashPassword(password, salt, hashIterations);
+    }
+
+    @Override
+    protected int getHashIterations() {
+        return delegate.getHashIterations();
+    }
+
+    @Override
+    protected void processCreate(SecuredUser userToCreate) {
+        delegate.processCreate(userToCreate);
+    }
+
+    @Override
+    protected SecuredUser processGetById(UUID userId) {
+        return delegate.processGetById(userId);
+    }
+
+    @Override
+    protected SecuredUser processGetByEmail(String userEmail) {
+        return delegate.processGetByEmail(userEmail);
+    }
+
+    @Override
+    protected void processChangePassword(SecuredUser userToUpdate) {
+        delegate.processChangePassword(userToUpdate);
+        userCache.invalidate(userToUpdate.getId());
+        credentialCache.invalidateUser(userToUpdate.getId());
+    }
+}
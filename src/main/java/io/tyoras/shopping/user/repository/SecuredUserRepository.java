@@ -61,6 +61,7 @@ public abstract class SecuredUserRepository {
         return SecuredUser.Builder.createFrom(basicUserInfos)
                 .withPassword(hashedPassword)
                 .withSalt(salt)
+                .withHashIterations(getHashIterations())
                 .build();
     }
 
@@ -81,7 +82,48 @@ public abstract class SecuredUserRepository {
     }
 
     public String hashPassword(String password, Object salt) {
-        return SecurityHelper.hash(password, salt);
+        return hashPassword(password, salt, getHashIterations());
+    }
+
+    public String hashPassword(String password, Object salt, int hashIterations) {
+        return SecurityHelper.hash(password, salt, hashIterations);
+    }
+
+    /**
+     * @return number of hash iterations applied to new passwords
+     */
+    protected int getHashIterations() {
+        return SecurityHelper.NB_HASH_ITERATION;
+    }
+
+    /**
+     * Check a raw password against the hash of a user.
+     * The password is hashed again with the current number of iterations if its hash is outdated
+     *
+     * @param user
+     * @param password
+     * @return true if the password matches
+     */
+    public boolean checkPassword(SecuredUser user, String password) {
+        if (user == null || password == null) {
+            return false;
+        }
+        String hashedPassword = hashPassword(password, user.getSalt(), user.getHashIterations());
+        if (!user.getPassword().equals(hashedPassword)) {
+            return false;
+        }
+        if (user.getHashIterations() != getHashIterations()) {
+            rehashPassword(user, password);
+        }
+        return true;
+    }
+
+    private void rehashPassword(SecuredUser user, String password) {
+        try {
+            processChangePassword(generateSecuredUser(user, password));
+        } catch (ApplicationException e) {
+            LOGGER.warn("Unable to rehash the password of user " + user.getId(), e);
+        }
     }
 
     /**
@@ -0,0 +1,50 @@
+package io.tyoras.shopping.user.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.tyoras.shopping.infra.util.GuardedCache;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+import io.tyoras.shopping.user.User;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * In memory cache of users by Id, shared by the user repositories to invalidate it on every user write
+ *
+ * @author yoan
+ */
+public class UserCache {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(UserCache.class);
+
+    private final GuardedCache<UUID, User> userCache;
+
+    public UserCache(long maximumSize, long expireAfterMinutes, MetricRegistry metrics) {
+        Cache<UUID, User> cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterMinutes, MINUTES)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CACHE_METRICS_NAME, cache);
+        userCache = new GuardedCache<>(cache);
+    }
+
+    /**
+     * Get a user from the cache or load it, unknown users and users loaded while they were invalidated are not cached
+     *
+     * @param userId
+     * @param loader
+     * @return found user or null if not found
+     */
+    public User get(UUID userId, Function<UUID, User> loader) {
+        return userCache.get(userId, loader);
+    }
+
+    public void invalidate(UUID userId) {
+        userCache.invalidate(userId);
+    }
+}
@@ -0,0 +1,67 @@
+package io.tyoras.shopping.user.repository;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.user.ProfileVisibility;
+import io.tyoras.shopping.user.User;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * User repository reading users by Id through the user cache in front of another implementation
+ * and keeping the verified credentials consistent with email changes
+ *
+ * @author yoan
+ */
+public class UserCacheRepository extends UserRepository {
+
+    private final UserRepository delegate;
+    private final UserCache userCache;
+    private final VerifiedCredentialCache credentialCache;
+
+    public UserCacheRepository(UserRepository delegate, UserCache userCache, VerifiedCredentialCache credentialCache) {
+        this.delegate = requireNonNull(delegate);
+        this.userCache = requireNonNull(userCache);
+        this.credentialCache = requireNonNull(credentialCache);
+    }
+
+    @Override
+    protected void processCreate(User userToCreate) {
+        delegate.processCreate(userToCreate);
+    }
+
+    @Override
+    protected User processGetById(UUID userId) {
+        return userCache.get(userId, delegate::processGetById);
+    }
+
+    @Override
+    protected User processGetByEmail(String email) {
+        return delegate.processGetByEmail(email);
+    }
+
+    @Override
+    protected void processUpdate(User userToUpdate) {
+        delegate.processUpdate(userToUpdate);
+        userCache.invalidate(userToUpdate.getId());
+        credentialCache.invalidateUser(userToUpdate.getId());
+    }
+
+    @Override
+    protected void processDeleteById(UUID userId) {
+        delegate.processDeleteById(userId);
+        userCache.invalidate(userId);
+        credentialCache.invalidateUser(userId);
+    }
+
+    @Override
+    protected long countByIdOrEmail(UUID userId, String email) {
+        return delegate.countByIdOrEmail(userId, email);
+    }
+
+    @Override
+    protected ImmutableList<User> processSearchByName(ProfileVisibility visibility, int nbMaxResult, String search) {
+        return delegate.processSearchByName(visibility, nbMaxResult, search);
+    }
+}
@@ -0,0 +1,94 @@
+package io.tyoras.shopping.user.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.tyoras.shopping.infra.security.SecretDigester;
+import io.tyoras.shopping.infra.util.helper.CacheMetricsHelper;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * In memory cache of successfully verified user credentials
+ * Credentials are only kept as a HMAC digest, with a random key generated at startup
+ * Credentials verified against a user read before an invalidation are not kept, they may have been checked against the old password.
+ * The invalidations are not tracked by user since the user is not known before being read by email, any invalidation drops them.
+ *
+ * @author yoan
+ */
+public class VerifiedCredentialCache {
+    public static final String CACHE_METRICS_NAME = MetricRegistry.name(VerifiedCredentialCache.class);
+
+    private final SecretDigester credentialDigester = new SecretDigester();
+    private final Cache<String, UUID> verifiedCredentialCache;
+    private final Object invalidationLock = new Object();
+    private long generation;
+
+    public VerifiedCredentialCache(long maximumSize, long expireAfterMinutes, MetricRegistry metrics) {
+        verifiedCredentialCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterMinutes, MINUTES)
+                .recordStats()
+                .build();
+        CacheMetricsHelper.registerCacheMetrics(requireNonNull(metrics), CACHE_METRICS_NAME, verifiedCredentialCache);
+    }
+
+    /**
+     * Get the user Id of already verified credentials
+     *
+     * @param email
+     * @param password
+     * @return user Id or null if these credentials were not verified recently
+     */
+    public UUID getVerifiedUserId(String email, String password) {
+        return verifiedCredentialCache.getIfPresent(digest(email, password));
+    }
+
+    /**
+     * Get the current generation of the cache, to read before the user whose credentials are about to be verified
+     *
+     * @return generation, changed by every invalidation
+     */
+    public long getGeneration() {
+        synchronized (invalidationLock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Remember credentials that have just been verified, unless an user was invalidated since the given generation
+     *
+     * @param email
+     * @param password
+     * @param userId
+     * @param generation generation of the cache read before the user the credentials were verified against
+     */
+    public void putVerified(String email, String password, UUID userId, long generation) {
+        String credentialDigest = digest(email, password);
+        requireNonNull(userId);
+        synchronized (invalidationLock) {
+            if (this.generation == generation) {
+                verifiedCredentialCache.put(credentialDigest, userId);
+            }
+        }
+    }
+
+    /**
+     * Forget all the verified credentials of an user
+     *
+     * @param userId
+     */
+    public void invalidateUser(UUID userId) {
+        synchronized (invalidationLock) {
+            generation++;
+            verifiedCredentialCache.asMap().values().removeIf(userId::equals);
+        }
+    }
+
+    private String digest(String email, String password) {
+        return credentialDigester.digest(email, password);
+    }
+}
@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import static io.tyoras.shopping.infra.logging.Markers.SECURITY;
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorMessage.UNABLE_TO_CONVERT_UNSECURE_USER;
 import static io.tyoras.shopping.user.repository.mongo.UserMongoConverter.FIELD_LAST_UPDATE;
 
@@ -28,6 +29,7 @@ public class SecuredUserMongoConverter extends MongoDocumentConverter<SecuredUse
     public static final String FIELD_SECURITY = "security";
     public static final String FIELD_PASSWORD = "password";
     public static final String FIELD_SALT = "salt";
+    public static final String FIELD_HASH_ITERATIONS = "hashIterations";
     private static final Logger LOGGER = LoggerFactory.getLogger(SecuredUserMongoConverter.class);
     private UserMongoConverter userConverter;
 
@@ -52,10 +54,12 @@ public class SecuredUserMongoConverter extends MongoDocumentConverter<SecuredUse
         ensureSecurityObjectIsPresent(securityObject, user);
         String password = securityObject.getString(FIELD_PASSWORD);
         Object salt = securityObject.get(FIELD_SALT);
+        int hashIterations = securityObject.getInteger(FIELD_HASH_ITERATIONS, NB_HASH_ITERATION);
 
         return SecuredUser.Builder.createFrom(user)
                 .withPassword(password)
                 .withSalt(salt)
+                .withHashIterations(hashIterations)
                 .build();
     }
 
@@ -78,7 +82,9 @@ public class SecuredUserMongoConverter extends MongoDocumentConverter<SecuredUse
     }
 
     private Document getSecurityObjectFromSecuredUser(SecuredUser user) {
-        return new Document(FIELD_PASSWORD, user.getPassword()).append(FIELD_SALT, user.getSalt());
+        return new Document(FIELD_PASSWORD, user.getPassword())
+                .append(FIELD_SALT, user.getSalt())
+                .append(FIELD_HASH_ITERATIONS, user.getHashIterations());
     }
 
     public Document getChangePasswordUpdate(SecuredUser userToUpdate) {
@@ -99,6 +105,7 @@ public class SecuredUserMongoConverter extends MongoDocumentConverter<SecuredUse
         return !documentHasId(securedUser) ? SecuredUser.Builder.createFrom(user)
                 .withPassword(securedUser.getPassword())
                 .withSalt(securedUser.getSalt())
+                .withHashIterations(securedUser.getHashIterations())
                 .build()
                 : securedUser;
     }
@@ -10,6 +10,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
+import io.tyoras.shopping.infra.security.PasswordHasher;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
 import io.tyoras.shopping.user.SecuredUser;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
@@ -35,11 +36,23 @@ public class SecuredUserMongoRepository extends SecuredUserRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(SecuredUserMongoRepository.class);
     private final SecuredUserMongoConverter userConverter;
     private final MongoCollection<SecuredUser> userCollection;
+    private final PasswordHasher passwordHasher;
 
     @Inject
-    public SecuredUserMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
+    public SecuredUserMongoRepository(MongoDbConnectionFactory mongoConnectionFactory, PasswordHasher passwordHasher) {
         userCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, USER_COLLECTION, SecuredUser.class);
         userConverter = new SecuredUserMongoConverter();
+        this.passwordHasher = passwordHasher;
+    }
+
+    @Override
+    public String hashPassword(String password, Object salt, int hashIterations) {
+        return passwordHasher.hash(password, salt, hashIterations);
+    }
+
+    @Override
+    protected int getHashIterations() {
+        return passwordHasher.getIterations();
     }
 
     @Override
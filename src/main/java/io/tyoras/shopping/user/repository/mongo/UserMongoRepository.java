@@ -1,7 +1,6 @@
 package io.tyoras.shopping.user.repository.mongo;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -10,7 +9,6 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
 import io.tyoras.shopping.infra.db.Dbs;
 import io.tyoras.shopping.infra.db.mongo.MongoDbConnectionFactory;
-import io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.helper.MongoRepositoryHelper;
 import io.tyoras.shopping.user.ProfileVisibility;
@@ -24,7 +22,6 @@ import java.util.List;
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
-import static io.tyoras.shopping.infra.db.mongo.MongoIndexEnsurer.SortOrder.ASCENDING;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorCode.TOO_MUCH_RESULT;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorMessage.*;
@@ -44,17 +41,6 @@ public class UserMongoRepository extends UserRepository {
     @Inject
     public UserMongoRepository(MongoDbConnectionFactory mongoConnectionFactory) {
         userCollection = mongoConnectionFactory.getCollection(Dbs.SHOPPING, USER_COLLECTION, User.class);
-        ensureIndexes();
-    }
-
-    private void ensureIndexes() {
-        MongoIndexEnsurer indexEnsurer = new MongoIndexEnsurer(userCollection);
-        indexEnsurer.logStartEnsuringIndexes();
-
-        indexEnsurer.ensureUniqueIndex(FIELD_EMAIL, ASCENDING);
-        indexEnsurer.ensureMultiKeyIndex(ImmutableMap.of(FIELD_PROFILE_VISIBILITY, ASCENDING, FIELD_NAME, ASCENDING));
-
-        indexEnsurer.logEndEnsuringIndexes();
     }
 
     @Override
@@ -6,6 +6,8 @@ import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.dropwizard.auth.Auth;
 import io.swagger.annotations.*;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
 import io.tyoras.shopping.infra.rest.Link;
 import io.tyoras.shopping.infra.rest.RestAPI;
 import io.tyoras.shopping.infra.rest.error.ErrorRepresentation;
@@ -22,6 +24,8 @@ import io.tyoras.shopping.user.representation.UserWriteRepresentation;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
@@ -50,12 +54,16 @@ public class UserResource extends RestAPI {
 
     private final UserRepository userRepo;
     private final SecuredUserRepository securedUserRepo;
+    private final OAuth2AccessTokenRepository accessTokenRepo;
+    private final OAuth2RefreshTokenRepository refreshTokenRepo;
 
     @Inject
-    public UserResource(UserRepository userRepo, SecuredUserRepository securedUserRepo) {
+    public UserResource(UserRepository userRepo, SecuredUserRepository securedUserRepo, OAuth2AccessTokenRepository accessTokenRepo, OAuth2RefreshTokenRepository refreshTokenRepo) {
         super();
         this.userRepo = requireNonNull(userRepo);
         this.securedUserRepo = requireNonNull(securedUserRepo);
+        this.accessTokenRepo = requireNonNull(accessTokenRepo);
+        this.refreshTokenRepo = requireNonNull(refreshTokenRepo);
     }
 
     @Override
@@ -106,12 +114,19 @@ public class UserResource extends RestAPI {
     @ApiOperation(value = "Get user by Id", notes = "This can only be done by the logged in user.", response = UserRepresentation.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Found user", response = UserRepresentation.class),
+            @ApiResponse(code = 304, message = "User not modified"),
             @ApiResponse(code = 400, message = "Invalid user Id", response = ErrorRepresentation.class),
             @ApiResponse(code = 404, message = "User not found", response = ErrorRepresentation.class)})
-    public Response getById(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("userId") @ApiParam(value = "User identifier", required = true, example = "a7b58ac5-ecc0-43b0-b07e-8396b2065439") String userIdStr) {
+    public Response getById(@ApiParam(hidden = true) @Auth User connectedUser, @PathParam("userId") @ApiParam(value = "User identifier", required = true, example = "a7b58ac5-ecc0-43b0-b07e-8396b2065439") String userIdStr,
+                            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @ApiParam(value = "Known user entity tag") String ifNoneMatch) {
+        //users are read through the user cache, only the serialization is skipped when unchanged
         User foundUser = findUserById(userIdStr);
+        EntityTag currentTag = ResourceUtil.toEntityTag(foundUser.getLastUpdate());
+        if (ResourceUtil.isNotModified(ifNoneMatch, currentTag)) {
+            return Response.notModified(currentTag).build();
+        }
         UserRepresentation foundUserRepresentation = new UserRepresentation(foundUser, getUriInfo());
-        return Response.ok().entity(foundUserRepresentation).build();
+        return Response.ok().entity(foundUserRepresentation).tag(currentTag).build();
     }
 
     @GET
@@ -176,6 +191,8 @@ public class UserResource extends RestAPI {
         UUID userId = ResourceUtil.getIdfromParam("userId", userIdStr);
 
         securedUserRepo.changePassword(userId, newPassword);
+        accessTokenRepo.deleteByUserId(userId);
+        refreshTokenRepo.deleteByUserId(userId);
 
         UriBuilder ub = getUriInfo().getAbsolutePathBuilder();
         URI location = ub.path(userId.toString()).build();
@@ -5,6 +5,7 @@ import io.dropwizard.auth.basic.BasicCredentials;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.user.SecuredUser;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
+import io.tyoras.shopping.user.repository.VerifiedCredentialCache;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -16,7 +17,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class BasicUserAuthenticatorTest {
@@ -24,6 +25,8 @@ public class BasicUserAuthenticatorTest {
     private static final SecuredUser KNOWN_USER = TestHelper.generateRandomSecuredUser();
     @Mock
     SecuredUserRepository mockedSecuredUserRepository;
+    @Mock
+    VerifiedCredentialCache mockedCredentialCache;
     @InjectMocks
     BasicUserAuthenticator testedAuthenticator;
 
@@ -44,7 +47,7 @@ public class BasicUserAuthenticatorTest {
         //given
         BasicCredentials unknownUserCredentials = new BasicCredentials(KNOWN_USER.getEmail(), "invalid_password");
         when(mockedSecuredUserRepository.getByEmail(KNOWN_USER.getEmail())).thenReturn(KNOWN_USER);
-        when(mockedSecuredUserRepository.hashPassword(anyString(), any())).thenReturn("invalid_hash");
+        when(mockedSecuredUserRepository.checkPassword(KNOWN_USER, "invalid_password")).thenReturn(false);
 
         //when
         Optional<BasicUserPrincipal> result = testedAuthenticator.authenticate(unknownUserCredentials);
@@ -58,7 +61,7 @@ public class BasicUserAuthenticatorTest {
         //given
         BasicCredentials unknownUserCredentials = new BasicCredentials(KNOWN_USER.getEmail(), KNOWN_USER.getPassword());
         when(mockedSecuredUserRepository.getByEmail(KNOWN_USER.getEmail())).thenReturn(KNOWN_USER);
-        when(mockedSecuredUserRepository.hashPassword(anyString(), any())).thenReturn(KNOWN_USER.getPassword());
+        when(mockedSecuredUserRepository.checkPassword(KNOWN_USER, KNOWN_USER.getPassword())).thenReturn(true);
 
         //when
         Optional<BasicUserPrincipal> result = testedAuthenticator.authenticate(unknownUserCredentials);
@@ -69,4 +72,34 @@ public class BasicUserAuthenticatorTest {
         assertThat(foundPrincipal.getName()).isEqualTo(KNOWN_USER.getId().toString());
         assertThat(foundPrincipal.getUserId()).isEqualTo(KNOWN_USER.getId());
     }
+
+    @Test
+    public void authenticate_should_remember_valid_credentials() throws AuthenticationException {
+        //given
+        BasicCredentials validCredentials = new BasicCredentials(KNOWN_USER.getEmail(), "password");
+        when(mockedSecuredUserRepository.getByEmail(KNOWN_USER.getEmail())).thenReturn(KNOWN_USER);
+        when(mockedSecuredUserRepository.checkPassword(KNOWN_USER, "password")).thenReturn(true);
+        when(mockedCredentialCache.getGeneration()).thenReturn(3L);
+
+        //when
+        testedAuthenticator.authenticate(validCredentials);
+
+        //then
+        verify(mockedCredentialCache).putVerified(KNOWN_USER.getEmail(), "password", KNOWN_USER.getId(), 3L);
+    }
+
+    @Test
+    public void authenticate_should_not_hash_already_verified_credentials() throws AuthenticationException {
+        //given
+        BasicCredentials verifiedCredentials = new BasicCredentials(KNOWN_USER.getEmail(), "password");
+        when(mockedCredentialCache.getVerifiedUserId(KNOWN_USER.getEmail(), "password")).thenReturn(KNOWN_USER.getId());
+
+        //when
+        Optional<BasicUserPrincipal> result = testedAuthenticator.authenticate(verifiedCredentials);
+
+        //then
+        assertThat(result).isPresent();
+        assertThat(result.get().getUserId()).isEqualTo(KNOWN_USER.getId());
+        verify(mockedSecuredUserRepository, never()).checkPassword(any(), anyString());
+    }
 }
@@ -5,11 +5,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository.AUTH_CODE_TTL_IN_MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -104,4 +107,45 @@ public class OAuth2AuthorizationCodeRepositoryTest {
         //then
         verify(testedRepo, never()).processDeleteByCode(any());
     }
+
+    @Test
+    public void consume_should_return_null_with_blank_code() {
+        //given
+        String blankCode = "  ";
+
+        //when
+        OAuth2AuthorizationCode result = testedRepo.consume(blankCode);
+
+        //then
+        assertThat(result).isNull();
+        verify(testedRepo, never()).processConsume(any());
+    }
+
+    @Test
+    public void consume_should_return_null_with_expired_code() {
+        //given
+        OAuth2AuthorizationCode expiredCode = OAuth2AuthorizationCode.Builder.createDefault()
+                .withCreationDate(LocalDateTime.now().minusMinutes(AUTH_CODE_TTL_IN_MINUTES + 1))
+                .build();
+        doReturn(expiredCode).when(testedRepo).processConsume(expiredCode.getCode());
+
+        //when
+        OAuth2AuthorizationCode result = testedRepo.consume(expiredCode.getCode());
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void consume_should_return_valid_code() {
+        //given
+        OAuth2AuthorizationCode validCode = OAuth2AuthorizationCode.Builder.createDefault().build();
+        doReturn(validCode).when(testedRepo).processConsume(validCode.getCode());
+
+        //when
+        OAuth2AuthorizationCode result = testedRepo.consume(validCode.getCode());
+
+        //then
+        assertThat(result).isEqualTo(validCode);
+    }
 }
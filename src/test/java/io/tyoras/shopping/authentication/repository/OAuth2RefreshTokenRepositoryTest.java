@@ -0,0 +1,124 @@
+package io.tyoras.shopping.authentication.repository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository.REFRESH_TOKEN_TTL_IN_DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OAuth2RefreshTokenRepositoryTest {
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    OAuth2RefreshTokenRepository testedRepo;
+
+    @Test
+    public void create_should_do_nothing_with_blank_token() {
+        //given
+        String blankToken = "  ";
+
+        //when
+        testedRepo.create(blankToken, UUID.randomUUID(), UUID.randomUUID());
+
+        //then
+        verify(testedRepo, never()).processCreate(any(), any(), any());
+    }
+
+    @Test
+    public void create_should_do_nothing_with_null_user_id() {
+        //given
+        UUID nullUserId = null;
+
+        //when
+        testedRepo.create("token", nullUserId, UUID.randomUUID());
+
+        //then
+        verify(testedRepo, never()).processCreate(any(), any(), any());
+    }
+
+    @Test
+    public void create_should_do_nothing_with_null_client_id() {
+        //given
+        UUID nullClientId = null;
+
+        //when
+        testedRepo.create("token", UUID.randomUUID(), nullClientId);
+
+        //then
+        verify(testedRepo, never()).processCreate(any(), any(), any());
+    }
+
+    @Test
+    public void consume_should_return_null_with_blank_token() {
+        //given
+        String blankToken = "  ";
+
+        //when
+        OAuth2RefreshToken result = testedRepo.consume(blankToken, UUID.randomUUID());
+
+        //then
+        assertThat(result).isNull();
+        verify(testedRepo, never()).processConsume(any(), any());
+    }
+
+    @Test
+    public void consume_should_return_null_with_null_client_id() {
+        //given
+        UUID nullClientId = null;
+
+        //when
+        OAuth2RefreshToken result = testedRepo.consume("token", nullClientId);
+
+        //then
+        assertThat(result).isNull();
+        verify(testedRepo, never()).processConsume(any(), any());
+    }
+
+    @Test
+    public void consume_should_return_null_with_expired_token() {
+        //given
+        OAuth2RefreshToken expiredToken = OAuth2RefreshToken.Builder.createDefault()
+                .withCreationDate(LocalDateTime.now().minusDays(REFRESH_TOKEN_TTL_IN_DAYS + 1))
+                .build();
+        doReturn(expiredToken).when(testedRepo).processConsume(expiredToken.getToken(), expiredToken.getClientId());
+
+        //when
+        OAuth2RefreshToken result = testedRepo.consume(expiredToken.getToken(), expiredToken.getClientId());
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void consume_should_return_valid_token() {
+        //given
+        OAuth2RefreshToken validToken = OAuth2RefreshToken.Builder.createDefault().build();
+        doReturn(validToken).when(testedRepo).processConsume(validToken.getToken(), validToken.getClientId());
+
+        //when
+        OAuth2RefreshToken result = testedRepo.consume(validToken.getToken(), validToken.getClientId());
+
+        //then
+        assertThat(result).isEqualTo(validToken);
+    }
+
+    @Test
+    public void deleteByUserId_should_do_nothing_with_null_user_id() {
+        //given
+        UUID nullUserId = null;
+
+        //when
+        testedRepo.deleteByUserId(nullUserId);
+
+        //then
+        verify(testedRepo, never()).processDeleteByUserId(any());
+    }
+}
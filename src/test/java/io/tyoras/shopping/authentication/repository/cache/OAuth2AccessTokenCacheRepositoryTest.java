@@ -0,0 +1,139 @@
+package io.tyoras.shopping.authentication.repository.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository.ACCESS_TOKEN_TTL_IN_MINUTES;
+import static io.tyoras.shopping.authentication.repository.cache.OAuth2AccessTokenCacheRepository.CACHE_METRICS_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OAuth2AccessTokenCacheRepositoryTest {
+
+    @Mock
+    OAuth2AccessTokenRepository mockedDelegate;
+
+    MetricRegistry metrics;
+
+    OAuth2AccessTokenCacheRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricRegistry();
+        testedRepo = new OAuth2AccessTokenCacheRepository(mockedDelegate, 10, 30, metrics);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_read_delegate_only_once() {
+        //given
+        OAuth2AccessToken existingToken = OAuth2AccessToken.Builder.createDefault().withRandomId().withUserId(UUID.randomUUID()).build();
+        String token = existingToken.getToken();
+        when(mockedDelegate.getByAccessToken(token)).thenReturn(existingToken);
+
+        //when
+        UUID firstResult = testedRepo.getUserIdByAccessToken(token);
+        UUID secondResult = testedRepo.getUserIdByAccessToken(token);
+
+        //then
+        assertThat(firstResult).isEqualTo(existingToken.getuserId());
+        assertThat(secondResult).isEqualTo(existingToken.getuserId());
+        verify(mockedDelegate, times(1)).getByAccessToken(token);
+        assertThat(getGaugeValue("hits")).isEqualTo(1L);
+        assertThat(getGaugeValue("misses")).isEqualTo(1L);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_not_cache_unknown_token() {
+        //given
+        String unknownToken = "unknown";
+        when(mockedDelegate.getByAccessToken(unknownToken)).thenReturn(null);
+
+        //when
+        testedRepo.getUserIdByAccessToken(unknownToken);
+        UUID result = testedRepo.getUserIdByAccessToken(unknownToken);
+
+        //then
+        assertThat(result).isNull();
+        verify(mockedDelegate, times(2)).getByAccessToken(unknownToken);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_return_null_with_expired_token() {
+        //given
+        LocalDateTime expiredCreationDate = LocalDateTime.now().minusMinutes(ACCESS_TOKEN_TTL_IN_MINUTES + 1);
+        OAuth2AccessToken expiredToken = OAuth2AccessToken.Builder.createDefault().withCreationDate(expiredCreationDate).build();
+        String token = expiredToken.getToken();
+        when(mockedDelegate.getByAccessToken(token)).thenReturn(expiredToken);
+
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken(token);
+
+        //then
+        assertThat(result).isNull();
+        assertThat(getGaugeValue("size")).isEqualTo(0L);
+    }
+
+    @Test
+    public void deleteByAccessToken_should_evict_cached_token() {
+        //given
+        OAuth2AccessToken existingToken = OAuth2AccessToken.DEFAULT;
+        String token = existingToken.getToken();
+        when(mockedDelegate.getByAccessToken(token)).thenReturn(existingToken, (OAuth2AccessToken) null);
+        testedRepo.getUserIdByAccessToken(token);
+
+        //when
+        testedRepo.deleteByAccessToken(token);
+
+        //then
+        verify(mockedDelegate).deleteByAccessToken(token);
+        UUID result = testedRepo.getUserIdByAccessToken(token);
+        assertThat(result).isNull();
+        verify(mockedDelegate, times(2)).getByAccessToken(token);
+    }
+
+    @Test
+    public void deleteByUserId_should_evict_user_cached_tokens() {
+        //given
+        OAuth2AccessToken existingToken = OAuth2AccessToken.DEFAULT;
+        String token = existingToken.getToken();
+        when(mockedDelegate.getByAccessToken(token)).thenReturn(existingToken);
+        testedRepo.getUserIdByAccessToken(token);
+
+        //when
+        testedRepo.deleteByUserId(existingToken.getuserId());
+
+        //then
+        verify(mockedDelegate).deleteByUserId(existingToken.getuserId());
+        assertThat(getGaugeValue("size")).isEqualTo(0L);
+    }
+
+    @Test
+    public void create_should_delegate() {
+        //given
+        String token = "token";
+        UUID userId = UUID.randomUUID();
+
+        //when
+        testedRepo.create(token, userId);
+
+        //then
+        verify(mockedDelegate).create(token, userId);
+    }
+
+    private Object getGaugeValue(String metricName) {
+        Gauge<?> gauge = metrics.getGauges().get(name(CACHE_METRICS_NAME, metricName));
+        return gauge.getValue();
+    }
+}
@@ -0,0 +1,147 @@
+package io.tyoras.shopping.authentication.repository.jwt;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocationRepository;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.security.Key;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope.USER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OAuth2AccessTokenJwtRepositoryTest {
+
+    private static final Key SIGNING_KEY = SecurityHelper.toSigningKey(Base64.getEncoder().encodeToString("a 256 bits long test signing key".getBytes()));
+    private static final Key OTHER_KEY = SecurityHelper.toSigningKey(Base64.getEncoder().encodeToString("another 256 bits test signing key".getBytes()));
+
+    @Mock
+    OAuth2TokenRevocationRepository mockedRevocationRepo;
+
+    OAuth2AccessTokenJwtRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        testedRepo = new OAuth2AccessTokenJwtRepository(mockedRevocationRepo, SIGNING_KEY);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_work_with_generated_token() {
+        //given
+        UUID expectedUserId = UUID.randomUUID();
+        String accessToken = testedRepo.generateAccessToken(expectedUserId);
+        testedRepo.create(accessToken, expectedUserId);
+
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken(accessToken);
+
+        //then
+        assertThat(result).isEqualTo(expectedUserId);
+        verifyZeroInteractions(mockedRevocationRepo);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_return_null_with_unsigned_token() {
+        //given
+        String unsignedToken = SecurityHelper.generateJWT(UUID.randomUUID());
+
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken(unsignedToken);
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_return_null_with_token_signed_by_another_key() {
+        //given
+        String otherToken = SecurityHelper.generateSignedJWT(UUID.randomUUID(), UUID.randomUUID(), OTHER_KEY);
+
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken(otherToken);
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_return_null_with_garbage_token() {
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken("not a jwt");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void deleteByAccessToken_should_revoke_token() {
+        //given
+        UUID userId = UUID.randomUUID();
+        String accessToken = testedRepo.generateAccessToken(userId);
+        String otherAccessToken = testedRepo.generateAccessToken(userId);
+
+        //when
+        testedRepo.deleteByAccessToken(accessToken);
+
+        //then
+        verify(mockedRevocationRepo).revokeToken(any());
+        assertThat(testedRepo.getUserIdByAccessToken(accessToken)).isNull();
+        assertThat(testedRepo.getUserIdByAccessToken(otherAccessToken)).isEqualTo(userId);
+    }
+
+    @Test
+    public void deleteByAccessToken_should_ignore_invalid_token() {
+        //when
+        testedRepo.deleteByAccessToken("not a jwt");
+
+        //then
+        verify(mockedRevocationRepo, never()).revokeToken(any());
+    }
+
+    @Test
+    public void deleteByUserId_should_revoke_all_user_tokens() {
+        //given
+        UUID userId = UUID.randomUUID();
+        String accessToken = testedRepo.generateAccessToken(userId);
+        UUID otherUserId = UUID.randomUUID();
+        String otherUserAccessToken = testedRepo.generateAccessToken(otherUserId);
+
+        //when
+        testedRepo.deleteByUserId(userId);
+
+        //then
+        verify(mockedRevocationRepo).revokeUserTokens(userId);
+        assertThat(testedRepo.getUserIdByAccessToken(accessToken)).isNull();
+        assertThat(testedRepo.getUserIdByAccessToken(otherUserAccessToken)).isEqualTo(otherUserId);
+    }
+
+    @Test
+    public void refreshDenyList_should_load_revocations_from_other_nodes() {
+        //given
+        UUID userId = UUID.randomUUID();
+        String accessToken = testedRepo.generateAccessToken(userId);
+        OAuth2TokenRevocation userRevocation = OAuth2TokenRevocation.Builder.createDefault()
+                .withId(userId)
+                .withScope(USER)
+                .withRevocationDate(LocalDateTime.now())
+                .build();
+        when(mockedRevocationRepo.getAll()).thenReturn(ImmutableList.of(userRevocation));
+
+        //when
+        testedRepo.refreshDenyList();
+
+        //then
+        assertThat(testedRepo.getUserIdByAccessToken(accessToken)).isNull();
+    }
+}
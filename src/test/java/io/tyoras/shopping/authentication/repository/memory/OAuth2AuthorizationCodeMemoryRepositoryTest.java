@@ -0,0 +1,71 @@
+package io.tyoras.shopping.authentication.repository.memory;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OAuth2AuthorizationCodeMemoryRepositoryTest {
+
+    OAuth2AuthorizationCodeMemoryRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        testedRepo = new OAuth2AuthorizationCodeMemoryRepository(10, new MetricRegistry());
+    }
+
+    @Test
+    public void getUserIdByAuthorizationCode_should_return_null_with_not_existing_auth_code() {
+        //when
+        UUID result = testedRepo.getUserIdByAuthorizationCode("not existing code");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getUserIdByAuthorizationCode_should_work_with_existing_auth_code() {
+        //given
+        UUID expectedUserId = UUID.randomUUID();
+        testedRepo.create("code", expectedUserId);
+
+        //when
+        UUID result = testedRepo.getUserIdByAuthorizationCode("code");
+
+        //then
+        assertThat(result).isEqualTo(expectedUserId);
+    }
+
+    @Test
+    public void consume_should_only_work_once() {
+        //given
+        UUID expectedUserId = UUID.randomUUID();
+        testedRepo.create("code", expectedUserId);
+
+        //when
+        OAuth2AuthorizationCode firstResult = testedRepo.consume("code");
+        OAuth2AuthorizationCode secondResult = testedRepo.consume("code");
+
+        //then
+        assertThat(firstResult).isNotNull();
+        assertThat(firstResult.getCode()).isEqualTo("code");
+        assertThat(firstResult.getuserId()).isEqualTo(expectedUserId);
+        assertThat(secondResult).isNull();
+    }
+
+    @Test
+    public void deleteByCode_should_work_with_existing_auth_code() {
+        //given
+        testedRepo.create("code", UUID.randomUUID());
+
+        //when
+        testedRepo.deleteByCode("code");
+
+        //then
+        assertThat(testedRepo.getUserIdByAuthorizationCode("code")).isNull();
+    }
+}
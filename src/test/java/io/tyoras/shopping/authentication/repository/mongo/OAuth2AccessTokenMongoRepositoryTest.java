@@ -10,6 +10,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 import static io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepositoryErrorMessage.PROBLEM_CREATION_ACCESS_TOKEN;
@@ -45,6 +46,20 @@ public class OAuth2AccessTokenMongoRepositoryTest extends FongoBackedTest {
         assertThat(foundUserId).isEqualTo(userId);
     }
 
+    @Test
+    public void createAll_should_work() {
+        //given
+        OAuth2AccessToken firstToken = OAuth2AccessToken.Builder.createDefault().withRandomId().withToken("token1").withUserId(UUID.randomUUID()).build();
+        OAuth2AccessToken secondToken = OAuth2AccessToken.Builder.createDefault().withRandomId().withToken("token2").withUserId(UUID.randomUUID()).build();
+
+        //when
+        testedRepo.createAll(Arrays.asList(firstToken, secondToken));
+
+        //then
+        assertThat(testedRepo.getUserIdByAccessToken("token1")).isEqualTo(firstToken.getuserId());
+        assertThat(testedRepo.getUserIdByAccessToken("token2")).isEqualTo(secondToken.getuserId());
+    }
+
     @Ignore //Fongo does not use the indexes
     @Test(expected = ApplicationException.class)
     public void create_should_fail_with_already_existing_access_token() {
@@ -99,6 +114,22 @@ public class OAuth2AccessTokenMongoRepositoryTest extends FongoBackedTest {
         assertThat(result).isEqualTo(expectedUserId);
     }
 
+    @Test
+    public void getByAccessToken_should_work_with_existing_access_token() {
+        //given
+        String existingToken = "token";
+        UUID expectedUserId = UUID.randomUUID();
+        testedRepo.create(existingToken, expectedUserId);
+
+        //when
+        OAuth2AccessToken result = testedRepo.getByAccessToken(existingToken);
+
+        //then
+        assertThat(result).isNotNull();
+        assertThat(result.getToken()).isEqualTo(existingToken);
+        assertThat(result.getuserId()).isEqualTo(expectedUserId);
+    }
+
     @Test
     public void deleteByToken_should_not_fail_with_not_existing_access_token() {
         //given
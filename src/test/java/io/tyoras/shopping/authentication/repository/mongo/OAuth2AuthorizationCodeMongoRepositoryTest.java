@@ -124,4 +124,20 @@ public class OAuth2AuthorizationCodeMongoRepositoryTest extends FongoBackedTest
         UUID result = testedRepo.getUserIdByAuthorizationCode(existingAuthCode);
         assertThat(result).isNull();
     }
+
+    @Test
+    public void consume_should_return_and_delete_existing_auth_code() {
+        //given
+        String existingAuthCode = "code";
+        UUID expectedUserId = UUID.randomUUID();
+        testedRepo.create(existingAuthCode, expectedUserId);
+
+        //when
+        OAuth2AuthorizationCode result = testedRepo.consume(existingAuthCode);
+
+        //then
+        assertThat(result).isNotNull();
+        assertThat(result.getuserId()).isEqualTo(expectedUserId);
+        assertThat(testedRepo.consume(existingAuthCode)).isNull();
+    }
 }
@@ -0,0 +1,56 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
+import org.bson.Document;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoConverter.*;
+import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OAuth2RefreshTokenMongoConverterTest {
+
+    @Test
+    public void fromDocument_should_return_null_with_null_document() {
+        //given
+        Document nullDoc = null;
+        OAuth2RefreshTokenMongoConverter testedConverter = new OAuth2RefreshTokenMongoConverter();
+
+        //when
+        OAuth2RefreshToken result = testedConverter.fromDocument(nullDoc);
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void toDocument_then_fromDocument_should_keep_the_refresh_token() {
+        //given
+        OAuth2RefreshToken expectedToken = OAuth2RefreshToken.Builder.createDefault()
+                .withRandomId()
+                .withToken("token")
+                .withUserId(UUID.randomUUID())
+                .withClientId(UUID.randomUUID())
+                .build();
+        OAuth2RefreshTokenMongoConverter testedConverter = new OAuth2RefreshTokenMongoConverter();
+
+        //when
+        Document doc = testedConverter.toDocument(expectedToken);
+        OAuth2RefreshToken result = testedConverter.fromDocument(doc);
+
+        //then
+        assertThat(doc.get(FIELD_ID, UUID.class)).isEqualTo(expectedToken.getId());
+        assertThat(doc.getString(FIELD_TOKEN)).isEqualTo(expectedToken.getToken());
+        assertThat(doc.get(FIELD_USER_ID, UUID.class)).isEqualTo(expectedToken.getUserId());
+        assertThat(doc.get(FIELD_CLIENT_ID, UUID.class)).isEqualTo(expectedToken.getClientId());
+        assertThat(DateHelper.toLocalDateTime(doc.getDate(FIELD_CREATED))).isEqualToIgnoringNanos(expectedToken.getCreationDate());
+        assertThat(result.getId()).isEqualTo(expectedToken.getId());
+        assertThat(result.getToken()).isEqualTo(expectedToken.getToken());
+        assertThat(result.getUserId()).isEqualTo(expectedToken.getUserId());
+        assertThat(result.getClientId()).isEqualTo(expectedToken.getClientId());
+        assertThat(result.getCreationDate()).isEqualToIgnoringNanos(expectedToken.getCreationDate());
+    }
+}
@@ -0,0 +1,110 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import com.mongodb.client.MongoCollection;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.test.fongo.FongoBackedTest;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.mongo.OAuth2RefreshTokenMongoRepository.REFRESH_TOKEN_COLLECTION;
+import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OAuth2RefreshTokenMongoRepositoryTest extends FongoBackedTest {
+
+    private final OAuth2RefreshTokenMongoConverter converter = new OAuth2RefreshTokenMongoConverter();
+    private final MongoCollection<Document> refreshTokenCollection = getFongoDbConnectionFactory().getCollection(SHOPPING, REFRESH_TOKEN_COLLECTION);
+
+    @InjectMocks
+    OAuth2RefreshTokenMongoRepository testedRepo;
+
+    @Test
+    public void create_should_work() {
+        //given
+        String refreshToken = "token";
+        UUID userId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+
+        //when
+        testedRepo.create(refreshToken, userId, clientId);
+
+        //then
+        Bson filter = converter.filterByToken(refreshToken);
+        Document result = refreshTokenCollection.find().filter(filter).first();
+        OAuth2RefreshToken found = converter.fromDocument(result);
+
+        assertThat(found.getToken()).isEqualTo(refreshToken);
+        assertThat(found.getUserId()).isEqualTo(userId);
+        assertThat(found.getClientId()).isEqualTo(clientId);
+    }
+
+    @Test
+    public void consume_should_return_null_with_unknown_token() {
+        //given
+        String unknownToken = "unknown";
+
+        //when
+        OAuth2RefreshToken result = testedRepo.consume(unknownToken, UUID.randomUUID());
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void consume_should_only_work_once() {
+        //given
+        String refreshToken = "token";
+        UUID userId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        testedRepo.create(refreshToken, userId, clientId);
+
+        //when
+        OAuth2RefreshToken firstResult = testedRepo.consume(refreshToken, clientId);
+        OAuth2RefreshToken secondResult = testedRepo.consume(refreshToken, clientId);
+
+        //then
+        assertThat(firstResult).isNotNull();
+        assertThat(firstResult.getUserId()).isEqualTo(userId);
+        assertThat(firstResult.getClientId()).isEqualTo(clientId);
+        assertThat(secondResult).isNull();
+        assertThat(refreshTokenCollection.count()).isEqualTo(0);
+    }
+
+    @Test
+    public void consume_should_not_consume_the_token_of_another_client() {
+        //given
+        String refreshToken = "token";
+        UUID userId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        testedRepo.create(refreshToken, userId, clientId);
+
+        //when
+        OAuth2RefreshToken otherClientResult = testedRepo.consume(refreshToken, UUID.randomUUID());
+
+        //then
+        assertThat(otherClientResult).isNull();
+        assertThat(refreshTokenCollection.count()).isEqualTo(1);
+        assertThat(testedRepo.consume(refreshToken, clientId)).isNotNull();
+    }
+
+    @Test
+    public void deleteByUserId_should_only_delete_the_user_tokens() {
+        //given
+        UUID userId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        testedRepo.create("token1", userId, clientId);
+        testedRepo.create("token2", userId, clientId);
+        testedRepo.create("other user token", UUID.randomUUID(), clientId);
+
+        //when
+        testedRepo.deleteByUserId(userId);
+
+        //then
+        assertThat(refreshTokenCollection.count()).isEqualTo(1);
+        assertThat(testedRepo.consume("other user token", clientId)).isNotNull();
+    }
+}
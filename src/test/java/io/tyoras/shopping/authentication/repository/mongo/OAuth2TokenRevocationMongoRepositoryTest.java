@@ -0,0 +1,59 @@
+package io.tyoras.shopping.authentication.repository.mongo;
+
+import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation;
+import io.tyoras.shopping.test.fongo.FongoBackedTest;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope.TOKEN;
+import static io.tyoras.shopping.authentication.repository.OAuth2TokenRevocation.Scope.USER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OAuth2TokenRevocationMongoRepositoryTest extends FongoBackedTest {
+
+    @InjectMocks
+    OAuth2TokenRevocationMongoRepository testedRepo;
+
+    @Test
+    public void getAll_should_return_empty_without_revocation() {
+        //when
+        ImmutableList<OAuth2TokenRevocation> result = testedRepo.getAll();
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void revokeToken_should_work() {
+        //given
+        UUID tokenId = UUID.randomUUID();
+
+        //when
+        testedRepo.revokeToken(tokenId);
+
+        //then
+        ImmutableList<OAuth2TokenRevocation> result = testedRepo.getAll();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(tokenId);
+        assertThat(result.get(0).getScope()).isEqualTo(TOKEN);
+    }
+
+    @Test
+    public void revokeUserTokens_should_replace_previous_user_revocation() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.revokeUserTokens(userId);
+
+        //when
+        testedRepo.revokeUserTokens(userId);
+
+        //then
+        ImmutableList<OAuth2TokenRevocation> result = testedRepo.getAll();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(userId);
+        assertThat(result.get(0).getScope()).isEqualTo(USER);
+    }
+}
@@ -0,0 +1,139 @@
+package io.tyoras.shopping.authentication.repository.writebehind;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static io.tyoras.shopping.authentication.repository.writebehind.OAuth2AccessTokenWriteBehindRepository.METRICS_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OAuth2AccessTokenWriteBehindRepositoryTest {
+
+    @Mock
+    OAuth2AccessTokenRepository mockedDelegate;
+
+    MetricRegistry metrics;
+
+    OAuth2AccessTokenWriteBehindRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricRegistry();
+        testedRepo = new OAuth2AccessTokenWriteBehindRepository(mockedDelegate, 3, 2, metrics);
+    }
+
+    @Test
+    public void getUserIdByAccessToken_should_find_not_yet_flushed_token() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.create("token", userId);
+
+        //when
+        UUID result = testedRepo.getUserIdByAccessToken("token");
+
+        //then
+        assertThat(result).isEqualTo(userId);
+        verify(mockedDelegate, never()).createAll(anyList());
+        verify(mockedDelegate, never()).getByAccessToken(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_should_store_queued_tokens_by_batches() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.create("token1", userId);
+        testedRepo.create("token2", userId);
+        testedRepo.create("token3", userId);
+
+        //when
+        testedRepo.flush();
+
+        //then
+        ArgumentCaptor<List<OAuth2AccessToken>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockedDelegate, times(2)).createAll(batchCaptor.capture());
+        assertThat(metrics.histogram(name(METRICS_NAME, "batch-size")).getCount()).isEqualTo(2);
+        assertThat(metrics.timer(name(METRICS_NAME, "flush-latency")).getCount()).isEqualTo(2);
+
+        //flushed tokens are read from the delegate
+        testedRepo.getByAccessToken("token1");
+        verify(mockedDelegate).getByAccessToken("token1");
+    }
+
+    @Test
+    public void create_should_store_synchronously_when_queue_is_full() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.create("token1", userId);
+        testedRepo.create("token2", userId);
+        testedRepo.create("token3", userId);
+
+        //when
+        testedRepo.create("token4", userId);
+
+        //then
+        verify(mockedDelegate).createAll(argThat(batch -> batch.size() == 1 && "token4".equals(batch.get(0).getToken())));
+        assertThat(metrics.meter(name(METRICS_NAME, "overflows")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void flush_should_keep_tokens_queued_when_delegate_fails() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.create("token", userId);
+        doThrow(new RuntimeException("store down")).when(mockedDelegate).createAll(anyList());
+
+        //when
+        testedRepo.flush();
+
+        //then
+        assertThat(testedRepo.getUserIdByAccessToken("token")).isEqualTo(userId);
+        doNothing().when(mockedDelegate).createAll(anyList());
+        testedRepo.flush();
+        verify(mockedDelegate, times(2)).createAll(anyList());
+    }
+
+    @Test
+    public void deleteByAccessToken_should_drop_not_yet_flushed_token() {
+        //given
+        testedRepo.create("token", UUID.randomUUID());
+
+        //when
+        testedRepo.deleteByAccessToken("token");
+        testedRepo.flush();
+
+        //then
+        verify(mockedDelegate).deleteByAccessToken("token");
+        verify(mockedDelegate, never()).createAll(anyList());
+        assertThat(testedRepo.getUserIdByAccessToken("token")).isNull();
+    }
+
+    @Test
+    public void deleteByUserId_should_drop_not_yet_flushed_user_tokens() {
+        //given
+        UUID userId = UUID.randomUUID();
+        testedRepo.create("token1", userId);
+        testedRepo.create("token2", UUID.randomUUID());
+
+        //when
+        testedRepo.deleteByUserId(userId);
+        testedRepo.flush();
+
+        //then
+        verify(mockedDelegate).deleteByUserId(userId);
+        verify(mockedDelegate).createAll(argThat(batch -> batch.size() == 1 && "token2".equals(batch.get(0).getToken())));
+    }
+}
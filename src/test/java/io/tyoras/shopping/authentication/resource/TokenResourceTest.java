@@ -2,7 +2,10 @@ package io.tyoras.shopping.authentication.resource;
 
 import io.tyoras.shopping.authentication.OAuthTokenRequest;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
 import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCodeRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshToken;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
 import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
@@ -32,6 +35,7 @@ import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +50,8 @@ public class TokenResourceTest {
     ClientAppRepository mockedClientAppRepo;
     @Mock
     SecuredUserRepository mockedUserRepo;
+    @Mock
+    OAuth2RefreshTokenRepository mockedRefreshTokenRepo;
     @Spy
     @InjectMocks
     private TokenResource testedResource;
@@ -53,7 +59,7 @@ public class TokenResourceTest {
     @Before
     public void before() {
         when(mockedClientAppRepo.getById(ClientApp.DEFAULT_ID)).thenReturn(ClientApp.DEFAULT);
-        when(mockedClientAppRepo.hashSecret(eq(ClientApp.DEFAULT.getSecret()), any())).thenReturn(ClientApp.DEFAULT.getSecret());
+        when(mockedClientAppRepo.checkSecret(ClientApp.DEFAULT, ClientApp.DEFAULT.getSecret())).thenReturn(true);
     }
 
     @Test
@@ -189,7 +195,7 @@ public class TokenResourceTest {
     public void authorize_should_handle_valid_authz_code_request() throws OAuthSystemException {
         //given
         String validAuthzCode = "valid";
-        when(mockedAuthorizationCodeRepo.getUserIdByAuthorizationCode(validAuthzCode)).thenReturn(User.DEFAULT_ID);
+        when(mockedAuthorizationCodeRepo.consume(validAuthzCode)).thenReturn(OAuth2AuthorizationCode.Builder.createDefault().withCode(validAuthzCode).withUserId(User.DEFAULT_ID).build());
         OAuthTokenRequest requestWithValidAuthzCode = new OAuthTokenRequest();
         requestWithValidAuthzCode.setClientId(ClientApp.DEFAULT_ID.toString());
         requestWithValidAuthzCode.setClientSecret(ClientApp.DEFAULT.getSecret());
@@ -217,7 +223,7 @@ public class TokenResourceTest {
                 .build();
 
         when(mockedUserRepo.getByEmail(securedUser.getEmail())).thenReturn(securedUser);
-        when(mockedUserRepo.hashPassword(password, "salt")).thenReturn(securedUser.getPassword());
+        when(mockedUserRepo.checkPassword(securedUser, password)).thenReturn(true);
         OAuthTokenRequest requestWithValidPassword = new OAuthTokenRequest();
         requestWithValidPassword.setClientId(ClientApp.DEFAULT_ID.toString());
         //FIXME apche otlu bug => client secret should not be required for passw ord flow
@@ -234,4 +240,131 @@ public class TokenResourceTest {
         assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
         assertThat(response.getEntity()).isNotNull();
     }
+
+    @Test
+    public void authorize_should_issue_a_refresh_token_with_the_access_token() throws OAuthSystemException {
+        //given
+        String validAuthzCode = "valid";
+        when(mockedAuthorizationCodeRepo.consume(validAuthzCode)).thenReturn(OAuth2AuthorizationCode.Builder.createDefault().withCode(validAuthzCode).withUserId(User.DEFAULT_ID).build());
+        OAuthTokenRequest requestWithValidAuthzCode = new OAuthTokenRequest();
+        requestWithValidAuthzCode.setClientId(ClientApp.DEFAULT_ID.toString());
+        requestWithValidAuthzCode.setClientSecret(ClientApp.DEFAULT.getSecret());
+        requestWithValidAuthzCode.setGrantType(GrantType.AUTHORIZATION_CODE.toString());
+        requestWithValidAuthzCode.setRedirectUri(VALID_REDIRECT_URI);
+        requestWithValidAuthzCode.setCode(validAuthzCode);
+
+        //when
+        Response response = testedResource.authorize(requestWithValidAuthzCode);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        assertThat((String) response.getEntity()).contains("refresh_token");
+        verify(mockedRefreshTokenRepo).create(anyString(), eq(User.DEFAULT_ID), eq(ClientApp.DEFAULT_ID));
+    }
+
+    @Test
+    public void authorize_should_return_bad_request_with_missing_refresh_token() throws OAuthSystemException {
+        //given
+        OAuthTokenRequest requestWithoutRefreshToken = new OAuthTokenRequest();
+        requestWithoutRefreshToken.setClientId(ClientApp.DEFAULT_ID.toString());
+        requestWithoutRefreshToken.setClientSecret(ClientApp.DEFAULT.getSecret());
+        requestWithoutRefreshToken.setGrantType(GrantType.REFRESH_TOKEN.toString());
+
+        //when
+        Response response = testedResource.authorize(requestWithoutRefreshToken);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(BAD_REQUEST.getStatusCode());
+        verify(mockedRefreshTokenRepo, never()).consume(any(), any());
+        verify(testedResource, never()).generateAccessToken(any());
+    }
+
+    @Test
+    public void authorize_should_fail_with_unknown_refresh_token() throws OAuthSystemException {
+        //given
+        OAuthTokenRequest requestWithUnknownRefreshToken = new OAuthTokenRequest();
+        requestWithUnknownRefreshToken.setClientId(ClientApp.DEFAULT_ID.toString());
+        requestWithUnknownRefreshToken.setClientSecret(ClientApp.DEFAULT.getSecret());
+        requestWithUnknownRefreshToken.setGrantType(GrantType.REFRESH_TOKEN.toString());
+        requestWithUnknownRefreshToken.setRefreshToken("unknown");
+
+        //when
+        Response response = testedResource.authorize(requestWithUnknownRefreshToken);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(BAD_REQUEST.getStatusCode());
+        assertThat((String) response.getEntity()).contains(INVALID_REFRESH_TOKEN.getDevReadableMessage());
+        verify(testedResource, never()).generateAccessToken(any());
+    }
+
+    @Test
+    public void authorize_should_fail_with_refresh_token_of_another_client() throws OAuthSystemException {
+        //given
+        String otherClientToken = "other client token";
+        OAuthTokenRequest requestWithOtherClientToken = new OAuthTokenRequest();
+        requestWithOtherClientToken.setClientId(ClientApp.DEFAULT_ID.toString());
+        requestWithOtherClientToken.setClientSecret(ClientApp.DEFAULT.getSecret());
+        requestWithOtherClientToken.setGrantType(GrantType.REFRESH_TOKEN.toString());
+        requestWithOtherClientToken.setRefreshToken(otherClientToken);
+
+        //when
+        Response response = testedResource.authorize(requestWithOtherClientToken);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(BAD_REQUEST.getStatusCode());
+        //only a token of the requesting client can be consumed, the token of the other client stays usable
+        verify(mockedRefreshTokenRepo).consume(otherClientToken, ClientApp.DEFAULT_ID);
+        verify(testedResource, never()).generateAccessToken(any());
+    }
+
+    @Test(expected = WebApiException.class)
+    public void authorize_should_not_consume_refresh_token_with_invalid_client_secret() throws OAuthSystemException {
+        //given
+        UUID clientId = ClientApp.DEFAULT_ID;
+        String expectedMessage = INVALID_CLIENT_SECRET.getDevReadableMessage(clientId);
+        OAuthTokenRequest requestWithInvalidSecret = new OAuthTokenRequest();
+        requestWithInvalidSecret.setClientId(clientId.toString());
+        requestWithInvalidSecret.setClientSecret("invalid secret");
+        requestWithInvalidSecret.setGrantType(GrantType.REFRESH_TOKEN.toString());
+        requestWithInvalidSecret.setRefreshToken("token");
+
+        //when
+        try {
+            testedResource.authorize(requestWithInvalidSecret);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, WARNING, API_RESPONSE, expectedMessage);
+            verify(mockedRefreshTokenRepo, never()).consume(any(), any());
+            verify(testedResource, never()).generateAccessToken(any());
+            throw wae;
+        }
+    }
+
+    @Test
+    public void authorize_should_handle_valid_refresh_token_request_without_checking_the_password() throws OAuthSystemException {
+        //given
+        OAuth2RefreshToken validToken = OAuth2RefreshToken.Builder.createDefault()
+                .withRandomId()
+                .withToken("valid token")
+                .withUserId(User.DEFAULT_ID)
+                .withClientId(ClientApp.DEFAULT_ID)
+                .build();
+        when(mockedRefreshTokenRepo.consume(validToken.getToken(), ClientApp.DEFAULT_ID)).thenReturn(validToken);
+        OAuthTokenRequest requestWithValidRefreshToken = new OAuthTokenRequest();
+        requestWithValidRefreshToken.setClientId(ClientApp.DEFAULT_ID.toString());
+        requestWithValidRefreshToken.setClientSecret(ClientApp.DEFAULT.getSecret());
+        requestWithValidRefreshToken.setGrantType(GrantType.REFRESH_TOKEN.toString());
+        requestWithValidRefreshToken.setRefreshToken(validToken.getToken());
+
+        //when
+        Response response = testedResource.authorize(requestWithValidRefreshToken);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        verify(testedResource).generateAccessToken(User.DEFAULT_ID);
+        //the consumed token is replaced by a new one
+        verify(mockedRefreshTokenRepo).create(anyString(), eq(User.DEFAULT_ID), eq(ClientApp.DEFAULT_ID));
+        verify(mockedUserRepo, never()).checkPassword(any(), any());
+        verify(mockedClientAppRepo).checkSecret(ClientApp.DEFAULT, ClientApp.DEFAULT.getSecret());
+    }
 }
@@ -0,0 +1,159 @@
+package io.tyoras.shopping.client.app.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.client.app.ClientApp;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientAppCacheRepositoryTest {
+
+    private static final String SECRET = "secret";
+
+    @Mock
+    ClientAppRepository mockedDelegate;
+
+    ClientAppCacheRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        testedRepo = new ClientAppCacheRepository(mockedDelegate, 10, 5, new MetricRegistry());
+    }
+
+    private ClientApp generateClientAppWithSecret(String secret) {
+        String salt = UUID.randomUUID().toString();
+        return ClientApp.Builder.createFrom(TestHelper.generateRandomClientApp())
+                .withSalt(salt)
+                .withSecret(SecurityHelper.hash(secret, salt))
+                .build();
+    }
+
+    @Test
+    public void getById_should_read_delegate_only_once() {
+        //given
+        ClientApp existingApp = TestHelper.generateRandomClientApp();
+        when(mockedDelegate.processGetById(existingApp.getId())).thenReturn(existingApp);
+
+        //when
+        ClientApp firstResult = testedRepo.getById(existingApp.getId());
+        ClientApp secondResult = testedRepo.getById(existingApp.getId());
+
+        //then
+        assertThat(firstResult).isEqualTo(existingApp);
+        assertThat(secondResult).isEqualTo(existingApp);
+        verify(mockedDelegate, times(1)).processGetById(existingApp.getId());
+    }
+
+    @Test
+    public void getById_should_not_cache_unknown_client_app() {
+        //given
+        UUID unknownAppId = UUID.randomUUID();
+
+        //when
+        testedRepo.getById(unknownAppId);
+        ClientApp result = testedRepo.getById(unknownAppId);
+
+        //then
+        assertThat(result).isNull();
+        verify(mockedDelegate, times(2)).processGetById(unknownAppId);
+    }
+
+    @Test
+    public void checkSecret_should_hash_a_valid_secret_only_once() {
+        //given
+        ClientApp existingApp = generateClientAppWithSecret(SECRET);
+        when(mockedDelegate.hashSecret(any(), any())).thenAnswer(invocation -> SecurityHelper.hash(invocation.getArgument(0), invocation.getArgument(1)));
+
+        //when
+        boolean firstResult = testedRepo.checkSecret(existingApp, SECRET);
+        boolean secondResult = testedRepo.checkSecret(existingApp, SECRET);
+
+        //then
+        assertThat(firstResult).isTrue();
+        assertThat(secondResult).isTrue();
+        verify(mockedDelegate, times(1)).hashSecret(any(), any());
+    }
+
+    @Test
+    public void checkSecret_should_not_remember_invalid_secret() {
+        //given
+        ClientApp existingApp = generateClientAppWithSecret(SECRET);
+        when(mockedDelegate.hashSecret(any(), any())).thenAnswer(invocation -> SecurityHelper.hash(invocation.getArgument(0), invocation.getArgument(1)));
+
+        //when
+        boolean firstResult = testedRepo.checkSecret(existingApp, "invalid secret");
+        boolean secondResult = testedRepo.checkSecret(existingApp, "invalid secret");
+
+        //then
+        assertThat(firstResult).isFalse();
+        assertThat(secondResult).isFalse();
+        verify(mockedDelegate, times(2)).hashSecret(any(), any());
+    }
+
+    @Test
+    public void update_should_invalidate_cached_client_app_and_secret() {
+        //given
+        ClientApp existingApp = generateClientAppWithSecret(SECRET);
+        when(mockedDelegate.processGetById(existingApp.getId())).thenReturn(existingApp);
+        when(mockedDelegate.hashSecret(any(), any())).thenAnswer(invocation -> SecurityHelper.hash(invocation.getArgument(0), invocation.getArgument(1)));
+        testedRepo.checkSecret(existingApp, SECRET);
+
+        //when
+        testedRepo.update(existingApp);
+
+        //then
+        verify(mockedDelegate).processUpdate(any());
+        testedRepo.getById(existingApp.getId());
+        testedRepo.checkSecret(existingApp, SECRET);
+        //one read before the update, one after the invalidation
+        verify(mockedDelegate, times(2)).processGetById(existingApp.getId());
+        verify(mockedDelegate, times(2)).hashSecret(any(), any());
+    }
+
+    @Test
+    public void changeSecret_should_invalidate_cached_client_app_and_secret() {
+        //given
+        ClientApp existingApp = generateClientAppWithSecret(SECRET);
+        when(mockedDelegate.processGetById(existingApp.getId())).thenReturn(existingApp);
+        when(mockedDelegate.hashSecret(any(), any())).thenAnswer(invocation -> SecurityHelper.hash(invocation.getArgument(0), invocation.getArgument(1)));
+        testedRepo.checkSecret(existingApp, SECRET);
+
+        //when
+        testedRepo.changeSecret(existingApp.getId(), "new secret");
+
+        //then
+        verify(mockedDelegate).processChangeSecret(any());
+        testedRepo.getById(existingApp.getId());
+        testedRepo.checkSecret(existingApp, SECRET);
+        verify(mockedDelegate, times(2)).processGetById(existingApp.getId());
+        //first check, new secret hash and check after the invalidation
+        verify(mockedDelegate, times(3)).hashSecret(any(), any());
+    }
+
+    @Test
+    public void deleteById_should_invalidate_cached_client_app() {
+        //given
+        ClientApp existingApp = TestHelper.generateRandomClientApp();
+        when(mockedDelegate.processGetById(existingApp.getId())).thenReturn(existingApp);
+        testedRepo.getById(existingApp.getId());
+
+        //when
+        testedRepo.deleteById(existingApp.getId());
+
+        //then
+        verify(mockedDelegate).processDeleteById(existingApp.getId());
+        testedRepo.getById(existingApp.getId());
+        verify(mockedDelegate, times(2)).processGetById(existingApp.getId());
+    }
+}
@@ -238,4 +238,34 @@ public class ClientAppRepositoryTest {
         //then
         verify(testedRepo, never()).processDeleteById(any());
     }
+
+    @Test
+    public void checkSecret_should_return_false_with_null_secret() {
+        //given
+        ClientApp clientApp = TestHelper.generateRandomClientApp();
+
+        //when
+        boolean result = testedRepo.checkSecret(clientApp, null);
+
+        //then
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void checkSecret_should_compare_the_secret_hashes() {
+        //given
+        String salt = UUID.randomUUID().toString();
+        ClientApp clientApp = ClientApp.Builder.createFrom(TestHelper.generateRandomClientApp())
+                .withSalt(salt)
+                .withSecret(testedRepo.hashSecret("secret", salt))
+                .build();
+
+        //when
+        boolean validResult = testedRepo.checkSecret(clientApp, "secret");
+        boolean invalidResult = testedRepo.checkSecret(clientApp, "invalid secret");
+
+        //then
+        assertThat(validResult).isTrue();
+        assertThat(invalidResult).isFalse();
+    }
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
 import io.tyoras.shopping.client.app.ClientApp;
+import io.tyoras.shopping.infra.security.PasswordHasher;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.test.fongo.FongoBackedTest;
@@ -11,6 +12,7 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 
 import java.net.URI;
 import java.util.UUID;
@@ -18,6 +20,7 @@ import java.util.UUID;
 import static io.tyoras.shopping.client.app.repository.ClientAppRepositoryErrorMessage.PROBLEM_CREATION_CLIENT_APP;
 import static io.tyoras.shopping.client.app.repository.mongo.ClientAppMongoRepository.CLIENT_APP_COLLECTION;
 import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,6 +29,9 @@ public class ClientAppMongoRepositoryTest extends FongoBackedTest {
     private final ClientAppMongoConverter converter = new ClientAppMongoConverter();
     private final MongoCollection<Document> clientAppCollection = getFongoDbConnectionFactory().getCollection(SHOPPING, CLIENT_APP_COLLECTION);
 
+    @Spy
+    PasswordHasher passwordHasher = TestHelper.createPasswordHasher(NB_HASH_ITERATION);
+
     @InjectMocks
     ClientAppMongoRepository testedRepo;
 
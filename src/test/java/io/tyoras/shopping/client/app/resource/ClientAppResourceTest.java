@@ -1,6 +1,8 @@
 package io.tyoras.shopping.client.app.resource;
 
-import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
 import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.client.app.repository.ClientAppRepository;
 import io.tyoras.shopping.client.app.representation.ClientAppRepresentation;
@@ -20,12 +22,18 @@ import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.client.app.resource.ClientAppResourceErrorMessage.CLIENT_APPS_NOT_FOUND;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.DEFAULT_LIMIT;
+import static io.tyoras.shopping.infra.rest.PageRepresentation.ELEMENTS_FIELD;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
 import static javax.ws.rs.core.Response.Status.*;
@@ -39,6 +47,9 @@ public class ClientAppResourceTest {
     @Mock
     ClientAppRepository mockedClientAppRepo;
 
+    @Spy
+    ObjectMapper objectMapper = Jackson.newObjectMapper();
+
     @Spy
     @InjectMocks
     private ClientAppResource testedResource;
@@ -162,12 +173,14 @@ public class ClientAppResourceTest {
     public void getByOwnerId_should_return_404_with_unknown_owner_Id() {
         //given
         UUID unknownId = UUID.randomUUID();
-        when(mockedClientAppRepo.getByOwner(unknownId)).thenReturn(ImmutableList.of());
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        when(mockedClientAppRepo.streamByOwner(unknownId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.empty());
         String expectedMessage = CLIENT_APPS_NOT_FOUND.getDevReadableMessage(unknownId.toString());
 
         //when
         try {
-            testedResource.getByOwnerId(TestHelper.generateRandomUser(), unknownId.toString());
+            testedResource.getByOwnerId(TestHelper.generateRandomUser(), unknownId.toString(), null, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
@@ -176,36 +189,39 @@ public class ClientAppResourceTest {
     }
 
     @Test
-    public void getByOwnerId_should_work_with_existing_list_Id() {
+    public void getByOwnerId_should_work_with_existing_list_Id() throws IOException {
         //given
         UUID existingOwnerId = UUID.randomUUID();
         UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
         doReturn(mockedUriInfo).when(testedResource).getUriInfo();
         ClientApp existingClientApp = ClientApp.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
         ClientApp existingClientApp2 = ClientApp.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
-        when(mockedClientAppRepo.getByOwner(existingOwnerId)).thenReturn(ImmutableList.of(existingClientApp, existingClientApp2));
+        when(mockedClientAppRepo.streamByOwner(existingOwnerId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.of(existingClientApp, existingClientApp2));
 
         //when
-        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString());
+        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), null, null);
 
         //then
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
-        List<?> appsRepresentation = (List<?>) response.getEntity();
+        assertThat(response.getEntity()).isInstanceOf(StreamingOutput.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        JsonNode appsRepresentation = objectMapper.readTree(output.toByteArray()).get(ELEMENTS_FIELD);
         assertThat(appsRepresentation).isNotNull();
         assertThat(appsRepresentation).hasSize(2);
 
-        ClientAppRepresentation representation = (ClientAppRepresentation) appsRepresentation.get(0);
-        assertThat(representation.getId()).isNotEqualTo(ClientApp.DEFAULT_ID);
-        assertThat(representation.getName()).isEqualTo(existingClientApp.getName());
-        assertThat(representation.getOwnerId()).isEqualTo(existingClientApp.getOwnerId());
-        assertThat(representation.getRedirectURI()).isEqualTo(existingClientApp.getRedirectURI().toString());
-
-        ClientAppRepresentation representation2 = (ClientAppRepresentation) appsRepresentation.get(1);
-        assertThat(representation2.getId()).isNotEqualTo(ClientApp.DEFAULT_ID);
-        assertThat(representation2.getName()).isEqualTo(existingClientApp2.getName());
-        assertThat(representation2.getOwnerId()).isEqualTo(existingClientApp2.getOwnerId());
-        assertThat(representation.getRedirectURI()).isEqualTo(existingClientApp2.getRedirectURI().toString());
+        JsonNode representation = appsRepresentation.get(0);
+        assertThat(representation.get("id").asText()).isEqualTo(existingClientApp.getId().toString());
+        assertThat(representation.get("name").asText()).isEqualTo(existingClientApp.getName());
+        assertThat(representation.get("ownerId").asText()).isEqualTo(existingClientApp.getOwnerId().toString());
+        assertThat(representation.get("redirectURI").asText()).isEqualTo(existingClientApp.getRedirectURI().toString());
+
+        JsonNode representation2 = appsRepresentation.get(1);
+        assertThat(representation2.get("id").asText()).isEqualTo(existingClientApp2.getId().toString());
+        assertThat(representation2.get("name").asText()).isEqualTo(existingClientApp2.getName());
+        assertThat(representation2.get("ownerId").asText()).isEqualTo(existingClientApp2.getOwnerId().toString());
+        assertThat(representation2.get("redirectURI").asText()).isEqualTo(existingClientApp2.getRedirectURI().toString());
     }
 
     @Test
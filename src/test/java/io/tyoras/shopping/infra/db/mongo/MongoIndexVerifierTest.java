@@ -0,0 +1,121 @@
+package io.tyoras.shopping.infra.db.mongo;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.client.MongoCollection;
+import io.tyoras.shopping.infra.config.ShoppingApiConfiguration;
+import io.tyoras.shopping.infra.db.mongo.MongoIndex.Builder;
+import io.tyoras.shopping.test.fongo.FongoBackedTest;
+import org.bson.Document;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
+import static io.tyoras.shopping.infra.db.mongo.MongoIndex.SortOrder.ASCENDING;
+import static io.tyoras.shopping.infra.db.mongo.MongoIndex.SortOrder.DESCENDING;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MongoIndexVerifierTest extends FongoBackedTest {
+    private static final String COLLECTION = "indexedCollection";
+
+    private final MongoCollection<Document> collection = getFongoDbConnectionFactory().getCollection(SHOPPING, COLLECTION);
+    private final MongoIndex uniqueIndex = Builder.on(COLLECTION).withKey("code", ASCENDING).unique().build();
+    private final MongoIndex compoundIndex = Builder.on(COLLECTION).withKey("ownerId", ASCENDING).withKey("name", DESCENDING).build();
+    private final MongoIndex ttlIndex = Builder.on(COLLECTION).withKey("created", DESCENDING).expireAfter(10, MINUTES).build();
+
+    private MongoIndexVerifier createVerifier(MongoIndex... indexes) {
+        MongoIndexRegistry registry = new MongoIndexRegistry(ImmutableList.copyOf(indexes), ImmutableList.of());
+        return new MongoIndexVerifier(getFongoDbConnectionFactory(), registry, new ShoppingApiConfiguration());
+    }
+
+    @Test
+    public void ensureIndexes_should_create_missing_indexes() {
+        //given
+        MongoIndexVerifier testedVerifier = createVerifier(uniqueIndex, compoundIndex, ttlIndex);
+
+        //when
+        ImmutableList<MongoIndex> result = testedVerifier.ensureIndexes();
+
+        //then
+        assertThat(result).containsExactly(uniqueIndex, compoundIndex, ttlIndex);
+        List<Document> existingIndexes = collection.listIndexes().into(new ArrayList<>());
+        assertThat(existingIndexes.stream().filter(uniqueIndex::matches).count()).isEqualTo(1);
+        assertThat(existingIndexes.stream().filter(compoundIndex::matches).count()).isEqualTo(1);
+        assertThat(existingIndexes.stream().filter(ttlIndex::matches).count()).isEqualTo(1);
+    }
+
+    @Test
+    public void ensureIndexes_should_not_recreate_existing_indexes() {
+        //given
+        collection.createIndex(uniqueIndex.getKeys(), uniqueIndex.toIndexOptions());
+        MongoIndexVerifier testedVerifier = createVerifier(uniqueIndex, compoundIndex);
+
+        //when
+        ImmutableList<MongoIndex> result = testedVerifier.ensureIndexes();
+
+        //then
+        assertThat(result).containsExactly(compoundIndex);
+    }
+
+    @Test
+    public void reportUndeclaredIndexes_should_return_indexes_missing_from_registry() {
+        //given
+        collection.createIndex(uniqueIndex.getKeys(), uniqueIndex.toIndexOptions());
+        collection.createIndex(new Document("undeclared", 1));
+        MongoIndexVerifier testedVerifier = createVerifier(uniqueIndex);
+
+        //when
+        ImmutableList<Document> result = testedVerifier.reportUndeclaredIndexes();
+
+        //then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).get("key", Document.class)).isEqualTo(new Document("undeclared", 1));
+    }
+
+    @Test
+    public void matches_should_take_key_order_into_account() {
+        //given
+        Document reversedKeys = new Document("key", new Document("name", -1).append("ownerId", 1));
+        Document sameKeys = new Document("key", new Document("ownerId", 1.0).append("name", -1.0));
+
+        //then
+        assertThat(compoundIndex.matches(reversedKeys)).isFalse();
+        assertThat(compoundIndex.matches(sameKeys)).isTrue();
+    }
+
+    @Test
+    public void isServedByIndex_should_accept_index_scan() {
+        //given
+        Document plan = new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"));
+
+        //then
+        assertThat(MongoIndexVerifier.isServedByIndex(plan)).isTrue();
+    }
+
+    @Test
+    public void isServedByIndex_should_reject_collection_scan_and_in_memory_sort() {
+        //given
+        Document collectionScan = new Document("stage", "COLLSCAN");
+        Document inMemorySort = new Document("stage", "SORT").append("inputStage", new Document("stage", "IXSCAN"));
+        Document orWithCollectionScan = new Document("stage", "OR")
+                .append("inputStages", ImmutableList.of(new Document("stage", "IXSCAN"), new Document("stage", "COLLSCAN")));
+
+        //then
+        assertThat(MongoIndexVerifier.isServedByIndex(collectionScan)).isFalse();
+        assertThat(MongoIndexVerifier.isServedByIndex(inMemorySort)).isFalse();
+        assertThat(MongoIndexVerifier.isServedByIndex(orWithCollectionScan)).isFalse();
+    }
+
+    @Test
+    public void default_registry_should_declare_indexes_for_owner_queries() {
+        //given
+        MongoIndexRegistry registry = new MongoIndexRegistry();
+
+        //then
+        assertThat(registry.getCollectionNames()).contains("list", "clientApps");
+        assertThat(registry.getIndexes("list")).anyMatch(index -> index.getKeys().containsKey("ownerId"));
+        assertThat(registry.getIndexes("clientApps")).anyMatch(index -> index.getKeys().containsKey("ownerId"));
+    }
+}
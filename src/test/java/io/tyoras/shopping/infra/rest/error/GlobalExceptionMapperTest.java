@@ -2,6 +2,7 @@ package io.tyoras.shopping.infra.rest.error;
 
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.infra.util.error.VersionConflictException;
 import io.tyoras.shopping.test.TestHelper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,15 +12,19 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_XML;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -112,6 +117,34 @@ public class GlobalExceptionMapperTest {
         TestHelper.assertErrorResponse(response, NOT_FOUND, ERROR, RepositoryErrorCode.NOT_FOUND.getCode(), expectedMessage);
     }
 
+    @Test
+    public void toResponse_should_give_the_current_version_of_a_conflicting_resource_as_entity_tag() {
+        //given
+        String expectedMessage = "expected message";
+        VersionConflictException conflictException = new VersionConflictException(INFO, RepositoryErrorCode.VERSION_MISMATCH, expectedMessage, 3L);
+
+        //when
+        Response response = tested.toResponse(conflictException);
+
+        //then
+        TestHelper.assertErrorResponse(response, PRECONDITION_FAILED, INFO, RepositoryErrorCode.VERSION_MISMATCH.getCode(), expectedMessage);
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag("3"));
+    }
+
+    @Test
+    public void toResponse_should_not_give_an_entity_tag_for_a_deleted_conflicting_resource() {
+        //given
+        String expectedMessage = "expected message";
+        VersionConflictException conflictException = new VersionConflictException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION, expectedMessage, null);
+
+        //when
+        Response response = tested.toResponse(conflictException);
+
+        //then
+        TestHelper.assertErrorResponse(response, CONFLICT, INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION.getCode(), expectedMessage);
+        assertThat(response.getEntityTag()).isNull();
+    }
+
     @Test
     public void toResponse_should_handle_WebApiException() {
         //given
@@ -0,0 +1,84 @@
+package io.tyoras.shopping.infra.security;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.infra.util.helper.SecurityHelper;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.tyoras.shopping.infra.rest.error.Level.WARNING;
+import static io.tyoras.shopping.infra.security.HashingErrorMessage.HASHING_POOL_SATURATED;
+import static io.tyoras.shopping.infra.security.PasswordHasher.METRICS_NAME;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PasswordHasherTest {
+
+    @Test
+    public void hash_should_use_the_configured_iterations() {
+        //given
+        PasswordHasher testedHasher = TestHelper.createPasswordHasher(3);
+
+        //when
+        String result = testedHasher.hash("password", "salt");
+
+        //then
+        assertThat(result).isEqualTo(SecurityHelper.hash("password", "salt", 3));
+        assertThat(result).isNotEqualTo(SecurityHelper.hash("password", "salt", 2));
+    }
+
+    @Test
+    public void hash_should_use_the_given_iterations() {
+        //given
+        PasswordHasher testedHasher = TestHelper.createPasswordHasher(3);
+
+        //when
+        String result = testedHasher.hash("password", "salt", 2);
+
+        //then
+        assertThat(result).isEqualTo(SecurityHelper.hash("password", "salt", 2));
+    }
+
+    @Test
+    public void hash_should_record_its_latency() {
+        //given
+        MetricRegistry metrics = new MetricRegistry();
+        PasswordHasher testedHasher = new PasswordHasher(MoreExecutors.newDirectExecutorService(), new ArrayBlockingQueue<>(1), 2, metrics);
+
+        //when
+        testedHasher.hash("password", "salt");
+
+        //then
+        assertThat(metrics.timer(MetricRegistry.name(METRICS_NAME, "latency")).getCount()).isEqualTo(1);
+        assertThat(metrics.getGauges()).containsKey(MetricRegistry.name(METRICS_NAME, "queue-depth"));
+    }
+
+    @Test(expected = WebApiException.class)
+    public void hash_should_fail_fast_when_the_pool_is_saturated() {
+        //given
+        MetricRegistry metrics = new MetricRegistry();
+        ExecutorService saturatedPool = mock(ExecutorService.class);
+        when(saturatedPool.submit(any(Callable.class))).thenThrow(new RejectedExecutionException());
+        PasswordHasher testedHasher = new PasswordHasher(saturatedPool, new ArrayBlockingQueue<>(1), 2, metrics);
+
+        //when
+        try {
+            testedHasher.hash("password", "salt");
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, SERVICE_UNAVAILABLE, WARNING, API_RESPONSE, HASHING_POOL_SATURATED);
+            assertThat(metrics.meter(MetricRegistry.name(METRICS_NAME, "rejections")).getCount()).isEqualTo(1);
+            throw wae;
+        }
+    }
+}
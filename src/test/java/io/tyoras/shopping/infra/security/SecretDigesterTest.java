@@ -0,0 +1,39 @@
+package io.tyoras.shopping.infra.security;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecretDigesterTest {
+
+    private final SecretDigester testedDigester = new SecretDigester();
+
+    @Test
+    public void digest_should_be_stable() {
+        //when
+        String result = testedDigester.digest("user@test.com", "password");
+
+        //then
+        assertThat(result).isEqualTo(testedDigester.digest("user@test.com", "password"));
+        assertThat(result).doesNotContain("password");
+    }
+
+    @Test
+    public void digest_should_not_mix_part_boundaries() {
+        //when
+        String result = testedDigester.digest("user@test.com", "password");
+
+        //then
+        assertThat(result).isNotEqualTo(testedDigester.digest("user@test.compassword", ""));
+        assertThat(result).isNotEqualTo(testedDigester.digest("user@test.compassword"));
+    }
+
+    @Test
+    public void digest_should_depend_on_the_instance_key() {
+        //when
+        String result = testedDigester.digest("user@test.com", "password");
+
+        //then
+        assertThat(result).isNotEqualTo(new SecretDigester().digest("user@test.com", "password"));
+    }
+}
@@ -0,0 +1,71 @@
+package io.tyoras.shopping.infra.util;
+
+import com.google.common.cache.CacheBuilder;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuardedCacheTest {
+
+    private final GuardedCache<UUID, String> testedCache = new GuardedCache<>(CacheBuilder.newBuilder().maximumSize(10).build());
+
+    @Test
+    public void get_should_cache_the_loaded_value() {
+        //given
+        UUID key = UUID.randomUUID();
+
+        //when
+        String result = testedCache.get(key, k -> "value");
+
+        //then
+        assertThat(result).isEqualTo("value");
+        assertThat(testedCache.getIfPresent(key)).isEqualTo("value");
+        assertThat(testedCache.get(key, k -> "other value")).isEqualTo("value");
+    }
+
+    @Test
+    public void get_should_not_cache_null() {
+        //given
+        UUID key = UUID.randomUUID();
+
+        //when
+        String result = testedCache.get(key, k -> null);
+
+        //then
+        assertThat(result).isNull();
+        assertThat(testedCache.getIfPresent(key)).isNull();
+    }
+
+    @Test
+    public void get_should_not_cache_a_value_loaded_while_its_key_was_invalidated() {
+        //given
+        UUID key = UUID.randomUUID();
+
+        //when
+        String result = testedCache.get(key, k -> {
+            //the write invalidating the key happens after the value was read
+            testedCache.invalidate(key);
+            return "old value";
+        });
+
+        //then
+        assertThat(result).isEqualTo("old value");
+        assertThat(testedCache.getIfPresent(key)).isNull();
+        assertThat(testedCache.get(key, k -> "new value")).isEqualTo("new value");
+    }
+
+    @Test
+    public void invalidate_should_remove_the_cached_value() {
+        //given
+        UUID key = UUID.randomUUID();
+        testedCache.get(key, k -> "value");
+
+        //when
+        testedCache.invalidate(key);
+
+        //then
+        assertThat(testedCache.getIfPresent(key)).isNull();
+    }
+}
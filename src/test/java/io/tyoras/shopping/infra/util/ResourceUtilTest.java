@@ -1,8 +1,14 @@
 package io.tyoras.shopping.infra.util;
 
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.infra.util.helper.DateHelper;
 import org.junit.Test;
 
+import javax.ws.rs.core.EntityTag;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
@@ -241,4 +247,137 @@ public class ResourceUtilTest {
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(expectedEmail);
     }
+
+    @Test
+    public void toEntityTag_should_be_readable_as_version() {
+        //given
+        EntityTag tag = ResourceUtil.toEntityTag(7L);
+
+        //when
+        Long result = ResourceUtil.getVersionFromEntityTag("If-Match", tag.toString());
+
+        //then
+        assertThat(tag.isWeak()).isFalse();
+        assertThat(result).isEqualTo(7L);
+    }
+
+    @Test
+    public void isNotModified_should_match_any_known_tag() {
+        //given
+        EntityTag currentTag = ResourceUtil.toEntityTag(3L);
+
+        //then
+        assertThat(ResourceUtil.isNotModified("\"3\"", currentTag)).isTrue();
+        assertThat(ResourceUtil.isNotModified("W/\"3\"", currentTag)).isTrue();
+        assertThat(ResourceUtil.isNotModified("\"1\", \"3\"", currentTag)).isTrue();
+        assertThat(ResourceUtil.isNotModified("*", currentTag)).isTrue();
+    }
+
+    @Test
+    public void isNotModified_should_be_false_with_other_or_absent_tag() {
+        //given
+        EntityTag currentTag = ResourceUtil.toEntityTag(3L);
+
+        //then
+        assertThat(ResourceUtil.isNotModified("\"2\"", currentTag)).isFalse();
+        assertThat(ResourceUtil.isNotModified("\"33\"", currentTag)).isFalse();
+        assertThat(ResourceUtil.isNotModified(null, currentTag)).isFalse();
+    }
+
+    @Test
+    public void getVersionFromEntityTag_should_return_null_with_absent_header() {
+        //when
+        Long result = ResourceUtil.getVersionFromEntityTag("If-Match", " ");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getVersionFromEntityTag_should_parse_strong_and_weak_entity_tags() {
+        //when
+        Long strongResult = ResourceUtil.getVersionFromEntityTag("If-Match", "\"3\"");
+        Long weakResult = ResourceUtil.getVersionFromEntityTag("If-Match", "W/\"3\"");
+        Long bareResult = ResourceUtil.getVersionFromEntityTag("If-Match", "3");
+
+        //then
+        assertThat(strongResult).isEqualTo(3L);
+        assertThat(weakResult).isEqualTo(3L);
+        assertThat(bareResult).isEqualTo(3L);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getVersionFromEntityTag_should_fail_with_clean_WebApiException_when_invalid_header() {
+        //given
+        String invalidHeader = "\"-1\"";
+        String expectedMessage = INVALID.getDevReadableMessage("Header named If-Match : " + invalidHeader);
+
+        //when
+        try {
+            ResourceUtil.getVersionFromEntityTag("If-Match", invalidHeader);
+        } catch (WebApiException wae) {
+            //then
+            assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void getPageCursorFromParam_should_decode_encoded_cursor() {
+        //given
+        PageCursor expectedCursor = new PageCursor(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), UUID.randomUUID());
+
+        //when
+        PageCursor result = ResourceUtil.getPageCursorFromParam("after", expectedCursor.encode());
+
+        //then
+        assertThat(result).isEqualTo(expectedCursor);
+        assertThat(ResourceUtil.getPageCursorFromParam("after", null)).isNull();
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getPageCursorFromParam_should_fail_with_clean_WebApiException_when_invalid_cursor() {
+        //given
+        String invalidCursor = "invalid cursor";
+        String expectedMessage = INVALID.getDevReadableMessage("Param named after : " + invalidCursor);
+
+        //when
+        try {
+            ResourceUtil.getPageCursorFromParam("after", invalidCursor);
+        } catch (WebApiException wae) {
+            //then
+            assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void getTimestampFromParam_should_read_milliseconds_since_the_epoch() {
+        //given
+        LocalDateTime expectedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String timestamp = Long.toString(DateHelper.toDate(expectedDate).getTime());
+
+        //when
+        LocalDateTime result = ResourceUtil.getTimestampFromParam("since", timestamp);
+
+        //then
+        assertThat(result).isEqualTo(expectedDate);
+        assertThat(ResourceUtil.getTimestampFromParam("since", null)).isNull();
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getTimestampFromParam_should_fail_with_clean_WebApiException_when_invalid_timestamp() {
+        //given
+        String invalidTimestamp = "yesterday";
+        String expectedMessage = INVALID.getDevReadableMessage("Param named since should be a timestamp in milliseconds : " + invalidTimestamp);
+
+        //when
+        try {
+            ResourceUtil.getTimestampFromParam("since", invalidTimestamp);
+        } catch (WebApiException wae) {
+            //then
+            assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
 }
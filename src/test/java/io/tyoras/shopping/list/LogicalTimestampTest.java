@@ -0,0 +1,53 @@
+package io.tyoras.shopping.list;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogicalTimestampTest {
+
+    @Test
+    public void compareTo_should_break_the_ties_with_the_replica_id() {
+        //given
+        LogicalTimestamp alice = new LogicalTimestamp(2, "alice");
+        LogicalTimestamp bob = new LogicalTimestamp(2, "bob");
+
+        //when
+        int result = alice.compareTo(bob);
+
+        //then
+        assertThat(result).isNegative();
+    }
+
+    @Test
+    public void encode_should_keep_the_order_of_the_timestamps() {
+        //given
+        LogicalTimestamp older = new LogicalTimestamp(9, "zoe");
+        LogicalTimestamp newer = new LogicalTimestamp(10, "alice");
+
+        //when
+        String encodedOlder = older.encode();
+        String encodedNewer = newer.encode();
+
+        //then
+        assertThat(older).isLessThan(newer);
+        assertThat(encodedOlder.compareTo(encodedNewer)).isNegative();
+    }
+
+    @Test
+    public void decode_should_give_back_the_encoded_timestamp() {
+        //given
+        LogicalTimestamp timestamp = new LogicalTimestamp(42, "alice@phone");
+
+        //when
+        LogicalTimestamp result = LogicalTimestamp.decode(timestamp.encode());
+
+        //then
+        assertThat(result).isEqualTo(timestamp);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_should_fail_with_invalid_encoded_timestamp() {
+        LogicalTimestamp.decode("invalid");
+    }
+}
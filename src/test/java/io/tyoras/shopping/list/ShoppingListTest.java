@@ -17,7 +17,7 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(nullId, "name", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of());
+            new ShoppingList(nullId, "name", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of(), 0);
         } catch (NullPointerException npe) {
             //then
             assertThat(npe.getMessage()).isEqualTo("List Id is mandatory");
@@ -32,7 +32,7 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(UUID.randomUUID(), blankName, UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of());
+            new ShoppingList(UUID.randomUUID(), blankName, UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of(), 0);
         } catch (IllegalArgumentException iae) {
             //then
             assertThat(iae.getMessage()).isEqualTo("Invalid list name");
@@ -47,7 +47,7 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(UUID.randomUUID(), "name", nullId, LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of());
+            new ShoppingList(UUID.randomUUID(), "name", nullId, LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of(), 0);
         } catch (NullPointerException npe) {
             //then
             assertThat(npe.getMessage()).isEqualTo("List owner Id is mandatory");
@@ -62,7 +62,7 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), nullDate, LocalDateTime.now(), ImmutableList.<ShoppingItem>of());
+            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), nullDate, LocalDateTime.now(), ImmutableList.<ShoppingItem>of(), 0);
         } catch (NullPointerException npe) {
             //then
             assertThat(npe.getMessage()).isEqualTo("Creation date is mandatory");
@@ -77,7 +77,7 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), LocalDateTime.now(), nullDate, ImmutableList.<ShoppingItem>of());
+            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), LocalDateTime.now(), nullDate, ImmutableList.<ShoppingItem>of(), 0);
         } catch (NullPointerException npe) {
             //then
             assertThat(npe.getMessage()).isEqualTo("Last update date is mandatory");
@@ -92,11 +92,26 @@ public class ShoppingListTest {
 
         //when
         try {
-            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), nullList);
+            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), nullList, 0);
         } catch (NullPointerException npe) {
             //then
             assertThat(npe.getMessage()).isEqualTo("Item list is mandatory");
             throw npe;
         }
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shoppingList_should_fail_with_negative_version() {
+        //given
+        long negativeVersion = -1;
+
+        //when
+        try {
+            new ShoppingList(UUID.randomUUID(), "name", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), ImmutableList.<ShoppingItem>of(), negativeVersion);
+        } catch (IllegalArgumentException iae) {
+            //then
+            assertThat(iae.getMessage()).isEqualTo("Invalid list version");
+            throw iae;
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package io.tyoras.shopping.list.event;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_CREATED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_DELETED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShoppingListEventBusTest {
+
+    private static final int HISTORY_SIZE = 2;
+
+    ShoppingListEventBus testedBus;
+
+    List<ShoppingListEvents> received;
+
+    @Before
+    public void setUp() {
+        testedBus = new ShoppingListEventBus(10, HISTORY_SIZE, 5, new MetricRegistry());
+        received = new ArrayList<>();
+    }
+
+    @Test
+    public void follow_should_require_a_reset_right_away_without_cursor() {
+        //given
+        UUID listId = UUID.randomUUID();
+
+        //when
+        testedBus.follow(listId, null, received::add);
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).isResetRequired()).isTrue();
+        assertThat(received.get(0).getEvents()).isEmpty();
+        assertThat(received.get(0).getCursor()).isNotEmpty();
+    }
+
+    @Test
+    public void follow_should_wait_for_the_next_event_of_the_list() {
+        //given
+        UUID listId = UUID.randomUUID();
+        String cursor = startFollowing(listId);
+        ShoppingListEvent otherListEvent = ShoppingListEvent.ofList(UUID.randomUUID(), LIST_UPDATED);
+        ShoppingListEvent expectedEvent = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_CREATED);
+
+        //when
+        testedBus.follow(listId, cursor, received::add);
+        testedBus.publish(otherListEvent);
+        assertThat(received).isEmpty();
+        testedBus.publish(expectedEvent);
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).isResetRequired()).isFalse();
+        assertThat(received.get(0).getEvents()).containsExactly(expectedEvent);
+        assertThat(received.get(0).getCursor()).isNotEqualTo(cursor);
+    }
+
+    @Test
+    public void publishAll_should_notify_a_waiting_follower_once_with_all_the_events_of_its_list() {
+        //given
+        UUID listId = UUID.randomUUID();
+        String cursor = startFollowing(listId);
+        testedBus.follow(listId, cursor, received::add);
+        ShoppingListEvent event1 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_CREATED);
+        ShoppingListEvent otherListEvent = ShoppingListEvent.ofList(UUID.randomUUID(), LIST_UPDATED);
+        ShoppingListEvent event2 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_DELETED);
+
+        //when
+        testedBus.publishAll(Arrays.asList(event1, otherListEvent, event2));
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getEvents()).containsExactly(event1, event2);
+    }
+
+    @Test
+    public void follow_should_give_right_away_the_events_published_since_the_cursor() {
+        //given
+        UUID listId = UUID.randomUUID();
+        String cursor = startFollowing(listId);
+        ShoppingListEvent event1 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_CREATED);
+        ShoppingListEvent event2 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_DELETED);
+        testedBus.publish(event1);
+        testedBus.publish(event2);
+
+        //when
+        testedBus.follow(listId, cursor, received::add);
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getEvents()).containsExactly(event1, event2);
+
+        //when following from the new cursor
+        testedBus.follow(listId, received.get(0).getCursor(), received::add);
+
+        //then it waits
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    public void follow_should_require_a_reset_when_events_were_dropped_since_the_cursor() {
+        //given
+        UUID listId = UUID.randomUUID();
+        String cursor = startFollowing(listId);
+        for (int i = 0; i <= HISTORY_SIZE; i++) {
+            testedBus.publish(ShoppingListEvent.ofList(listId, LIST_UPDATED));
+        }
+
+        //when
+        testedBus.follow(listId, cursor, received::add);
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).isResetRequired()).isTrue();
+        assertThat(received.get(0).getEvents()).isEmpty();
+    }
+
+    @Test
+    public void follow_should_require_a_reset_with_cursor_of_another_node() {
+        //given
+        UUID listId = UUID.randomUUID();
+        List<ShoppingListEvents> otherNodeStart = new ArrayList<>();
+        new ShoppingListEventBus(10, HISTORY_SIZE, 5, new MetricRegistry()).follow(listId, null, otherNodeStart::add);
+        String otherNodeCursor = otherNodeStart.get(0).getCursor();
+        startFollowing(listId);
+
+        //when
+        testedBus.follow(listId, otherNodeCursor, received::add);
+        testedBus.follow(listId, "invalid", received::add);
+
+        //then
+        assertThat(received).hasSize(2);
+        assertThat(received).allMatch(ShoppingListEvents::isResetRequired);
+    }
+
+    @Test
+    public void follow_should_not_give_events_once_stopped() {
+        //given
+        UUID listId = UUID.randomUUID();
+        String cursor = startFollowing(listId);
+        Runnable stopFollowing = testedBus.follow(listId, cursor, received::add);
+
+        //when
+        stopFollowing.run();
+        testedBus.publish(ShoppingListEvent.ofList(listId, LIST_UPDATED));
+
+        //then
+        assertThat(received).isEmpty();
+    }
+
+    private String startFollowing(UUID listId) {
+        List<ShoppingListEvents> start = new ArrayList<>();
+        testedBus.follow(listId, null, start::add);
+        return start.get(0).getCursor();
+    }
+}
@@ -0,0 +1,131 @@
+package io.tyoras.shopping.list.event.mongo;
+
+import com.codahale.metrics.MetricRegistry;
+import com.mongodb.Block;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.event.ShoppingListEvents;
+import io.tyoras.shopping.test.fongo.FongoBackedTest;
+import org.bson.Document;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_UPDATED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_DELETED;
+import static io.tyoras.shopping.list.event.mongo.ShoppingListEventMongoBus.EVENT_COLLECTION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShoppingListEventMongoBusTest extends FongoBackedTest {
+
+    private final ShoppingListEventMongoConverter converter = new ShoppingListEventMongoConverter();
+    private final MongoCollection<Document> eventCollection = getFongoDbConnectionFactory().getCollection(SHOPPING, EVENT_COLLECTION);
+
+    @Test
+    public void publish_should_write_the_event_for_all_the_nodes() {
+        //given
+        ShoppingListEventMongoBus testedBus = startBus();
+        ShoppingListEvent expectedEvent = new ShoppingListEvent(UUID.randomUUID(), ITEM_UPDATED, UUID.randomUUID(), LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+
+        //when
+        testedBus.publish(expectedEvent);
+
+        //then
+        assertThat(eventCollection.count()).isEqualTo(1);
+        assertThat(converter.fromDocument(eventCollection.find().first())).isEqualTo(expectedEvent);
+    }
+
+    @Test
+    public void publishAll_should_write_the_events_in_their_order() {
+        //given
+        ShoppingListEventMongoBus testedBus = startBus();
+        UUID listId = UUID.randomUUID();
+        ShoppingListEvent event1 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_UPDATED);
+        ShoppingListEvent event2 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_UPDATED);
+
+        //when
+        testedBus.publishAll(Arrays.asList(event1, event2));
+
+        //then
+        List<ShoppingListEvent> writtenEvents = new ArrayList<>();
+        eventCollection.find().forEach((Block<Document>) eventDoc -> writtenEvents.add(converter.fromDocument(eventDoc)));
+        assertThat(writtenEvents).extracting(ShoppingListEvent::getItemId).containsExactly(event1.getItemId(), event2.getItemId());
+    }
+
+    @Test
+    public void publishAll_should_not_write_without_events() {
+        //given
+        ShoppingListEventMongoBus testedBus = startBus();
+
+        //when
+        testedBus.publishAll(Collections.emptyList());
+
+        //then
+        assertThat(eventCollection.count()).isEqualTo(0);
+    }
+
+    @Test
+    public void relayAvailableEvents_should_deliver_the_published_events_to_the_followers() {
+        //given
+        ShoppingListEventMongoBus testedBus = startBus();
+        UUID listId = UUID.randomUUID();
+        List<ShoppingListEvents> received = new ArrayList<>();
+        testedBus.follow(listId, null, received::add);
+        String cursor = received.remove(0).getCursor();
+        testedBus.follow(listId, cursor, received::add);
+        ShoppingListEvent expectedEvent = new ShoppingListEvent(listId, LIST_DELETED, null, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        testedBus.publish(expectedEvent);
+        assertThat(received).isEmpty();
+
+        //when
+        relay(testedBus);
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getEvents()).containsExactly(expectedEvent);
+    }
+
+    @Test
+    public void relayAvailableEvents_should_skip_the_events_already_relayed() {
+        //given
+        eventCollection.insertOne(converter.toDocument(ShoppingListEvent.ofList(UUID.randomUUID(), LIST_DELETED)));
+        ShoppingListEventMongoBus testedBus = startBus();
+        UUID listId = UUID.randomUUID();
+        List<ShoppingListEvents> received = new ArrayList<>();
+        testedBus.follow(listId, null, received::add);
+        String cursor = received.remove(0).getCursor();
+        ShoppingListEvent event1 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_UPDATED);
+        testedBus.publish(event1);
+        relay(testedBus);
+        ShoppingListEvent event2 = ShoppingListEvent.ofItem(listId, UUID.randomUUID(), ITEM_UPDATED);
+        testedBus.publish(event2);
+
+        //when
+        relay(testedBus);
+
+        //then
+        testedBus.follow(listId, cursor, received::add);
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getEvents()).extracting(ShoppingListEvent::getItemId).containsExactly(event1.getItemId(), event2.getItemId());
+    }
+
+    private ShoppingListEventMongoBus startBus() {
+        ShoppingListEventMongoBus bus = new ShoppingListEventMongoBus(connectionFactory, 10, 10, 5, 1_000_000, new MetricRegistry());
+        bus.start();
+        return bus;
+    }
+
+    private void relay(ShoppingListEventMongoBus bus) {
+        try (MongoCursor<Document> cursor = bus.openCursor()) {
+            bus.relayAvailableEvents(cursor);
+        }
+    }
+}
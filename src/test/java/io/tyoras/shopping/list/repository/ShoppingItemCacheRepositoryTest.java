@@ -0,0 +1,128 @@
+package io.tyoras.shopping.list.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import io.tyoras.shopping.infra.util.RequestScope;
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.list.ItemState.BOUGHT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShoppingItemCacheRepositoryTest {
+
+    @Mock
+    ShoppingItemRepository mockedDelegate;
+
+    @Mock
+    ShoppingListRepository mockedListDelegate;
+
+    ShoppingListCache listCache;
+
+    ShoppingItemCacheRepository testedRepo;
+
+    ShoppingListCacheRepository listRepo;
+
+    @Before
+    public void setUp() {
+        listCache = new ShoppingListCache(100, 5, false, new MetricRegistry());
+        RequestScope.open();
+        testedRepo = new ShoppingItemCacheRepository(mockedDelegate, listCache);
+        listRepo = new ShoppingListCacheRepository(mockedListDelegate, listCache);
+    }
+
+    @After
+    public void tearDown() {
+        RequestScope.close();
+    }
+
+    @Test
+    public void getById_should_read_the_item_from_the_cached_list() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedListDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        listRepo.getById(existingList.getId());
+        ShoppingItem existingItem = existingList.getItemList().get(0);
+
+        //when
+        ShoppingItem result = testedRepo.getById(existingList.getId(), existingItem.getId());
+
+        //then
+        assertThat(result).isEqualTo(existingItem);
+        assertThat(testedRepo.getById(existingList.getId(), UUID.randomUUID())).isNull();
+        verify(mockedDelegate, never()).processGetById(any(), any());
+    }
+
+    @Test
+    public void getById_should_read_delegate_when_the_list_is_not_cached() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ShoppingItem existingItem = TestHelper.generateRandomShoppingItem();
+        when(mockedDelegate.processGetById(listId, existingItem.getId())).thenReturn(existingItem);
+
+        //when
+        ShoppingItem result = testedRepo.getById(listId, existingItem.getId());
+
+        //then
+        assertThat(result).isEqualTo(existingItem);
+        assertThat(listCache.getIfPresent(listId)).isNull();
+    }
+
+    @Test
+    public void create_should_invalidate_cached_list() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedListDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        listRepo.getById(existingList.getId());
+
+        //when
+        testedRepo.create(existingList.getId(), TestHelper.generateRandomShoppingItem());
+
+        //then
+        verify(mockedDelegate).processCreate(eq(existingList.getId()), any());
+        listRepo.getById(existingList.getId());
+        verify(mockedListDelegate, times(2)).processGetById(existingList.getId());
+    }
+
+    @Test
+    public void applyAll_should_invalidate_cached_list_when_the_batch_fails() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        ShoppingItem existingItem = existingList.getItemList().get(0);
+        when(mockedListDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        listRepo.getById(existingList.getId());
+        when(mockedDelegate.processGetItemIds(existingList.getId())).thenReturn(ImmutableSet.of(existingItem.getId()));
+        ApplicationException concurrentModification = new ApplicationException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION, "concurrent modification");
+        doThrow(concurrentModification).when(mockedDelegate).processApplyAll(eq(existingList.getId()), anyList(), any());
+
+        try {
+            //when
+            testedRepo.applyAll(existingList.getId(), Arrays.asList(ShoppingItemOperation.changeState(existingItem.getId(), BOUGHT)));
+        } catch (ApplicationException ae) {
+            //then
+            assertThat(ae).isSameAs(concurrentModification);
+            assertThat(listCache.getIfPresent(existingList.getId())).isNull();
+            return;
+        }
+        throw new AssertionError("The batch should have failed");
+    }
+}
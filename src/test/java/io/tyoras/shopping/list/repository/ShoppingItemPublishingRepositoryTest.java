@@ -0,0 +1,129 @@
+package io.tyoras.shopping.list.repository;
+
+import com.google.common.collect.ImmutableSet;
+import io.tyoras.shopping.list.LogicalTimestamp;
+import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static io.tyoras.shopping.list.ItemState.BOUGHT;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_CREATED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_DELETED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.ITEM_UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShoppingItemPublishingRepositoryTest {
+
+    @Mock
+    ShoppingItemRepository mockedDelegate;
+
+    @Mock
+    ShoppingListEventBus mockedEventBus;
+
+    ShoppingItemPublishingRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        testedRepo = new ShoppingItemPublishingRepository(mockedDelegate, mockedEventBus);
+    }
+
+    @Test
+    public void create_should_publish_an_item_event_once_written() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ShoppingItem newItem = TestHelper.generateRandomShoppingItem();
+        ArgumentCaptor<ShoppingListEvent> eventCaptor = ArgumentCaptor.forClass(ShoppingListEvent.class);
+
+        //when
+        testedRepo.create(listId, newItem);
+
+        //then
+        verify(mockedDelegate).processCreate(eq(listId), any());
+        verify(mockedEventBus).publish(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getListId()).isEqualTo(listId);
+        assertThat(eventCaptor.getValue().getItemId()).isEqualTo(newItem.getId());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(ITEM_CREATED);
+    }
+
+    @Test
+    public void applyAll_should_publish_an_event_by_applied_operation() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ShoppingItem newItem = TestHelper.generateRandomShoppingItem();
+        UUID existingItemId = UUID.randomUUID();
+        UUID deletedItemId = UUID.randomUUID();
+        when(mockedDelegate.processGetItemIds(listId)).thenReturn(ImmutableSet.of(existingItemId, deletedItemId));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ShoppingListEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        testedRepo.applyAll(listId, Arrays.asList(
+                ShoppingItemOperation.create(newItem),
+                ShoppingItemOperation.changeState(existingItemId, BOUGHT),
+                ShoppingItemOperation.delete(deletedItemId),
+                ShoppingItemOperation.delete(UUID.randomUUID())));
+
+        //then
+        verify(mockedDelegate).processApplyAll(eq(listId), anyList(), any());
+        //all the events of the batch are published at once
+        verify(mockedEventBus).publishAll(eventsCaptor.capture());
+        verify(mockedEventBus, never()).publish(any());
+        assertThat(eventsCaptor.getValue()).extracting(ShoppingListEvent::getType).containsExactly(ITEM_CREATED, ITEM_UPDATED, ITEM_DELETED);
+        assertThat(eventsCaptor.getValue()).extracting(ShoppingListEvent::getItemId).containsExactly(newItem.getId(), existingItemId, deletedItemId);
+    }
+
+    @Test
+    public void mergeAll_should_publish_an_event_by_merged_operation() {
+        //given
+        UUID listId = UUID.randomUUID();
+        UUID existingItemId = UUID.randomUUID();
+        LogicalTimestamp timestamp = new LogicalTimestamp(3, "alice");
+        when(mockedDelegate.processGetItemIds(listId)).thenReturn(ImmutableSet.of(existingItemId));
+        when(mockedDelegate.processMergeAll(eq(listId), anyList(), any())).thenReturn(3L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ShoppingListEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(listId, Arrays.asList(
+                ShoppingItemOperation.rename(existingItemId, "renamed").withTimestamp(timestamp),
+                ShoppingItemOperation.rename(UUID.randomUUID(), "unknown").withTimestamp(timestamp)));
+
+        //then
+        assertThat(result.getClock()).isEqualTo(3L);
+        verify(mockedEventBus).publishAll(eventsCaptor.capture());
+        assertThat(eventsCaptor.getValue()).extracting(ShoppingListEvent::getItemId).containsExactly(existingItemId);
+        assertThat(eventsCaptor.getValue()).extracting(ShoppingListEvent::getType).containsExactly(ITEM_UPDATED);
+    }
+
+    @Test
+    public void getById_should_not_publish() {
+        //given
+        UUID listId = UUID.randomUUID();
+        UUID itemId = UUID.randomUUID();
+
+        //when
+        testedRepo.getById(listId, itemId);
+
+        //then
+        verify(mockedDelegate).processGetById(listId, itemId);
+        verifyZeroInteractions(mockedEventBus);
+    }
+}
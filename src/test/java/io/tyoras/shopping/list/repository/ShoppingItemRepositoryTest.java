@@ -2,16 +2,29 @@ package io.tyoras.shopping.list.repository;
 
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
+import com.google.common.collect.ImmutableSet;
+import io.tyoras.shopping.list.LogicalTimestamp;
 import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+import io.tyoras.shopping.list.ShoppingItemOperationResult.Status;
+import io.tyoras.shopping.list.ShoppingItemPatch;
 import io.tyoras.shopping.test.TestHelper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.list.ItemState.BOUGHT;
+import static io.tyoras.shopping.list.ShoppingItemOperationResult.Status.ALREADY_EXISTS;
+import static io.tyoras.shopping.list.ShoppingItemOperationResult.Status.APPLIED;
+import static io.tyoras.shopping.list.ShoppingItemOperationResult.Status.REMOVED;
 import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.NOT_FOUND;
 import static io.tyoras.shopping.test.TestHelper.assertApplicationException;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -105,42 +118,19 @@ public class ShoppingItemRepositoryTest {
         verify(testedRepo, never()).processUpdate(any(), any());
     }
 
-    @Test(expected = ApplicationException.class)
-    public void update_should_fail_with_not_existing_item() {
+    @Test
+    public void update_should_not_read_before_updating() {
         //given
         UUID listId = UUID.randomUUID();
-        ShoppingItem notExistingShoppingItem = TestHelper.generateRandomShoppingItem();
-        String expectedErrorMessage = CommonErrorMessage.NOT_FOUND.getDevReadableMessage("Item");
+        ShoppingItem existingItem = TestHelper.generateRandomShoppingItem();
 
         //when
-        try {
-            testedRepo.update(listId, notExistingShoppingItem);
-        } catch (ApplicationException ae) {
-            //then
-            assertApplicationException(ae, INFO, NOT_FOUND, expectedErrorMessage);
-            throw ae;
-        } finally {
-            verify(testedRepo, never()).processUpdate(any(), any());
-        }
-    }
+        testedRepo.update(listId, existingItem);
 
-    @Test(expected = ApplicationException.class)
-    public void update_should_fail_with_not_existing_list() {
-        //given
-        UUID notExistingListId = UUID.randomUUID();
-        ShoppingItem shoppingItem = TestHelper.generateRandomShoppingItem();
-        String expectedErrorMessage = CommonErrorMessage.NOT_FOUND.getDevReadableMessage("Item");
-
-        //when
-        try {
-            testedRepo.update(notExistingListId, shoppingItem);
-        } catch (ApplicationException ae) {
-            //then
-            assertApplicationException(ae, INFO, NOT_FOUND, expectedErrorMessage);
-            throw ae;
-        } finally {
-            verify(testedRepo, never()).processUpdate(any(), any());
-        }
+        //then
+        verify(testedRepo, never()).processGetById(any(), any());
+        verify(testedRepo).processUpdate(eq(listId), argThat(item -> item.getId().equals(existingItem.getId())
+                && item.getLastUpdate().isAfter(existingItem.getLastUpdate())));
     }
 
     @Test
@@ -168,6 +158,20 @@ public class ShoppingItemRepositoryTest {
         verify(testedRepo, never()).processDeleteById(any(), any());
     }
 
+    @Test
+    public void patch_should_not_write_empty_patch() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ShoppingItem existingItem = TestHelper.generateRandomShoppingItem();
+        doReturn(existingItem).when(testedRepo).getById(listId, existingItem.getId());
+
+        //when
+        testedRepo.patch(listId, existingItem.getId(), new ShoppingItemPatch(null, null, null));
+
+        //then
+        verify(testedRepo, never()).processPatch(any(), any(), any(), any());
+    }
+
     @Test(expected = ApplicationException.class)
     public void findItem_should_fail_with_not_existing_list() {
         //given
@@ -198,4 +202,87 @@ public class ShoppingItemRepositoryTest {
         //then
         assertThat(result).isEqualTo(existingItem);
     }
+
+    @Test
+    public void applyAll_should_do_nothing_with_null_listId() {
+        //given
+        UUID nullListId = null;
+        List<ShoppingItemOperation> operations = Arrays.asList(ShoppingItemOperation.delete(UUID.randomUUID()));
+
+        //when
+        List<ShoppingItemOperationResult> results = testedRepo.applyAll(nullListId, operations);
+
+        //then
+        assertThat(results).isEmpty();
+        verify(testedRepo, never()).processApplyAll(any(), any(), any());
+    }
+
+    @Test
+    public void applyAll_should_report_each_operation_and_only_write_the_applicable_ones() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ShoppingItem existingItem = TestHelper.generateRandomShoppingItem();
+        ShoppingItem newItem = TestHelper.generateRandomShoppingItem();
+        doReturn(ImmutableSet.of(existingItem.getId())).when(testedRepo).processGetItemIds(listId);
+        doNothing().when(testedRepo).processApplyAll(any(), any(), any());
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.create(newItem),
+                ShoppingItemOperation.changeState(newItem.getId(), BOUGHT),
+                ShoppingItemOperation.create(existingItem),
+                ShoppingItemOperation.update(TestHelper.generateRandomShoppingItem()),
+                ShoppingItemOperation.delete(existingItem.getId()),
+                ShoppingItemOperation.delete(existingItem.getId()));
+
+        //when
+        List<ShoppingItemOperationResult> results = testedRepo.applyAll(listId, operations);
+
+        //then
+        assertThat(results).extracting(ShoppingItemOperationResult::getStatus).containsExactly(APPLIED, APPLIED, ALREADY_EXISTS, Status.NOT_FOUND, APPLIED, Status.NOT_FOUND);
+        ShoppingItem createdItem = results.get(0).getOperation().getItem();
+        assertThat(createdItem.getCreationDate()).isEqualTo(createdItem.getLastUpdate());
+        verify(testedRepo).processApplyAll(eq(listId), argThat(applied -> applied.size() == 3), any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeAll_should_fail_with_operation_without_timestamp() {
+        //given
+        List<ShoppingItemOperation> operations = Arrays.asList(ShoppingItemOperation.delete(UUID.randomUUID()));
+
+        //when
+        try {
+            testedRepo.mergeAll(UUID.randomUUID(), operations);
+        } finally {
+            //then
+            verify(testedRepo, never()).processMergeAll(any(), any(), any());
+        }
+    }
+
+    @Test
+    public void mergeAll_should_report_each_operation_and_only_merge_the_applicable_ones() {
+        //given
+        UUID listId = UUID.randomUUID();
+        LogicalTimestamp timestamp = new LogicalTimestamp(1, "alice");
+        ShoppingItem existingItem = TestHelper.generateRandomShoppingItem();
+        ShoppingItem newItem = TestHelper.generateRandomShoppingItem();
+        UUID removedItemId = UUID.randomUUID();
+        UUID unknownItemId = UUID.randomUUID();
+        doReturn(ImmutableSet.of(existingItem.getId())).when(testedRepo).processGetItemIds(listId);
+        doReturn(ImmutableSet.of(removedItemId)).when(testedRepo).processGetRemovedItemIds(eq(listId), any());
+        doReturn(12L).when(testedRepo).processMergeAll(any(), any(), any());
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.create(newItem).withTimestamp(timestamp),
+                ShoppingItemOperation.create(existingItem).withTimestamp(timestamp),
+                ShoppingItemOperation.rename(removedItemId, "renamed").withTimestamp(timestamp),
+                ShoppingItemOperation.changeQuantity(unknownItemId, 2).withTimestamp(timestamp),
+                ShoppingItemOperation.delete(newItem.getId()).withTimestamp(timestamp),
+                ShoppingItemOperation.changeState(newItem.getId(), BOUGHT).withTimestamp(timestamp));
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(listId, operations);
+
+        //then
+        assertThat(result.getResults()).extracting(ShoppingItemOperationResult::getStatus).containsExactly(APPLIED, APPLIED, REMOVED, Status.NOT_FOUND, APPLIED, REMOVED);
+        assertThat(result.getClock()).isEqualTo(12L);
+        verify(testedRepo).processMergeAll(eq(listId), argThat(merged -> merged.size() == 3), any());
+    }
 }
@@ -0,0 +1,147 @@
+package io.tyoras.shopping.list.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.infra.util.RequestScope;
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShoppingListCacheRepositoryTest {
+
+    @Mock
+    ShoppingListRepository mockedDelegate;
+
+    ShoppingListCache listCache;
+
+    ShoppingListCacheRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        listCache = new ShoppingListCache(100, 5, false, new MetricRegistry());
+        RequestScope.open();
+        testedRepo = new ShoppingListCacheRepository(mockedDelegate, listCache);
+    }
+
+    @After
+    public void tearDown() {
+        RequestScope.close();
+    }
+
+    @Test
+    public void getById_should_read_delegate_only_once() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+
+        //when
+        ShoppingList firstResult = testedRepo.getById(existingList.getId());
+        ShoppingList secondResult = testedRepo.findList(existingList.getId());
+
+        //then
+        assertThat(firstResult).isEqualTo(existingList);
+        assertThat(secondResult).isEqualTo(existingList);
+        verify(mockedDelegate, times(1)).processGetById(existingList.getId());
+    }
+
+    @Test
+    public void getById_should_not_cache_unknown_list() {
+        //given
+        UUID unknownListId = UUID.randomUUID();
+
+        //when
+        testedRepo.getById(unknownListId);
+        ShoppingList result = testedRepo.getById(unknownListId);
+
+        //then
+        assertThat(result).isNull();
+        verify(mockedDelegate, times(2)).processGetById(unknownListId);
+    }
+
+    @Test
+    public void update_should_invalidate_cached_list() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        testedRepo.getById(existingList.getId());
+
+        //when
+        testedRepo.update(existingList);
+
+        //then
+        verify(mockedDelegate).processUpdate(any(), anyLong());
+        testedRepo.getById(existingList.getId());
+        verify(mockedDelegate, times(2)).processGetById(existingList.getId());
+    }
+
+    @Test
+    public void update_should_invalidate_cached_list_when_the_list_was_modified_concurrently() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        testedRepo.getById(existingList.getId());
+        ApplicationException concurrentModification = new ApplicationException(INFO, RepositoryErrorCode.CONCURRENT_MODIFICATION, "concurrent modification");
+        doThrow(concurrentModification).when(mockedDelegate).processUpdate(any(), anyLong());
+
+        try {
+            //when
+            testedRepo.update(existingList);
+        } catch (ApplicationException ae) {
+            //then
+            assertThat(ae).isSameAs(concurrentModification);
+            testedRepo.getById(existingList.getId());
+            verify(mockedDelegate, times(2)).processGetById(existingList.getId());
+            return;
+        }
+        throw new AssertionError("The update should have failed");
+    }
+
+    @Test
+    public void patch_should_invalidate_cached_list() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        testedRepo.getById(existingList.getId());
+
+        //when
+        testedRepo.patch(existingList.getId(), new ShoppingListPatch("new name"), null);
+
+        //then
+        verify(mockedDelegate).processPatch(eq(existingList.getId()), any(), any(), any());
+        testedRepo.getById(existingList.getId());
+        verify(mockedDelegate, times(2)).processGetById(existingList.getId());
+    }
+
+    @Test
+    public void deleteById_should_invalidate_cached_list() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList, (ShoppingList) null);
+        testedRepo.getById(existingList.getId());
+
+        //when
+        testedRepo.deleteById(existingList.getId());
+
+        //then
+        verify(mockedDelegate).processDeleteById(existingList.getId());
+        ShoppingList result = testedRepo.getById(existingList.getId());
+        assertThat(result).isNull();
+    }
+}
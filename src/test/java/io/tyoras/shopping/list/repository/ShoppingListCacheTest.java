@@ -0,0 +1,139 @@
+package io.tyoras.shopping.list.repository;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+import io.tyoras.shopping.infra.util.RequestScope;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShoppingListCacheTest {
+
+    @Test
+    public void weight_metric_should_count_the_cached_lists_and_their_items() {
+        //given
+        MetricRegistry metrics = new MetricRegistry();
+        ShoppingListCache testedCache = new ShoppingListCache(100, 5, true, metrics);
+        ShoppingList list = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                .withItemList(Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem()))
+                .build();
+        ShoppingList emptyList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Lists.newArrayList()).build();
+
+        //when
+        testedCache.get(list.getId(), listId -> list);
+        testedCache.get(emptyList.getId(), listId -> emptyList);
+
+        //then
+        Gauge<?> weight = metrics.getGauges().get(MetricRegistry.name(ShoppingListCache.CACHE_METRICS_NAME, "weight"));
+        assertThat(weight.getValue()).isEqualTo(4L);
+        assertThat(testedCache.getIfPresent(list.getId())).isEqualTo(list);
+    }
+
+    @Test
+    public void get_should_evict_lists_once_the_items_exceed_the_maximum_weight() {
+        //given
+        ShoppingListCache testedCache = new ShoppingListCache(3, 5, true, new MetricRegistry());
+        ShoppingList firstList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                .withItemList(Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem()))
+                .build();
+        ShoppingList secondList = ShoppingList.Builder.createFrom(firstList).withId(UUID.randomUUID()).build();
+
+        //when
+        testedCache.get(firstList.getId(), listId -> firstList);
+        testedCache.get(secondList.getId(), listId -> secondList);
+
+        //then
+        assertThat(testedCache.getWeight()).isLessThanOrEqualTo(3);
+        assertThat(testedCache.getIfPresent(secondList.getId())).isEqualTo(secondList);
+    }
+
+    @Test
+    public void get_should_not_cache_a_shared_list_loaded_while_it_was_invalidated() {
+        //given
+        ShoppingListCache testedCache = new ShoppingListCache(100, 5, true, new MetricRegistry());
+        ShoppingList list = TestHelper.generateRandomShoppingList();
+
+        //when
+        ShoppingList result = testedCache.get(list.getId(), listId -> {
+            //a concurrent write invalidates the list after it was read
+            testedCache.invalidate(listId);
+            return list;
+        });
+
+        //then
+        assertThat(result).isEqualTo(list);
+        assertThat(testedCache.getIfPresent(list.getId())).isNull();
+    }
+
+    @Test
+    public void get_should_only_cache_the_list_for_the_current_request_by_default() {
+        //given
+        ShoppingListCache testedCache = new ShoppingListCache(100, 5, false, new MetricRegistry());
+        ShoppingList list = TestHelper.generateRandomShoppingList();
+        RequestScope.open();
+        try {
+            //when
+            testedCache.get(list.getId(), listId -> list);
+
+            //then
+            assertThat(testedCache.getIfPresent(list.getId())).isEqualTo(list);
+            assertThat(testedCache.get(list.getId(), listId -> null)).isEqualTo(list);
+        } finally {
+            RequestScope.close();
+        }
+        RequestScope.open();
+        try {
+            assertThat(testedCache.getIfPresent(list.getId())).isNull();
+        } finally {
+            RequestScope.close();
+        }
+    }
+
+    @Test
+    public void get_should_not_cache_the_list_outside_of_a_request_by_default() {
+        //given
+        ShoppingListCache testedCache = new ShoppingListCache(100, 5, false, new MetricRegistry());
+        ShoppingList list = TestHelper.generateRandomShoppingList();
+
+        //when
+        ShoppingList result = testedCache.get(list.getId(), listId -> list);
+
+        //then
+        assertThat(result).isEqualTo(list);
+        assertThat(testedCache.getIfPresent(list.getId())).isNull();
+    }
+
+    @Test
+    public void request_cache_metrics_should_give_the_hit_ratio_and_the_footprint_of_each_request() {
+        //given
+        MetricRegistry metrics = new MetricRegistry();
+        ShoppingListCache testedCache = new ShoppingListCache(100, 5, false, metrics);
+        ShoppingList list = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                .withItemList(Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem()))
+                .build();
+
+        //when
+        RequestScope.open();
+        try {
+            testedCache.get(list.getId(), listId -> list);
+            testedCache.get(list.getId(), listId -> list);
+            //a write of the list does not reduce the footprint the request reached
+            testedCache.invalidate(list.getId());
+        } finally {
+            RequestScope.close();
+        }
+
+        //then
+        Gauge<?> hitRatio = metrics.getGauges().get(MetricRegistry.name(ShoppingListCache.CACHE_METRICS_NAME, "hit-ratio"));
+        assertThat(hitRatio.getValue()).isEqualTo(0.5);
+        Histogram requestWeight = metrics.getHistograms().get(MetricRegistry.name(ShoppingListCache.CACHE_METRICS_NAME, "request-weight"));
+        assertThat(requestWeight.getCount()).isEqualTo(1);
+        assertThat(requestWeight.getSnapshot().getMax()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,104 @@
+package io.tyoras.shopping.list.repository;
+
+import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.CONCURRENT_MODIFICATION;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_DELETED;
+import static io.tyoras.shopping.list.ShoppingListEvent.Type.LIST_UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShoppingListPublishingRepositoryTest {
+
+    @Mock
+    ShoppingListRepository mockedDelegate;
+
+    @Mock
+    ShoppingListEventBus mockedEventBus;
+
+    ShoppingListPublishingRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        testedRepo = new ShoppingListPublishingRepository(mockedDelegate, mockedEventBus);
+    }
+
+    @Test
+    public void update_should_publish_a_list_event_once_written() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        ArgumentCaptor<ShoppingListEvent> eventCaptor = ArgumentCaptor.forClass(ShoppingListEvent.class);
+
+        //when
+        testedRepo.update(existingList);
+
+        //then
+        verify(mockedDelegate).processUpdate(any(), anyLong());
+        verify(mockedEventBus).publish(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getListId()).isEqualTo(existingList.getId());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(LIST_UPDATED);
+        assertThat(eventCaptor.getValue().getItemId()).isNull();
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void update_should_not_publish_when_the_write_failed() {
+        //given
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockedDelegate.processGetById(existingList.getId())).thenReturn(existingList);
+        doThrow(new ApplicationException(INFO, CONCURRENT_MODIFICATION, "concurrent")).when(mockedDelegate).processUpdate(any(), anyLong());
+
+        //when
+        try {
+            testedRepo.update(existingList);
+        } finally {
+            //then
+            verify(mockedEventBus, never()).publish(any());
+        }
+    }
+
+    @Test
+    public void deleteById_should_publish_a_deletion_event() {
+        //given
+        UUID listId = UUID.randomUUID();
+        ArgumentCaptor<ShoppingListEvent> eventCaptor = ArgumentCaptor.forClass(ShoppingListEvent.class);
+
+        //when
+        testedRepo.deleteById(listId);
+
+        //then
+        verify(mockedDelegate).processDeleteById(listId);
+        verify(mockedEventBus).publish(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getListId()).isEqualTo(listId);
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(LIST_DELETED);
+    }
+
+    @Test
+    public void create_should_not_publish() {
+        //given
+        ShoppingList newList = TestHelper.generateRandomShoppingList();
+
+        //when
+        testedRepo.create(newList);
+
+        //then
+        verify(mockedDelegate).processCreate(any());
+        verifyZeroInteractions(mockedEventBus);
+    }
+}
@@ -4,20 +4,27 @@ import com.google.common.collect.ImmutableList;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.CommonErrorMessage;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListChanges;
 import io.tyoras.shopping.test.TestHelper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.NOT_FOUND;
+import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.VERSION_MISMATCH;
+import static io.tyoras.shopping.list.repository.ShoppingListRepository.SYNC_OVERLAP_IN_SECONDS;
+import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.PROBLEM_UPDATE_LIST_VERSION_MISMATCH;
 import static io.tyoras.shopping.test.TestHelper.assertApplicationException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -65,6 +72,55 @@ public class ShoppingListRepositoryTest {
         verify(testedRepo, never()).processGetById(any());
     }
 
+    @Test
+    public void getChangesSince_should_return_no_change_with_null_Id() {
+        //given
+        UUID nullId = null;
+
+        //when
+        ShoppingListChanges result = testedRepo.getChangesSince(nullId, LocalDateTime.now());
+
+        //then
+        assertThat(result.getChangedLists()).isEmpty();
+        assertThat(result.getTombstones()).isEmpty();
+        verify(testedRepo, never()).processGetChangedByOwner(any(), any());
+    }
+
+    @Test
+    public void getChangesSince_should_require_a_reset_on_the_first_synchronization() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        ImmutableList<ShoppingList> allLists = ImmutableList.of(TestHelper.generateRandomShoppingList());
+        doReturn(allLists).when(testedRepo).processGetByOwner(ownerId);
+
+        //when
+        ShoppingListChanges result = testedRepo.getChangesSince(ownerId, null);
+
+        //then
+        assertThat(result.isResetRequired()).isTrue();
+        assertThat(result.getChangedLists()).isEqualTo(allLists);
+        verify(testedRepo, never()).processGetTombstonesByOwner(any(), any());
+    }
+
+    @Test
+    public void getChangesSince_should_move_the_watermark_back_by_the_overlap_margin() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        doReturn(ImmutableList.of()).when(testedRepo).processGetChangedByOwner(ownerId, since);
+        doReturn(ImmutableList.of()).when(testedRepo).processGetTombstonesByOwner(ownerId, since);
+        LocalDateTime before = LocalDateTime.now();
+
+        //when
+        ShoppingListChanges result = testedRepo.getChangesSince(ownerId, since);
+
+        //then
+        assertThat(result.isResetRequired()).isFalse();
+        assertThat(result.getWatermark()).isBetween(before.minusSeconds(SYNC_OVERLAP_IN_SECONDS), LocalDateTime.now().minusSeconds(SYNC_OVERLAP_IN_SECONDS));
+        verify(testedRepo).processGetChangedByOwner(ownerId, since);
+        verify(testedRepo).processGetTombstonesByOwner(ownerId, since);
+    }
+
     @Test
     public void update_should_do_nothing_with_null_list() {
         //given
@@ -74,7 +130,7 @@ public class ShoppingListRepositoryTest {
         testedRepo.update(nullShoppingList);
 
         //then
-        verify(testedRepo, never()).processUpdate(any());
+        verify(testedRepo, never()).processUpdate(any(), anyLong());
     }
 
     @Test(expected = ApplicationException.class)
@@ -91,10 +147,43 @@ public class ShoppingListRepositoryTest {
             assertApplicationException(ae, INFO, NOT_FOUND, expectedErrorMessage);
             throw ae;
         } finally {
-            verify(testedRepo, never()).processUpdate(any());
+            verify(testedRepo, never()).processUpdate(any(), anyLong());
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void update_should_fail_with_version_mismatch() {
+        //given
+        ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withRandomId().withVersion(2).build();
+        when(testedRepo.getById(existingShoppingList.getId())).thenReturn(existingShoppingList);
+        String expectedErrorMessage = PROBLEM_UPDATE_LIST_VERSION_MISMATCH.getDevReadableMessage(existingShoppingList.getId(), 2L, 1L);
+
+        //when
+        try {
+            testedRepo.update(existingShoppingList, 1L);
+        } catch (ApplicationException ae) {
+            //then
+            assertApplicationException(ae, INFO, VERSION_MISMATCH, expectedErrorMessage);
+            throw ae;
+        } finally {
+            verify(testedRepo, never()).processUpdate(any(), anyLong());
         }
     }
 
+    @Test
+    public void update_should_increment_version_with_matching_version() {
+        //given
+        ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withRandomId().withVersion(2).build();
+        when(testedRepo.getById(existingShoppingList.getId())).thenReturn(existingShoppingList);
+        doNothing().when(testedRepo).processUpdate(any(), anyLong());
+
+        //when
+        testedRepo.update(existingShoppingList, 2L);
+
+        //then
+        verify(testedRepo).processUpdate(argThat(list -> list.getVersion() == 3), eq(2L));
+    }
+
     @Test
     public void deleteById_should_do_nothing_with_null_Id() {
         //given
@@ -3,21 +3,33 @@ package io.tyoras.shopping.list.repository.mongo;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.list.LogicalTimestamp;
 import io.tyoras.shopping.list.ShoppingItem;
+import io.tyoras.shopping.list.ShoppingItemMergeResult;
+import io.tyoras.shopping.list.ShoppingItemOperation;
+import io.tyoras.shopping.list.ShoppingItemOperationResult;
+import io.tyoras.shopping.list.ShoppingItemPatch;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListTombstone;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.test.fongo.FongoBackedTest;
 import org.bson.Document;
 import org.bson.conversions.Bson;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.list.ItemState.BOUGHT;
+import static io.tyoras.shopping.list.ShoppingItemOperationResult.Status.APPLIED;
+import static io.tyoras.shopping.list.ShoppingItemOperationResult.Status.REMOVED;
 import static io.tyoras.shopping.infra.util.error.CommonErrorMessage.NOT_FOUND;
 import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.ALREADY_EXISTING;
 import static io.tyoras.shopping.list.repository.ShoppingItemRepositoryErrorMessage.PROBLEM_CREATION_ITEM_ALREADY_EXISTS;
@@ -35,7 +47,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test
     public void create_should_work() throws InterruptedException {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         Thread.sleep(1);
@@ -58,7 +70,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test(expected = ApplicationException.class)
     public void create_should_fail_with_message_with_already_existing_item() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         ShoppingItem alreadyExistingShoppingItem = existingList.getItemList().get(0);
         listRepo.create(existingList);
@@ -86,7 +98,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test(expected = ApplicationException.class)
     public void create_should_fail_with_message_with_not_existing_list() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         UUID unknownListId = UUID.randomUUID();
         ShoppingItem item = TestHelper.generateRandomShoppingItem();
 
@@ -109,7 +121,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test
     public void getById_should_return_null_with_not_existing_item_id() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         UUID notExistingShoppingItemId = UUID.randomUUID();
@@ -124,7 +136,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test(expected = ApplicationException.class)
     public void getById_should_fail_with_not_existing_list_id() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         UUID notExistingShoppingListId = UUID.randomUUID();
         UUID notExistingShoppingItemId = UUID.randomUUID();
 
@@ -141,7 +153,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test
     public void getById_should_work_with_existing_item_id() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         ShoppingItem expectedShoppingItem = existingList.getItemList().get(0);
@@ -155,10 +167,64 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     }
 
     @Test
-    @Ignore // passe avec embed mongo mais pas avec Fongo :(
+    public void getById_should_only_return_the_matching_item() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        ShoppingItem addedItem = TestHelper.generateRandomShoppingItem();
+        testedRepo.create(existingList.getId(), addedItem);
+
+        //when
+        ShoppingItem result = testedRepo.getById(existingList.getId(), addedItem.getId());
+
+        //then
+        assertThat(result).isEqualTo(addedItem);
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void update_should_fail_with_not_existing_item() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        existingList = listRepo.getById(existingList.getId());
+        ShoppingItem notExistingShoppingItem = TestHelper.generateRandomShoppingItem();
+
+        //when
+        try {
+            testedRepo.update(existingList.getId(), notExistingShoppingItem);
+        } catch (ApplicationException ae) {
+            //then
+            TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, NOT_FOUND.getDevReadableMessage("Item"));
+            throw ae;
+        } finally {
+            //the list should not have been modified
+            ShoppingList list = listRepo.getById(existingList.getId());
+            assertThat(list.getLastUpdate()).isEqualTo(existingList.getLastUpdate());
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void update_should_fail_with_not_existing_list() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingItem shoppingItem = TestHelper.generateRandomShoppingItem();
+
+        //when
+        try {
+            testedRepo.update(UUID.randomUUID(), shoppingItem);
+        } catch (ApplicationException ae) {
+            //then
+            TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, NOT_FOUND.getDevReadableMessage("Item"));
+            throw ae;
+        }
+    }
+
+    @Test
     public void update_should_work_with_existing_item() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         existingList = listRepo.getById(existingList.getId());
@@ -183,7 +249,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test
     public void deleteById_should_not_fail_with_not_existing_item_id() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         UUID notExistingShoppingItemId = UUID.randomUUID();
@@ -198,7 +264,7 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
     @Test
     public void deleteById_should_not_fail_with_not_existing_list_id() {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         UUID notExistingShoppingListId = UUID.randomUUID();
         UUID notExistingShoppingItemId = UUID.randomUUID();
 
@@ -209,10 +275,51 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
         //should not have failed
     }
 
+    @Test
+    public void deleteById_should_leave_a_tombstone_for_the_synchronizing_clients() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        ShoppingItem existingShoppingItem = existingList.getItemList().get(0);
+
+        //when
+        testedRepo.deleteById(existingList.getId(), existingShoppingItem.getId());
+
+        //then
+        List<ShoppingListTombstone> tombstones = listRepo.getChangesSince(existingList.getOwnerId(), since).getTombstones();
+        assertThat(tombstones).hasSize(1);
+        ShoppingListTombstone tombstone = tombstones.get(0);
+        assertThat(tombstone.getListId()).isEqualTo(existingList.getId());
+        assertThat(tombstone.getItemId()).isEqualTo(existingShoppingItem.getId());
+        assertThat(tombstone.getOwnerId()).isEqualTo(existingList.getOwnerId());
+    }
+
+    @Test
+    public void applyAll_should_leave_a_tombstone_for_each_deleted_item() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        UUID deletedItemId = existingList.getItemList().get(0).getId();
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.delete(deletedItemId),
+                ShoppingItemOperation.delete(UUID.randomUUID()));
+
+        //when
+        testedRepo.applyAll(existingList.getId(), operations);
+
+        //then
+        List<ShoppingListTombstone> tombstones = listRepo.getChangesSince(existingList.getOwnerId(), since).getTombstones();
+        assertThat(tombstones).extracting(ShoppingListTombstone::getItemId).containsExactly(deletedItemId);
+    }
+
     @Test
     public void deleteById_should_work_with_existing_item_id() throws InterruptedException {
         //given
-        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory, listRepo);
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
         ShoppingList existingList = TestHelper.generateRandomShoppingList();
         listRepo.create(existingList);
         Thread.sleep(1);
@@ -229,4 +336,334 @@ public class ShoppingItemMongoRepositoryTest extends FongoBackedTest {
         ShoppingItem result = testedRepo.getById(existingList.getId(), existingShoppingItem.getId());
         assertThat(result).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void applyAll_should_apply_every_operation_in_one_write() throws InterruptedException {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        ShoppingItem itemToUpdate = TestHelper.generateRandomShoppingItem();
+        ShoppingItem itemToBuy = TestHelper.generateRandomShoppingItem();
+        ShoppingItem itemToDelete = TestHelper.generateRandomShoppingItem();
+        existingList = ShoppingList.Builder.createFrom(existingList).withItemList(Arrays.asList(itemToUpdate, itemToBuy, itemToDelete)).build();
+        listRepo.create(existingList);
+        existingList = listRepo.getById(existingList.getId());
+        Thread.sleep(1);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+        ShoppingItem updatedItem = ShoppingItem.Builder.createFrom(itemToUpdate).withName("updated").withQuantity(42).build();
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.create(itemToCreate),
+                ShoppingItemOperation.update(updatedItem),
+                ShoppingItemOperation.changeState(itemToBuy.getId(), BOUGHT),
+                ShoppingItemOperation.delete(itemToDelete.getId()));
+
+        //when
+        List<ShoppingItemOperationResult> results = testedRepo.applyAll(existingList.getId(), operations);
+
+        //then
+        assertThat(results).extracting(ShoppingItemOperationResult::getStatus).containsOnly(APPLIED);
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getLastUpdate().isAfter(existingList.getLastUpdate())).isTrue();
+        assertThat(list.getItemList()).extracting(ShoppingItem::getId).containsExactly(itemToUpdate.getId(), itemToBuy.getId(), itemToCreate.getId());
+        ShoppingItem resultUpdatedItem = list.getItemList().get(0);
+        assertThat(resultUpdatedItem.getName()).isEqualTo("updated");
+        assertThat(resultUpdatedItem.getQuantity()).isEqualTo(42);
+        assertThat(list.getItemList().get(1).getState()).isEqualTo(BOUGHT);
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void applyAll_should_fail_with_not_existing_list() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        UUID unknownListId = UUID.randomUUID();
+        String expectedMessage = NOT_FOUND.getDevReadableMessage("List");
+
+        //when
+        try {
+            testedRepo.applyAll(unknownListId, Arrays.asList(ShoppingItemOperation.delete(UUID.randomUUID())));
+        } catch (ApplicationException ae) {
+            //then
+            TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, expectedMessage);
+            throw ae;
+        }
+    }
+
+    @Test
+    public void patch_should_only_change_the_patched_fields() throws InterruptedException {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        existingList = listRepo.getById(existingList.getId());
+        Thread.sleep(1);
+        ShoppingItem existingItem = existingList.getItemList().get(0);
+
+        //when
+        testedRepo.patch(existingList.getId(), existingItem.getId(), new ShoppingItemPatch(null, null, BOUGHT));
+
+        //then
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getVersion()).isEqualTo(existingList.getVersion() + 1);
+        assertThat(list.getLastUpdate().isAfter(existingList.getLastUpdate())).isTrue();
+        ShoppingItem result = list.getItemList().get(0);
+        assertThat(result.getState()).isEqualTo(BOUGHT);
+        assertThat(result.getName()).isEqualTo(existingItem.getName());
+        assertThat(result.getQuantity()).isEqualTo(existingItem.getQuantity());
+        assertThat(result.getLastUpdate().isAfter(existingItem.getLastUpdate())).isTrue();
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void patch_should_fail_with_not_existing_item() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        String expectedMessage = NOT_FOUND.getDevReadableMessage("Item");
+
+        //when
+        try {
+            testedRepo.patch(existingList.getId(), UUID.randomUUID(), new ShoppingItemPatch("new name", null, null));
+        } catch (ApplicationException ae) {
+            //then
+            TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, expectedMessage);
+            throw ae;
+        }
+    }
+
+    @Test
+    public void mergeAll_should_converge_whatever_the_order_the_editors_operations_are_merged_in() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList firstList = TestHelper.generateRandomShoppingList();
+        ShoppingList secondList = ShoppingList.Builder.createFrom(firstList).withId(UUID.randomUUID()).build();
+        listRepo.create(firstList);
+        listRepo.create(secondList);
+        UUID itemId = firstList.getItemList().get(0).getId();
+        List<ShoppingItemOperation> aliceOperations = Arrays.asList(
+                ShoppingItemOperation.rename(itemId, "alice name").withTimestamp(new LogicalTimestamp(2, "alice")));
+        List<ShoppingItemOperation> bobOperations = Arrays.asList(
+                ShoppingItemOperation.rename(itemId, "bob name").withTimestamp(new LogicalTimestamp(1, "bob")),
+                ShoppingItemOperation.changeQuantity(itemId, 42).withTimestamp(new LogicalTimestamp(1, "bob")),
+                ShoppingItemOperation.changeState(itemId, BOUGHT).withTimestamp(new LogicalTimestamp(2, "bob")));
+
+        //when
+        testedRepo.mergeAll(firstList.getId(), aliceOperations);
+        testedRepo.mergeAll(firstList.getId(), bobOperations);
+        testedRepo.mergeAll(secondList.getId(), bobOperations);
+        testedRepo.mergeAll(secondList.getId(), aliceOperations);
+
+        //then
+        ShoppingItem firstResult = testedRepo.getById(firstList.getId(), itemId);
+        ShoppingItem secondResult = testedRepo.getById(secondList.getId(), itemId);
+        assertThat(firstResult.getName()).isEqualTo("alice name").isEqualTo(secondResult.getName());
+        assertThat(firstResult.getQuantity()).isEqualTo(42).isEqualTo(secondResult.getQuantity());
+        assertThat(firstResult.getState()).isEqualTo(BOUGHT).isEqualTo(secondResult.getState());
+    }
+
+    @Test
+    public void mergeAll_should_let_a_removal_win_over_the_concurrent_changes() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        UUID itemId = existingList.getItemList().get(0).getId();
+        testedRepo.mergeAll(existingList.getId(), Arrays.asList(ShoppingItemOperation.delete(itemId).withTimestamp(new LogicalTimestamp(1, "bob"))));
+        ShoppingItemOperation laterRename = ShoppingItemOperation.rename(itemId, "alice name").withTimestamp(new LogicalTimestamp(5, "alice"));
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(existingList.getId(), Arrays.asList(laterRename));
+
+        //then
+        assertThat(result.getResults()).extracting(ShoppingItemOperationResult::getStatus).containsExactly(REMOVED);
+        assertThat(testedRepo.getById(existingList.getId(), itemId)).isNull();
+    }
+
+    @Test
+    public void mergeAll_should_not_change_anything_when_an_operation_is_resent() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+        List<ShoppingItemOperation> operations = Arrays.asList(ShoppingItemOperation.create(itemToCreate).withTimestamp(new LogicalTimestamp(1, "alice")));
+        testedRepo.mergeAll(existingList.getId(), operations);
+        ShoppingList mergedList = listRepo.getById(existingList.getId());
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(existingList.getId(), operations);
+
+        //then
+        assertThat(result.getResults()).extracting(ShoppingItemOperationResult::getStatus).containsExactly(APPLIED);
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getVersion()).isEqualTo(mergedList.getVersion());
+        assertThat(list.getItemList()).extracting(ShoppingItem::getId).containsOnlyOnce(itemToCreate.getId());
+    }
+
+    @Test
+    public void mergeAll_should_return_the_highest_clock_merged_in_the_list() {
+        //given
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        listRepo.create(existingList);
+        UUID itemId = existingList.getItemList().get(0).getId();
+        testedRepo.mergeAll(existingList.getId(), Arrays.asList(
+                ShoppingItemOperation.changeQuantity(itemId, 3).withTimestamp(new LogicalTimestamp(7, "alice")),
+                ShoppingItemOperation.changeState(itemId, BOUGHT).withTimestamp(new LogicalTimestamp(3, "alice"))));
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(existingList.getId(), Arrays.asList(
+                ShoppingItemOperation.changeQuantity(itemId, 2).withTimestamp(new LogicalTimestamp(2, "bob"))));
+
+        //then
+        assertThat(result.getClock()).isEqualTo(7);
+        assertThat(testedRepo.getById(existingList.getId(), itemId).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    public void create_should_move_the_items_out_of_the_list_document_when_it_is_full() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 2;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingItem firstItem = TestHelper.generateRandomShoppingItem();
+        ShoppingItem secondItem = TestHelper.generateRandomShoppingItem();
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(firstItem, secondItem)).build();
+        listRepo.create(existingList);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+
+        //when
+        testedRepo.create(existingList.getId(), itemToCreate);
+
+        //then
+        Document listDocument = listCollection.find(Filters.eq(FIELD_ID, existingList.getId())).first();
+        assertThat(listDocument.getBoolean(ShoppingListMongoConverter.FIELD_EXTERNAL_ITEMS)).isTrue();
+        assertThat((List<?>) listDocument.get(ShoppingListMongoConverter.FIELD_ITEM_LIST)).isEmpty();
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getItemList()).extracting(ShoppingItem::getId).containsExactly(firstItem.getId(), secondItem.getId(), itemToCreate.getId());
+        assertThat(list.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    public void create_should_fail_with_already_existing_item_moved_out_of_the_list_document() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(TestHelper.generateRandomShoppingItem())).build();
+        listRepo.create(existingList);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+        testedRepo.create(existingList.getId(), itemToCreate);
+
+        try {
+            //when
+            testedRepo.create(existingList.getId(), itemToCreate);
+        } catch (ApplicationException ae) {
+            //then
+            assertThat(ae.getErrorCode()).isEqualTo(ALREADY_EXISTING);
+            return;
+        }
+        throw new AssertionError("The creation of an already existing item should have failed");
+    }
+
+    @Test
+    public void item_writes_should_keep_working_once_the_items_are_moved_out_of_the_list_document() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingItem itemToUpdate = TestHelper.generateRandomShoppingItem();
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(itemToUpdate)).build();
+        listRepo.create(existingList);
+        ShoppingItem itemToDelete = TestHelper.generateRandomShoppingItem();
+        testedRepo.create(existingList.getId(), itemToDelete);
+        ShoppingItem updatedItem = ShoppingItem.Builder.createFrom(itemToUpdate).withName("updated").build();
+
+        //when
+        testedRepo.update(existingList.getId(), updatedItem);
+        testedRepo.patch(existingList.getId(), itemToUpdate.getId(), new ShoppingItemPatch(null, 42, BOUGHT));
+        testedRepo.deleteById(existingList.getId(), itemToDelete.getId());
+
+        //then
+        ShoppingItem result = testedRepo.getById(existingList.getId(), itemToUpdate.getId());
+        assertThat(result.getName()).isEqualTo("updated");
+        assertThat(result.getQuantity()).isEqualTo(42);
+        assertThat(result.getState()).isEqualTo(BOUGHT);
+        assertThat(testedRepo.getById(existingList.getId(), itemToDelete.getId())).isNull();
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getItemList()).containsExactly(result);
+        assertThat(list.getVersion()).isEqualTo(4);
+        assertThat(listRepo.getChangesSince(list.getOwnerId(), LocalDateTime.now().minusMinutes(1)).getTombstones())
+                .extracting(ShoppingListTombstone::getItemId).containsExactly(itemToDelete.getId());
+    }
+
+    @Test
+    public void applyAll_should_move_the_items_out_of_the_list_document_when_the_created_items_would_not_fit() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 2;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingItem itemToBuy = TestHelper.generateRandomShoppingItem();
+        ShoppingItem itemToDelete = TestHelper.generateRandomShoppingItem();
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(itemToBuy, itemToDelete)).build();
+        listRepo.create(existingList);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.create(itemToCreate),
+                ShoppingItemOperation.changeState(itemToBuy.getId(), BOUGHT),
+                ShoppingItemOperation.delete(itemToDelete.getId()));
+
+        //when
+        List<ShoppingItemOperationResult> results = testedRepo.applyAll(existingList.getId(), operations);
+
+        //then
+        assertThat(results).extracting(ShoppingItemOperationResult::getStatus).containsOnly(APPLIED);
+        Document listDocument = listCollection.find(Filters.eq(FIELD_ID, existingList.getId())).first();
+        assertThat(listDocument.getBoolean(ShoppingListMongoConverter.FIELD_EXTERNAL_ITEMS)).isTrue();
+        ShoppingList list = listRepo.getById(existingList.getId());
+        assertThat(list.getItemList()).extracting(ShoppingItem::getId).containsExactly(itemToBuy.getId(), itemToCreate.getId());
+        assertThat(list.getItemList().get(0).getState()).isEqualTo(BOUGHT);
+    }
+
+    @Test
+    public void applyAll_should_apply_an_operation_relying_on_a_previous_one_of_the_batch() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(TestHelper.generateRandomShoppingItem())).build();
+        listRepo.create(existingList);
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+        List<ShoppingItemOperation> operations = Arrays.asList(
+                ShoppingItemOperation.create(itemToCreate),
+                ShoppingItemOperation.changeState(itemToCreate.getId(), BOUGHT));
+
+        //when
+        List<ShoppingItemOperationResult> results = testedRepo.applyAll(existingList.getId(), operations);
+
+        //then
+        assertThat(results).extracting(ShoppingItemOperationResult::getStatus).containsOnly(APPLIED);
+        assertThat(testedRepo.getById(existingList.getId(), itemToCreate.getId()).getState()).isEqualTo(BOUGHT);
+    }
+
+    @Test
+    public void mergeAll_should_converge_once_the_items_are_moved_out_of_the_list_document() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingItemMongoRepository testedRepo = new ShoppingItemMongoRepository(connectionFactory);
+        ShoppingList existingList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(Arrays.asList(TestHelper.generateRandomShoppingItem())).build();
+        listRepo.create(existingList);
+        UUID itemId = existingList.getItemList().get(0).getId();
+        testedRepo.mergeAll(existingList.getId(), Arrays.asList(
+                ShoppingItemOperation.rename(itemId, "alice name").withTimestamp(new LogicalTimestamp(2, "alice"))));
+        ShoppingItem itemToCreate = TestHelper.generateRandomShoppingItem();
+
+        //when
+        ShoppingItemMergeResult result = testedRepo.mergeAll(existingList.getId(), Arrays.asList(
+                ShoppingItemOperation.create(itemToCreate).withTimestamp(new LogicalTimestamp(3, "bob")),
+                ShoppingItemOperation.rename(itemId, "bob name").withTimestamp(new LogicalTimestamp(1, "bob")),
+                ShoppingItemOperation.changeQuantity(itemId, 42).withTimestamp(new LogicalTimestamp(1, "bob"))));
+
+        //then
+        assertThat(result.getResults()).extracting(ShoppingItemOperationResult::getStatus).containsOnly(APPLIED);
+        assertThat(result.getClock()).isEqualTo(3);
+        ShoppingItem mergedItem = testedRepo.getById(existingList.getId(), itemId);
+        assertThat(mergedItem.getName()).isEqualTo("alice name");
+        assertThat(mergedItem.getQuantity()).isEqualTo(42);
+        assertThat(listRepo.getById(existingList.getId()).getItemList()).extracting(ShoppingItem::getId).containsExactly(itemId, itemToCreate.getId());
+    }
+}
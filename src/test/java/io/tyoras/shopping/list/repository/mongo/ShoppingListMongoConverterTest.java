@@ -1,8 +1,13 @@
 package io.tyoras.shopping.list.repository.mongo;
 
+import com.mongodb.MongoClient;
 import io.tyoras.shopping.infra.util.helper.DateHelper;
+import io.tyoras.shopping.list.ItemState;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListSummary;
 import io.tyoras.shopping.test.TestHelper;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.junit.Test;
 
@@ -89,4 +94,59 @@ public class ShoppingListMongoConverterTest {
         assertThat(itemArray).isNotNull();
         assertThat(itemArray).hasSameSizeAs(list.getItemList());
     }
+
+    @Test
+    public void summaryFromDocument_should_work_with_projected_doc() {
+        //given
+        ShoppingList list = TestHelper.generateRandomShoppingList();
+        ShoppingListMongoConverter testedConverter = new ShoppingListMongoConverter();
+        Document doc = new Document(FIELD_ID, list.getId())
+                .append(FIELD_NAME, list.getName())
+                .append(FIELD_LAST_UPDATE, DateHelper.toDate(list.getLastUpdate()))
+                .append(FIELD_ITEM_COUNT, 3)
+                .append(FIELD_TO_BUY_COUNT, 1);
+
+        //when
+        ShoppingListSummary result = testedConverter.summaryFromDocument(doc);
+
+        //then
+        assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(list.getId());
+        assertThat(result.getName()).isEqualTo(list.getName());
+        assertThat(result.getItemCount()).isEqualTo(3);
+        assertThat(result.getToBuyCount()).isEqualTo(1);
+        assertThat(result.getLastUpdate()).isEqualToIgnoringNanos(list.getLastUpdate());
+    }
+
+    @Test
+    public void getSummaryProjection_should_not_return_the_items() {
+        //given
+        ShoppingListMongoConverter testedConverter = new ShoppingListMongoConverter();
+
+        //when
+        BsonDocument result = testedConverter.getSummaryProjection().toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry());
+
+        //then
+        BsonDocument projection = result.getDocument("$project");
+        assertThat(projection.keySet()).containsOnly(FIELD_NAME, FIELD_LAST_UPDATE, FIELD_EXTERNAL_ITEMS, FIELD_ITEM_GENERATION, FIELD_ITEM_COUNT, FIELD_TO_BUY_COUNT);
+        assertThat(projection.getDocument(FIELD_ITEM_COUNT).getString("$size").getValue()).isEqualTo("$" + FIELD_ITEM_LIST);
+        assertThat(projection.getDocument(FIELD_TO_BUY_COUNT).getDocument("$size").containsKey("$filter")).isTrue();
+    }
+
+    @Test
+    public void getSummaryProjection_should_count_the_items_to_buy_on_the_server_side() {
+        //given
+        ShoppingListMongoConverter testedConverter = new ShoppingListMongoConverter();
+
+        //when
+        BsonDocument result = testedConverter.getSummaryProjection().toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry());
+
+        //then
+        BsonDocument toBuyItems = result.getDocument("$project").getDocument(FIELD_TO_BUY_COUNT).getDocument("$size").getDocument("$filter");
+        assertThat(toBuyItems.getString("input").getValue()).isEqualTo("$" + FIELD_ITEM_LIST);
+        String itemVariable = toBuyItems.getString("as").getValue();
+        BsonArray condition = toBuyItems.getDocument("cond").getArray("$eq");
+        assertThat(condition.get(0).asString().getValue()).isEqualTo("$$" + itemVariable + "." + ShoppingItemMongoConverter.FIELD_STATE);
+        assertThat(condition.get(1).asString().getValue()).isEqualTo(ItemState.TO_BUY.name());
+    }
 }
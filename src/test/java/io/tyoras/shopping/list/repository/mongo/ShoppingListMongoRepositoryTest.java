@@ -4,9 +4,15 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import io.tyoras.shopping.infra.db.Page;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.infra.util.error.VersionConflictException;
 import io.tyoras.shopping.list.ShoppingItem;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListChanges;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.list.ShoppingListTombstone;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.test.fongo.FongoBackedTest;
 import org.bson.Document;
@@ -14,13 +20,30 @@ import org.bson.conversions.Bson;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
 import static io.tyoras.shopping.infra.db.mongo.MongoDocumentConverter.FIELD_ID;
+import static io.tyoras.shopping.infra.rest.error.Level.INFO;
+import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.CONCURRENT_MODIFICATION;
+import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.VERSION_MISMATCH;
+import static io.tyoras.shopping.list.repository.ShoppingListRepository.TOMBSTONE_TTL_IN_DAYS;
 import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.PROBLEM_CREATION_LIST;
+import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.PROBLEM_UPDATE_LIST_CONCURRENT_MODIFICATION;
+import static io.tyoras.shopping.list.repository.ShoppingListRepositoryErrorMessage.PROBLEM_UPDATE_LIST_VERSION_MISMATCH;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_EXTERNAL_ITEMS;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_ITEM_LIST;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_LAST_UPDATE;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_OWNER_ID;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoConverter.FIELD_VERSION;
 import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_COLLECTION;
+import static io.tyoras.shopping.list.repository.mongo.ShoppingListMongoRepository.LIST_ITEM_COLLECTION;
+import static io.tyoras.shopping.test.TestHelper.assertApplicationException;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ShoppingListMongoRepositoryTest extends FongoBackedTest {
@@ -119,6 +142,123 @@ public class ShoppingListMongoRepositoryTest extends FongoBackedTest {
         assertThat(result.getLastUpdate().isAfter(originalShoppingList.getLastUpdate())).isTrue();
     }
 
+    @Test
+    public void update_should_increment_version() {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(originalShoppingList);
+        originalShoppingList = testedRepo.getById(originalShoppingList.getId());
+        ShoppingList modifiedShoppingList = ShoppingList.Builder.createFrom(originalShoppingList).withName("new name").build();
+
+        //when
+        testedRepo.update(modifiedShoppingList, originalShoppingList.getVersion());
+
+        //then
+        ShoppingList result = testedRepo.getById(originalShoppingList.getId());
+        assertThat(originalShoppingList.getVersion()).isEqualTo(0);
+        assertThat(result.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    public void update_should_work_with_list_stored_without_version() {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        Document legacyDocument = converter.toDocument(originalShoppingList);
+        legacyDocument.remove(FIELD_VERSION);
+        listCollection.insertOne(legacyDocument);
+        ShoppingList modifiedShoppingList = ShoppingList.Builder.createFrom(originalShoppingList).withName("new name").build();
+
+        //when
+        testedRepo.update(modifiedShoppingList, 0L);
+
+        //then
+        ShoppingList result = testedRepo.getById(originalShoppingList.getId());
+        assertThat(result.getName()).isEqualTo("new name");
+        assertThat(result.getVersion()).isEqualTo(1);
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void processUpdate_should_fail_when_list_was_modified_concurrently() {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(originalShoppingList);
+        ShoppingList concurrentShoppingList = ShoppingList.Builder.createFrom(originalShoppingList).withName("concurrent name").build();
+        testedRepo.update(concurrentShoppingList);
+        ShoppingList staleShoppingList = ShoppingList.Builder.createFrom(originalShoppingList).withName("stale name").withVersion(1).build();
+        String expectedMessage = PROBLEM_UPDATE_LIST_CONCURRENT_MODIFICATION.getDevReadableMessage(originalShoppingList.getId(), 1L);
+
+        //when
+        try {
+            testedRepo.processUpdate(staleShoppingList, 0L);
+        } catch (ApplicationException ae) {
+            //then
+            assertApplicationException(ae, INFO, CONCURRENT_MODIFICATION, expectedMessage);
+            assertThat(ae).isInstanceOf(VersionConflictException.class);
+            assertThat(((VersionConflictException) ae).getCurrentVersion()).isEqualTo(1L);
+            throw ae;
+        } finally {
+            ShoppingList result = testedRepo.getById(originalShoppingList.getId());
+            assertThat(result.getName()).isEqualTo("concurrent name");
+        }
+    }
+
+    @Test
+    public void getVersion_should_only_read_the_version() {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(originalShoppingList);
+        testedRepo.patch(originalShoppingList.getId(), new ShoppingListPatch("new name"), null);
+
+        //when
+        Long result = testedRepo.getVersion(originalShoppingList.getId());
+
+        //then
+        assertThat(result).isEqualTo(1L);
+        assertThat(testedRepo.getVersion(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    public void patch_should_only_change_the_patched_fields() throws InterruptedException {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(originalShoppingList);
+        originalShoppingList = testedRepo.getById(originalShoppingList.getId());
+        Thread.sleep(1);
+
+        //when
+        testedRepo.patch(originalShoppingList.getId(), new ShoppingListPatch("new name"), originalShoppingList.getVersion());
+
+        //then
+        ShoppingList result = testedRepo.getById(originalShoppingList.getId());
+        assertThat(result.getName()).isEqualTo("new name");
+        assertThat(result.getItemList()).isEqualTo(originalShoppingList.getItemList());
+        assertThat(result.getVersion()).isEqualTo(originalShoppingList.getVersion() + 1);
+        assertThat(result.getLastUpdate().isAfter(originalShoppingList.getLastUpdate())).isTrue();
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void patch_should_fail_when_list_is_not_at_the_expected_version() {
+        //given
+        ShoppingList originalShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(originalShoppingList);
+        testedRepo.patch(originalShoppingList.getId(), new ShoppingListPatch("concurrent name"), null);
+        String expectedMessage = PROBLEM_UPDATE_LIST_VERSION_MISMATCH.getDevReadableMessage(originalShoppingList.getId(), 1L, 0L);
+
+        //when
+        try {
+            testedRepo.patch(originalShoppingList.getId(), new ShoppingListPatch("stale name"), 0L);
+        } catch (ApplicationException ae) {
+            //then
+            assertApplicationException(ae, INFO, VERSION_MISMATCH, expectedMessage);
+            assertThat(ae).isInstanceOf(VersionConflictException.class);
+            assertThat(((VersionConflictException) ae).getCurrentVersion()).isEqualTo(1L);
+            throw ae;
+        } finally {
+            ShoppingList result = testedRepo.getById(originalShoppingList.getId());
+            assertThat(result.getName()).isEqualTo("concurrent name");
+        }
+    }
+
     @Test
     public void update_should_be_able_to_update_items() throws InterruptedException {
         //given
@@ -146,6 +286,111 @@ public class ShoppingListMongoRepositoryTest extends FongoBackedTest {
         assertThat(result.getLastUpdate().isAfter(originalShoppingList.getLastUpdate())).isTrue();
     }
 
+    @Test
+    public void create_should_store_the_items_out_of_the_list_document_above_the_limit() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 2;
+        ShoppingListMongoRepository largeListRepo = new ShoppingListMongoRepository(connectionFactory);
+        List<ShoppingItem> items = Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem());
+        ShoppingList largeList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(items).build();
+
+        //when
+        largeListRepo.create(largeList);
+
+        //then
+        Document listDocument = listCollection.find(Filters.eq(FIELD_ID, largeList.getId())).first();
+        assertThat(listDocument.getBoolean(FIELD_EXTERNAL_ITEMS)).isTrue();
+        assertThat((List<?>) listDocument.get(FIELD_ITEM_LIST)).isEmpty();
+        ShoppingList result = largeListRepo.getById(largeList.getId());
+        assertThat(result.getItemList()).isEqualTo(items);
+        assertThat(largeListRepo.getByOwner(largeList.getOwnerId())).containsExactly(result);
+    }
+
+    @Test
+    public void update_should_move_the_items_back_into_the_list_document_below_the_limit() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 2;
+        ShoppingListMongoRepository largeListRepo = new ShoppingListMongoRepository(connectionFactory);
+        List<ShoppingItem> items = Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem());
+        ShoppingList largeList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(items).build();
+        largeListRepo.create(largeList);
+        ShoppingList smallList = ShoppingList.Builder.createFrom(largeListRepo.getById(largeList.getId())).withItemList(items.subList(0, 1)).build();
+
+        //when
+        largeListRepo.update(smallList);
+
+        //then
+        Document listDocument = listCollection.find(Filters.eq(FIELD_ID, largeList.getId())).first();
+        assertThat(listDocument.getBoolean(FIELD_EXTERNAL_ITEMS)).isFalse();
+        assertThat((List<?>) listDocument.get(FIELD_ITEM_LIST)).hasSize(1);
+        assertThat(largeListRepo.getById(largeList.getId()).getItemList()).containsExactly(items.get(0));
+        assertThat(getFongoDbConnectionFactory().getCollection(SHOPPING, LIST_ITEM_COLLECTION).count()).isEqualTo(0);
+    }
+
+    @Test
+    public void update_should_replace_the_items_stored_out_of_the_list_document() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingListMongoRepository largeListRepo = new ShoppingListMongoRepository(connectionFactory);
+        ShoppingItem keptItem = TestHelper.generateRandomShoppingItem();
+        ShoppingList largeList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                .withItemList(Lists.newArrayList(keptItem, TestHelper.generateRandomShoppingItem()))
+                .build();
+        largeListRepo.create(largeList);
+        List<ShoppingItem> newItems = Lists.newArrayList(keptItem, TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem());
+        ShoppingList modifiedList = ShoppingList.Builder.createFrom(largeListRepo.getById(largeList.getId())).withItemList(newItems).build();
+
+        //when
+        largeListRepo.update(modifiedList);
+
+        //then
+        assertThat(largeListRepo.getById(largeList.getId()).getItemList()).isEqualTo(newItems);
+        //the items of the previous generation are removed once the list switched to the new one
+        assertThat(getFongoDbConnectionFactory().getCollection(SHOPPING, LIST_ITEM_COLLECTION).count()).isEqualTo(3);
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void processUpdate_should_keep_the_items_stored_out_of_the_list_document_when_list_was_modified_concurrently() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingListMongoRepository largeListRepo = new ShoppingListMongoRepository(connectionFactory);
+        List<ShoppingItem> items = Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem());
+        ShoppingList largeList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withItemList(items).build();
+        largeListRepo.create(largeList);
+        largeListRepo.update(ShoppingList.Builder.createFrom(largeList).withName("concurrent name").build());
+        ShoppingList staleList = ShoppingList.Builder.createFrom(largeList)
+                .withItemList(Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem()))
+                .withVersion(1)
+                .build();
+
+        //when
+        try {
+            largeListRepo.processUpdate(staleList, 0L);
+        } finally {
+            //then
+            assertThat(largeListRepo.getById(largeList.getId()).getItemList()).isEqualTo(items);
+            assertThat(getFongoDbConnectionFactory().getCollection(SHOPPING, LIST_ITEM_COLLECTION).count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void deleteById_should_remove_the_items_stored_out_of_the_list_document() {
+        //given
+        getFongoDbConnectionFactory().getMongoConfig().maxEmbeddedItems = 1;
+        ShoppingListMongoRepository largeListRepo = new ShoppingListMongoRepository(connectionFactory);
+        ShoppingList largeList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                .withItemList(Lists.newArrayList(TestHelper.generateRandomShoppingItem(), TestHelper.generateRandomShoppingItem()))
+                .build();
+        largeListRepo.create(largeList);
+
+        //when
+        largeListRepo.deleteById(largeList.getId());
+
+        //then
+        assertThat(largeListRepo.getById(largeList.getId())).isNull();
+        assertThat(getFongoDbConnectionFactory().getCollection(SHOPPING, LIST_ITEM_COLLECTION).count()).isEqualTo(0);
+    }
+
     @Test
     public void deleteById_should_not_fail_with_not_existing_list_id() {
         //given
@@ -172,6 +417,64 @@ public class ShoppingListMongoRepositoryTest extends FongoBackedTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    public void deleteById_should_leave_a_tombstone_for_the_synchronizing_clients() {
+        //given
+        ShoppingList existingShoppingList = TestHelper.generateRandomShoppingList();
+        testedRepo.create(existingShoppingList);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+
+        //when
+        testedRepo.deleteById(existingShoppingList.getId());
+
+        //then
+        ShoppingListChanges changes = testedRepo.getChangesSince(existingShoppingList.getOwnerId(), since);
+        assertThat(changes.isResetRequired()).isFalse();
+        assertThat(changes.getChangedLists()).isEmpty();
+        assertThat(changes.getTombstones()).hasSize(1);
+        ShoppingListTombstone tombstone = changes.getTombstones().get(0);
+        assertThat(tombstone.isListDeletion()).isTrue();
+        assertThat(tombstone.getListId()).isEqualTo(existingShoppingList.getId());
+        assertThat(tombstone.getOwnerId()).isEqualTo(existingShoppingList.getOwnerId());
+    }
+
+    @Test
+    public void getChangesSince_should_only_return_the_lists_updated_since_the_watermark() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        ShoppingList oldList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withOwnerId(ownerId).withLastUpdate(now.minusDays(2)).build();
+        ShoppingList changedList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withOwnerId(ownerId).withLastUpdate(now.minusHours(1)).build();
+        ShoppingList otherOwnerList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withLastUpdate(now.minusHours(1)).build();
+        Stream.of(oldList, changedList, otherOwnerList).forEach(list -> listCollection.insertOne(converter.toDocument(list)));
+
+        //when
+        ShoppingListChanges result = testedRepo.getChangesSince(ownerId, now.minusDays(1));
+
+        //then
+        assertThat(result.isResetRequired()).isFalse();
+        assertThat(result.getChangedLists()).extracting(ShoppingList::getId).containsExactly(changedList.getId());
+        assertThat(result.getTombstones()).isEmpty();
+        assertThat(result.getWatermark()).isBefore(LocalDateTime.now());
+    }
+
+    @Test
+    public void getChangesSince_should_return_all_the_lists_when_the_tombstones_may_have_expired() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        ShoppingList oldList = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withOwnerId(ownerId).withLastUpdate(now.minusDays(2)).build();
+        listCollection.insertOne(converter.toDocument(oldList));
+
+        //when
+        ShoppingListChanges result = testedRepo.getChangesSince(ownerId, now.minusDays(TOMBSTONE_TTL_IN_DAYS + 1));
+
+        //then
+        assertThat(result.isResetRequired()).isTrue();
+        assertThat(result.getChangedLists()).extracting(ShoppingList::getId).containsExactly(oldList.getId());
+        assertThat(result.getTombstones()).isEmpty();
+    }
+
     @Test
     public void getByOwner_should_return_empty_list_if_no_list_found() {
         //given
@@ -205,4 +508,78 @@ public class ShoppingListMongoRepositoryTest extends FongoBackedTest {
         assertThat(result).hasSize(2);
         assertThat(result).containsExactly(expectedShoppingList1, expectedShoppingList2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getByOwner_should_read_lists_page_by_page_from_the_most_recently_updated() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> expectedIds = Lists.newArrayList();
+        for (int i = 0; i < 5; i++) {
+            ShoppingList list = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                    .withOwnerId(ownerId)
+                    //two lists share each last update date to check the tie break on Id
+                    .withLastUpdate(now.minusMinutes(i / 2))
+                    .build();
+            listCollection.insertOne(converter.toDocument(list));
+        }
+        listCollection.find(Filters.eq(FIELD_OWNER_ID, ownerId)).sort(Sorts.descending(FIELD_LAST_UPDATE, FIELD_ID))
+                .forEach((Consumer<Document>) doc -> expectedIds.add(doc.get(FIELD_ID, UUID.class)));
+
+        //when
+        Page<ShoppingList> firstPage = testedRepo.getByOwner(ownerId, null, 2);
+        Page<ShoppingList> secondPage = testedRepo.getByOwner(ownerId, firstPage.getNext().get(), 2);
+        Page<ShoppingList> lastPage = testedRepo.getByOwner(ownerId, secondPage.getNext().get(), 2);
+
+        //then
+        List<UUID> resultIds = Lists.newArrayList();
+        for (Page<ShoppingList> page : ImmutableList.of(firstPage, secondPage, lastPage)) {
+            page.getElements().forEach(list -> resultIds.add(list.getId()));
+        }
+        assertThat(firstPage.getElements()).hasSize(2);
+        assertThat(secondPage.getElements()).hasSize(2);
+        assertThat(lastPage.getElements()).hasSize(1);
+        assertThat(lastPage.getNext()).isEmpty();
+        assertThat(resultIds).isEqualTo(expectedIds);
+    }
+
+    @Test
+    public void getByOwner_should_return_single_page_without_next_when_all_lists_fit() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        ShoppingList list = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList()).withOwnerId(ownerId).build();
+        testedRepo.create(list);
+
+        //when
+        Page<ShoppingList> result = testedRepo.getByOwner(ownerId, null, 2);
+
+        //then
+        assertThat(result.getElements()).hasSize(1);
+        assertThat(result.getNext()).isEmpty();
+    }
+
+    @Test
+    public void streamByOwner_should_stream_lists_from_the_most_recently_updated() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> expectedIds = Lists.newArrayList();
+        for (int i = 0; i < 3; i++) {
+            ShoppingList list = ShoppingList.Builder.createFrom(TestHelper.generateRandomShoppingList())
+                    .withOwnerId(ownerId)
+                    .withLastUpdate(now.minusMinutes(i))
+                    .build();
+            listCollection.insertOne(converter.toDocument(list));
+            expectedIds.add(list.getId());
+        }
+
+        //when
+        List<UUID> resultIds;
+        try (Stream<ShoppingList> result = testedRepo.streamByOwner(ownerId, null, 2)) {
+            resultIds = result.map(ShoppingList::getId).collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(resultIds).isEqualTo(expectedIds.subList(0, 2));
+    }
+}
@@ -0,0 +1,128 @@
+package io.tyoras.shopping.list.representation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.list.ShoppingItemPatch;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static io.tyoras.shopping.list.ItemState.BOUGHT;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShoppingItemPatchRepresentationTest {
+
+    private static final ObjectMapper MAPPER = Jackson.newObjectMapper();
+
+    @Test
+    public void toShoppingItemPatch_should_only_keep_present_fields() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"state\":\"BOUGHT\"}");
+
+        //when
+        ShoppingItemPatch result = ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+
+        //then
+        assertThat(result).isEqualTo(new ShoppingItemPatch(null, null, BOUGHT));
+    }
+
+    @Test
+    public void toShoppingItemPatch_should_work_with_all_fields() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"name\":\"milk\",\"quantity\":3,\"state\":\"TO_BUY\"}");
+
+        //when
+        ShoppingItemPatch result = ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+
+        //then
+        assertThat(result.getName()).contains("milk");
+        assertThat(result.getQuantity()).contains(3);
+        assertThat(result.isEmpty()).isFalse();
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingItemPatch_should_fail_when_removing_a_field() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"name\":null}");
+        String expectedMessage = "Invalid item patch : field name can not be removed";
+
+        //when
+        try {
+            ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingItemPatch_should_fail_with_not_patchable_field() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"id\":\"5fd1ae4c-7e0c-4e55-a3bb-6ab9bd2d5ac1\"}");
+        String expectedMessage = "Invalid item patch : field id can not be patched";
+
+        //when
+        try {
+            ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingItemPatch_should_fail_with_unknown_state() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"state\":\"LOST\"}");
+        String expectedMessage = "Invalid item patch : unknown state LOST";
+
+        //when
+        try {
+            ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingItemPatch_should_fail_with_wrong_field_type() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"quantity\":\"a lot\"}");
+        String expectedMessage = "Invalid item patch : field quantity should be an integer";
+
+        //when
+        try {
+            ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingItemPatch_should_fail_without_object() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("[]");
+        String expectedMessage = "Invalid item patch : a JSON object is expected";
+
+        //when
+        try {
+            ShoppingItemPatchRepresentation.toShoppingItemPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+}
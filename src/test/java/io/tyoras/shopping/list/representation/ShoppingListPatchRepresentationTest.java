@@ -0,0 +1,65 @@
+package io.tyoras.shopping.list.representation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.list.ShoppingListPatch;
+import io.tyoras.shopping.test.TestHelper;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
+import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShoppingListPatchRepresentationTest {
+
+    private static final ObjectMapper MAPPER = Jackson.newObjectMapper();
+
+    @Test
+    public void toShoppingListPatch_should_work_with_name() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"name\":\"groceries\"}");
+
+        //when
+        ShoppingListPatch result = ShoppingListPatchRepresentation.toShoppingListPatch(patchDocument);
+
+        //then
+        assertThat(result).isEqualTo(new ShoppingListPatch("groceries"));
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingListPatch_should_fail_with_blank_name() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"name\":\" \"}");
+        String expectedMessage = "Invalid list patch : Invalid list name";
+
+        //when
+        try {
+            ShoppingListPatchRepresentation.toShoppingListPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    public void toShoppingListPatch_should_fail_with_items() throws IOException {
+        //given
+        JsonNode patchDocument = MAPPER.readTree("{\"itemList\":[]}");
+        String expectedMessage = "Invalid list patch : field itemList can not be patched";
+
+        //when
+        try {
+            ShoppingListPatchRepresentation.toShoppingListPatch(patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+}
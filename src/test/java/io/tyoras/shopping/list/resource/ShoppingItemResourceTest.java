@@ -1,5 +1,7 @@
 package io.tyoras.shopping.list.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.jackson.Jackson;
 import io.tyoras.shopping.infra.rest.Link;
 import io.tyoras.shopping.infra.rest.RestRepresentation;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
@@ -8,6 +10,10 @@ import io.tyoras.shopping.infra.util.error.ErrorMessage;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
 import io.tyoras.shopping.list.ShoppingItem;
 import io.tyoras.shopping.list.repository.ShoppingItemRepository;
+import io.tyoras.shopping.list.representation.ShoppingItemBatchResultRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemMergeResultRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemOperationResultRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingItemOperationWriteRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingItemRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingItemWriteRepresentation;
 import io.tyoras.shopping.test.TestHelper;
@@ -21,16 +27,23 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
 import static io.tyoras.shopping.list.ItemState.TO_BUY;
+import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.BATCH_TOO_LARGE;
+import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.EMPTY_BATCH;
 import static io.tyoras.shopping.list.resource.ShoppingItemResourceErrorMessage.ITEM_NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
@@ -160,7 +173,7 @@ public class ShoppingItemResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), listIdStr, invalidId);
+            testedResource.getById(TestHelper.generateRandomUser(), listIdStr, invalidId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -177,7 +190,7 @@ public class ShoppingItemResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), invalidListId, itemIdStr);
+            testedResource.getById(TestHelper.generateRandomUser(), invalidListId, itemIdStr, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -194,7 +207,7 @@ public class ShoppingItemResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), listIdStr, unknownId);
+            testedResource.getById(TestHelper.generateRandomUser(), listIdStr, unknownId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
@@ -213,7 +226,7 @@ public class ShoppingItemResourceTest {
         when(mockeItemRepo.getById(listId, existingId)).thenReturn(existingShoppingItem);
 
         //when
-        Response response = testedResource.getById(TestHelper.generateRandomUser(), listId.toString(), existingId.toString());
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), listId.toString(), existingId.toString(), null);
 
         //then
         assertThat(response).isNotNull();
@@ -290,14 +303,16 @@ public class ShoppingItemResourceTest {
     @Test(expected = ApplicationException.class)
     public void update_should_return_404_with_unknown_item() {
         //given
-        String listIdStr = UUID.randomUUID().toString();
+        UUID listId = UUID.randomUUID();
         @SuppressWarnings("deprecation")
         ShoppingItemWriteRepresentation representation = new ShoppingItemWriteRepresentation(UUID.randomUUID(), "name", 10, TO_BUY.toString());
         String expectedMessage = "Item not found";
+        ShoppingItem unknownItem = ShoppingItemWriteRepresentation.toShoppingItem(representation, representation.getId());
+        doThrow(new ApplicationException(INFO, RepositoryErrorCode.NOT_FOUND, expectedMessage)).when(mockeItemRepo).update(listId, unknownItem);
 
         //when
         try {
-            testedResource.update(TestHelper.generateRandomUser(), listIdStr, representation.getId().toString(), representation);
+            testedResource.update(TestHelper.generateRandomUser(), listId.toString(), representation.getId().toString(), representation);
         } catch (ApplicationException ae) {
             //then
             TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, expectedMessage);
@@ -371,4 +386,174 @@ public class ShoppingItemResourceTest {
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(NO_CONTENT.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void applyBatch_should_return_the_result_of_each_operation() {
+        //given
+        String expectedURL = "http://test";
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo(expectedURL);
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        UUID listId = UUID.randomUUID();
+        UUID unknownItemId = UUID.randomUUID();
+        ShoppingItemWriteRepresentation itemToCreate = new ShoppingItemWriteRepresentation(null, "new item", 2, TO_BUY.name());
+        List<ShoppingItemOperationWriteRepresentation> operations = Arrays.asList(
+                new ShoppingItemOperationWriteRepresentation("CREATE", null, itemToCreate, null),
+                new ShoppingItemOperationWriteRepresentation("DELETE", unknownItemId, null, null));
+
+        //when
+        Response response = testedResource.applyBatch(TestHelper.generateRandomUser(), listId.toString(), operations);
+
+        //then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        ShoppingItemBatchResultRepresentation batchResult = (ShoppingItemBatchResultRepresentation) response.getEntity();
+        assertThat(batchResult.getResults()).extracting(ShoppingItemOperationResultRepresentation::getStatus).containsExactly("APPLIED", "NOT_FOUND");
+        ShoppingItemOperationResultRepresentation creationResult = batchResult.getResults().get(0);
+        assertThat(creationResult.getItemId()).isNotNull();
+        assertThat(creationResult.getItem().getName()).isEqualTo("new item");
+        assertThat(batchResult.getResults().get(1).getItemId()).isEqualTo(unknownItemId);
+        assertThat(batchResult.getResults().get(1).getItem()).isNull();
+    }
+
+    @Test(expected = WebApiException.class)
+    public void applyBatch_should_return_400_with_empty_batch() {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+
+        //when
+        try {
+            testedResource.applyBatch(TestHelper.generateRandomUser(), listIdStr, Collections.emptyList());
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, EMPTY_BATCH);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    @SuppressWarnings("deprecation")
+    public void applyBatch_should_return_400_with_too_large_batch() {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+        List<ShoppingItemOperationWriteRepresentation> operations = new ArrayList<>();
+        for (int i = 0; i <= ShoppingItemResource.MAX_BATCH_SIZE; i++) {
+            operations.add(new ShoppingItemOperationWriteRepresentation("DELETE", UUID.randomUUID(), null, null));
+        }
+        String expectedMessage = BATCH_TOO_LARGE.getDevReadableMessage(ShoppingItemResource.MAX_BATCH_SIZE);
+
+        //when
+        try {
+            testedResource.applyBatch(TestHelper.generateRandomUser(), listIdStr, operations);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test(expected = WebApiException.class)
+    @SuppressWarnings("deprecation")
+    public void applyBatch_should_return_400_with_unknown_operation_type() {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+        List<ShoppingItemOperationWriteRepresentation> operations = Arrays.asList(new ShoppingItemOperationWriteRepresentation("MOVE", UUID.randomUUID(), null, null));
+
+        //when
+        try {
+            testedResource.applyBatch(TestHelper.generateRandomUser(), listIdStr, operations);
+        } catch (WebApiException wae) {
+            //then
+            assertThat(wae.getStatus()).isEqualTo(BAD_REQUEST);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void mergeOperations_should_return_the_result_of_each_operation_and_the_clock_of_the_list() {
+        //given
+        String expectedURL = "http://test";
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo(expectedURL);
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        UUID listId = UUID.randomUUID();
+        UUID newItemId = UUID.randomUUID();
+        ShoppingItemOperationWriteRepresentation creation = new ShoppingItemOperationWriteRepresentation();
+        creation.setType("CREATE");
+        creation.setItemId(newItemId);
+        creation.setItem(new ShoppingItemWriteRepresentation(null, "new item", 2, TO_BUY.name()));
+        creation.setClock(4L);
+        creation.setReplicaId("alice");
+        ShoppingItemOperationWriteRepresentation renaming = new ShoppingItemOperationWriteRepresentation();
+        renaming.setType("RENAME");
+        renaming.setItemId(UUID.randomUUID());
+        renaming.setName("renamed");
+        renaming.setClock(5L);
+        renaming.setReplicaId("alice");
+
+        //when
+        Response response = testedResource.mergeOperations(TestHelper.generateRandomUser(), listId.toString(), Arrays.asList(creation, renaming));
+
+        //then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        ShoppingItemMergeResultRepresentation mergeResult = (ShoppingItemMergeResultRepresentation) response.getEntity();
+        assertThat(mergeResult.getResults()).extracting(ShoppingItemOperationResultRepresentation::getStatus).containsExactly("APPLIED", "NOT_FOUND");
+        //the editor chooses the id of the created items
+        assertThat(mergeResult.getResults().get(0).getItemId()).isEqualTo(newItemId);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void mergeOperations_should_return_400_without_logical_clock() {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+        ShoppingItemOperationWriteRepresentation deletion = new ShoppingItemOperationWriteRepresentation();
+        deletion.setType("DELETE");
+        deletion.setItemId(UUID.randomUUID());
+        deletion.setReplicaId("alice");
+
+        //when
+        try {
+            testedResource.mergeOperations(TestHelper.generateRandomUser(), listIdStr, Arrays.asList(deletion));
+        } catch (WebApiException wae) {
+            //then
+            assertThat(wae.getStatus()).isEqualTo(BAD_REQUEST);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void patch_should_work_with_existing_item() throws Exception {
+        //given
+        String expectedURL = "http://test";
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo(expectedURL);
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        UUID listId = UUID.randomUUID();
+        UUID itemId = UUID.randomUUID();
+        JsonNode patchDocument = Jackson.newObjectMapper().readTree("{\"state\":\"BOUGHT\"}");
+
+        //when
+        Response response = testedResource.patch(TestHelper.generateRandomUser(), listId.toString(), itemId.toString(), patchDocument);
+
+        //then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(NO_CONTENT.getStatusCode());
+    }
+
+    @Test(expected = WebApiException.class)
+    public void patch_should_return_400_with_invalid_item_Id() throws Exception {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+        String invalidId = "invalid ID";
+        String expectedMessage = "Invalid Param named itemId : invalid ID";
+        JsonNode patchDocument = Jackson.newObjectMapper().readTree("{\"state\":\"BOUGHT\"}");
+
+        //when
+        try {
+            testedResource.patch(TestHelper.generateRandomUser(), listIdStr, invalidId, patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package io.tyoras.shopping.list.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import io.dropwizard.jackson.Jackson;
+import io.tyoras.shopping.infra.db.PageCursor;
 import io.tyoras.shopping.infra.rest.Link;
 import io.tyoras.shopping.infra.rest.RestRepresentation;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
@@ -9,31 +13,58 @@ import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.ErrorMessage;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
 import io.tyoras.shopping.list.ShoppingList;
+import io.tyoras.shopping.list.ShoppingListEvent;
+import io.tyoras.shopping.list.ShoppingListSummary;
+import io.tyoras.shopping.list.event.ShoppingListEventBus;
+import io.tyoras.shopping.list.event.ShoppingListEvents;
 import io.tyoras.shopping.list.repository.ShoppingListRepository;
 import io.tyoras.shopping.list.representation.ShoppingItemRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListChangesRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListEventRepresentation;
+import io.tyoras.shopping.list.representation.ShoppingListEventsRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingListRepresentation;
 import io.tyoras.shopping.list.representation.ShoppingListWriteRepresentation;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.user.User;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static io.tyoras.shopping.infra.rest.PageRepresentation.*;
+import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.API_RESPONSE;
 import static io.tyoras.shopping.list.resource.ShoppingListResourceErrorMessage.LISTS_NOT_FOUND;
 import static io.tyoras.shopping.list.resource.ShoppingListResourceErrorMessage.LIST_NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
@@ -42,6 +73,12 @@ public class ShoppingListResourceTest {
     @Mock
     ShoppingListRepository mockeListRepo;
 
+    @Mock
+    ShoppingListEventBus mockedEventBus;
+
+    @Spy
+    ObjectMapper objectMapper = Jackson.newObjectMapper();
+
     @Spy
     @InjectMocks
     private ShoppingListResource testedResource;
@@ -112,7 +149,7 @@ public class ShoppingListResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), invalidId);
+            testedResource.getById(TestHelper.generateRandomUser(), invalidId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -128,7 +165,7 @@ public class ShoppingListResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), unknownId);
+            testedResource.getById(TestHelper.generateRandomUser(), unknownId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
@@ -146,7 +183,7 @@ public class ShoppingListResourceTest {
         when(mockeListRepo.getById(existingId)).thenReturn(existingShoppingList);
 
         //when
-        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString());
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString(), null);
 
         //then
         assertThat(response).isNotNull();
@@ -159,6 +196,89 @@ public class ShoppingListResourceTest {
         assertThat(ShoppingItemRepresentation.toShoppingItemList(listRepresentation.getItemList())).isEqualTo(existingShoppingList.getItemList());
     }
 
+    @Test
+    public void getById_should_tag_the_list_with_its_version() {
+        //given
+        UUID existingId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withId(existingId).withVersion(4).build();
+        when(mockeListRepo.getById(existingId)).thenReturn(existingShoppingList);
+        when(mockeListRepo.getVersion(existingId)).thenReturn(4L);
+
+        //when
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString(), "\"3\"");
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag("4"));
+    }
+
+    @Test
+    public void getById_should_return_304_without_reading_the_unchanged_list() {
+        //given
+        UUID existingId = UUID.randomUUID();
+        when(mockeListRepo.getVersion(existingId)).thenReturn(4L);
+
+        //when
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString(), "\"4\"");
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(NOT_MODIFIED.getStatusCode());
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag("4"));
+        assertThat(response.getEntity()).isNull();
+        verify(mockeListRepo, never()).getById(existingId);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getById_should_return_404_with_known_tag_of_deleted_list() {
+        //given
+        String unknownId = UUID.randomUUID().toString();
+
+        //when
+        try {
+            testedResource.getById(TestHelper.generateRandomUser(), unknownId, "\"4\"");
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, LIST_NOT_FOUND);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void patch_should_work_with_existing_list() throws IOException {
+        //given
+        String expectedURL = "http://test";
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo(expectedURL);
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        UUID listId = UUID.randomUUID();
+        JsonNode patchDocument = objectMapper.readTree("{\"name\":\"new name\"}");
+
+        //when
+        Response response = testedResource.patch(TestHelper.generateRandomUser(), listId.toString(), "\"3\"", patchDocument);
+
+        //then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(NO_CONTENT.getStatusCode());
+    }
+
+    @Test(expected = WebApiException.class)
+    public void patch_should_return_400_with_invalid_patch() throws IOException {
+        //given
+        String listIdStr = UUID.randomUUID().toString();
+        JsonNode patchDocument = objectMapper.readTree("{\"name\":null}");
+        String expectedMessage = "Invalid list patch : field name can not be removed";
+
+        //when
+        try {
+            testedResource.patch(TestHelper.generateRandomUser(), listIdStr, null, patchDocument);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, ERROR, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
     @Test
     public void update_should_work_with_existing_list() {
         //given
@@ -173,7 +293,7 @@ public class ShoppingListResourceTest {
         doReturn(mockedUriInfo).when(testedResource).getUriInfo();
 
         //when
-        Response response = testedResource.update(TestHelper.generateRandomUser(), expectedID.toString(), representation);
+        Response response = testedResource.update(TestHelper.generateRandomUser(), expectedID.toString(), null, representation);
 
         //then
         assertThat(response).isNotNull();
@@ -190,7 +310,7 @@ public class ShoppingListResourceTest {
 
         //when
         try {
-            testedResource.update(TestHelper.generateRandomUser(), invalidListId, representation);
+            testedResource.update(TestHelper.generateRandomUser(), invalidListId, null, representation);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -208,7 +328,7 @@ public class ShoppingListResourceTest {
 
         //when
         try {
-            testedResource.update(TestHelper.generateRandomUser(), unknownListId, representation);
+            testedResource.update(TestHelper.generateRandomUser(), unknownListId, null, representation);
         } catch (ApplicationException ae) {
             //then
             TestHelper.assertApplicationException(ae, INFO, RepositoryErrorCode.NOT_FOUND, expectedMessage);
@@ -271,7 +391,7 @@ public class ShoppingListResourceTest {
 
         //when
         try {
-            testedResource.getByOwnerId(TestHelper.generateRandomUser(), invalidId);
+            testedResource.getByOwnerId(TestHelper.generateRandomUser(), invalidId, null, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -283,12 +403,14 @@ public class ShoppingListResourceTest {
     public void getByOwnerId_should_return_404_with_unknown_owner_Id() {
         //given
         UUID unknownId = UUID.randomUUID();
-        when(mockeListRepo.getByOwner(unknownId)).thenReturn(ImmutableList.of());
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        when(mockeListRepo.streamByOwner(unknownId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.empty());
         String expectedMessage = LISTS_NOT_FOUND.getDevReadableMessage(unknownId.toString());
 
         //when
         try {
-            testedResource.getByOwnerId(TestHelper.generateRandomUser(), unknownId.toString());
+            testedResource.getByOwnerId(TestHelper.generateRandomUser(), unknownId.toString(), null, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
@@ -297,35 +419,231 @@ public class ShoppingListResourceTest {
     }
 
     @Test
-    public void getByOwnerId_should_work_with_existing_list_Id() {
+    public void getByOwnerId_should_work_with_existing_list_Id() throws IOException {
         //given
         UUID existingOwnerId = UUID.randomUUID();
         UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
         doReturn(mockedUriInfo).when(testedResource).getUriInfo();
         ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
         ShoppingList existingShoppingList2 = ShoppingList.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
-        when(mockeListRepo.getByOwner(existingOwnerId)).thenReturn(ImmutableList.of(existingShoppingList, existingShoppingList2));
+        when(mockeListRepo.streamByOwner(existingOwnerId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.of(existingShoppingList, existingShoppingList2));
 
         //when
-        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString());
+        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), null, null);
 
         //then
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
-        List<?> listsRepresentation = (List<?>) response.getEntity();
+        JsonNode page = writeStreamedPage(response);
+        assertThat(page.get(LINKS_FIELD).findValuesAsText("rel")).containsExactly(Link.SELF_REL);
+        JsonNode listsRepresentation = page.get(ELEMENTS_FIELD);
         assertThat(listsRepresentation).isNotNull();
         assertThat(listsRepresentation).hasSize(2);
 
-        ShoppingListRepresentation representation = (ShoppingListRepresentation) listsRepresentation.get(0);
+        ShoppingListRepresentation representation = objectMapper.treeToValue(listsRepresentation.get(0), ShoppingListRepresentation.class);
         assertThat(representation.getId()).isNotEqualTo(ShoppingList.DEFAULT_ID);
         assertThat(representation.getName()).isEqualTo(existingShoppingList.getName());
         assertThat(representation.getOwnerId()).isEqualTo(existingShoppingList.getOwnerId());
         assertThat(ShoppingItemRepresentation.toShoppingItemList(representation.getItemList())).isEqualTo(existingShoppingList.getItemList());
 
-        ShoppingListRepresentation representation2 = (ShoppingListRepresentation) listsRepresentation.get(1);
+        ShoppingListRepresentation representation2 = objectMapper.treeToValue(listsRepresentation.get(1), ShoppingListRepresentation.class);
         assertThat(representation2.getId()).isNotEqualTo(ShoppingList.DEFAULT_ID);
         assertThat(representation2.getName()).isEqualTo(existingShoppingList2.getName());
         assertThat(representation2.getOwnerId()).isEqualTo(existingShoppingList2.getOwnerId());
         assertThat(ShoppingItemRepresentation.toShoppingItemList(representation2.getItemList())).isEqualTo(existingShoppingList2.getItemList());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getByOwnerId_should_add_next_link_when_there_is_a_next_page() throws IOException {
+        //given
+        UUID existingOwnerId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
+        ShoppingList nextPageShoppingList = ShoppingList.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
+        //the cursor token keeps the date at the millisecond
+        PageCursor after = new PageCursor(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), UUID.randomUUID());
+        PageCursor next = new PageCursor(existingShoppingList.getLastUpdate(), existingShoppingList.getId());
+        when(mockeListRepo.streamByOwner(existingOwnerId, after, 2)).thenReturn(Stream.of(existingShoppingList, nextPageShoppingList));
+
+        //when
+        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), after.encode(), "1");
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        JsonNode page = writeStreamedPage(response);
+        assertThat(page.get(ELEMENTS_FIELD)).hasSize(1);
+        assertThat(page.get(ELEMENTS_FIELD).get(0).get("id").asText()).isEqualTo(existingShoppingList.getId().toString());
+        assertThat(page.get(LINKS_FIELD).findValuesAsText("rel")).contains(NEXT_REL);
+        verify(mockedUriInfo.getAbsolutePathBuilder()).queryParam(AFTER_PARAM, next.encode());
+        verify(mockedUriInfo.getAbsolutePathBuilder()).queryParam(LIMIT_PARAM, 1);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getByOwnerId_should_return_400_with_invalid_limit() {
+        //given
+        String expectedMessage = "Invalid Param named limit should be between 1 and " + MAX_LIMIT + " : 0";
+
+        //when
+        try {
+            testedResource.getByOwnerId(TestHelper.generateRandomUser(), UUID.randomUUID().toString(), null, "0");
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void getByOwnerId_should_close_the_lists_stream_once_written() throws IOException {
+        //given
+        UUID existingOwnerId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        ShoppingList existingShoppingList = ShoppingList.Builder.createDefault().withRandomId().withOwnerId(existingOwnerId).build();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(mockeListRepo.streamByOwner(existingOwnerId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.of(existingShoppingList).onClose(() -> closed.set(true)));
+
+        //when
+        Response response = testedResource.getByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), null, null);
+
+        //then
+        assertThat(closed).isFalse();
+        writeStreamedPage(response);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void getSummariesByOwnerId_should_stream_summaries() throws IOException {
+        //given
+        UUID existingOwnerId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        ShoppingListSummary summary = new ShoppingListSummary(UUID.randomUUID(), "list", 3, 2, LocalDateTime.now());
+        when(mockeListRepo.streamSummariesByOwner(existingOwnerId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.of(summary));
+
+        //when
+        Response response = testedResource.getSummariesByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), null, null);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        JsonNode page = writeStreamedPage(response);
+        assertThat(page.get(ELEMENTS_FIELD)).hasSize(1);
+        JsonNode summaryRepresentation = page.get(ELEMENTS_FIELD).get(0);
+        assertThat(summaryRepresentation.get("id").asText()).isEqualTo(summary.getId().toString());
+        assertThat(summaryRepresentation.get("name").asText()).isEqualTo(summary.getName());
+        assertThat(summaryRepresentation.get("itemCount").asInt()).isEqualTo(3);
+        assertThat(summaryRepresentation.get("toBuyCount").asInt()).isEqualTo(2);
+        assertThat(summaryRepresentation.has("itemList")).isFalse();
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getSummariesByOwnerId_should_return_404_with_unknown_owner_Id() {
+        //given
+        UUID unknownId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        when(mockeListRepo.streamSummariesByOwner(unknownId, null, DEFAULT_LIMIT + 1)).thenReturn(Stream.empty());
+        String expectedMessage = LISTS_NOT_FOUND.getDevReadableMessage(unknownId.toString());
+
+        //when
+        try {
+            testedResource.getSummariesByOwnerId(TestHelper.generateRandomUser(), unknownId.toString(), null, null);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void getChangesByOwnerId_should_return_all_the_lists_on_the_first_synchronization() {
+        //given
+        UUID existingOwnerId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        ShoppingList existingList = TestHelper.generateRandomShoppingList();
+        when(mockeListRepo.getByOwner(existingOwnerId)).thenReturn(ImmutableList.of(existingList));
+
+        //when
+        Response response = testedResource.getChangesByOwnerId(TestHelper.generateRandomUser(), existingOwnerId.toString(), null);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(OK.getStatusCode());
+        ShoppingListChangesRepresentation changes = (ShoppingListChangesRepresentation) response.getEntity();
+        assertThat(changes.isResetRequired()).isTrue();
+        assertThat(changes.getChangedLists()).extracting(ShoppingListRepresentation::getId).containsExactly(existingList.getId());
+        assertThat(changes.getTombstones()).isEmpty();
+        assertThat(changes.getLinks()).extracting(Link::getRel).contains(ShoppingListChangesRepresentation.NEXT_REL);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void getChangesByOwnerId_should_fail_with_invalid_watermark() {
+        //given
+        String invalidWatermark = "yesterday";
+
+        //when
+        try {
+            testedResource.getChangesByOwnerId(TestHelper.generateRandomUser(), UUID.randomUUID().toString(), invalidWatermark);
+        } catch (WebApiException wae) {
+            //then
+            assertThat(wae.getStatus()).isEqualTo(BAD_REQUEST);
+            throw wae;
+        }
+    }
+
+    @Test
+    public void followEvents_should_resume_with_the_events_of_the_list() {
+        //given
+        UUID existingListId = UUID.randomUUID();
+        UriInfo mockedUriInfo = TestHelper.mockUriInfo("http://test");
+        doReturn(mockedUriInfo).when(testedResource).getUriInfo();
+        when(mockeListRepo.getVersion(existingListId)).thenReturn(2L);
+        ShoppingListEvent expectedEvent = ShoppingListEvent.ofItem(existingListId, UUID.randomUUID(), ShoppingListEvent.Type.ITEM_UPDATED);
+        String cursor = "node:1";
+        when(mockedEventBus.follow(eq(existingListId), eq(cursor), any())).thenAnswer(invocation -> {
+            Consumer<ShoppingListEvents> listener = invocation.getArgument(2);
+            listener.accept(new ShoppingListEvents(ImmutableList.of(expectedEvent), "node:2", false));
+            return (Runnable) () -> {
+            };
+        });
+        AsyncResponse mockedAsyncResponse = mock(AsyncResponse.class);
+        ArgumentCaptor<ShoppingListEventsRepresentation> representationCaptor = ArgumentCaptor.forClass(ShoppingListEventsRepresentation.class);
+
+        //when
+        testedResource.followEvents(TestHelper.generateRandomUser(), existingListId.toString(), cursor, mockedAsyncResponse);
+
+        //then
+        verify(mockedAsyncResponse).setTimeout(ShoppingListResource.EVENTS_WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        verify(mockedAsyncResponse).resume(representationCaptor.capture());
+        ShoppingListEventsRepresentation events = representationCaptor.getValue();
+        assertThat(events.isResetRequired()).isFalse();
+        assertThat(events.getEvents()).containsExactly(new ShoppingListEventRepresentation(expectedEvent));
+        assertThat(events.getLinks()).extracting(Link::getRel).contains(NEXT_REL);
+    }
+
+    @Test(expected = WebApiException.class)
+    public void followEvents_should_return_404_with_unknown_list() {
+        //given
+        UUID unknownListId = UUID.randomUUID();
+        when(mockeListRepo.getVersion(unknownListId)).thenReturn(null);
+        AsyncResponse mockedAsyncResponse = mock(AsyncResponse.class);
+
+        //when
+        try {
+            testedResource.followEvents(TestHelper.generateRandomUser(), unknownListId.toString(), null, mockedAsyncResponse);
+        } catch (WebApiException wae) {
+            //then
+            TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, LIST_NOT_FOUND);
+            verifyZeroInteractions(mockedEventBus);
+            throw wae;
+        }
+    }
+
+    private JsonNode writeStreamedPage(Response response) throws IOException {
+        assertThat(response.getEntity()).isInstanceOf(StreamingOutput.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return objectMapper.readTree(output.toByteArray());
+    }
+}
@@ -3,13 +3,16 @@
  */
 package io.tyoras.shopping.test;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.tyoras.shopping.authentication.repository.OAuth2AccessToken;
 import io.tyoras.shopping.authentication.repository.OAuth2AuthorizationCode;
 import io.tyoras.shopping.client.app.ClientApp;
 import io.tyoras.shopping.infra.rest.error.ErrorRepresentation;
 import io.tyoras.shopping.infra.rest.error.Level;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
+import io.tyoras.shopping.infra.security.PasswordHasher;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.ErrorCode;
 import io.tyoras.shopping.infra.util.error.ErrorMessage;
@@ -28,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -88,6 +92,8 @@ public class TestHelper {
         when(uriBuilder.path((String) any())).thenReturn(uriBuilder);
         when(uriBuilder.path(any(Class.class))).thenReturn(uriBuilder);
         when(uriBuilder.path(any(Class.class), anyString())).thenReturn(uriBuilder);
+        when(uriBuilder.queryParam(anyString(), any())).thenReturn(uriBuilder);
+        when(uriBuilder.clone()).thenReturn(uriBuilder);
         when(uriBuilder.build()).thenReturn(URI.create(expectedURL));
         when(uriBuilder.build(any())).thenReturn(URI.create(expectedURL));
         when(uriBuilder.build(any(), Mockito.eq(false))).thenReturn(URI.create(expectedURL));
@@ -115,6 +121,10 @@ public class TestHelper {
                 .build();
     }
 
+    public static PasswordHasher createPasswordHasher(int iterations) {
+        return new PasswordHasher(MoreExecutors.newDirectExecutorService(), new ArrayBlockingQueue<>(1), iterations, new MetricRegistry());
+    }
+
     public static ShoppingItem generateRandomShoppingItem() {
         return ShoppingItem.Builder.createDefault()
                 .withRandomId()
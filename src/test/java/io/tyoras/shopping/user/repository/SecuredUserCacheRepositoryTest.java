@@ -0,0 +1,91 @@
+package io.tyoras.shopping.user.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.auth.AuthenticationException;
+import io.dropwizard.auth.basic.BasicCredentials;
+import io.tyoras.shopping.authentication.realm.BasicUserAuthenticator;
+import io.tyoras.shopping.authentication.realm.BasicUserPrincipal;
+import io.tyoras.shopping.test.TestHelper;
+import io.tyoras.shopping.user.SecuredUser;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Optional;
+
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SecuredUserCacheRepositoryTest {
+
+    @Mock
+    SecuredUserRepository mockedSecuredDelegate;
+
+    @Mock
+    UserRepository mockedUserDelegate;
+
+    UserCache userCache;
+
+    VerifiedCredentialCache credentialCache;
+
+    SecuredUserCacheRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        userCache = new UserCache(10, 5, new MetricRegistry());
+        credentialCache = new VerifiedCredentialCache(10, 5, new MetricRegistry());
+        testedRepo = new SecuredUserCacheRepository(mockedSecuredDelegate, userCache, credentialCache);
+    }
+
+    @Test
+    public void changePassword_should_invalidate_cached_user() {
+        //given
+        SecuredUser existingUser = TestHelper.generateRandomSecuredUser();
+        when(mockedSecuredDelegate.processGetById(existingUser.getId())).thenReturn(existingUser);
+        when(mockedUserDelegate.processGetById(existingUser.getId())).thenReturn(existingUser);
+        when(mockedSecuredDelegate.hashPassword(any(), any())).thenReturn("hashed");
+        when(mockedSecuredDelegate.getHashIterations()).thenReturn(NB_HASH_ITERATION);
+        UserCacheRepository userCacheRepo = new UserCacheRepository(mockedUserDelegate, userCache, credentialCache);
+        userCacheRepo.getById(existingUser.getId());
+        credentialCache.putVerified(existingUser.getEmail(), "old password", existingUser.getId(), credentialCache.getGeneration());
+
+        //when
+        testedRepo.changePassword(existingUser.getId(), "new password");
+
+        //then
+        verify(mockedSecuredDelegate).processChangePassword(any());
+        userCacheRepo.getById(existingUser.getId());
+        verify(mockedUserDelegate, times(2)).processGetById(existingUser.getId());
+        assertThat(credentialCache.getVerifiedUserId(existingUser.getEmail(), "old password")).isNull();
+    }
+
+    @Test
+    public void changePassword_should_prevent_caching_of_credentials_checked_while_the_password_was_changed() throws AuthenticationException {
+        //given
+        SecuredUser existingUser = TestHelper.generateRandomSecuredUser();
+        BasicUserAuthenticator authenticator = new BasicUserAuthenticator(mockedSecuredDelegate, credentialCache);
+        BasicCredentials oldCredentials = new BasicCredentials(existingUser.getEmail(), "old password");
+        when(mockedSecuredDelegate.processGetByEmail(existingUser.getEmail())).thenReturn(existingUser);
+        when(mockedSecuredDelegate.processGetById(existingUser.getId())).thenReturn(existingUser);
+        when(mockedSecuredDelegate.hashPassword(any(), any())).thenReturn("hashed");
+        when(mockedSecuredDelegate.getHashIterations()).thenReturn(NB_HASH_ITERATION);
+        when(mockedSecuredDelegate.checkPassword(existingUser, "old password")).thenAnswer(invocation -> {
+            //the password is changed once the old one was checked against the user read before
+            testedRepo.changePassword(existingUser.getId(), "new password");
+            return true;
+        });
+
+        //when
+        Optional<BasicUserPrincipal> result = authenticator.authenticate(oldCredentials);
+
+        //then
+        assertThat(result).isPresent();
+        verify(mockedSecuredDelegate).processChangePassword(any());
+        assertThat(credentialCache.getVerifiedUserId(existingUser.getEmail(), "old password")).isNull();
+    }
+}
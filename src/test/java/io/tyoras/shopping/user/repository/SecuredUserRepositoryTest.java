@@ -1,9 +1,12 @@
 package io.tyoras.shopping.user.repository;
 
 import io.tyoras.shopping.infra.util.error.ApplicationException;
+import io.tyoras.shopping.test.TestHelper;
+import io.tyoras.shopping.user.SecuredUser;
 import io.tyoras.shopping.user.User;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -12,6 +15,7 @@ import java.util.UUID;
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.rest.error.Level.INFO;
 import static io.tyoras.shopping.infra.util.error.RepositoryErrorCode.NOT_FOUND;
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
 import static io.tyoras.shopping.test.TestHelper.assertApplicationException;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorCode.UNSECURE_PASSWORD;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorMessage.PROBLEM_PASSWORD_VALIDITY;
@@ -207,4 +211,56 @@ public class SecuredUserRepositoryTest {
             throw ae;
         }
     }
+
+    @Test
+    public void checkPassword_should_return_false_with_wrong_password() {
+        //given
+        SecuredUser user = TestHelper.generateRandomSecuredUser();
+
+        //when
+        boolean result = testedRepo.checkPassword(user, "wrong password");
+
+        //then
+        assertThat(result).isFalse();
+        verify(testedRepo, never()).processChangePassword(any());
+    }
+
+    @Test
+    public void checkPassword_should_not_rehash_up_to_date_password() {
+        //given
+        SecuredUser user = SecuredUser.Builder.createFrom(TestHelper.generateRandomUser())
+                .withSalt(UUID.randomUUID().toString())
+                .withRawPassword("password")
+                .build();
+
+        //when
+        boolean result = testedRepo.checkPassword(user, "password");
+
+        //then
+        assertThat(result).isTrue();
+        verify(testedRepo, never()).processChangePassword(any());
+    }
+
+    @Test
+    public void checkPassword_should_rehash_outdated_password() {
+        //given
+        int outdatedIterations = NB_HASH_ITERATION - 1;
+        SecuredUser user = SecuredUser.Builder.createFrom(TestHelper.generateRandomUser())
+                .withSalt(UUID.randomUUID().toString())
+                .withHashIterations(outdatedIterations)
+                .withRawPassword("password")
+                .build();
+
+        //when
+        boolean result = testedRepo.checkPassword(user, "password");
+
+        //then
+        assertThat(result).isTrue();
+        ArgumentCaptor<SecuredUser> rehashedUserCaptor = ArgumentCaptor.forClass(SecuredUser.class);
+        verify(testedRepo).processChangePassword(rehashedUserCaptor.capture());
+        SecuredUser rehashedUser = rehashedUserCaptor.getValue();
+        assertThat(rehashedUser.getId()).isEqualTo(user.getId());
+        assertThat(rehashedUser.getHashIterations()).isEqualTo(NB_HASH_ITERATION);
+        assertThat(rehashedUser.getPassword()).isEqualTo(testedRepo.hashPassword("password", rehashedUser.getSalt()));
+    }
 }
@@ -0,0 +1,99 @@
+package io.tyoras.shopping.user.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import io.tyoras.shopping.test.TestHelper;
+import io.tyoras.shopping.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserCacheRepositoryTest {
+
+    @Mock
+    UserRepository mockedDelegate;
+
+    UserCache userCache;
+
+    VerifiedCredentialCache credentialCache;
+
+    UserCacheRepository testedRepo;
+
+    @Before
+    public void setUp() {
+        userCache = new UserCache(10, 5, new MetricRegistry());
+        credentialCache = new VerifiedCredentialCache(10, 5, new MetricRegistry());
+        testedRepo = new UserCacheRepository(mockedDelegate, userCache, credentialCache);
+    }
+
+    @Test
+    public void getById_should_read_delegate_only_once() {
+        //given
+        User existingUser = TestHelper.generateRandomUser();
+        when(mockedDelegate.processGetById(existingUser.getId())).thenReturn(existingUser);
+
+        //when
+        User firstResult = testedRepo.getById(existingUser.getId());
+        User secondResult = testedRepo.getById(existingUser.getId());
+
+        //then
+        assertThat(firstResult).isEqualTo(existingUser);
+        assertThat(secondResult).isEqualTo(existingUser);
+        verify(mockedDelegate, times(1)).processGetById(existingUser.getId());
+    }
+
+    @Test
+    public void getById_should_not_cache_unknown_user() {
+        //given
+        UUID unknownUserId = UUID.randomUUID();
+
+        //when
+        testedRepo.getById(unknownUserId);
+        User result = testedRepo.getById(unknownUserId);
+
+        //then
+        assertThat(result).isNull();
+        verify(mockedDelegate, times(2)).processGetById(unknownUserId);
+    }
+
+    @Test
+    public void update_should_invalidate_cached_user() {
+        //given
+        User existingUser = TestHelper.generateRandomUser();
+        when(mockedDelegate.processGetById(existingUser.getId())).thenReturn(existingUser);
+        testedRepo.getById(existingUser.getId());
+        credentialCache.putVerified(existingUser.getEmail(), "password", existingUser.getId(), credentialCache.getGeneration());
+
+        //when
+        testedRepo.update(existingUser);
+
+        //then
+        verify(mockedDelegate).processUpdate(any());
+        assertThat(credentialCache.getVerifiedUserId(existingUser.getEmail(), "password")).isNull();
+        testedRepo.getById(existingUser.getId());
+        verify(mockedDelegate, times(2)).processGetById(existingUser.getId());
+    }
+
+    @Test
+    public void deleteById_should_invalidate_cached_user() {
+        //given
+        User existingUser = TestHelper.generateRandomUser();
+        when(mockedDelegate.processGetById(existingUser.getId())).thenReturn(existingUser, (User) null);
+        testedRepo.getById(existingUser.getId());
+
+        //when
+        testedRepo.deleteById(existingUser.getId());
+
+        //then
+        verify(mockedDelegate).processDeleteById(existingUser.getId());
+        User result = testedRepo.getById(existingUser.getId());
+        assertThat(result).isNull();
+    }
+}
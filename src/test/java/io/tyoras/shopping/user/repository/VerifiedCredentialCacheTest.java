@@ -0,0 +1,77 @@
+package io.tyoras.shopping.user.repository;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedCredentialCacheTest {
+
+    private final VerifiedCredentialCache testedCache = new VerifiedCredentialCache(10, 5, new MetricRegistry());
+
+    @Test
+    public void getVerifiedUserId_should_return_null_with_unknown_credentials() {
+        //when
+        UUID result = testedCache.getVerifiedUserId("user@test.com", "password");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getVerifiedUserId_should_work_with_verified_credentials() {
+        //given
+        UUID expectedUserId = UUID.randomUUID();
+        testedCache.putVerified("user@test.com", "password", expectedUserId, testedCache.getGeneration());
+
+        //when
+        UUID result = testedCache.getVerifiedUserId("user@test.com", "password");
+
+        //then
+        assertThat(result).isEqualTo(expectedUserId);
+    }
+
+    @Test
+    public void getVerifiedUserId_should_return_null_with_other_password() {
+        //given
+        testedCache.putVerified("user@test.com", "password", UUID.randomUUID(), testedCache.getGeneration());
+
+        //when
+        UUID result = testedCache.getVerifiedUserId("user@test.com", "other password");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void getVerifiedUserId_should_not_mix_email_and_password_boundaries() {
+        //given
+        testedCache.putVerified("user@test.com", "password", UUID.randomUUID(), testedCache.getGeneration());
+
+        //when
+        UUID result = testedCache.getVerifiedUserId("user@test.compassword", "");
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void invalidateUser_should_forget_all_user_credentials() {
+        //given
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        testedCache.putVerified("user@test.com", "password", userId, testedCache.getGeneration());
+        testedCache.putVerified("user@test.com", "old password", userId, testedCache.getGeneration());
+        testedCache.putVerified("other@test.com", "password", otherUserId, testedCache.getGeneration());
+
+        //when
+        testedCache.invalidateUser(userId);
+
+        //then
+        assertThat(testedCache.getVerifiedUserId("user@test.com", "password")).isNull();
+        assertThat(testedCache.getVerifiedUserId("user@test.com", "old password")).isNull();
+        assertThat(testedCache.getVerifiedUserId("other@test.com", "password")).isEqualTo(otherUserId);
+    }
+}
@@ -15,6 +15,7 @@ import java.util.UUID;
 
 import static io.tyoras.shopping.infra.rest.error.Level.ERROR;
 import static io.tyoras.shopping.infra.util.error.CommonErrorCode.APPLICATION_ERROR;
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
 import static io.tyoras.shopping.user.ProfileVisibility.PUBLIC;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorMessage.UNABLE_TO_CONVERT_UNSECURE_USER;
 import static io.tyoras.shopping.user.repository.mongo.SecuredUserMongoConverter.*;
@@ -73,6 +74,21 @@ public class SecuredUserMongoConverterTest {
         assertThat(result.getSalt()).isEqualTo(expectedSalt);
     }
 
+    @Test
+    public void fromDocument_should_default_to_historical_hash_iterations() {
+        //given
+        SecuredUser securedUser = TestHelper.generateRandomSecuredUser();
+        SecuredUserMongoConverter testedConverter = new SecuredUserMongoConverter();
+        Document doc = testedConverter.toDocument(securedUser);
+        doc.get(FIELD_SECURITY, Document.class).remove(FIELD_HASH_ITERATIONS);
+
+        //when
+        SecuredUser result = testedConverter.fromDocument(doc);
+
+        //then
+        assertThat(result.getHashIterations()).isEqualTo(NB_HASH_ITERATION);
+    }
+
     @Test
     public void toDocument_should_return_empty_doc_with_null_user() {
         //given
@@ -148,5 +164,6 @@ public class SecuredUserMongoConverterTest {
         assertThat(DateHelper.toLocalDateTime(updateDoc.getDate(FIELD_LAST_UPDATE))).isEqualToIgnoringNanos(securedUser.getLastUpdate());
         assertThat(updateDoc.get(FIELD_SECURITY, Document.class).getString(FIELD_PASSWORD)).isEqualTo(securedUser.getPassword());
         assertThat(updateDoc.get(FIELD_SECURITY, Document.class).get(FIELD_SALT)).isEqualTo(securedUser.getSalt());
+        assertThat(updateDoc.get(FIELD_SECURITY, Document.class).getInteger(FIELD_HASH_ITERATIONS)).isEqualTo(securedUser.getHashIterations());
     }
 }
@@ -2,6 +2,7 @@ package io.tyoras.shopping.user.repository.mongo;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import io.tyoras.shopping.infra.security.PasswordHasher;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.test.fongo.FongoBackedTest;
@@ -11,10 +12,12 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 
 import java.util.UUID;
 
 import static io.tyoras.shopping.infra.db.Dbs.SHOPPING;
+import static io.tyoras.shopping.infra.util.helper.SecurityHelper.NB_HASH_ITERATION;
 import static io.tyoras.shopping.user.repository.UserRepositoryErrorMessage.PROBLEM_CREATION_USER;
 import static io.tyoras.shopping.user.repository.mongo.UserMongoRepository.USER_COLLECTION;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +27,9 @@ public class SecuredUserMongoRepositoryTest extends FongoBackedTest {
     private final SecuredUserMongoConverter converter = new SecuredUserMongoConverter();
     private final MongoCollection<Document> userCollection = getFongoDbConnectionFactory().getCollection(SHOPPING, USER_COLLECTION);
 
+    @Spy
+    PasswordHasher passwordHasher = TestHelper.createPasswordHasher(NB_HASH_ITERATION);
+
     @InjectMocks
     SecuredUserMongoRepository testedRepo;
 
@@ -177,4 +183,26 @@ public class SecuredUserMongoRepositoryTest extends FongoBackedTest {
         String hash = testedRepo.hashPassword(originalPassword, result.getSalt());
         assertThat(result.getPassword()).isEqualTo(hash);
     }
+
+    @Test
+    public void checkPassword_should_rehash_outdated_password() {
+        //given
+        User user = TestHelper.generateRandomUser();
+        String password = "password";
+        testedRepo.create(user, password);
+        int newIterations = NB_HASH_ITERATION + 1;
+        SecuredUserMongoRepository upgradedRepo = new SecuredUserMongoRepository(connectionFactory, TestHelper.createPasswordHasher(newIterations));
+        SecuredUser outdatedUser = upgradedRepo.getById(user.getId());
+
+        //when
+        boolean result = upgradedRepo.checkPassword(outdatedUser, password);
+
+        //then
+        assertThat(result).isTrue();
+        SecuredUser rehashedUser = upgradedRepo.getById(user.getId());
+        assertThat(rehashedUser.getHashIterations()).isEqualTo(newIterations);
+        assertThat(rehashedUser.getPassword()).isEqualTo(upgradedRepo.hashPassword(password, rehashedUser.getSalt(), newIterations));
+        assertThat(rehashedUser.getLastUpdate()).isEqualTo(outdatedUser.getLastUpdate());
+        assertThat(upgradedRepo.checkPassword(rehashedUser, password)).isTrue();
+    }
 }
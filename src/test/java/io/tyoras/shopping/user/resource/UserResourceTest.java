@@ -1,11 +1,14 @@
 package io.tyoras.shopping.user.resource;
 
 import com.google.common.collect.ImmutableList;
+import io.tyoras.shopping.authentication.repository.OAuth2AccessTokenRepository;
+import io.tyoras.shopping.authentication.repository.OAuth2RefreshTokenRepository;
 import io.tyoras.shopping.infra.rest.Link;
 import io.tyoras.shopping.infra.rest.RestRepresentation;
 import io.tyoras.shopping.infra.rest.error.WebApiException;
 import io.tyoras.shopping.infra.util.error.ApplicationException;
 import io.tyoras.shopping.infra.util.error.RepositoryErrorCode;
+import io.tyoras.shopping.infra.util.ResourceUtil;
 import io.tyoras.shopping.test.TestHelper;
 import io.tyoras.shopping.user.User;
 import io.tyoras.shopping.user.repository.SecuredUserRepository;
@@ -18,6 +21,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
@@ -46,8 +50,14 @@ public class UserResourceTest {
     @Mock
     SecuredUserRepository mockedSecuredUserRepo;
 
+    @Mock
+    OAuth2AccessTokenRepository mockedAccessTokenRepo;
+
+    @Mock
+    OAuth2RefreshTokenRepository mockedRefreshTokenRepo;
+
     private UserResource getUserResource() {
-        UserResource testedResource = new UserResource(mockedUserRepo, mockedSecuredUserRepo);
+        UserResource testedResource = new UserResource(mockedUserRepo, mockedSecuredUserRepo, mockedAccessTokenRepo, mockedRefreshTokenRepo);
         return spy(testedResource);
     }
 
@@ -167,7 +177,7 @@ public class UserResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), invalidId);
+            testedResource.getById(TestHelper.generateRandomUser(), invalidId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, BAD_REQUEST, INFO, API_RESPONSE, expectedMessage);
@@ -184,7 +194,7 @@ public class UserResourceTest {
 
         //when
         try {
-            testedResource.getById(TestHelper.generateRandomUser(), unknownId);
+            testedResource.getById(TestHelper.generateRandomUser(), unknownId, null);
         } catch (WebApiException wae) {
             //then
             TestHelper.assertWebApiException(wae, NOT_FOUND, INFO, API_RESPONSE, expectedMessage);
@@ -203,7 +213,7 @@ public class UserResourceTest {
         when(mockedUserRepo.getById(existingId)).thenReturn(existingUser);
 
         //when
-        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString());
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString(), null);
 
         //then
         assertThat(response).isNotNull();
@@ -215,6 +225,23 @@ public class UserResourceTest {
         assertThat(userRepresentation.getEmail()).isEqualTo(existingUser.getEmail());
     }
 
+    @Test
+    public void getById_should_return_304_with_unchanged_user() {
+        //given
+        UUID existingId = UUID.randomUUID();
+        UserResource testedResource = getUserResource();
+        User existingUser = User.Builder.createDefault().withId(existingId).build();
+        when(mockedUserRepo.getById(existingId)).thenReturn(existingUser);
+        EntityTag knownTag = ResourceUtil.toEntityTag(existingUser.getLastUpdate());
+
+        //when
+        Response response = testedResource.getById(TestHelper.generateRandomUser(), existingId.toString(), knownTag.toString());
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(NOT_MODIFIED.getStatusCode());
+        assertThat(response.getEntity()).isNull();
+    }
+
     @Test
     public void update_should_work_with_existing_user() {
         //given
@@ -328,6 +355,22 @@ public class UserResourceTest {
         }
     }
 
+    @Test
+    public void changePassword_should_not_revoke_access_tokens_with_unknown_user() {
+        //given
+        User user = TestHelper.generateRandomUser();
+        UserResource testedResource = getUserResource();
+
+        //when
+        try {
+            testedResource.changePassword(TestHelper.generateRandomUser(), user.getId().toString(), "new password");
+        } catch (ApplicationException ae) {
+            //then
+            verify(mockedAccessTokenRepo, never()).deleteByUserId(any());
+            verify(mockedRefreshTokenRepo, never()).deleteByUserId(any());
+        }
+    }
+
     @Test(expected = WebApiException.class)
     public void deleteById_should_return_400_with_invalid_Id() {
         //given